@@ -37,6 +37,7 @@ public class StorageType implements Serializable {
 
     public static final StorageType DATABASE = new StorageType("DATABASE", "Database");
     public static final StorageType FILESYSTEM = new StorageType("FILESYSTEM", "FileSystem");
+    public static final StorageType CONTENT_ADDRESSED = new StorageType("CONTENT_ADDRESSED", "Content Addressed");
 
 
     public static StorageType getInstance(final String type) {
@@ -157,4 +157,17 @@ public interface StaticAsset extends Serializable, MultiTenantCloneable<StaticAs
      */
     public void setStorageType(StorageType storageType);
 
+    /**
+     * Returns the hex encoded SHA-256 of the asset's contents. Only populated for assets stored with
+     * <code>StorageType.CONTENT_ADDRESSED</code>.
+     * @return
+     */
+    public String getContentHash();
+
+    /**
+     * Sets the hex encoded SHA-256 of the asset's contents.
+     * @param contentHash
+     */
+    public void setContentHash(String contentHash);
+
 }
@@ -212,6 +212,10 @@ public class StaticAssetImpl implements StaticAsset, AdminMainEntity, StaticAsse
     @AdminPresentation(excluded = true)
     protected String storageType;
 
+    @Column(name = "CONTENT_HASH", length = 64)
+    @AdminPresentation(excluded = true)
+    protected String contentHash;
+
     @Override
     public String getFullUrl() {
         return fullUrl;
@@ -317,6 +321,16 @@ public class StaticAssetImpl implements StaticAsset, AdminMainEntity, StaticAsse
         this.storageType = storageType.getType();
     }
 
+    @Override
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     @Override
     public <G extends StaticAsset> CreateResponse<G> createOrRetrieveCopyInstance(MultiTenantCopyContext context) throws CloneNotSupportedException {
         CreateResponse<G> createResponse = context.createOrRetrieveCopyInstance(this);
@@ -332,6 +346,7 @@ public class StaticAssetImpl implements StaticAsset, AdminMainEntity, StaticAsse
         cloned.setMimeType(mimeType);
         cloned.setTitle(title);
         cloned.setStorageType(getStorageType());
+        cloned.setContentHash(contentHash);
         for(Map.Entry<String, StaticAssetDescription> entry : contentMessageValues.entrySet()){
             CreateResponse<StaticAssetDescription> clonedDescRsp = entry.getValue().createOrRetrieveCopyInstance(context);
             cloned.getContentMessageValues().put(entry.getKey(),clonedDescRsp.getClone());
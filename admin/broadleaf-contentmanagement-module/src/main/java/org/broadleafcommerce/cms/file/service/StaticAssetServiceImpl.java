@@ -18,6 +18,7 @@
 package org.broadleafcommerce.cms.file.service;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -73,6 +74,9 @@ public class StaticAssetServiceImpl implements StaticAssetService {
     @Value("${asset.use.filesystem.storage}")
     protected boolean storeAssetsOnFileSystem = false;
 
+    @Value("${asset.use.content.addressed.storage:false}")
+    protected boolean storeAssetsContentAddressed = false;
+
     @Resource(name = "blStaticAssetDao")
     protected StaticAssetDao staticAssetDao;
 
@@ -200,8 +204,10 @@ public class StaticAssetServiceImpl implements StaticAssetService {
             final Tika tika = new Tika();
             final MimeTypes allTypes = MimeTypes.getDefaultMimeTypes();
             Metadata metadata = new Metadata();
-            //let's try to detect type from the data and not just file extension
-            MediaType tikaType = tika.getDetector().detect(TikaInputStream.get(file.getBytes(), metadata), metadata);
+            //let's try to detect type from the data and not just file extension. Magic detection only looks at the
+            //leading bytes, so don't pull the whole upload into memory to do it
+            byte[] leadingBytes = readLeadingBytes(file, allTypes.getMinLength());
+            MediaType tikaType = tika.getDetector().detect(TikaInputStream.get(leadingBytes, metadata), metadata);
             if(tikaType!=null) {
                 String detectedType = tikaType.toString();
                 if (detectedType != null && !detectedType.isEmpty()) {
@@ -215,6 +221,14 @@ public class StaticAssetServiceImpl implements StaticAssetService {
         return (tikaExtension != null && !tikaExtension.isEmpty()) ? tikaExtension : FilenameUtils.getExtension(name);
     }
 
+    private static byte[] readLeadingBytes(MultipartFile file, int length) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[(int) Math.min(length, Math.max(file.getSize(), 0))];
+            int read = IOUtils.read(in, buffer);
+            return read == buffer.length ? buffer : Arrays.copyOf(buffer, read);
+        }
+    }
+
     public void validateFileExtension(MultipartFile file) throws IOException {
         final String extension = getFileExtension(file);
         //if we have whitelist, don't care about blacklist
@@ -305,7 +319,9 @@ public class StaticAssetServiceImpl implements StaticAssetService {
                 throw new RuntimeException("Selected Asset/File was not valid image.");
             }
         }
-        if (storeAssetsOnFileSystem) {
+        if (storeAssetsContentAddressed) {
+            newAsset.setStorageType(StorageType.CONTENT_ADDRESSED);
+        } else if (storeAssetsOnFileSystem) {
             newAsset.setStorageType(StorageType.FILESYSTEM);
         } else {
             newAsset.setStorageType(StorageType.DATABASE);
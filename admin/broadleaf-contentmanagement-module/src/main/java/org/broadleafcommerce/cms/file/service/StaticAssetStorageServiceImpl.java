@@ -57,6 +57,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Blob;
@@ -84,6 +87,8 @@ public class StaticAssetStorageServiceImpl implements StaticAssetStorageService
     // 8kb default for the buffer for moving files around
     protected static final int DEFAULT_BUFFER_SIZE = 8096;
 
+    protected static final String CONTENT_ADDRESSED_DIRECTORY = "cas";
+
     protected String cacheDirectory;
 
     @Autowired
@@ -152,7 +157,10 @@ public class StaticAssetStorageServiceImpl implements StaticAssetStorageService
 
     protected File lookupAssetAndCreateLocalFile(StaticAsset staticAsset, File baseLocalFile)
             throws IOException, SQLException {
-        if (StorageType.FILESYSTEM.equals(staticAsset.getStorageType())) {
+        if (StorageType.CONTENT_ADDRESSED.equals(staticAsset.getStorageType())) {
+            // The addressed file never changes once written, so serve it directly instead of copying it into the cache
+            return broadleafFileService.getResource(getContentAddressedPath(staticAsset.getContentHash()));
+        } else if (StorageType.FILESYSTEM.equals(staticAsset.getStorageType())) {
             File returnFile = broadleafFileService.getResource(staticAsset.getFullUrl());
             if (!returnFile.getAbsolutePath().equals(baseLocalFile.getAbsolutePath())) {
                 createLocalFileFromInputStream(new FileInputStream(returnFile), baseLocalFile);
@@ -472,7 +480,82 @@ public class StaticAssetStorageServiceImpl implements StaticAssetStorageService
                 IOUtils.closeQuietly(output);
                 broadleafFileService.closeWorkArea(tempWorkArea);
             }
+        } else if (StorageType.CONTENT_ADDRESSED.equals(staticAsset.getStorageType())) {
+            createContentAddressedStorage(fileInputStream, staticAsset);
+        }
+    }
+
+    /**
+     * Streams the upload once into the work area while computing its SHA-256, then publishes it under a path derived
+     * from that hash. If a file with the same contents was uploaded before, nothing new is written to the
+     * {@link org.broadleafcommerce.common.file.service.FileServiceProvider} and the asset simply points at the existing file.
+     */
+    protected void createContentAddressedStorage(InputStream fileInputStream, StaticAsset staticAsset) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        FileWorkArea tempWorkArea = broadleafFileService.initializeWorkArea();
+        try {
+            File tempFile = new File(tempWorkArea.getFilePathLocation(), "upload.tmp");
+            if (!tempFile.getParentFile().exists() && !tempFile.getParentFile().mkdirs()) {
+                if (!tempFile.getParentFile().exists()) {
+                    throw new RuntimeException("Unable to create work area directory: " + tempFile.getParent());
+                }
+            }
+
+            long maxFileSize = getMaxUploadSizeForFile(staticAsset.getFullUrl());
+            byte[] buffer = new byte[getFileBufferSize()];
+            try (InputStream input = new DigestInputStream(fileInputStream, md);
+                    OutputStream output = new FileOutputStream(tempFile)) {
+                int bytesRead;
+                long totalBytesRead = 0;
+                while ((bytesRead = input.read(buffer)) != -1) {
+                    totalBytesRead += bytesRead;
+                    if (totalBytesRead > maxFileSize) {
+                        throw new IOException("Maximum Upload File Size Exceeded");
+                    }
+                    output.write(buffer, 0, bytesRead);
+                }
+            }
+
+            String contentHash = pad(new BigInteger(1, md.digest()).toString(16), 64, '0');
+            String contentPath = getContentAddressedPath(contentHash);
+            if (broadleafFileService.getResource(contentPath).exists()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Reusing existing content for asset " + staticAsset.getFullUrl() + " (" + contentHash + ")");
+                }
+            } else {
+                File destFile = new File(FilenameUtils.normalize(tempWorkArea.getFilePathLocation() + File.separator + FilenameUtils.separatorsToSystem(contentPath)));
+                if (!destFile.getParentFile().exists() && !destFile.getParentFile().mkdirs()) {
+                    if (!destFile.getParentFile().exists()) {
+                        throw new RuntimeException("Unable to create parent directories for file: " + destFile.getAbsolutePath());
+                    }
+                }
+                Files.move(tempFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                broadleafFileService.addOrUpdateResource(tempWorkArea, destFile, false);
+            }
+
+            staticAsset.setContentHash(contentHash);
+            staticAssetService.updateStaticAsset(staticAsset);
+        } finally {
+            broadleafFileService.closeWorkArea(tempWorkArea);
+        }
+    }
+
+    /**
+     * Returns the resource name for content with the given SHA-256. Two levels of directories keep any one directory
+     * from growing too large.
+     */
+    protected String getContentAddressedPath(String contentHash) {
+        if (StringUtils.length(contentHash) < 4) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
         }
+        return "/" + CONTENT_ADDRESSED_DIRECTORY + "/" + contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4)
+                + "/" + contentHash;
     }
 
     protected long getMaxUploadSizeForFile(String fileName) {
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.page.service;
+
+import java.util.Objects;
+
+/**
+ * Key for the near cache in {@link PageServiceImpl}. Includes the site and sandbox so that it is unique even when a
+ * {@link PageQueryExtensionManager} would have modified the String key used for the JCache region.
+ *
+ * @see org.broadleafcommerce.common.cache.NearCache
+ */
+public final class PageCacheKey {
+
+    private final String uri;
+    private final String localeCode;
+    private final Long sandBoxId;
+    private final Long siteId;
+    private final boolean secure;
+    private final int hash;
+
+    public PageCacheKey(String uri, String localeCode, Long sandBoxId, Long siteId, boolean secure) {
+        this.uri = uri;
+        this.localeCode = localeCode;
+        this.sandBoxId = sandBoxId;
+        this.siteId = siteId;
+        this.secure = secure;
+        this.hash = Objects.hash(uri, localeCode, sandBoxId, siteId, secure);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getLocaleCode() {
+        return localeCode;
+    }
+
+    public Long getSandBoxId() {
+        return sandBoxId;
+    }
+
+    public Long getSiteId() {
+        return siteId;
+    }
+
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageCacheKey)) {
+            return false;
+        }
+        PageCacheKey that = (PageCacheKey) o;
+        return hash == that.hash
+                && secure == that.secure
+                && Objects.equals(uri, that.uri)
+                && Objects.equals(localeCode, that.localeCode)
+                && Objects.equals(sandBoxId, that.sandBoxId)
+                && Objects.equals(siteId, that.siteId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return uri + "-" + localeCode + "-" + sandBoxId + "-" + siteId + "-" + secure;
+    }
+}
@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.page.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.service.LocaleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+/**
+ * Loads the CMS pages for a configured list of URIs, typically the home page and the other main landing pages, in
+ * the default locale.
+ */
+@Component("blPageCacheWarmupTask")
+public class PageCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blPageService")
+    protected PageService pageService;
+
+    @Resource(name = "blLocaleService")
+    protected LocaleService localeService;
+
+    @Value("${cache.warmup.pages.uris:/}")
+    protected String uris = "/";
+
+    @Override
+    public String getName() {
+        return "pages";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        Locale locale = localeService.findDefaultLocale();
+        List<Runnable> batches = new ArrayList<>();
+        for (String uri : StringUtils.stripAll(StringUtils.split(uris, ','))) {
+            batches.add(() -> pageService.findPageByURI(locale, uri, new HashMap<String, Object>(), false));
+        }
+        return batches;
+    }
+
+}
@@ -26,7 +26,9 @@ import org.broadleafcommerce.cms.page.domain.Page;
 import org.broadleafcommerce.cms.page.domain.PageField;
 import org.broadleafcommerce.cms.page.domain.PageTemplate;
 import org.broadleafcommerce.common.cache.CacheStatType;
+import org.broadleafcommerce.common.cache.NearCache;
 import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.extension.ExtensionResultHolder;
 import org.broadleafcommerce.common.extension.ResultType;
 import org.broadleafcommerce.common.locale.domain.Locale;
@@ -38,6 +40,7 @@ import org.broadleafcommerce.common.rule.RuleProcessor;
 import org.broadleafcommerce.common.site.domain.Site;
 import org.broadleafcommerce.common.template.TemplateOverrideExtensionManager;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,6 +51,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
@@ -62,6 +66,8 @@ public class PageServiceImpl implements PageService {
 
     protected static final Log LOG = LogFactory.getLog(PageServiceImpl.class);
     protected static String AND = " && ";
+    protected static final String PAGE_CACHE_NAME = "cmsPageCache";
+    protected static final String PAGE_MAP_CACHE_NAME = "cmsPageMapCache";
 
     @Resource(name="blPageDao")
     protected PageDao pageDao;
@@ -93,12 +99,48 @@ public class PageServiceImpl implements PageService {
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
 
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     protected Cache pageCache;
     protected Cache pageMapCache;
     protected Cache uriCachedDateCache;
+
+    /**
+     * Whether page DTO lists should also be cached on-heap in front of the cmsPageCache region
+     */
+    @Value("${cms.near.cache.enabled:false}")
+    protected boolean nearCacheEnabled = false;
+
+    @Value("${cms.near.cache.maxEntries:2000}")
+    protected int nearCacheMaxEntries = 2000;
+
+    @Value("${cms.near.cache.timeToLiveSeconds:60}")
+    protected long nearCacheTimeToLiveSeconds = 60L;
+
+    protected volatile NearCache<PageCacheKey, List<PageDTO>> pageNearCache;
     
     protected final PageDTO NULL_PAGE = new NullPageDTO();
 
+    @PostConstruct
+    public void registerCacheInvalidationListener() {
+        cacheInvalidationBus.addListener(event -> {
+            if (PAGE_MAP_CACHE_NAME.equals(event.getCacheName())) {
+                // The page keys for a map key differ per node, so each node looks up its own
+                if (event.isClear()) {
+                    getPageCache().removeAll();
+                    if (pageNearCache != null) {
+                        pageNearCache.clear();
+                    }
+                } else {
+                    removePageFromLocalCache(event.getKey());
+                }
+            } else if (PAGE_CACHE_NAME.equals(event.getCacheName()) && pageNearCache != null) {
+                pageNearCache.clear();
+            }
+        });
+    }
+
     /*
      * Returns the page with the passed in id.
      */
@@ -167,10 +209,20 @@ public class PageServiceImpl implements PageService {
     }
 
     protected boolean isNullPageCached(Locale locale, String uri, boolean secure) {
+        final PageCacheKey nearCacheKey = buildNearCacheKey(uri, locale, secure);
+        if (nearCacheKey != null) {
+            final List<PageDTO> nearList = getPageNearCache().get(nearCacheKey);
+            if (nearList != null) {
+                // A missing page is held in the near cache as an empty list
+                return nearList.isEmpty() || nearList.get(0) instanceof NullPageDTO;
+            }
+        }
+
         boolean result = false;
         final String cacheKey = buildKey(uri, locale, secure);
-        if (getPageCache().get(cacheKey) != null) {
-            Object pageDto = ((List) this.getPageCache().get(cacheKey)).get(0);
+        final Object cachedList = getPageCache().get(cacheKey);
+        if (cachedList != null) {
+            Object pageDto = ((List) cachedList).get(0);
             if (pageDto instanceof NullPageDTO) {
                 result = true;
             }
@@ -181,6 +233,15 @@ public class PageServiceImpl implements PageService {
     protected List<PageDTO> getPageDTOListForURI(final Locale locale, final String uri, final boolean secure) {
         final List<PageDTO> dtoList;
 
+        final PageCacheKey nearCacheKey = buildNearCacheKey(uri, locale, secure);
+        if (nearCacheKey != null) {
+            final List<PageDTO> cachedList = getPageNearCache().get(nearCacheKey);
+            if (cachedList != null) {
+                statisticsService.addCacheStat(CacheStatType.PAGE_CACHE_HIT_RATE.toString(), true);
+                return copyDTOList(cachedList);
+            }
+        }
+
         if (uri != null) {
             final String key = buildKey(uri, locale, secure);
             addCachedDate(key);
@@ -194,6 +255,10 @@ public class PageServiceImpl implements PageService {
             }
 
             dtoList = buildPageDTOList(pageList, secure, uri, locale);
+
+            if (nearCacheKey != null) {
+                getPageNearCache().put(nearCacheKey, Collections.unmodifiableList(copyDTOList(dtoList)));
+            }
         } else {
             dtoList = null;
         }
@@ -201,6 +266,52 @@ public class PageServiceImpl implements PageService {
         return dtoList;
     }
 
+    /**
+     * Builds the key for the near cache, or returns null if the near cache should not be used for this lookup. Like
+     * the cmsPageCache region, the near cache only holds production pages.
+     *
+     * @param uri
+     * @param locale
+     * @param secure
+     * @return
+     */
+    protected PageCacheKey buildNearCacheKey(String uri, Locale locale, boolean secure) {
+        if (!nearCacheEnabled || uri == null) {
+            return null;
+        }
+        BroadleafRequestContext context = BroadleafRequestContext.getBroadleafRequestContext();
+        if (context == null || !context.isProductionSandBox()) {
+            return null;
+        }
+        Site site = context.getNonPersistentSite();
+        Long siteId = (site != null) ? site.getId() : null;
+        Long sandBoxId = (context.getSandBox() != null) ? context.getSandBox().getId() : null;
+        String localeCode = (locale != null) ? locale.getLocaleCode() : null;
+        return new PageCacheKey(uri, localeCode, sandBoxId, siteId, secure);
+    }
+
+    protected NearCache<PageCacheKey, List<PageDTO>> getPageNearCache() {
+        if (pageNearCache == null) {
+            synchronized (this) {
+                if (pageNearCache == null) {
+                    pageNearCache = new NearCache<>("cmsPageNearCache", nearCacheMaxEntries, nearCacheTimeToLiveSeconds);
+                }
+            }
+        }
+        return pageNearCache;
+    }
+
+    /**
+     * Evicts every near cache entry for the given URI, regardless of locale, site or sandbox.
+     *
+     * @param uri
+     */
+    protected void removePageFromNearCache(final String uri) {
+        if (pageNearCache != null && uri != null) {
+            pageNearCache.removeIf(key -> uri.equals(key.getUri()));
+        }
+    }
+
     protected void addCachedDate(final String key) {
         if (getPageCache().get(key) == null) {
             getUriCachedDateCache().put(key, new Date());
@@ -373,7 +484,7 @@ public class PageServiceImpl implements PageService {
     @Override
     public Cache getPageCache() {
         if (pageCache == null) {
-            pageCache = cacheManager.getCache("cmsPageCache");
+            pageCache = cacheManager.getCache(PAGE_CACHE_NAME);
         }
         return pageCache;
     }
@@ -381,7 +492,7 @@ public class PageServiceImpl implements PageService {
     @Override
     public Cache getPageMapCache() {
         if (pageMapCache == null) {
-            pageMapCache = cacheManager.getCache("cmsPageMapCache");
+            pageMapCache = cacheManager.getCache(PAGE_MAP_CACHE_NAME);
         }
         return pageMapCache;
     }
@@ -460,10 +571,26 @@ public class PageServiceImpl implements PageService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Boolean removePageFromCache(String mapKey) {
+        Boolean success = removePageFromLocalCache(mapKey);
+        cacheInvalidationBus.publishEviction(PAGE_MAP_CACHE_NAME, mapKey);
+        return success;
+    }
+
+    /**
+     * Removes the pages recorded for the map key from this node's caches without notifying other nodes.
+     *
+     * @param mapKey
+     * @return whether all of the recorded pages were removed
+     */
+    @SuppressWarnings("unchecked")
+    protected Boolean removePageFromLocalCache(String mapKey) {
         Boolean success = null;
         if (mapKey != null) {
+            if (pageNearCache != null) {
+                pageNearCache.removeIf(key -> mapKey.equals(getPageMapCacheKey(key.getUri(), key.getSiteId())));
+            }
+
             Object e = getPageMapCache().get(mapKey);
 
             if (e != null) {
@@ -484,6 +611,7 @@ public class PageServiceImpl implements PageService {
 
     @Override
     public Boolean removeTranslationPageFromCache(final String uri, String localeCode, boolean isSecure) {
+        removePageFromNearCache(uri);
         String cacheKey = buildBaseKey(uri, localeCode, isSecure);
         List<String> cacheKeys = new ArrayList<>();
         cacheKeys.add(cacheKey);
@@ -498,6 +626,7 @@ public class PageServiceImpl implements PageService {
                 cKey = cKey.substring(cKey.indexOf(":")+1);
             }
             getPageCache().remove(cKey);
+            cacheInvalidationBus.publishEviction(PAGE_CACHE_NAME, cKey);
         }
         return true;
     }
@@ -0,0 +1,124 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.structure.service;
+
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.sandbox.domain.SandBox;
+
+import java.util.Objects;
+
+/**
+ * Key for the near cache in {@link StructuredContentServiceImpl}. Unlike the String keys used for the JCache region,
+ * building one of these does not concatenate anything, and the hash code is computed once.
+ *
+ * @see org.broadleafcommerce.common.cache.NearCache
+ */
+public final class StructuredContentCacheKey {
+
+    private final String contentType;
+    private final String contentName;
+    private final String localeCode;
+    private final Long sandBoxId;
+    private final Long siteId;
+    private final boolean secure;
+    private final int hash;
+
+    public StructuredContentCacheKey(String contentType, String contentName, String localeCode, Long sandBoxId, Long siteId, boolean secure) {
+        this.contentType = contentType;
+        this.contentName = contentName;
+        this.localeCode = localeCode;
+        this.sandBoxId = sandBoxId;
+        this.siteId = siteId;
+        this.secure = secure;
+        this.hash = Objects.hash(contentType, contentName, localeCode, sandBoxId, siteId, secure);
+    }
+
+    /**
+     * Key for a list of content items of the given type. The content name is null.
+     */
+    public static StructuredContentCacheKey forType(SandBox sandBox, Long siteId, Locale locale, String contentType, boolean secure) {
+        return new StructuredContentCacheKey(contentType, null, localeCode(locale), sandBoxId(sandBox), siteId, secure);
+    }
+
+    /**
+     * Key for a list of content items with the given name. The content type is null when the lookup is by name alone.
+     */
+    public static StructuredContentCacheKey forName(SandBox sandBox, Long siteId, Locale locale, String contentType, String contentName, boolean secure) {
+        return new StructuredContentCacheKey(contentType, contentName, localeCode(locale), sandBoxId(sandBox), siteId, secure);
+    }
+
+    protected static String localeCode(Locale locale) {
+        return locale == null ? null : locale.getLocaleCode();
+    }
+
+    protected static Long sandBoxId(SandBox sandBox) {
+        return sandBox == null ? null : sandBox.getId();
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getContentName() {
+        return contentName;
+    }
+
+    public String getLocaleCode() {
+        return localeCode;
+    }
+
+    public Long getSandBoxId() {
+        return sandBoxId;
+    }
+
+    public Long getSiteId() {
+        return siteId;
+    }
+
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StructuredContentCacheKey)) {
+            return false;
+        }
+        StructuredContentCacheKey that = (StructuredContentCacheKey) o;
+        return hash == that.hash
+                && secure == that.secure
+                && Objects.equals(contentType, that.contentType)
+                && Objects.equals(contentName, that.contentName)
+                && Objects.equals(localeCode, that.localeCode)
+                && Objects.equals(sandBoxId, that.sandBoxId)
+                && Objects.equals(siteId, that.siteId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return contentType + "-" + contentName + "-" + localeCode + "-" + sandBoxId + "-" + siteId + "-" + secure;
+    }
+}
@@ -0,0 +1,75 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.structure.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.broadleafcommerce.cms.structure.domain.StructuredContentType;
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.service.LocaleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Resource;
+
+/**
+ * Loads the structured content for each content type in the default locale. The cached lists are keyed by type and
+ * locale and the rules are evaluated per request afterwards, so no customer or request data is needed to fill them.
+ */
+@Component("blStructuredContentCacheWarmupTask")
+public class StructuredContentCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blStructuredContentService")
+    protected StructuredContentService structuredContentService;
+
+    @Resource(name = "blLocaleService")
+    protected LocaleService localeService;
+
+    /**
+     * The content type names to load, or blank for all of them
+     */
+    @Value("${cache.warmup.structured.content.types:}")
+    protected String contentTypeNames = "";
+
+    @Override
+    public String getName() {
+        return "structuredContent";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        Locale locale = localeService.findDefaultLocale();
+        Set<String> names = new HashSet<>(Arrays.asList(StringUtils.stripAll(StringUtils.split(contentTypeNames, ','))));
+        List<Runnable> batches = new ArrayList<>();
+        for (StructuredContentType contentType : structuredContentService.retrieveAllStructuredContentTypes()) {
+            if (names.isEmpty() || names.contains(contentType.getName())) {
+                batches.add(() -> structuredContentService.lookupStructuredContentItemsByType(contentType, locale,
+                        Integer.MAX_VALUE, new HashMap<String, Object>(), false));
+            }
+        }
+        return batches;
+    }
+
+}
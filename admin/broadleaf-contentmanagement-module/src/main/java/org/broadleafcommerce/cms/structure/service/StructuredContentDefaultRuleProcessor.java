@@ -56,7 +56,8 @@ public class StructuredContentDefaultRuleProcessor extends AbstractRuleProcessor
             if (LOG.isTraceEnabled())  {
                 LOG.trace("Processing content rule for StructuredContent with id " + sc.getId() +".   Value = " + ruleExpression);
             }
-            boolean result = executeExpression(ruleExpression, vars);
+            // Many content items share the same rule, so only evaluate each one once per request
+            boolean result = executeMemoizedExpression(ruleExpression, vars);
             if (! result) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Content failed to pass rule and will not be included for StructuredContent with id " + sc.getId() +".   Value = " + ruleExpression);
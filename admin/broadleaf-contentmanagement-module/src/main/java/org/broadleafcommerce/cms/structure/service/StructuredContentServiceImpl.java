@@ -35,7 +35,9 @@ import org.broadleafcommerce.cms.structure.domain.StructuredContentItemCriteria;
 import org.broadleafcommerce.cms.structure.domain.StructuredContentRule;
 import org.broadleafcommerce.cms.structure.domain.StructuredContentType;
 import org.broadleafcommerce.common.cache.CacheStatType;
+import org.broadleafcommerce.common.cache.NearCache;
 import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.extension.ExtensionResultHolder;
 import org.broadleafcommerce.common.file.service.StaticAssetPathService;
 import org.broadleafcommerce.common.locale.domain.Locale;
@@ -52,6 +54,7 @@ import org.broadleafcommerce.common.util.FormatUtil;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Projections;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -63,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
@@ -77,6 +81,7 @@ public class StructuredContentServiceImpl implements StructuredContentService {
 
     protected static String AND = " && ";
     protected static final String FOREIGN_LOOKUP = "BLC_FOREIGN_LOOKUP";
+    protected static final String STRUCTURED_CONTENT_CACHE_NAME = "cmsStructuredContentCache";
 
     @Resource(name = "blStructuredContentDao")
     protected StructuredContentDao structuredContentDao;
@@ -105,8 +110,35 @@ public class StructuredContentServiceImpl implements StructuredContentService {
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
 
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     protected Cache structuredContentCache;
 
+    /**
+     * Whether lists of content DTOs should also be cached on-heap in front of the cmsStructuredContentCache region
+     */
+    @Value("${cms.near.cache.enabled:false}")
+    protected boolean nearCacheEnabled = false;
+
+    @Value("${cms.near.cache.maxEntries:2000}")
+    protected int nearCacheMaxEntries = 2000;
+
+    @Value("${cms.near.cache.timeToLiveSeconds:60}")
+    protected long nearCacheTimeToLiveSeconds = 60L;
+
+    protected volatile NearCache<StructuredContentCacheKey, List<StructuredContentDTO>> structuredContentNearCache;
+
+    @PostConstruct
+    public void registerCacheInvalidationListener() {
+        // Evictions from other nodes only carry the String key, which can't be mapped back to a near cache key
+        cacheInvalidationBus.addListener(event -> {
+            if (STRUCTURED_CONTENT_CACHE_NAME.equals(event.getCacheName()) && structuredContentNearCache != null) {
+                structuredContentNearCache.clear();
+            }
+        });
+    }
+
     @Override
     public StructuredContent findStructuredContentById(Long contentId) {
         return structuredContentDao.findStructuredContentById(contentId);
@@ -269,23 +301,34 @@ public class StructuredContentServiceImpl implements StructuredContentService {
     public List<StructuredContentDTO> lookupStructuredContentItemsByType(StructuredContentType contentType, Locale locale,
                                                                          Integer count, Map<String, Object> ruleDTOs, boolean secure) {
         List<StructuredContentDTO> contentDTOList = null;
-        Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
         BroadleafRequestContext context = BroadleafRequestContext.getBroadleafRequestContext();
         Long site = (context.getNonPersistentSite() != null) ? context.getNonPersistentSite().getId() : null;
-        String cacheKey = buildTypeKeyWithSecure(context.getSandBox(), site, languageOnlyLocale, contentType.getName(), secure);
+        StructuredContentCacheKey nearCacheKey = null;
 
-        if (context.isProductionSandBox()) {
-            contentDTOList = getStructuredContentListFromCache(cacheKey);
+        if (isNearCacheEnabled(context)) {
+            nearCacheKey = StructuredContentCacheKey.forType(context.getSandBox(), site, locale, contentType.getName(), secure);
+            contentDTOList = getStructuredContentListFromNearCache(nearCacheKey);
         }
 
         if (contentDTOList == null) {
-            List<StructuredContent> contentList = structuredContentDao.findActiveStructuredContentByType(contentType,
-                    locale, languageOnlyLocale);
-            contentDTOList = buildStructuredContentDTOList(contentList, secure);
+            Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
+            String cacheKey = buildTypeKeyWithSecure(context.getSandBox(), site, languageOnlyLocale, contentType.getName(), secure);
 
             if (context.isProductionSandBox()) {
-                addStructuredContentListToCache(cacheKey, contentDTOList);
+                contentDTOList = getStructuredContentListFromCache(cacheKey);
             }
+
+            if (contentDTOList == null) {
+                List<StructuredContent> contentList = structuredContentDao.findActiveStructuredContentByType(contentType,
+                        locale, languageOnlyLocale);
+                contentDTOList = buildStructuredContentDTOList(contentList, secure);
+
+                if (context.isProductionSandBox()) {
+                    addStructuredContentListToCache(cacheKey, contentDTOList);
+                }
+            }
+
+            contentDTOList = addStructuredContentListToNearCache(nearCacheKey, contentDTOList);
         }
 
         return evaluateAndPriortizeContent(contentDTOList, count, ruleDTOs);
@@ -296,23 +339,34 @@ public class StructuredContentServiceImpl implements StructuredContentService {
                                                                          Locale locale, Integer count, Map<String, Object> ruleDTOs,
                                                                          boolean secure) {
         List<StructuredContentDTO> contentDTOList = null;
-        Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
         BroadleafRequestContext context = BroadleafRequestContext.getBroadleafRequestContext();
         Long site = (context.getNonPersistentSite() != null) ? context.getNonPersistentSite().getId() : null;
-        String cacheKey = buildNameKey(context.getSandBox(), site, languageOnlyLocale, contentType.getName(), contentName, secure);
+        StructuredContentCacheKey nearCacheKey = null;
 
-        if (context.isProductionSandBox()) {
-            contentDTOList = getStructuredContentListFromCache(cacheKey);
+        if (isNearCacheEnabled(context)) {
+            nearCacheKey = StructuredContentCacheKey.forName(context.getSandBox(), site, locale, contentType.getName(), contentName, secure);
+            contentDTOList = getStructuredContentListFromNearCache(nearCacheKey);
         }
 
         if (contentDTOList == null) {
-            List<StructuredContent> productionContentList = structuredContentDao.findActiveStructuredContentByNameAndType(
-                    contentType, contentName, locale, languageOnlyLocale);
-            contentDTOList = buildStructuredContentDTOList(productionContentList, secure);
+            Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
+            String cacheKey = buildNameKey(context.getSandBox(), site, languageOnlyLocale, contentType.getName(), contentName, secure);
 
             if (context.isProductionSandBox()) {
-                addStructuredContentListToCache(cacheKey, contentDTOList);
+                contentDTOList = getStructuredContentListFromCache(cacheKey);
             }
+
+            if (contentDTOList == null) {
+                List<StructuredContent> productionContentList = structuredContentDao.findActiveStructuredContentByNameAndType(
+                        contentType, contentName, locale, languageOnlyLocale);
+                contentDTOList = buildStructuredContentDTOList(productionContentList, secure);
+
+                if (context.isProductionSandBox()) {
+                    addStructuredContentListToCache(cacheKey, contentDTOList);
+                }
+            }
+
+            contentDTOList = addStructuredContentListToNearCache(nearCacheKey, contentDTOList);
         }
 
         return evaluateAndPriortizeContent(contentDTOList, count, ruleDTOs);
@@ -372,25 +426,38 @@ public class StructuredContentServiceImpl implements StructuredContentService {
         String nameKey = buildNameKey(sandBox, sc);
         String typeKey = buildTypeKey(sandBox, sc);
 
-        successRemoveByName = removeItemFromCacheByKey(nameKey);
+        removeStructuredContentFromNearCache(sc);
+
+        successRemoveByName = removeItemFromDistributedCacheByKey(nameKey);
 
         if (!successRemoveByName) {
             // this might be because the sandBox was null when the item was added to the cache
             nameKey = buildNameKey(null, sc);
-            removeItemFromCacheByKey(nameKey);
+            removeItemFromDistributedCacheByKey(nameKey);
         }
 
-        successRemoveByType = removeItemFromCacheByKey(typeKey);
+        successRemoveByType = removeItemFromDistributedCacheByKey(typeKey);
 
         if (!successRemoveByType) {
             // this might be because the sandBox was null when the item was added to the cache
             typeKey = buildTypeKey(null, sc);
-            removeItemFromCacheByKey(typeKey);
+            removeItemFromDistributedCacheByKey(typeKey);
         }
     }
 
     @Override
     public boolean removeItemFromCacheByKey(String key) {
+        removeKeyFromNearCache(key);
+        return removeItemFromDistributedCacheByKey(key);
+    }
+
+    /**
+     * Removes the secure and non-secure entries for the key from the cmsStructuredContentCache region only.
+     *
+     * @param key
+     * @return whether either entry was removed
+     */
+    protected boolean removeItemFromDistributedCacheByKey(String key) {
         // Remove secure and non-secure instances of the structured content.
         // Typically the structured content will be in one or the other if at all.
         boolean successSecure = false;
@@ -399,6 +466,8 @@ public class StructuredContentServiceImpl implements StructuredContentService {
         if (!StringUtils.isEmpty(key)) {
             successSecure = getStructuredContentCache().remove(key + "-" + true);
             successNonSecure = getStructuredContentCache().remove(key + "-" + false);
+            cacheInvalidationBus.publishEviction(STRUCTURED_CONTENT_CACHE_NAME, key + "-" + true);
+            cacheInvalidationBus.publishEviction(STRUCTURED_CONTENT_CACHE_NAME, key + "-" + false);
         }
 
         return successSecure || successNonSecure;
@@ -426,7 +495,7 @@ public class StructuredContentServiceImpl implements StructuredContentService {
     @Override
     public Cache getStructuredContentCache() {
         if (structuredContentCache == null) {
-            structuredContentCache = cacheManager.getCache("cmsStructuredContentCache");
+            structuredContentCache = cacheManager.getCache(STRUCTURED_CONTENT_CACHE_NAME);
         }
         return structuredContentCache;
     }
@@ -738,24 +807,144 @@ public class StructuredContentServiceImpl implements StructuredContentService {
     @Override
     public List<StructuredContentDTO> getStructuredContentItemsByContentName(String contentName, Locale locale, boolean secure) {
         List<StructuredContentDTO> contentDTOList = null;
-        Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
         BroadleafRequestContext context = BroadleafRequestContext.getBroadleafRequestContext();
         Long site = (context.getNonPersistentSite() != null) ? context.getNonPersistentSite().getId() : null;
-        String cacheKey = buildNameKey(context.getSandBox(), site, languageOnlyLocale, "any", contentName, secure);
-        cacheKey = cacheKey + "-" + secure;
+        StructuredContentCacheKey nearCacheKey = null;
 
-        if (context.isProductionSandBox()) {
-            contentDTOList = getStructuredContentListFromCache(cacheKey);
+        if (isNearCacheEnabled(context)) {
+            nearCacheKey = StructuredContentCacheKey.forName(context.getSandBox(), site, locale, null, contentName, secure);
+            contentDTOList = getStructuredContentListFromNearCache(nearCacheKey);
         }
 
         if (contentDTOList == null) {
-            List<StructuredContent> productionContentList = structuredContentDao.findActiveStructuredContentByName(contentName, locale, languageOnlyLocale);
-            contentDTOList = buildStructuredContentDTOList(productionContentList, secure);
+            Locale languageOnlyLocale = findLanguageOnlyLocale(locale);
+            String cacheKey = buildNameKey(context.getSandBox(), site, languageOnlyLocale, "any", contentName, secure);
+            cacheKey = cacheKey + "-" + secure;
+
             if (context.isProductionSandBox()) {
-                addStructuredContentListToCache(cacheKey, contentDTOList);
+                contentDTOList = getStructuredContentListFromCache(cacheKey);
+            }
+
+            if (contentDTOList == null) {
+                List<StructuredContent> productionContentList = structuredContentDao.findActiveStructuredContentByName(contentName, locale, languageOnlyLocale);
+                contentDTOList = buildStructuredContentDTOList(productionContentList, secure);
+                if (context.isProductionSandBox()) {
+                    addStructuredContentListToCache(cacheKey, contentDTOList);
+                }
+            }
+
+            contentDTOList = addStructuredContentListToNearCache(nearCacheKey, contentDTOList);
+        }
+
+        return contentDTOList;
+    }
+
+    /**
+     * The near cache is only used for production content, just like the cmsStructuredContentCache region.
+     *
+     * @param context
+     * @return whether lookups for the current request should go through the near cache
+     */
+    protected boolean isNearCacheEnabled(BroadleafRequestContext context) {
+        return nearCacheEnabled && context.isProductionSandBox();
+    }
+
+    protected NearCache<StructuredContentCacheKey, List<StructuredContentDTO>> getStructuredContentNearCache() {
+        if (structuredContentNearCache == null) {
+            synchronized (this) {
+                if (structuredContentNearCache == null) {
+                    structuredContentNearCache = new NearCache<>("cmsStructuredContentNearCache", nearCacheMaxEntries, nearCacheTimeToLiveSeconds);
+                }
             }
         }
+        return structuredContentNearCache;
+    }
 
+    protected List<StructuredContentDTO> getStructuredContentListFromNearCache(StructuredContentCacheKey key) {
+        List<StructuredContentDTO> contentDTOList = getStructuredContentNearCache().get(key);
+        if (contentDTOList != null) {
+            statisticsService.addCacheStat(CacheStatType.STRUCTURED_CONTENT_CACHE_HIT_RATE.toString(), true);
+        }
         return contentDTOList;
     }
+
+    /**
+     * Caches an unmodifiable copy of the list in the near cache, since the same instance will be handed to every
+     * request on this node. If the key is null, the near cache is not in use and the list is returned as is.
+     *
+     * @param key
+     * @param contentDTOList
+     * @return the list that callers should use from now on
+     */
+    protected List<StructuredContentDTO> addStructuredContentListToNearCache(StructuredContentCacheKey key, List<StructuredContentDTO> contentDTOList) {
+        if (key == null || contentDTOList == null) {
+            return contentDTOList;
+        }
+        List<StructuredContentDTO> immutableList = Collections.unmodifiableList(new ArrayList<>(contentDTOList));
+        getStructuredContentNearCache().put(key, immutableList);
+        return immutableList;
+    }
+
+    /**
+     * Evicts every near cache entry that could contain the given content item, regardless of locale, site or sandbox.
+     *
+     * @param sc
+     */
+    protected void removeStructuredContentFromNearCache(StructuredContent sc) {
+        if (structuredContentNearCache == null) {
+            return;
+        }
+        final String contentType = sc.getStructuredContentType() == null ? null : sc.getStructuredContentType().getName();
+        final String contentName = sc.getContentName();
+        structuredContentNearCache.removeIf(key -> (key.getContentName() == null && StringUtils.equals(contentType, key.getContentType()))
+                || (key.getContentName() != null && StringUtils.equals(contentName, key.getContentName())));
+    }
+
+    /**
+     * Evicts the near cache entries that were cached under the given cmsStructuredContentCache key, with or without its
+     * secure suffix. The String key is built with the language only locale, so an entry for "en_US" matches a key built
+     * with either "en_US" or "en".
+     *
+     * @param key
+     */
+    protected void removeKeyFromNearCache(final String key) {
+        if (structuredContentNearCache == null || StringUtils.isEmpty(key)) {
+            return;
+        }
+        structuredContentNearCache.removeIf(nearKey -> matchesCacheKey(nearKey, key));
+    }
+
+    protected boolean matchesCacheKey(StructuredContentCacheKey nearKey, String key) {
+        String localeCode = nearKey.getLocaleCode();
+        String languageCode = StringUtils.substringBefore(localeCode, "_");
+        return matchesCacheKey(nearKey, localeCode, key)
+                || (!StringUtils.equals(localeCode, languageCode) && matchesCacheKey(nearKey, languageCode, key));
+    }
+
+    protected boolean matchesCacheKey(StructuredContentCacheKey nearKey, String localeCode, String key) {
+        String baseKey = buildCacheKey(nearKey, localeCode);
+        return key.equals(baseKey) || key.equals(baseKey + "-" + nearKey.isSecure());
+    }
+
+    /**
+     * Builds the cmsStructuredContentCache key, without the secure suffix, that a lookup for the near cache key uses.
+     * This follows {@link #buildTypeKeyWithSecure} and {@link #buildNameKey(SandBox, Long, Locale, String, String, Boolean)}.
+     * A lookup by name alone uses "any" as the content type.
+     */
+    protected String buildCacheKey(StructuredContentCacheKey nearKey, String localeCode) {
+        StringBuilder key = new StringBuilder(nearKey.getContentType() == null ? "any" : nearKey.getContentType());
+        if (nearKey.getContentName() != null) {
+            key.append("-").append(nearKey.getContentName());
+        }
+        if (localeCode != null) {
+            key.append("-").append(localeCode);
+        }
+        if (nearKey.getSandBoxId() != null) {
+            key.append("-").append(nearKey.getSandBoxId());
+        }
+        if (nearKey.getSiteId() != null) {
+            key.append("-").append(nearKey.getSiteId());
+        }
+        return key.toString();
+    }
 }
@@ -0,0 +1,70 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.url.service;
+
+import org.broadleafcommerce.cms.url.domain.URLHandler;
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+/**
+ * Resolves the incoming URL of every exact match {@link URLHandler} so that the URL handler cache answers the
+ * redirect check for those URLs. Regex handlers are loaded once as well, since every miss walks them.
+ */
+@Component("blURLHandlerCacheWarmupTask")
+public class URLHandlerCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blURLHandlerService")
+    protected URLHandlerService urlHandlerService;
+
+    @Value("${cache.warmup.batch.size:50}")
+    protected int batchSize = 50;
+
+    @Override
+    public String getName() {
+        return "urlHandlers";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        List<String> uris = new ArrayList<>();
+        for (URLHandler handler : urlHandlerService.findAllURLHandlers()) {
+            if (!handler.isRegexHandler() && handler.getIncomingURL() != null) {
+                uris.add(handler.getIncomingURL());
+            }
+        }
+        List<Runnable> batches = new ArrayList<>();
+        batches.add(() -> urlHandlerService.findAllRegexURLHandlers());
+        for (List<String> batch : Lists.partition(uris, Math.max(1, batchSize))) {
+            batches.add(() -> {
+                for (String uri : batch) {
+                    urlHandlerService.findURLHandlerByURI(uri);
+                }
+            });
+        }
+        return batches;
+    }
+
+}
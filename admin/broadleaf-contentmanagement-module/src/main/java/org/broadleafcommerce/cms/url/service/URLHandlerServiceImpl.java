@@ -25,6 +25,7 @@ import org.broadleafcommerce.cms.url.domain.NullURLHandler;
 import org.broadleafcommerce.cms.url.domain.URLHandler;
 import org.broadleafcommerce.cms.url.domain.URLHandlerDTO;
 import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.site.domain.Site;
 import org.broadleafcommerce.common.util.EfficientLRUMap;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
@@ -50,6 +51,7 @@ public class URLHandlerServiceImpl implements URLHandlerService {
     protected static final String REGEX_SPECIAL_CHARS_PATTERN = "([\\[\\]\\.\\|\\?\\*\\+\\(\\)\\\\~`\\!@#%&\\-_+={}'\"\"<>:;, \\/])"; //other than ^ and $
     //This is just a placeholder object to allow us to cache a URI that does not have a URL handler.
     protected static final NullURLHandler NULL_URL_HANDLER = new NullURLHandler();
+    protected static final String URL_HANDLER_CACHE_NAME = "cmsUrlHandlerCache";
     private static final Log LOG = LogFactory.getLog(URLHandlerServiceImpl.class);
     protected Cache<String,URLHandler> urlHandlerCache;
 
@@ -62,6 +64,9 @@ public class URLHandlerServiceImpl implements URLHandlerService {
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
 
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     protected Map<String, Pattern> urlPatternMap = new EfficientLRUMap<String, Pattern>(2000);
 
     /**
@@ -190,6 +195,8 @@ public class URLHandlerServiceImpl implements URLHandlerService {
             if (e != null) {
                 success = Boolean.valueOf(getUrlHandlerCache().remove(mapKey));
             }
+            // Other nodes may have the handler cached even when this node doesn't
+            cacheInvalidationBus.publishEviction(URL_HANDLER_CACHE_NAME, mapKey);
         }
 
         return success;
@@ -211,7 +218,7 @@ public class URLHandlerServiceImpl implements URLHandlerService {
 
     protected Cache<String,URLHandler> getUrlHandlerCache() {
         if (urlHandlerCache == null) {
-            urlHandlerCache = cacheManager.getCache("cmsUrlHandlerCache");
+            urlHandlerCache = cacheManager.getCache(URL_HANDLER_CACHE_NAME);
         }
         return urlHandlerCache;
     }
@@ -18,6 +18,7 @@
 package org.broadleafcommerce.cms.web.file;
 
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -26,6 +27,7 @@ import org.springframework.web.servlet.View;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.OutputStream;
 import java.net.SocketException;
@@ -51,7 +53,8 @@ public class StaticAssetView implements View {
     @Override
     public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
         String cacheFilePath = (String) model.get("cacheFilePath");
-        BufferedInputStream bis = new BufferedInputStream(new FileInputStream(cacheFilePath));
+        File file = new File(cacheFilePath);
+        BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
         try {
             String mimeType = (String) model.get("mimeType");
             response.setContentType(mimeType);
@@ -82,16 +85,28 @@ public class StaticAssetView implements View {
                 cal.add(Calendar.SECOND, new Long(year).intValue());
                 response.setDateHeader ("Expires", cal.getTimeInMillis());
             }
-            OutputStream os = response.getOutputStream();
-            boolean eof = false;
-            while (!eof) {
-                int temp = bis.read();
-                if (temp < 0) {
-                    eof = true;
-                } else {
-                    os.write(temp);
+            long fileLength = file.length();
+            long start = 0;
+            long length = fileLength;
+            response.setHeader("Accept-Ranges", "bytes");
+            String range = request.getHeader("Range");
+            if (!StringUtils.isEmpty(range)) {
+                long[] bounds = parseRange(range, fileLength);
+                if (bounds == null) {
+                    response.setHeader("Content-Range", "bytes */" + fileLength);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    length = bounds[1] - bounds[0] + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + fileLength);
                 }
             }
+            response.setHeader("Content-Length", String.valueOf(length));
+            OutputStream os = response.getOutputStream();
+            IOUtils.copyLarge(bis, os, start, length);
             os.flush();
         } catch (Exception e) {
             if (e.getCause() instanceof SocketException) {
@@ -111,6 +126,50 @@ public class StaticAssetView implements View {
         }
     }
 
+    /**
+     * Parses a single "bytes=" range. Returns the inclusive first and last byte positions, an empty array if the header
+     * should be ignored and the whole file sent (multiple ranges, an unknown unit or an invalid range such as
+     * "bytes=500-100"), or null if the range cannot be satisfied because it starts past the end of the file.
+     */
+    protected long[] parseRange(String range, long fileLength) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffix range, e.g. bytes=-500 for the last 500 bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, fileLength - suffix);
+                end = fileLength - 1;
+            } else {
+                start = Long.parseLong(first);
+                if (!last.isEmpty() && Long.parseLong(last) < start) {
+                    // A last position before the first makes the range invalid, and an invalid range is ignored
+                    return new long[0];
+                }
+                end = last.isEmpty() ? fileLength - 1 : Math.min(Long.parseLong(last), fileLength - 1);
+            }
+            if (start < 0 || start >= fileLength) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
     public boolean isBrowserAssetCachingEnabled() {
         return browserAssetCachingEnabled;
     }
@@ -99,6 +99,7 @@ public class ContentProcessor extends AbstractBroadleafVariableModifierProcessor
     protected final Log LOG = LogFactory.getLog(getClass());
     public static final String REQUEST_DTO = "blRequestDTO";
     public static final String BLC_RULE_MAP_PARAM = "blRuleMap";
+    public static final String TIME_DTO = "blContentTimeDTO";
 
     @Resource(name = "blStructuredContentService")
     protected StructuredContentService structuredContentService;
@@ -298,13 +299,17 @@ public class ContentProcessor extends AbstractBroadleafVariableModifierProcessor
      * @return
      */
     protected Map<String, Object> buildMvelParameters(HttpServletRequest request, Map<String, String> tagAttributes, BroadleafTemplateContext context) {
-        TimeZone timeZone = BroadleafRequestContext.getBroadleafRequestContext().getTimeZone();
-
-        final TimeDTO timeDto;
-        if (timeZone != null) {
-            timeDto = new TimeDTO(SystemTime.asCalendar(timeZone));
-        } else {
-            timeDto = new TimeDTO();
+        // Every content tag on the page shares one TimeDTO so that time-based rules are consistent across the page
+        // and their results can be reused between tags.
+        TimeDTO timeDto = (TimeDTO) request.getAttribute(TIME_DTO);
+        if (timeDto == null) {
+            TimeZone timeZone = BroadleafRequestContext.getBroadleafRequestContext().getTimeZone();
+            if (timeZone != null) {
+                timeDto = new TimeDTO(SystemTime.asCalendar(timeZone));
+            } else {
+                timeDto = new TimeDTO();
+            }
+            request.setAttribute(TIME_DTO, timeDto);
         }
 
         RequestDTO requestDto = (RequestDTO) request.getAttribute(REQUEST_DTO);
@@ -0,0 +1,117 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.file.service;
+
+import org.apache.commons.io.FileUtils;
+import org.broadleafcommerce.cms.field.type.StorageType;
+import org.broadleafcommerce.cms.file.domain.StaticAsset;
+import org.broadleafcommerce.cms.file.domain.StaticAssetImpl;
+import org.broadleafcommerce.common.file.domain.FileWorkArea;
+import org.broadleafcommerce.common.file.service.BroadleafFileService;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StaticAssetStorageServiceImplTest {
+
+    protected static final byte[] CONTENT = "the same bytes".getBytes(StandardCharsets.UTF_8);
+
+    protected StaticAssetStorageServiceImpl storageService;
+    protected BroadleafFileService fileService;
+    protected StaticAssetService staticAssetService;
+    protected File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("static-asset-storage").toFile();
+        fileService = EasyMock.createMock(BroadleafFileService.class);
+        staticAssetService = EasyMock.createMock(StaticAssetService.class);
+        storageService = new StaticAssetStorageServiceImpl();
+        storageService.broadleafFileService = fileService;
+        storageService.staticAssetService = staticAssetService;
+        storageService.env = new MockEnvironment();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testContentIsOnlyWrittenForTheFirstUploadOfTheSameBytes() throws Exception {
+        String contentPath = storageService.getContentAddressedPath(sha256(CONTENT));
+        File published = new File(directory, "published");
+        StaticAsset first = asset("/first.txt");
+        StaticAsset second = asset("/second.txt");
+
+        EasyMock.expect(fileService.initializeWorkArea()).andReturn(workArea("first")).times(1);
+        EasyMock.expect(fileService.getResource(contentPath)).andReturn(new File(directory, "missing"));
+        fileService.addOrUpdateResource(EasyMock.isA(FileWorkArea.class), EasyMock.isA(File.class), EasyMock.eq(false));
+        fileService.closeWorkArea(EasyMock.isA(FileWorkArea.class));
+        EasyMock.expect(staticAssetService.updateStaticAsset(first)).andReturn(first);
+
+        EasyMock.expect(fileService.initializeWorkArea()).andReturn(workArea("second")).times(1);
+        EasyMock.expect(fileService.getResource(contentPath)).andReturn(published);
+        fileService.closeWorkArea(EasyMock.isA(FileWorkArea.class));
+        EasyMock.expect(staticAssetService.updateStaticAsset(second)).andReturn(second);
+        EasyMock.replay(fileService, staticAssetService);
+
+        assertTrue(published.createNewFile());
+        storageService.createContentAddressedStorage(new ByteArrayInputStream(CONTENT), first);
+        storageService.createContentAddressedStorage(new ByteArrayInputStream(CONTENT), second);
+
+        EasyMock.verify(fileService, staticAssetService);
+        assertEquals(sha256(CONTENT), first.getContentHash());
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertTrue(new File(directory, "first" + contentPath).exists());
+        assertTrue(!new File(directory, "second" + contentPath).exists());
+    }
+
+    protected StaticAsset asset(String fullUrl) {
+        StaticAsset asset = new StaticAssetImpl();
+        asset.setFullUrl(fullUrl);
+        asset.setStorageType(StorageType.CONTENT_ADDRESSED);
+        return asset;
+    }
+
+    protected FileWorkArea workArea(String name) {
+        FileWorkArea workArea = new FileWorkArea();
+        workArea.setFilePathLocation(new File(directory, name).getAbsolutePath());
+        return workArea;
+    }
+
+    protected String sha256(byte[] content) throws Exception {
+        String hash = new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(content)).toString(16);
+        while (hash.length() < 64) {
+            hash = "0" + hash;
+        }
+        return hash;
+    }
+}
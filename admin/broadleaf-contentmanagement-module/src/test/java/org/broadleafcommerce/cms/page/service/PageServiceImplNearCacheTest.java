@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.page.service;
+
+import org.broadleafcommerce.common.page.dto.NullPageDTO;
+import org.broadleafcommerce.common.page.dto.PageDTO;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PageServiceImplNearCacheTest {
+
+    protected PageServiceImpl pageService;
+
+    @Before
+    public void setUp() {
+        BroadleafRequestContext.setBroadleafRequestContext(new BroadleafRequestContext());
+        pageService = new PageServiceImpl();
+        pageService.nearCacheEnabled = true;
+    }
+
+    @After
+    public void tearDown() {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+    }
+
+    @Test
+    public void testMissingPageInNearCacheIsTheNullPage() {
+        pageService.getPageNearCache().put(new PageCacheKey("/missing", null, null, null, false), Collections.<PageDTO>emptyList());
+        pageService.getPageNearCache().put(new PageCacheKey("/null", null, null, null, false),
+                Collections.<PageDTO>singletonList(new NullPageDTO()));
+
+        assertTrue(pageService.isNullPageCached(null, "/missing", false));
+        assertTrue(pageService.isNullPageCached(null, "/null", false));
+    }
+
+    @Test
+    public void testPageInNearCacheIsNotTheNullPage() {
+        pageService.getPageNearCache().put(new PageCacheKey("/about", null, null, null, true),
+                Collections.singletonList(new PageDTO()));
+
+        assertFalse(pageService.isNullPageCached(null, "/about", true));
+    }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.structure.service;
+
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.domain.LocaleImpl;
+import org.broadleafcommerce.common.structure.dto.StructuredContentDTO;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.cache.Cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class StructuredContentServiceImplNearCacheTest {
+
+    protected StructuredContentServiceImpl contentService;
+    protected Locale locale;
+
+    @Before
+    public void setUp() {
+        contentService = new StructuredContentServiceImpl();
+        contentService.structuredContentCache = EasyMock.createNiceMock(Cache.class);
+        contentService.cacheInvalidationBus = EasyMock.createNiceMock(CacheInvalidationBus.class);
+        EasyMock.replay(contentService.structuredContentCache, contentService.cacheInvalidationBus);
+        locale = new LocaleImpl();
+        locale.setLocaleCode("en_US");
+    }
+
+    @Test
+    public void testRemovingAKeyOnlyEvictsTheMatchingNearCacheEntries() {
+        StructuredContentCacheKey banner = StructuredContentCacheKey.forType(null, 1L, locale, "banner", false);
+        StructuredContentCacheKey secureBanner = StructuredContentCacheKey.forType(null, 1L, locale, "banner", true);
+        StructuredContentCacheKey otherSiteBanner = StructuredContentCacheKey.forType(null, 2L, locale, "banner", false);
+        StructuredContentCacheKey promo = StructuredContentCacheKey.forType(null, 1L, locale, "promo", false);
+        StructuredContentCacheKey homeBanner = StructuredContentCacheKey.forName(null, 1L, locale, "banner", "home", false);
+        for (StructuredContentCacheKey key : new StructuredContentCacheKey[] { banner, secureBanner, otherSiteBanner, promo, homeBanner }) {
+            contentService.getStructuredContentNearCache().put(key, Collections.<StructuredContentDTO>emptyList());
+        }
+
+        // The distributed cache key is built with the language only locale
+        contentService.removeItemFromCacheByKey("banner-en-1");
+
+        assertNull(contentService.getStructuredContentNearCache().get(banner));
+        assertNull(contentService.getStructuredContentNearCache().get(secureBanner));
+        assertNotNull(contentService.getStructuredContentNearCache().get(otherSiteBanner));
+        assertNotNull(contentService.getStructuredContentNearCache().get(promo));
+        assertNotNull(contentService.getStructuredContentNearCache().get(homeBanner));
+
+        contentService.removeItemFromCacheByKey("banner-home-en_US-1");
+
+        assertNull(contentService.getStructuredContentNearCache().get(homeBanner));
+        assertEquals(2, contentService.getStructuredContentNearCache().size());
+    }
+
+    @Test
+    public void testRemovingANameOnlyKeyEvictsTheNameOnlyEntry() {
+        StructuredContentCacheKey anyHome = StructuredContentCacheKey.forName(null, null, locale, null, "home", true);
+        StructuredContentCacheKey bannerHome = StructuredContentCacheKey.forName(null, null, locale, "banner", "home", true);
+        List<StructuredContentDTO> cached = Collections.emptyList();
+        contentService.getStructuredContentNearCache().put(anyHome, cached);
+        contentService.getStructuredContentNearCache().put(bannerHome, cached);
+
+        // Lookups by name alone append the secure flag to a key that already ends with it
+        contentService.removeItemFromCacheByKey("any-home-en-true");
+
+        assertNull(contentService.getStructuredContentNearCache().get(anyHome));
+        assertNotNull(contentService.getStructuredContentNearCache().get(bannerHome));
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * #%L
+ * BroadleafCommerce CMS Module
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.cms.web.file;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StaticAssetViewTest {
+
+    protected StaticAssetView view = new StaticAssetView();
+    protected File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("static-asset-view", ".txt");
+        Files.write(file.toPath(), "0123456789".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testSuffixRange() {
+        assertArrayEquals(new long[] { 500, 999 }, view.parseRange("bytes=-500", 1000));
+        assertArrayEquals(new long[] { 0, 999 }, view.parseRange("bytes=-2000", 1000));
+        assertNull(view.parseRange("bytes=-0", 1000));
+    }
+
+    @Test
+    public void testOpenEndedRange() {
+        assertArrayEquals(new long[] { 100, 999 }, view.parseRange("bytes=100-", 1000));
+        assertArrayEquals(new long[] { 999, 999 }, view.parseRange("bytes=999-", 1000));
+        assertArrayEquals(new long[] { 100, 999 }, view.parseRange("bytes=100-5000", 1000));
+        assertArrayEquals(new long[] { 0, 0 }, view.parseRange("bytes=0-0", 1000));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        assertNull(view.parseRange("bytes=1000-", 1000));
+        assertNull(view.parseRange("bytes=1000-1200", 1000));
+        assertNull(view.parseRange("bytes=0-", 0));
+    }
+
+    @Test
+    public void testIgnoredRanges() {
+        assertArrayEquals(new long[0], view.parseRange("bytes=0-1,5-6", 1000));
+        assertArrayEquals(new long[0], view.parseRange("bytes=500-100", 1000));
+        assertArrayEquals(new long[0], view.parseRange("items=0-1", 1000));
+        assertArrayEquals(new long[0], view.parseRange("bytes=abc", 1000));
+        assertArrayEquals(new long[0], view.parseRange("bytes=a-b", 1000));
+    }
+
+    @Test
+    public void testRenderPartialContent() throws Exception {
+        MockHttpServletResponse response = render("bytes=2-4");
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 2-4/10", response.getHeader("Content-Range"));
+        assertEquals("3", response.getHeader("Content-Length"));
+        assertEquals("234", response.getContentAsString());
+    }
+
+    @Test
+    public void testRenderInvalidRangeSendsTheWholeFile() throws Exception {
+        MockHttpServletResponse response = render("bytes=4-2");
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    public void testRenderUnsatisfiableRange() throws Exception {
+        MockHttpServletResponse response = render("bytes=10-");
+
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+        assertEquals("", response.getContentAsString());
+    }
+
+    protected MockHttpServletResponse render(String range) throws Exception {
+        Map<String, Object> model = new HashMap<>();
+        model.put("cacheFilePath", file.getAbsolutePath());
+        model.put("mimeType", "text/plain");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response;
+    }
+}
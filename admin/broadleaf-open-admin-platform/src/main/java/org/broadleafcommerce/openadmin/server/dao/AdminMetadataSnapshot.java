@@ -0,0 +1,435 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.dao;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.extensibility.jpa.MergePersistenceUnitManager;
+import org.broadleafcommerce.openadmin.dto.AdornedTargetList;
+import org.broadleafcommerce.openadmin.dto.BasicFieldMetadata;
+import org.broadleafcommerce.openadmin.dto.FieldMetadata;
+import org.broadleafcommerce.openadmin.dto.ForeignKey;
+import org.broadleafcommerce.openadmin.dto.MapStructure;
+import org.broadleafcommerce.openadmin.dto.OperationTypes;
+import org.broadleafcommerce.openadmin.dto.PersistencePerspective;
+import org.broadleafcommerce.openadmin.dto.SimpleValueMapStructure;
+import org.broadleafcommerce.openadmin.dto.override.MetadataOverride;
+import org.broadleafcommerce.openadmin.server.dao.provider.metadata.FieldMetadataProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+
+/**
+ * Keeps the merged {@link FieldMetadata} that {@link DynamicEntityDaoImpl} builds for an entity class on disk, so that
+ * an admin restart can read it back instead of running the metadata providers again. This is off unless
+ * <code>admin.metadata.snapshot.enabled</code> is true.
+ * <p>
+ * Each snapshot file is named after a hash of the in-memory cache key, the bytecode of the entity class and its
+ * superclasses, the polymorphic entities it was built with, the metadata overrides, the application configuration map,
+ * the metadata providers and the configuration of the class transformers, which add fields to entities at load time.
+ * A change to any of these gives a different name, so the snapshot is rebuilt on first use and the old file is simply
+ * not read again. The metadata also holds properties of related and embedded classes, such as
+ * <code>defaultSku.*</code>, so each file also records a hash of the bytecode of every class its properties come from
+ * and is only used while those are unchanged. The directory can be populated by a build step and shipped with the
+ * application, or left to fill up on the first boot.
+ * <p>
+ * The directory must be set with <code>admin.metadata.snapshot.directory</code>. Snapshots are deserialized on
+ * startup, so they are never kept in a shared temporary directory.
+ * <p>
+ * Metadata fetched for a particular parent record, where a {@link ForeignKey} carries a current value, is not written
+ * since there is one of those per record.
+ */
+@Component("blAdminMetadataSnapshot")
+public class AdminMetadataSnapshot {
+
+    private static final Log LOG = LogFactory.getLog(AdminMetadataSnapshot.class);
+
+    protected static final String FILE_EXTENSION = ".ser.gz";
+
+    @Resource(name = "blMetadataOverrides")
+    protected Map<String, Map<String, MetadataOverride>> metadataOverrides;
+
+    @Resource(name = "blAppConfigurationMap")
+    protected Map<String, String> propertyConfigurations = new HashMap<>();
+
+    @Resource(name = "blFieldMetadataProviders")
+    protected List<FieldMetadataProvider> fieldMetadataProviders = new ArrayList<>();
+
+    @Resource(name = "blPersistenceUnitManager")
+    protected MergePersistenceUnitManager persistenceUnitManager;
+
+    @Value("${admin.metadata.snapshot.enabled:false}")
+    protected boolean enabled = false;
+
+    @Value("${admin.metadata.snapshot.directory:}")
+    protected String directory;
+
+    protected final Map<String, String> classHashes = new ConcurrentHashMap<>();
+
+    protected final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    protected volatile String configurationHash;
+
+    @PostConstruct
+    public void init() {
+        if (enabled && StringUtils.isBlank(directory)) {
+            LOG.warn("admin.metadata.snapshot.enabled is true but admin.metadata.snapshot.directory is not set. "
+                    + "Admin metadata snapshots are disabled.");
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether metadata built for these foreign keys is the same for every record, and so worth writing
+     */
+    public boolean isSnapshotCandidate(ForeignKey foreignField, ForeignKey[] additionalForeignFields) {
+        if (foreignField != null && foreignField.getCurrentValue() != null) {
+            return false;
+        }
+        if (additionalForeignFields != null) {
+            for (ForeignKey key : additionalForeignFields) {
+                if (key != null && key.getCurrentValue() != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the lock a caller holds while it reads, builds and writes the snapshot for the key, so that two threads
+     * warming the same metadata do not both do the work. It is separate from the metadata cache lock, so snapshots of
+     * different entities are hashed, read and written in parallel.
+     */
+    public Lock getLock(String key) {
+        return locks.computeIfAbsent(key, k -> new ReentrantLock());
+    }
+
+    /**
+     * Builds the snapshot key for metadata of <code>clazz</code>.
+     *
+     * @param cacheKeySource the string the in-memory cache key is built from, with the class name in place of the
+     * class hash code, which changes from one run to the next
+     * @return the key, or null if the bytecode of one of the classes could not be read
+     */
+    public String getKey(String cacheKeySource, Class<?> clazz, Class<?>[] entities) {
+        StringBuilder sb = new StringBuilder(cacheKeySource);
+        sb.append(getConfigurationHash());
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            String hash = getClassHash(getClassLoader(current), current.getName());
+            if (hash == null) {
+                return null;
+            }
+            sb.append(hash);
+        }
+        if (entities != null) {
+            for (Class<?> entity : entities) {
+                sb.append(entity.getName());
+            }
+        }
+        return digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the snapshot stored under the key, or null if there is none, it can no longer be read or one of the
+     * classes its properties come from has changed
+     */
+    public Map<String, FieldMetadata> read(String key) {
+        Path file = getFile(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (ObjectInputStream in = new SnapshotObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            Snapshot snapshot = (Snapshot) in.readObject();
+            if (!snapshot.getClassHashes().equals(getClassHashes(snapshot.getClassHashes().keySet()))) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("The admin metadata snapshot " + file + " was built from classes that have changed since. It will be rebuilt.");
+                }
+                deleteQuietly(file);
+                return null;
+            }
+            return snapshot.getMetadata();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.warn("Unable to read the admin metadata snapshot " + file + ". It will be rebuilt.", e);
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it into place, so that a concurrent reader never sees a
+     * partial file. Failures are logged and otherwise ignored.
+     */
+    public void write(String key, Map<String, FieldMetadata> metadata) {
+        Path file = getFile(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                out.writeObject(new Snapshot(new HashMap<>(metadata), getClassHashes(getSourceClassNames(metadata))));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            LOG.warn("Unable to write the admin metadata snapshot " + file, e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    protected Path getFile(String key) {
+        return Paths.get(directory, key + FILE_EXTENSION);
+    }
+
+    /**
+     * @return the classes the properties in the metadata were declared in or point to
+     */
+    protected Set<String> getSourceClassNames(Map<String, FieldMetadata> metadata) {
+        Set<String> classNames = new TreeSet<>();
+        for (FieldMetadata fieldMetadata : metadata.values()) {
+            addClassName(classNames, fieldMetadata.getInheritedFromType());
+            addClassName(classNames, fieldMetadata.getOwningClass());
+            addClassName(classNames, fieldMetadata.getTargetClass());
+            if (fieldMetadata instanceof BasicFieldMetadata) {
+                addClassName(classNames, ((BasicFieldMetadata) fieldMetadata).getForeignKeyClass());
+            }
+        }
+        return classNames;
+    }
+
+    protected void addClassName(Set<String> classNames, String className) {
+        if (StringUtils.isNotBlank(className)) {
+            classNames.add(className);
+        }
+    }
+
+    /**
+     * @return the bytecode hash of each class, or an empty string for a class whose bytecode cannot be read
+     */
+    protected Map<String, String> getClassHashes(Set<String> classNames) {
+        ClassLoader classLoader = getClassLoader(AdminMetadataSnapshot.class);
+        Map<String, String> hashes = new TreeMap<>();
+        for (String className : classNames) {
+            String hash = getClassHash(classLoader, className);
+            hashes.put(className, hash == null ? "" : hash);
+        }
+        return hashes;
+    }
+
+    protected ClassLoader getClassLoader(Class<?> clazz) {
+        return clazz.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : clazz.getClassLoader();
+    }
+
+    protected String getClassHash(ClassLoader classLoader, String className) {
+        String hash = classHashes.get(className);
+        if (hash == null) {
+            try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    return null;
+                }
+                MessageDigest md = getMessageDigest();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    md.update(buffer, 0, read);
+                }
+                hash = new BigInteger(1, md.digest()).toString(16);
+            } catch (IOException e) {
+                LOG.debug("Unable to read the bytecode of " + className, e);
+                return null;
+            }
+            classHashes.put(className, hash);
+        }
+        return hash;
+    }
+
+    protected String getConfigurationHash() {
+        if (configurationHash == null) {
+            StringBuilder sb = new StringBuilder();
+            if (metadataOverrides != null) {
+                for (Map.Entry<String, Map<String, MetadataOverride>> entry : new TreeMap<>(metadataOverrides).entrySet()) {
+                    sb.append(entry.getKey()).append('{');
+                    if (entry.getValue() != null) {
+                        for (Map.Entry<String, MetadataOverride> override : new TreeMap<>(entry.getValue()).entrySet()) {
+                            sb.append(override.getKey()).append('=')
+                                    .append(ReflectionToStringBuilder.toString(override.getValue(), ToStringStyle.SHORT_PREFIX_STYLE));
+                        }
+                    }
+                    sb.append('}');
+                }
+            }
+            if (propertyConfigurations != null) {
+                sb.append(new TreeMap<>(propertyConfigurations));
+            }
+            for (FieldMetadataProvider provider : fieldMetadataProviders) {
+                sb.append(provider.getClass().getName());
+            }
+            if (persistenceUnitManager != null) {
+                sb.append(persistenceUnitManager.getClassTransformerFingerprint());
+            }
+            configurationHash = digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return configurationHash;
+    }
+
+    protected String digest(byte[] bytes) {
+        return new BigInteger(1, getMessageDigest().digest(bytes)).toString(16);
+    }
+
+    protected MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debug("Unable to delete " + path, e);
+        }
+    }
+
+    /**
+     * The content of a snapshot file: the metadata, and the bytecode hash of each class its properties come from
+     */
+    protected static class Snapshot implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final HashMap<String, FieldMetadata> metadata;
+        protected final Map<String, String> classHashes;
+
+        public Snapshot(HashMap<String, FieldMetadata> metadata, Map<String, String> classHashes) {
+            this.metadata = metadata;
+            this.classHashes = new TreeMap<>(classHashes);
+        }
+
+        public HashMap<String, FieldMetadata> getMetadata() {
+            return metadata;
+        }
+
+        public Map<String, String> getClassHashes() {
+            return classHashes;
+        }
+    }
+
+    /**
+     * Only resolves the classes a metadata map is made of, so that a file placed in the snapshot directory cannot
+     * instantiate anything else: the {@link FieldMetadata} types, the {@link PersistencePerspective} of collection
+     * metadata, enums, and the strings, numbers and collections their fields hold.
+     */
+    protected static class SnapshotObjectInputStream extends ObjectInputStream {
+
+        protected static final Set<Class<?>> ALLOWED_CLASSES = new HashSet<>(Arrays.<Class<?>>asList(
+                Snapshot.class,
+                PersistencePerspective.class,
+                OperationTypes.class,
+                ForeignKey.class,
+                AdornedTargetList.class,
+                MapStructure.class,
+                SimpleValueMapStructure.class,
+                String.class,
+                Boolean.class,
+                Integer.class,
+                Long.class,
+                Number.class,
+                Enum.class,
+                HashMap.class,
+                LinkedHashMap.class,
+                TreeMap.class,
+                ArrayList.class,
+                LinkedList.class,
+                HashSet.class,
+                LinkedHashSet.class,
+                TreeSet.class,
+                Arrays.asList().getClass(),
+                Collections.emptyList().getClass(),
+                Collections.emptyMap().getClass()));
+
+        public SnapshotObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> clazz = super.resolveClass(desc);
+            Class<?> type = clazz;
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            if (type.isPrimitive()
+                    || ALLOWED_CLASSES.contains(type)
+                    || FieldMetadata.class.isAssignableFrom(type)
+                    || Enum.class.isAssignableFrom(type)) {
+                return clazz;
+            }
+            throw new InvalidClassException(desc.getName(), "Not allowed in an admin metadata snapshot");
+        }
+    }
+}
@@ -87,6 +87,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Resource;
@@ -140,6 +141,9 @@ public class DynamicEntityDaoImpl implements DynamicEntityDao, ApplicationContex
     @Resource(name = "blAppConfigurationMap")
     protected Map<String, String> propertyConfigurations = new HashMap<>();
 
+    @Resource(name = "blAdminMetadataSnapshot")
+    protected AdminMetadataSnapshot metadataSnapshot;
+
     protected DynamicDaoHelper dynamicDaoHelper = new DynamicDaoHelperImpl();
 
     @Value("${cache.entity.dao.metadata.ttl}")
@@ -709,9 +713,35 @@ public class DynamicEntityDaoImpl implements DynamicEntityDao, ApplicationContex
     }
 
     protected String getCacheKey(String ceilingEntityFullyQualifiedClassname, ForeignKey foreignField, String[] additionalNonPersistentProperties, ForeignKey[] additionalForeignFields, MergedPropertyType mergedPropertyType, Boolean populateManyToOneFields, Class<?> clazz, String configurationKey, Boolean isParentExcluded) {
+        String source = getCacheKeySource(ceilingEntityFullyQualifiedClassname, foreignField, additionalNonPersistentProperties, additionalForeignFields, mergedPropertyType, populateManyToOneFields, String.valueOf(clazz.hashCode()), configurationKey, isParentExcluded);
+
+        String digest;
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] messageDigest = md.digest(source.getBytes());
+            BigInteger number = new BigInteger(1, messageDigest);
+            digest = number.toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        String key = pad(digest, 32, '0');
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Created cache key: " + key + " from the following string: " + source);
+        }
+        return key;
+    }
+
+    /**
+     * The string that {@link #getCacheKey} digests. The class is identified by <code>classKey</code>, which is its hash
+     * code for the in-memory cache and its name for the {@link AdminMetadataSnapshot}, since the hash code changes from
+     * one run to the next.
+     */
+    protected String getCacheKeySource(String ceilingEntityFullyQualifiedClassname, ForeignKey foreignField, String[] additionalNonPersistentProperties, ForeignKey[] additionalForeignFields, MergedPropertyType mergedPropertyType, Boolean populateManyToOneFields, String classKey, String configurationKey, Boolean isParentExcluded) {
         StringBuilder sb = new StringBuilder(150);
         sb.append(ceilingEntityFullyQualifiedClassname);
-        sb.append(clazz.hashCode());
+        sb.append(classKey);
         sb.append(foreignField == null ? "" : foreignField.toString());
         sb.append(configurationKey);
         sb.append(isParentExcluded);
@@ -727,23 +757,49 @@ public class DynamicEntityDaoImpl implements DynamicEntityDao, ApplicationContex
         }
         sb.append(mergedPropertyType);
         sb.append(populateManyToOneFields);
+        return sb.toString();
+    }
 
-        String digest;
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] messageDigest = md.digest(sb.toString().getBytes());
-            BigInteger number = new BigInteger(1, messageDigest);
-            digest = number.toString(16);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+    /**
+     * @return the {@link AdminMetadataSnapshot} key for the metadata of <code>clazz</code>, or null if it is already in
+     * the metadata cache, is not written to a snapshot, or is being built for a property of another class while this
+     * thread holds the metadata cache lock
+     */
+    protected String getSnapshotKey(String cacheKey, String ceilingEntityFullyQualifiedClassname, ForeignKey foreignField, String[] additionalNonPersistentProperties, ForeignKey[] additionalForeignFields, MergedPropertyType mergedPropertyType, Boolean populateManyToOneFields, Class<?> clazz, Class<?>[] entities, String configurationKey, Boolean isParentExcluded) {
+        if (!metadataSnapshot.isEnabled() || !metadataSnapshot.isSnapshotCandidate(foreignField, additionalForeignFields)
+                || Thread.holdsLock(DynamicDaoHelperImpl.LOCK_OBJECT)) {
+            return null;
         }
+        synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+            if (!useCache() || METADATA_CACHE.get(cacheKey) != null) {
+                return null;
+            }
+        }
+        String source = getCacheKeySource(ceilingEntityFullyQualifiedClassname, foreignField, additionalNonPersistentProperties, additionalForeignFields, mergedPropertyType, populateManyToOneFields, clazz.getName(), configurationKey, isParentExcluded);
+        return metadataSnapshot.getKey(source, clazz, entities);
+    }
 
-        String key = pad(digest, 32, '0');
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Created cache key: " + key + " from the following string: " + sb.toString());
+    /**
+     * Reads the snapshot outside of the metadata cache lock and only takes the lock to put it in the cache. The caller
+     * holds the {@link AdminMetadataSnapshot#getLock(String)} of the key, so a snapshot is read at most once.
+     */
+    protected void readMetadataSnapshot(String snapshotKey, String cacheKey, String ceilingEntityFullyQualifiedClassname) {
+        synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+            if (METADATA_CACHE.get(cacheKey) != null) {
+                return;
+            }
+        }
+        Map<String, FieldMetadata> cacheData = metadataSnapshot.read(snapshotKey);
+        if (cacheData != null) {
+            synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+                if (METADATA_CACHE.get(cacheKey) == null) {
+                    METADATA_CACHE.put(cacheKey, cacheData);
+                }
+            }
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Read " + cacheData.size() + " from the metadata snapshot " + snapshotKey + " for the class " + ceilingEntityFullyQualifiedClassname);
+            }
         }
-        return key;
     }
 
     protected void buildPropertiesFromPolymorphicEntities(
@@ -765,91 +821,112 @@ public class DynamicEntityDaoImpl implements DynamicEntityDao, ApplicationContex
         for (Class<?> clazz : entities) {
             String cacheKey = getCacheKey(ceilingEntityFullyQualifiedClassname, foreignField, additionalNonPersistentProperties, additionalForeignFields, mergedPropertyType, populateManyToOneFields, clazz, configurationKey, isParentExcluded);
 
-            Map<String, FieldMetadata> cacheData = null;
-            synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
-                if (useCache()) {
-                    cacheData = METADATA_CACHE.get(cacheKey);
+            String snapshotKey = getSnapshotKey(cacheKey, ceilingEntityFullyQualifiedClassname, foreignField, additionalNonPersistentProperties, additionalForeignFields, mergedPropertyType, populateManyToOneFields, clazz, entities, configurationKey, isParentExcluded);
+            //the snapshot is hashed, read and written outside of the metadata cache lock, one thread per snapshot
+            Lock snapshotLock = snapshotKey == null ? null : metadataSnapshot.getLock(snapshotKey);
+            if (snapshotLock != null) {
+                snapshotLock.lock();
+            }
+            try {
+                if (snapshotKey != null) {
+                    readMetadataSnapshot(snapshotKey, cacheKey, ceilingEntityFullyQualifiedClassname);
                 }
+                Map<String, FieldMetadata> cacheData = null;
+                boolean built = false;
+                synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+                    boolean useCache = useCache();
+                    if (useCache) {
+                        cacheData = METADATA_CACHE.get(cacheKey);
+                    }
 
-                if (cacheData == null) {
-                    Map<String, FieldMetadata> props = getPropertiesForEntityClass(
-                            clazz,
-                            foreignField,
-                            additionalNonPersistentProperties,
-                            additionalForeignFields,
-                            mergedPropertyType,
-                            populateManyToOneFields,
-                            includeFields,
-                            excludeFields,
-                            configurationKey,
-                            ceilingEntityFullyQualifiedClassname,
-                            parentClasses,
-                            prefix,
-                            isParentExcluded,
-                            parentPrefix);
-                    //first check all the properties currently in there to see if my entity inherits from them
-                    for (Class<?> clazz2 : entities) {
-                        if (!clazz2.getName().equals(clazz.getName())) {
-                            for (Map.Entry<String, FieldMetadata> entry : props.entrySet()) {
-                                FieldMetadata metadata = entry.getValue();
-                                try {
-                                    if (Class.forName(metadata.getInheritedFromType()).isAssignableFrom(clazz2)) {
-                                        String[] both = ArrayUtils.addAll(metadata.getAvailableToTypes(), new String[]{clazz2.getName()});
-                                        metadata.setAvailableToTypes(both);
+                    if (cacheData == null) {
+                        Map<String, FieldMetadata> props = getPropertiesForEntityClass(
+                                clazz,
+                                foreignField,
+                                additionalNonPersistentProperties,
+                                additionalForeignFields,
+                                mergedPropertyType,
+                                populateManyToOneFields,
+                                includeFields,
+                                excludeFields,
+                                configurationKey,
+                                ceilingEntityFullyQualifiedClassname,
+                                parentClasses,
+                                prefix,
+                                isParentExcluded,
+                                parentPrefix);
+                        //first check all the properties currently in there to see if my entity inherits from them
+                        for (Class<?> clazz2 : entities) {
+                            if (!clazz2.getName().equals(clazz.getName())) {
+                                for (Map.Entry<String, FieldMetadata> entry : props.entrySet()) {
+                                    FieldMetadata metadata = entry.getValue();
+                                    try {
+                                        if (Class.forName(metadata.getInheritedFromType()).isAssignableFrom(clazz2)) {
+                                            String[] both = ArrayUtils.addAll(metadata.getAvailableToTypes(), new String[]{clazz2.getName()});
+                                            metadata.setAvailableToTypes(both);
+                                        }
+                                    } catch (ClassNotFoundException e) {
+                                        throw new RuntimeException(e);
                                     }
-                                } catch (ClassNotFoundException e) {
-                                    throw new RuntimeException(e);
                                 }
                             }
                         }
-                    }
-                    METADATA_CACHE.put(cacheKey, props);
+                        METADATA_CACHE.put(cacheKey, props);
+                        built = true;
 
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Added " + props.size() + " to the metadata cache with key " + cacheKey + " for the class " + ceilingEntityFullyQualifiedClassname);
-                    }
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Added " + props.size() + " to the metadata cache with key " + cacheKey + " for the class " + ceilingEntityFullyQualifiedClassname);
+                        }
 
-                    if (validateMetadataCacheSizes) {
-                        Integer previousSize = METADATA_CACHE_SIZES.get(cacheKey);
-                        Integer currentSize = props.size();
-                        if (previousSize == null) {
-                            METADATA_CACHE_SIZES.put(cacheKey, currentSize);
-                        } else if (!currentSize.equals(previousSize)) {
-                            String msg = "Attempted to store " + currentSize + " properties in the cache for the key " + cacheKey + " but we had previously stored " + previousSize + " properties";
-                            LOG.error(msg);
-                            throw new RuntimeException(msg);
+                        if (validateMetadataCacheSizes) {
+                            Integer previousSize = METADATA_CACHE_SIZES.get(cacheKey);
+                            Integer currentSize = props.size();
+                            if (previousSize == null) {
+                                METADATA_CACHE_SIZES.put(cacheKey, currentSize);
+                            } else if (!currentSize.equals(previousSize)) {
+                                String msg = "Attempted to store " + currentSize + " properties in the cache for the key " + cacheKey + " but we had previously stored " + previousSize + " properties";
+                                LOG.error(msg);
+                                throw new RuntimeException(msg);
+                            }
                         }
-                    }
 
-                    cacheData = props;
-                } else {
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Read " + cacheData.size() + " from the metada cache with key " + cacheKey + " for the class " + ceilingEntityFullyQualifiedClassname);
-                    }
-                    for (FieldMetadata value : cacheData.values()) {
-                        //in case of MT different sites can potentially have different data driven enums, as we don't take into account
-                        //site during cache key calculation(have metadata per-site is overkill) we want to refresh data driven enums
-                        if(value instanceof BasicFieldMetadata && StringUtils.isNotEmpty(((BasicFieldMetadata)value).getOptionListEntity())){
-                            basicFieldMetadataProvider.refreshDataDrivenEnumMetadata((BasicFieldMetadata) value);
+                        cacheData = props;
+                    } else {
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Read " + cacheData.size() + " from the metada cache with key " + cacheKey + " for the class " + ceilingEntityFullyQualifiedClassname);
                         }
-                        //that's for the case when metadata cache is enabled(cache.entity.dao.metadata.ttl=-1) and you cache metadata for en locale
-                        //then switch to FR that has comma as decimal separator
-                        if (value instanceof BasicFieldMetadata) {
-                            BasicFieldMetadata v = (BasicFieldMetadata) value;
-                            if (SupportedFieldType.DECIMAL.equals(v.getSecondaryType()) || SupportedFieldType.INTEGER.equals(v.getSecondaryType())
-                                    || SupportedFieldType.INTEGER.equals(v.getFieldType()) || SupportedFieldType.DECIMAL.equals(v.getFieldType())) {
-                                refreshDecimalDefaultValue(v);
+                        for (FieldMetadata value : cacheData.values()) {
+                            //in case of MT different sites can potentially have different data driven enums, as we don't take into account
+                            //site during cache key calculation(have metadata per-site is overkill) we want to refresh data driven enums
+                            if(value instanceof BasicFieldMetadata && StringUtils.isNotEmpty(((BasicFieldMetadata)value).getOptionListEntity())){
+                                basicFieldMetadataProvider.refreshDataDrivenEnumMetadata((BasicFieldMetadata) value);
+                            }
+                            //that's for the case when metadata cache is enabled(cache.entity.dao.metadata.ttl=-1) and you cache metadata for en locale
+                            //then switch to FR that has comma as decimal separator
+                            if (value instanceof BasicFieldMetadata) {
+                                BasicFieldMetadata v = (BasicFieldMetadata) value;
+                                if (SupportedFieldType.DECIMAL.equals(v.getSecondaryType()) || SupportedFieldType.INTEGER.equals(v.getSecondaryType())
+                                        || SupportedFieldType.INTEGER.equals(v.getFieldType()) || SupportedFieldType.DECIMAL.equals(v.getFieldType())) {
+                                    refreshDecimalDefaultValue(v);
+                                }
                             }
                         }
                     }
                 }
+                //clone the metadata before passing to the system
+                Map<String, FieldMetadata> clonedCache = new HashMap<>(cacheData.size());
+                for (Map.Entry<String, FieldMetadata> entry : cacheData.entrySet()) {
+                    clonedCache.put(entry.getKey(), entry.getValue().cloneFieldMetadata());
+                }
+                if (built && snapshotKey != null) {
+                    metadataSnapshot.write(snapshotKey, clonedCache);
+                }
+                mergedProperties.putAll(clonedCache);
+            } finally {
+                if (snapshotLock != null) {
+                    snapshotLock.unlock();
+                }
             }
-            //clone the metadata before passing to the system
-            Map<String, FieldMetadata> clonedCache = new HashMap<>(cacheData.size());
-            for (Map.Entry<String, FieldMetadata> entry : cacheData.entrySet()) {
-                clonedCache.put(entry.getKey(), entry.getValue().cloneFieldMetadata());
-            }
-            mergedProperties.putAll(clonedCache);
         }
     }
 
@@ -33,6 +33,7 @@ public interface AdminPermissionDao {
     public List<AdminPermission> readAllAdminPermissions();
     public AdminPermission readAdminPermissionById(Long id);
     public AdminPermission readAdminPermissionByName(String name);
+    public List<AdminPermission> readAdminPermissionsByNames(List<String> names);
     public AdminPermission saveAdminPermission(AdminPermission permission);
     public void deleteAdminPermission(AdminPermission permission);
     public boolean isUserQualifiedForOperationOnCeilingEntity(AdminUser adminUser, PermissionType permissionType, String ceilingEntityFullyQualifiedName);
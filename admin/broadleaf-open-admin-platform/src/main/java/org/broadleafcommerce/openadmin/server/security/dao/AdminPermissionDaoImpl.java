@@ -113,6 +113,20 @@ public class AdminPermissionDaoImpl implements AdminPermissionDao {
         }
     }
 
+    @Override
+    public List<AdminPermission> readAdminPermissionsByNames(List<String> names) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<AdminPermission> criteria = builder.createQuery(AdminPermission.class);
+        Root<AdminPermissionImpl> adminPerm = criteria.from(AdminPermissionImpl.class);
+        criteria.select(adminPerm);
+        criteria.where(adminPerm.get("name").in(names));
+
+        TypedQuery<AdminPermission> query = em.createQuery(criteria);
+        query.setHint(QueryHints.HINT_CACHEABLE, true);
+        query.setHint(QueryHints.HINT_CACHE_REGION, "blAdminSecurityQuery");
+        return query.getResultList();
+    }
+
     public AdminPermission saveAdminPermission(AdminPermission permission) {
         return em.merge(permission);
     }
@@ -0,0 +1,205 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.security.service;
+
+import org.apache.commons.lang.ClassUtils;
+import org.broadleafcommerce.openadmin.server.security.service.type.PermissionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The effective entity permissions of a single admin user, compiled into one bit mask per ceiling entity. Bit 0 of a
+ * mask means every {@link PermissionType}, and each other type gets its own bit. Answering a permission check is a
+ * couple of array reads, with no cache or database access.
+ *
+ * Ordinals for ceiling entity names and permission types are shared by every matrix in the JVM, so the masks of two
+ * users line up and a ceiling entity's interfaces only have to be resolved once.
+ *
+ * A matrix is immutable once built, apart from the memoized extension handler results. It is not serializable; it is
+ * simply rebuilt after a session is restored.
+ *
+ * @see AdminSecurityServiceImpl#isUserQualifiedForOperationOnCeilingEntity
+ */
+public class AdminPermissionMatrix {
+
+    protected static final int ALL_TYPES_BIT = 0;
+    protected static final int MAX_TYPES = 64;
+
+    protected static final Map<String, Integer> TYPE_ORDINALS = new ConcurrentHashMap<>();
+    protected static final AtomicInteger NEXT_TYPE_ORDINAL = new AtomicInteger(ALL_TYPES_BIT + 1);
+    protected static final Map<String, Integer> ENTITY_ORDINALS = new ConcurrentHashMap<>();
+    protected static final AtomicInteger NEXT_ENTITY_ORDINAL = new AtomicInteger();
+    protected static final Map<String, int[]> CEILING_ORDINALS = new ConcurrentHashMap<>();
+
+    static {
+        TYPE_ORDINALS.put(PermissionType.ALL.getType(), ALL_TYPES_BIT);
+    }
+
+    protected final Long adminUserId;
+    protected final long version;
+    protected final long createdAt;
+    protected final long[] masks;
+    protected final Map<String, Boolean> extensionResults = new ConcurrentHashMap<>();
+
+    protected AdminPermissionMatrix(Long adminUserId, long version, long[] masks) {
+        this.adminUserId = adminUserId;
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.masks = masks;
+    }
+
+    /**
+     * @return whether any of the compiled permissions grants the given operation on the ceiling entity or on one of the
+     * interfaces it implements
+     */
+    public boolean isQualified(PermissionType permissionType, String ceilingEntityFullyQualifiedName) {
+        long required = (1L << ALL_TYPES_BIT) | (1L << typeOrdinal(permissionType.getType()));
+        for (int ordinal : ceilingOrdinals(ceilingEntityFullyQualifiedName)) {
+            if (ordinal < masks.length && (masks[ordinal] & required) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the memoized result of {@link org.broadleafcommerce.openadmin.server.security.extension.AdminSecurityServiceExtensionHandler#hasPrivilegesForOperation}
+     * for the given type, or null if it has not been asked yet
+     */
+    public Boolean getExtensionResult(PermissionType permissionType) {
+        return extensionResults.get(permissionType.getType());
+    }
+
+    public void setExtensionResult(PermissionType permissionType, boolean result) {
+        extensionResults.put(permissionType.getType(), result);
+    }
+
+    public Long getAdminUserId() {
+        return adminUserId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isOlderThan(long millis) {
+        return System.currentTimeMillis() - createdAt > millis;
+    }
+
+    /**
+     * A type is only registered while there is a bit left for it, since 1L &lt;&lt; 64 wraps around to the bit for every
+     * type. The bound is checked again on every lookup, so an ordinal that is out of range can never grant anything.
+     */
+    protected static int typeOrdinal(String type) {
+        Integer ordinal = TYPE_ORDINALS.get(type);
+        if (ordinal == null) {
+            ordinal = TYPE_ORDINALS.computeIfAbsent(type, k -> {
+                int next = NEXT_TYPE_ORDINAL.getAndUpdate(n -> n >= MAX_TYPES ? n : n + 1);
+                if (next >= MAX_TYPES) {
+                    throw new IllegalStateException("Too many permission types to compile into a permission matrix: " + type);
+                }
+                return next;
+            });
+        }
+        if (ordinal < 0 || ordinal >= MAX_TYPES) {
+            throw new IllegalStateException("Too many permission types to compile into a permission matrix: " + type);
+        }
+        return ordinal;
+    }
+
+    protected static int entityOrdinal(String ceilingEntityFullyQualifiedName) {
+        Integer ordinal = ENTITY_ORDINALS.get(ceilingEntityFullyQualifiedName);
+        if (ordinal == null) {
+            ordinal = ENTITY_ORDINALS.computeIfAbsent(ceilingEntityFullyQualifiedName, k -> NEXT_ENTITY_ORDINAL.getAndIncrement());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Entity permissions are normally declared against the interface, while the ceiling may be an implementation, so a
+     * ceiling resolves to its own ordinal plus the ordinals of all of its interfaces. This mirrors the lookups in
+     * {@link org.broadleafcommerce.openadmin.server.security.dao.AdminPermissionDaoImpl}.
+     */
+    protected static int[] ceilingOrdinals(String ceilingEntityFullyQualifiedName) {
+        int[] ordinals = CEILING_ORDINALS.get(ceilingEntityFullyQualifiedName);
+        if (ordinals == null) {
+            List<String> testClasses = new ArrayList<>();
+            testClasses.add(ceilingEntityFullyQualifiedName);
+            try {
+                for (Object interfaze : ClassUtils.getAllInterfaces(Class.forName(ceilingEntityFullyQualifiedName))) {
+                    testClasses.add(((Class<?>) interfaze).getName());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            ordinals = new int[testClasses.size()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = entityOrdinal(testClasses.get(i));
+            }
+            CEILING_ORDINALS.put(ceilingEntityFullyQualifiedName, ordinals);
+        }
+        return ordinals;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        protected long[] masks = new long[Math.max(16, ENTITY_ORDINALS.size())];
+
+        /**
+         * Grants the given type on each of the ceiling entities. {@link PermissionType#ALL} grants every type.
+         */
+        public Builder grant(PermissionType permissionType, Collection<String> ceilingEntities) {
+            if (permissionType != null) {
+                grant(1L << typeOrdinal(permissionType.getType()), ceilingEntities);
+            }
+            return this;
+        }
+
+        /**
+         * Grants every type on each of the ceiling entities, regardless of the type of the permission that named them.
+         */
+        public Builder grantAllTypes(Collection<String> ceilingEntities) {
+            return grant(1L << ALL_TYPES_BIT, ceilingEntities);
+        }
+
+        protected Builder grant(long bits, Collection<String> ceilingEntities) {
+            for (String ceilingEntity : ceilingEntities) {
+                int ordinal = entityOrdinal(ceilingEntity);
+                if (ordinal >= masks.length) {
+                    masks = Arrays.copyOf(masks, Math.max(ordinal + 1, masks.length * 2));
+                }
+                masks[ordinal] |= bits;
+            }
+            return this;
+        }
+
+        public AdminPermissionMatrix build(Long adminUserId, long version) {
+            return new AdminPermissionMatrix(adminUserId, version, masks);
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.broadleafcommerce.openadmin.server.security.dao.AdminRoleDao;
 import org.broadleafcommerce.openadmin.server.security.dao.AdminUserDao;
 import org.broadleafcommerce.openadmin.server.security.dao.ForgotPasswordSecurityTokenDao;
 import org.broadleafcommerce.openadmin.server.security.domain.AdminPermission;
+import org.broadleafcommerce.openadmin.server.security.domain.AdminPermissionQualifiedEntity;
 import org.broadleafcommerce.openadmin.server.security.domain.AdminRole;
 import org.broadleafcommerce.openadmin.server.security.domain.AdminUser;
 import org.broadleafcommerce.openadmin.server.security.domain.ForgotPasswordSecurityToken;
@@ -46,8 +47,10 @@ import org.broadleafcommerce.openadmin.server.security.event.AdminForgotPassword
 import org.broadleafcommerce.openadmin.server.security.event.AdminForgotUsernameEvent;
 import org.broadleafcommerce.openadmin.server.security.extension.AdminSecurityServiceExtensionManager;
 import org.broadleafcommerce.openadmin.server.security.service.type.PermissionType;
+import org.broadleafcommerce.openadmin.server.security.service.user.AdminUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -56,8 +59,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Resource;
 import javax.cache.Cache;
@@ -101,6 +108,17 @@ public class AdminSecurityServiceImpl implements AdminSecurityService {
 
     protected Cache<String, Boolean> cache;;
 
+    @Value("${admin.security.permission.matrix.enabled:false}")
+    protected boolean permissionMatrixEnabled = false;
+
+    @Value("${admin.security.permission.matrix.ttl.seconds:300}")
+    protected long permissionMatrixTtlSeconds = 300;
+
+    /**
+     * Bumped whenever the security cache is cleared, so that compiled permission matrices on this node are rebuilt
+     */
+    protected final AtomicLong permissionMatrixVersion = new AtomicLong();
+
     /**
      * <p>This is simply a placeholder to be used by {@link #setupPasswordEncoder()} to determine if we're using the
      * new {@link PasswordEncoder} or the deprecated {@link org.springframework.security.authentication.encoding.PasswordEncoder PasswordEncoder}
@@ -214,6 +232,7 @@ public class AdminSecurityServiceImpl implements AdminSecurityService {
             LOG.trace("Admin Security Cache DELETE");
         }
         getCache().removeAll();
+        permissionMatrixVersion.incrementAndGet();
     }
 
     protected String generateSecurePassword() {
@@ -235,6 +254,14 @@ public class AdminSecurityServiceImpl implements AdminSecurityService {
 
     @Override
     public boolean isUserQualifiedForOperationOnCeilingEntity(AdminUser adminUser, PermissionType permissionType, String ceilingEntityFullyQualifiedName) {
+        if (permissionMatrixEnabled) {
+            AdminPermissionMatrix matrix = getPermissionMatrix(adminUser);
+            if (matrix != null) {
+                return matrix.isQualified(permissionType, ceilingEntityFullyQualifiedName)
+                        || isQualifiedViaExtension(matrix, adminUser, permissionType);
+            }
+        }
+
         Boolean response = null;
         String cacheKey = buildCacheKey(adminUser, permissionType, ceilingEntityFullyQualifiedName);
         Object objectValue = getCache().get(cacheKey);
@@ -274,6 +301,113 @@ public class AdminSecurityServiceImpl implements AdminSecurityService {
         return response;
     }
 
+    /**
+     * Returns the compiled permissions of the given user, held on the {@link AdminUserDetails} of the current security
+     * context. The matrix is (re)built when it is missing, when the security cache has been cleared on this node since
+     * it was built, or when it is older than <code>admin.security.permission.matrix.ttl.seconds</code>, which bounds how
+     * long a permission change made on another node goes unnoticed.
+     *
+     * @return the matrix, or null if the user is not the one authenticated on this thread
+     */
+    protected AdminPermissionMatrix getPermissionMatrix(AdminUser adminUser) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AdminUserDetails)) {
+            return null;
+        }
+        AdminUserDetails details = (AdminUserDetails) auth.getPrincipal();
+        if (adminUser.getId() == null || !adminUser.getId().equals(details.getId())) {
+            return null;
+        }
+        long version = permissionMatrixVersion.get();
+        AdminPermissionMatrix matrix = details.getPermissionMatrix();
+        if (matrix == null || matrix.getVersion() != version || matrix.isOlderThan(permissionMatrixTtlSeconds * 1000L)) {
+            matrix = buildPermissionMatrix(adminUser, version);
+            details.setPermissionMatrix(matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * Compiles the same grants that {@link AdminPermissionDao#isUserQualifiedForOperationOnCeilingEntity} and
+     * {@link AdminPermissionDao#isUserQualifiedForOperationOnCeilingEntityViaDefaultPermissions} query for. A permission
+     * matches on its own type or the type of any of its children, and on its own qualified entities or those of the
+     * matching child. Default permissions grant every type on their entities.
+     */
+    protected AdminPermissionMatrix buildPermissionMatrix(AdminUser adminUser, long version) {
+        Set<AdminPermission> permissions = new HashSet<>();
+        if (adminUser.getAllPermissions() != null) {
+            permissions.addAll(adminUser.getAllPermissions());
+        }
+        if (adminUser.getAllRoles() != null) {
+            for (AdminRole role : adminUser.getAllRoles()) {
+                if (role.getAllPermissions() != null) {
+                    permissions.addAll(role.getAllPermissions());
+                }
+            }
+        }
+
+        AdminPermissionMatrix.Builder builder = AdminPermissionMatrix.builder();
+        for (AdminPermission permission : permissions) {
+            Set<String> ownEntities = getCeilingEntities(permission);
+            Set<String> allEntities = new HashSet<>(ownEntities);
+            List<AdminPermission> children = permission.getAllChildPermissions() == null
+                    ? new ArrayList<AdminPermission>() : permission.getAllChildPermissions();
+            for (AdminPermission child : children) {
+                Set<String> childEntities = getCeilingEntities(child);
+                allEntities.addAll(childEntities);
+                childEntities.addAll(ownEntities);
+                builder.grant(child.getType(), childEntities);
+            }
+            builder.grant(permission.getType(), allEntities);
+        }
+
+        for (AdminPermission permission : adminPermissionDao.readAdminPermissionsByNames(Arrays.asList(DEFAULT_PERMISSIONS))) {
+            Set<String> entities = getCeilingEntities(permission);
+            if (permission.getAllChildPermissions() != null) {
+                for (AdminPermission child : permission.getAllChildPermissions()) {
+                    entities.addAll(getCeilingEntities(child));
+                }
+            }
+            builder.grantAllTypes(entities);
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Compiled the admin permission matrix for user " + adminUser.getId() + " from " + permissions.size() + " permissions");
+        }
+        return builder.build(adminUser.getId(), version);
+    }
+
+    protected Set<String> getCeilingEntities(AdminPermission permission) {
+        Set<String> entities = new HashSet<>();
+        if (permission.getQualifiedEntities() != null) {
+            for (AdminPermissionQualifiedEntity qualifiedEntity : permission.getQualifiedEntities()) {
+                if (qualifiedEntity.getCeilingEntityFullyQualifiedName() != null) {
+                    entities.add(qualifiedEntity.getCeilingEntityFullyQualifiedName());
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * The extension handler answers by user and type only, so its answer is memoized on the matrix per type
+     */
+    protected boolean isQualifiedViaExtension(AdminPermissionMatrix matrix, AdminUser adminUser, PermissionType permissionType) {
+        Boolean response = matrix.getExtensionResult(permissionType);
+        if (response == null) {
+            response = false;
+            if (extensionManager != null) {
+                ExtensionResultHolder<Boolean> result = new ExtensionResultHolder<Boolean>();
+                ExtensionResultStatusType resultStatusType = extensionManager.getProxy().hasPrivilegesForOperation(adminUser, permissionType, result);
+                if (ExtensionResultStatusType.HANDLED == resultStatusType) {
+                    response = BooleanUtils.isTrue(result.getResult());
+                }
+            }
+            matrix.setExtensionResult(permissionType, response);
+        }
+        return response;
+    }
+
     protected String buildCacheKey(AdminUser adminUser, PermissionType permissionType, String ceilingEntityFullyQualifiedName) {
         return CACHE_KEY_PREFIX
                + "user:" + adminUser.getId() + ","
@@ -17,6 +17,7 @@
  */
 package org.broadleafcommerce.openadmin.server.security.service.user;
 
+import org.broadleafcommerce.openadmin.server.security.service.AdminPermissionMatrix;
 import org.broadleafcommerce.openadmin.server.security.service.AdminSecurityService;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -40,6 +41,11 @@ public class AdminUserDetails extends User {
      */
     protected Long id;
 
+    /**
+     * Compiled entity permissions of this user, built on first use. Not serialized with the session.
+     */
+    protected transient AdminPermissionMatrix permissionMatrix;
+
     public AdminUserDetails(final Long id,
             final String username,
             final String password,
@@ -79,6 +85,14 @@ public class AdminUserDetails extends User {
         this.id = id;
     }
 
+    public AdminPermissionMatrix getPermissionMatrix() {
+        return permissionMatrix;
+    }
+
+    public void setPermissionMatrix(AdminPermissionMatrix permissionMatrix) {
+        this.permissionMatrix = permissionMatrix;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
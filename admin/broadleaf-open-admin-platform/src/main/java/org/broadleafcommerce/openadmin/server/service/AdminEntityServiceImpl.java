@@ -69,6 +69,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -101,6 +102,9 @@ public class AdminEntityServiceImpl implements AdminEntityService {
     @Resource
     protected CriteriaTransferObjectExtensionManager extensionManager;
 
+    @Resource(name = "blSubCollectionFetchExecutor")
+    protected SubCollectionFetchExecutor subCollectionFetchExecutor;
+
     protected DynamicDaoHelper dynamicDaoHelper = new DynamicDaoHelperImpl();
 
     @Override
@@ -387,36 +391,35 @@ public class AdminEntityServiceImpl implements AdminEntityService {
     @Override
     public Map<String, DynamicResultSet> getRecordsForAllSubCollections(PersistencePackageRequest ppr, Entity containingEntity, Integer startIndex, Integer maxIndex, List<SectionCrumb> sectionCrumb)
             throws ServiceException {
-        Map<String, DynamicResultSet> map = new HashMap<String, DynamicResultSet>();
-
         PersistenceResponse response = getClassMetadata(ppr);
-        ClassMetadata cmd = response.getDynamicResultSet().getClassMetaData();
-        for (Property p : cmd.getProperties()) {
+        final ClassMetadata cmd = response.getDynamicResultSet().getClassMetaData();
+        Map<String, SubCollectionFetch> fetches = new LinkedHashMap<>();
+        for (final Property p : cmd.getProperties()) {
             if (ArrayUtils.contains(p.getMetadata().getAvailableToTypes(), containingEntity.getType()[0])
                     && p.getMetadata() instanceof CollectionMetadata) {
-                PersistenceResponse response2 = getRecordsForCollection(cmd, containingEntity, p, null, startIndex, maxIndex, sectionCrumb);
-                map.put(p.getName(), response2.getDynamicResultSet());
+                fetches.put(p.getName(), () -> getRecordsForCollection(cmd, containingEntity, p, null, startIndex,
+                        maxIndex, sectionCrumb).getDynamicResultSet());
             }
         }
 
-        return map;
+        return subCollectionFetchExecutor.fetch(cmd.getCeilingType(), fetches);
     }
 
     @Override
     public Map<String, DynamicResultSet> getAllRecordsForAllSubCollections(ClassMetadata cmd, Entity containingEntity,
                                                                            List<SectionCrumb> sectionCrumb) throws ServiceException {
-        Map<String, DynamicResultSet> map = new HashMap<>();
-        for (Property p : cmd.getProperties()) {
+        Map<String, SubCollectionFetch> fetches = new LinkedHashMap<>();
+        for (final Property p : cmd.getProperties()) {
             FieldMetadata fieldMetadata = p.getMetadata();
             boolean fieldAvailable = ArrayUtils.contains(fieldMetadata.getAvailableToTypes(), containingEntity.getType()[0]);
             if (fieldAvailable && fieldMetadata instanceof CollectionMetadata) {
-                FetchPageRequest pageRequest = new FetchPageRequest()
+                final FetchPageRequest pageRequest = new FetchPageRequest()
                         .withPageSize(Integer.MAX_VALUE);
-                PersistenceResponse resp = getPagedRecordsForCollection(cmd, containingEntity, p, null, pageRequest, null, sectionCrumb);
-                map.put(p.getName(), resp.getDynamicResultSet());
+                fetches.put(p.getName(), () -> getPagedRecordsForCollection(cmd, containingEntity, p, null, pageRequest,
+                        null, sectionCrumb).getDynamicResultSet());
             }
         }
-        return map;
+        return subCollectionFetchExecutor.fetch(cmd.getCeilingType(), fetches);
     }
 
     @Override
@@ -429,8 +432,12 @@ public class AdminEntityServiceImpl implements AdminEntityService {
     @Override
     public Map<String, DynamicResultSet> getRecordsForSelectedTab(ClassMetadata cmd, Entity containingEntity, List<SectionCrumb> sectionCrumb,
             String currentTabName) throws ServiceException {
-        Map<String, DynamicResultSet> map = new HashMap<String, DynamicResultSet>();
-        for (Property p : cmd.getProperties()) {
+        // Placeholders for unselected tabs are built here; the real fetches are handed to the executor together and
+        // the two are merged back in property order
+        List<String> order = new ArrayList<>();
+        Map<String, DynamicResultSet> placeholders = new HashMap<String, DynamicResultSet>();
+        Map<String, SubCollectionFetch> fetches = new LinkedHashMap<>();
+        for (final Property p : cmd.getProperties()) {
             if (ArrayUtils.contains(p.getMetadata().getAvailableToTypes(), containingEntity.getType()[0])
                     && p.getMetadata() instanceof CollectionMetadata) {
 
@@ -446,15 +453,16 @@ public class AdminEntityServiceImpl implements AdminEntityService {
                 int tabOrder = tabMetadata == null ? collectionMetadata.getTabOrder() : tabMetadata.getTabOrder();
                 updateTabInfo(collectionMetadata, cmd, tabName, tabOrder);
 
+                order.add(p.getName());
                 if (collectionMetadata.getLazyFetch() != null && collectionMetadata.getLazyFetch()
                         && tabName.toUpperCase().startsWith(currentTabName.toUpperCase())
                         && !collectionMetadata.getManualFetch()) {
-                    PersistenceResponse response2 = getRecordsForCollection(cmd, containingEntity, p, null, null, null, sectionCrumb);
-                    map.put(p.getName(), response2.getDynamicResultSet());
+                    fetches.put(p.getName(), () -> getRecordsForCollection(cmd, containingEntity, p, null, null, null,
+                            sectionCrumb).getDynamicResultSet());
                 } else if (collectionMetadata.getLazyFetch() != null && !collectionMetadata.getLazyFetch()
                         && !collectionMetadata.getManualFetch()) {
-                    PersistenceResponse response2 = getRecordsForCollection(cmd, containingEntity, p, null, null, null, sectionCrumb);
-                    map.put(p.getName(), response2.getDynamicResultSet());
+                    fetches.put(p.getName(), () -> getRecordsForCollection(cmd, containingEntity, p, null, null, null,
+                            sectionCrumb).getDynamicResultSet());
                 } else {
                     DynamicResultSet drs = new DynamicResultSet();
                     Map<String, Tab> tabMap = new HashMap<String, Tab>();
@@ -470,11 +478,16 @@ public class AdminEntityServiceImpl implements AdminEntityService {
                     drs.setClassMetaData(null);
                     drs.setPageSize(1);
                     drs.setRecords(new Entity[0]);
-                    map.put(p.getName(), drs);
+                    placeholders.put(p.getName(), drs);
                 }
             }
         }
 
+        Map<String, DynamicResultSet> fetched = subCollectionFetchExecutor.fetch(cmd.getCeilingType(), fetches);
+        Map<String, DynamicResultSet> map = new LinkedHashMap<String, DynamicResultSet>();
+        for (String name : order) {
+            map.put(name, placeholders.containsKey(name) ? placeholders.get(name) : fetched.get(name));
+        }
         return map;
     }
 
@@ -0,0 +1,108 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.common.persistence.TargetModeType;
+import org.broadleafcommerce.common.presentation.client.OperationType;
+import org.broadleafcommerce.common.util.StreamingTransactionCapable;
+import org.broadleafcommerce.openadmin.dto.CriteriaTransferObject;
+import org.broadleafcommerce.openadmin.dto.PersistencePackage;
+import org.broadleafcommerce.openadmin.server.domain.PersistencePackageRequest;
+import org.broadleafcommerce.openadmin.server.factory.PersistencePackageFactory;
+import org.broadleafcommerce.openadmin.server.security.domain.AdminSection;
+import org.broadleafcommerce.openadmin.server.security.service.navigation.AdminNavigationService;
+import org.broadleafcommerce.openadmin.server.service.persistence.Persistable;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerFactory;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceThreadManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.BasicPersistenceModule;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.InspectHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Resource;
+
+/**
+ * Builds the merged metadata of the ceiling entity of every admin section, one batch per entity, so that the first
+ * admin user to open a section does not wait for it. With <code>admin.metadata.snapshot.enabled</code> this also
+ * writes or reads the {@link org.broadleafcommerce.openadmin.server.dao.AdminMetadataSnapshot} for each of them.
+ * <p>
+ * The batches only run in parallel as far as the snapshots go: they are hashed, read and written outside of the
+ * metadata cache lock, but metadata that is not in a snapshot is still built one entity at a time under that lock.
+ */
+@Component("blAdminMetadataCacheWarmupTask")
+public class AdminMetadataCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blAdminNavigationService")
+    protected AdminNavigationService adminNavigationService;
+
+    @Resource(name = "blPersistencePackageFactory")
+    protected PersistencePackageFactory persistencePackageFactory;
+
+    @Resource(name = "blPersistenceThreadManager")
+    protected PersistenceThreadManager persistenceThreadManager;
+
+    @Resource(name = "blStreamingTransactionCapableUtil")
+    protected StreamingTransactionCapable transUtil;
+
+    @Override
+    public String getName() {
+        return "adminMetadata";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        Set<String> ceilingEntities = new LinkedHashSet<>();
+        for (AdminSection section : adminNavigationService.findAllAdminSections()) {
+            if (StringUtils.isNotBlank(section.getCeilingEntity())) {
+                ceilingEntities.add(section.getCeilingEntity());
+            }
+        }
+        List<Runnable> batches = new ArrayList<>(ceilingEntities.size());
+        for (final String ceilingEntity : ceilingEntities) {
+            batches.add(() -> transUtil.runOptionalEntityManagerInViewOperation(() -> buildMetadata(ceilingEntity)));
+        }
+        return batches;
+    }
+
+    protected void buildMetadata(String ceilingEntity) {
+        PersistencePackageRequest request = PersistencePackageRequest.standard().withCeilingEntityClassname(ceilingEntity);
+        final PersistencePackage persistencePackage = persistencePackageFactory.create(request);
+        try {
+            persistenceThreadManager.operation(TargetModeType.SANDBOX, persistencePackage, new Persistable<Void, ServiceException>() {
+                @Override
+                public Void execute() throws ServiceException {
+                    PersistenceManager persistenceManager = PersistenceManagerFactory.getPersistenceManager();
+                    BasicPersistenceModule module = (BasicPersistenceModule) ((InspectHelper) persistenceManager).getCompatibleModule(OperationType.BASIC);
+                    module.getMergedProperties(persistencePackage, new CriteriaTransferObject());
+                    return null;
+                }
+            });
+        } catch (ServiceException e) {
+            throw new RuntimeException("Unable to build the admin metadata for " + ceilingEntity, e);
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.common.util.StreamingTransactionCapable;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.openadmin.dto.DynamicResultSet;
+import org.broadleafcommerce.openadmin.web.controller.AdminAbstractControllerExtensionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+
+/**
+ * Runs the collection fetches of an entity form. When <code>admin.subcollection.parallel.fetch.enabled</code> is true,
+ * the fetches run at the same time on a bounded pool of <code>admin.subcollection.fetch.threads</code> threads. Each
+ * fetch gets a lightweight clone of the caller's {@link BroadleafRequestContext}, the caller's {@link SecurityContext}
+ * and its own entity manager, and {@link DynamicEntityService#fetch} opens a read only transaction on it as usual. When
+ * the pool is busy, the calling thread runs the fetch itself.
+ * <p>
+ * Results are returned in the order the fetches were given, whatever order they finish in. If several fetches fail,
+ * the exception of the first one in that order is thrown.
+ * <p>
+ * The time each fetch took is passed to
+ * {@link org.broadleafcommerce.openadmin.web.controller.AdminAbstractControllerExtensionHandler#reportSubCollectionFetchTimes}.
+ */
+@Component("blSubCollectionFetchExecutor")
+public class SubCollectionFetchExecutor implements DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(SubCollectionFetchExecutor.class);
+
+    @Resource(name = "blStreamingTransactionCapableUtil")
+    protected StreamingTransactionCapable transUtil;
+
+    @Resource(name = "blAdminAbstractControllerExtensionManager")
+    protected AdminAbstractControllerExtensionManager extensionManager;
+
+    @Value("${admin.subcollection.parallel.fetch.enabled:false}")
+    protected boolean parallelFetchEnabled = false;
+
+    @Value("${admin.subcollection.fetch.threads:8}")
+    protected int threads = 8;
+
+    @Value("${admin.subcollection.fetch.timeout.seconds:30}")
+    protected int timeoutSeconds = 30;
+
+    protected volatile ExecutorService executor;
+
+    /**
+     * @param ceilingEntity the entity the form is for, passed on to the extension handlers
+     * @param fetches the fetches keyed by collection property name
+     * @return the results keyed by collection property name, in the iteration order of <code>fetches</code>
+     */
+    public Map<String, DynamicResultSet> fetch(String ceilingEntity, Map<String, SubCollectionFetch> fetches) throws ServiceException {
+        Map<String, DynamicResultSet> results = new LinkedHashMap<>();
+        Map<String, Long> fetchTimes = new LinkedHashMap<>();
+        if (!parallelFetchEnabled || fetches.size() < 2) {
+            for (Map.Entry<String, SubCollectionFetch> entry : fetches.entrySet()) {
+                long start = System.nanoTime();
+                results.put(entry.getKey(), entry.getValue().fetch());
+                fetchTimes.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } else {
+            fetchInParallel(fetches, results, fetchTimes);
+        }
+        if (!fetchTimes.isEmpty()) {
+            extensionManager.getProxy().reportSubCollectionFetchTimes(ceilingEntity, fetchTimes);
+        }
+        return results;
+    }
+
+    protected void fetchInParallel(Map<String, SubCollectionFetch> fetches, Map<String, DynamicResultSet> results,
+            Map<String, Long> fetchTimes) throws ServiceException {
+        final BroadleafRequestContext callerContext = BroadleafRequestContext.getBroadleafRequestContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        List<String> names = new ArrayList<>(fetches.keySet());
+        List<Future<TimedResult>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            final SubCollectionFetch fetch = fetches.get(name);
+            final BroadleafRequestContext brc = callerContext == null ? null : callerContext.createLightWeightClone();
+            futures.add(getExecutor().submit(() -> fetchOnWorker(fetch, brc, securityContext)));
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        ServiceException failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<TimedResult> future = futures.get(i);
+            try {
+                TimedResult result = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                results.put(names.get(i), result.getResultSet());
+                fetchTimes.put(names.get(i), result.getMillis());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof ServiceException ? (ServiceException) e.getCause()
+                            : new ServiceException("Unable to fetch the " + names.get(i) + " collection", e.getCause());
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                if (failure == null) {
+                    failure = new ServiceException("The " + names.get(i) + " collection was not fetched within "
+                            + timeoutSeconds + " seconds");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                }
+                throw new ServiceException("Interrupted while fetching collections", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    protected TimedResult fetchOnWorker(final SubCollectionFetch fetch, BroadleafRequestContext brc,
+            SecurityContext securityContext) throws ServiceException {
+        BroadleafRequestContext previous = BroadleafRequestContext.getBroadleafRequestContext(false);
+        SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        SecurityContextHolder.setContext(securityContext);
+        final TimedResult result = new TimedResult();
+        final ServiceException[] failure = new ServiceException[1];
+        try {
+            // Binds a new entity manager for the duration of the fetch unless the calling thread already has one,
+            // which is the case when the pool is saturated and the request thread runs the fetch itself
+            transUtil.runOptionalEntityManagerInViewOperation(new Runnable() {
+                @Override
+                public void run() {
+                    long start = System.nanoTime();
+                    try {
+                        result.setResultSet(fetch.fetch());
+                    } catch (ServiceException e) {
+                        failure[0] = e;
+                    }
+                    result.setMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        } finally {
+            SecurityContextHolder.setContext(previousSecurityContext);
+            BroadleafRequestContext.setBroadleafRequestContext(previous);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Fetched a collection in " + result.getMillis() + "ms on " + Thread.currentThread().getName());
+        }
+        return result;
+    }
+
+    protected ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    int poolSize = Math.max(1, threads);
+                    executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(poolSize * 4), new SubCollectionThreadFactory(),
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isParallelFetchEnabled() {
+        return parallelFetchEnabled;
+    }
+
+    public void setParallelFetchEnabled(boolean parallelFetchEnabled) {
+        this.parallelFetchEnabled = parallelFetchEnabled;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    protected static class TimedResult {
+
+        protected DynamicResultSet resultSet;
+        protected long millis;
+
+        public DynamicResultSet getResultSet() {
+            return resultSet;
+        }
+
+        public void setResultSet(DynamicResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public void setMillis(long millis) {
+            this.millis = millis;
+        }
+    }
+
+    protected static class SubCollectionThreadFactory implements ThreadFactory {
+
+        protected final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "blSubCollectionFetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
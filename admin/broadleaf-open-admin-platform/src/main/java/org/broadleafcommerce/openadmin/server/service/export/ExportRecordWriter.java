@@ -0,0 +1,43 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes exported records one at a time to an underlying {@link java.io.Writer}. Implementations hold no more than the
+ * current record, so an export of any size runs in constant memory.
+ *
+ * @see ExportFormat
+ */
+public interface ExportRecordWriter extends Flushable {
+
+    /**
+     * Called once, before any record, with the names of the exported columns
+     */
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * Writes a single record. The values are in the same order as the columns passed to {@link #writeHeader(List)}
+     * and may contain nulls.
+     */
+    void writeRecord(List<String> values) throws IOException;
+
+}
@@ -0,0 +1,72 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.export;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes each record as a JSON object on its own line (JSON Lines). Every value is written as a JSON string, or as
+ * null, keyed by the column name passed to {@link #writeHeader(List)}. No header line is written.
+ */
+public class JsonLinesExportRecordWriter implements ExportRecordWriter {
+
+    protected final Writer writer;
+    protected List<String> quotedColumns = new ArrayList<>();
+
+    public JsonLinesExportRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        quotedColumns = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            quotedColumns.add(quote(column));
+        }
+    }
+
+    @Override
+    public void writeRecord(List<String> values) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(quotedColumns.get(i));
+            writer.write(':');
+            String value = values.get(i);
+            writer.write(value == null ? "null" : quote(value));
+        }
+        writer.write("}\n");
+    }
+
+    protected String quote(String value) {
+        return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + '"';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,697 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.export;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.BroadleafEnumerationType;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.common.file.domain.FileWorkArea;
+import org.broadleafcommerce.common.file.service.BroadleafFileService;
+import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.persistence.TargetModeType;
+import org.broadleafcommerce.common.presentation.client.OperationType;
+import org.broadleafcommerce.common.presentation.client.SupportedFieldType;
+import org.broadleafcommerce.common.service.PersistenceService;
+import org.broadleafcommerce.common.util.StreamCapableTransactionalOperationAdapter;
+import org.broadleafcommerce.common.util.StreamingTransactionCapable;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.openadmin.dto.BasicFieldMetadata;
+import org.broadleafcommerce.openadmin.dto.CriteriaTransferObject;
+import org.broadleafcommerce.openadmin.dto.FieldMetadata;
+import org.broadleafcommerce.openadmin.dto.FilterAndSortCriteria;
+import org.broadleafcommerce.openadmin.dto.PersistencePackage;
+import org.broadleafcommerce.openadmin.dto.Property;
+import org.broadleafcommerce.openadmin.dto.SortDirection;
+import org.broadleafcommerce.openadmin.server.domain.PersistencePackageRequest;
+import org.broadleafcommerce.openadmin.server.factory.PersistencePackageFactory;
+import org.broadleafcommerce.openadmin.server.security.remote.EntityOperationType;
+import org.broadleafcommerce.openadmin.server.security.remote.SecurityVerifier;
+import org.broadleafcommerce.openadmin.server.service.persistence.Persistable;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandler;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandlerResponse;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerFactory;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceThreadManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.BasicPersistenceModule;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.EmptyFilterValues;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.FieldManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.FieldNotAvailableException;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.InspectHelper;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.FieldPathBuilder;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.FilterMapping;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.Restriction;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.predicate.PredicateProvider;
+import org.broadleafcommerce.openadmin.web.service.FormBuilderServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.servlet.ServletOutputStream;
+
+/**
+ * <p>
+ * An {@link AdminExporter} that streams every record of a ceiling entity as CSV or JSON Lines. Paging through
+ * {@link org.broadleafcommerce.openadmin.server.service.AdminEntityService#getRecords} builds an Entity DTO for every
+ * row and reruns the count query for every page, which does not scale to millions of orders. This exporter instead
+ * walks the ceiling entity in primary key order ("keyset" paging: each page asks for the rows after the last id of the
+ * previous page), writes each row as soon as it is read, and clears the entity manager between pages. Memory use is
+ * bounded by the page size no matter how many rows are exported.
+ * </p>
+ * <p>
+ * Request parameters that name a property of the ceiling entity are applied as filters, in the same way as the
+ * filters of the list grid. The filter mappings are built by {@link BasicPersistenceModule}, the
+ * {@link PersistenceManagerEventHandler}s get their usual chance to add mappings, and queries go through the
+ * {@link org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.CriteriaTranslator}, so row level
+ * security applies to the export exactly as it does to the list grid.
+ * </p>
+ * <p>
+ * When {@link #setPartitions(int)} is greater than one and the primary key is numeric, the id range is split into that
+ * many slices which are exported in parallel, each to its own file in a {@link FileWorkArea}. The files are then
+ * copied to the response in order. Nothing is sent to the client until every slice has been written.
+ * </p>
+ * <p>
+ * No exporters are registered out of the box. Declare one bean per entity and add it to <code>blAdminExporters</code>:
+ * <pre>
+ * {@code
+ * <bean id="orderExporter" class="org.broadleafcommerce.openadmin.server.service.export.StreamingAdminExporter">
+ *     <property name="name" value="orderCsv"/>
+ *     <property name="friendlyName" value="Orders (CSV)"/>
+ *     <property name="ceilingEntity" value="org.broadleafcommerce.core.order.domain.Order"/>
+ *     <property name="format" value="CSV"/>
+ * </bean>
+ * }
+ * </pre>
+ * </p>
+ */
+public class StreamingAdminExporter implements AdminExporter {
+
+    private static final Log LOG = LogFactory.getLog(StreamingAdminExporter.class);
+
+    protected static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
+
+    @Resource(name = "blPersistencePackageFactory")
+    protected PersistencePackageFactory persistencePackageFactory;
+
+    @Resource(name = "blAdminSecurityRemoteService")
+    protected SecurityVerifier adminRemoteSecurityService;
+
+    @Resource(name = "blPersistenceManagerEventHandlers")
+    protected List<PersistenceManagerEventHandler> persistenceManagerEventHandlers;
+
+    @Resource(name = "blPersistenceThreadManager")
+    protected PersistenceThreadManager persistenceThreadManager;
+
+    @Resource(name = "blPersistenceService")
+    protected PersistenceService persistenceService;
+
+    @Resource(name = "blStreamingTransactionCapableUtil")
+    protected StreamingTransactionCapable transUtil;
+
+    @Resource(name = "blFileService")
+    protected BroadleafFileService fileService;
+
+    @Value("${admin.export.page.size:500}")
+    protected int pageSize = 500;
+
+    @Value("${admin.export.parallel.partitions:1}")
+    protected int partitions = 1;
+
+    protected String name;
+    protected String friendlyName;
+    protected String ceilingEntity;
+    protected String fileName;
+    protected ExportFormat format = ExportFormat.CSV;
+    protected List<String> exportedProperties;
+
+    @Override
+    public void writeExport(ServletOutputStream out, Map<String, String> params) throws IOException {
+        long start = System.currentTimeMillis();
+        ExportContext context = buildContext(params);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ExportRecordWriter recordWriter = format.createWriter(writer);
+        recordWriter.writeHeader(context.getColumns());
+
+        long count;
+        if (partitions > 1 && context.isNumericId()) {
+            recordWriter.flush();
+            count = exportPartitioned(context, out);
+        } else {
+            count = exportRange(context, recordWriter, null, null);
+        }
+        recordWriter.flush();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Exported %d %s records in %dms", count, ceilingEntity, System.currentTimeMillis() - start));
+        }
+    }
+
+    /**
+     * Resolves the persistence package, security, id property and columns for this export. This is done once, on the
+     * calling thread, and shared by every slice. Filter mappings are not shared: their restrictions keep the state of
+     * the query they were last applied to, so each range builds its own with {@link #buildFilterMappings}.
+     */
+    protected ExportContext buildContext(final Map<String, String> params) throws IOException {
+        PersistencePackageRequest request = PersistencePackageRequest.standard().withCeilingEntityClassname(ceilingEntity);
+        final PersistencePackage persistencePackage = persistencePackageFactory.create(request);
+        try {
+            return persistenceThreadManager.operation(TargetModeType.SANDBOX, persistencePackage, new Persistable<ExportContext, ServiceException>() {
+                @Override
+                public ExportContext execute() throws ServiceException {
+                    adminRemoteSecurityService.securityCheck(persistencePackage, EntityOperationType.FETCH);
+
+                    PersistenceManager persistenceManager = PersistenceManagerFactory.getPersistenceManager();
+                    BasicPersistenceModule module = (BasicPersistenceModule) ((InspectHelper) persistenceManager)
+                            .getCompatibleModule(OperationType.BASIC);
+
+                    CriteriaTransferObject cto = buildCriteria(persistenceManager, persistencePackage, params);
+                    Map<String, FieldMetadata> mergedProperties = module.getMergedProperties(persistencePackage, cto);
+                    String fetchType = persistencePackage.getFetchTypeFullyQualifiedClassname();
+
+                    String idProperty = module.getIdPropertyName(mergedProperties);
+                    BasicFieldMetadata idMetadata = (BasicFieldMetadata) mergedProperties.get(idProperty);
+                    boolean numericId = idMetadata.getSecondaryType() == SupportedFieldType.INTEGER;
+
+                    return new ExportContext(persistencePackage, fetchType, params, idProperty, numericId,
+                            getColumns(idProperty, mergedProperties));
+                }
+            });
+        } catch (ServiceException e) {
+            throw new RuntimeException("Unable to prepare the export of " + ceilingEntity, e);
+        }
+    }
+
+    /**
+     * Every request parameter is offered to the persistence module as a filter. Those that do not name a property of
+     * the ceiling entity, such as "exporter", are ignored when the filter mappings are built. The
+     * {@link PersistenceManagerEventHandler}s then get their chance to add filters, as they do for a fetch.
+     */
+    protected CriteriaTransferObject buildCriteria(PersistenceManager persistenceManager, PersistencePackage persistencePackage,
+            Map<String, String> params) throws ServiceException {
+        CriteriaTransferObject cto = new CriteriaTransferObject();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (StringUtils.isNotBlank(param.getValue())) {
+                cto.add(new FilterAndSortCriteria(param.getKey(), param.getValue()));
+            }
+        }
+        for (PersistenceManagerEventHandler handler : persistenceManagerEventHandlers) {
+            PersistenceManagerEventHandlerResponse response = handler.preFetch(persistenceManager, persistencePackage, cto);
+            if (PersistenceManagerEventHandlerResponse.PersistenceManagerEventHandlerResponseStatus.HANDLED_BREAK == response.getStatus()) {
+                break;
+            }
+        }
+        return cto;
+    }
+
+    /**
+     * Builds a fresh set of filter mappings for the export. {@link Restriction}s and their {@link FieldPathBuilder}
+     * remember the criteria and restrictions of the query they are applied to, so mappings must not be shared between
+     * threads. Call this on the thread that runs the queries.
+     */
+    protected List<FilterMapping> buildFilterMappings(PersistenceManager persistenceManager, BasicPersistenceModule module,
+            ExportContext context) {
+        PersistencePackage persistencePackage = context.getPersistencePackage();
+        try {
+            CriteriaTransferObject cto = buildCriteria(persistenceManager, persistencePackage, context.getParams());
+            Map<String, FieldMetadata> mergedProperties = module.getMergedProperties(persistencePackage, cto);
+            List<FilterMapping> filterMappings = new ArrayList<>(module.getFilterMappings(
+                    persistencePackage.getPersistencePerspective(), cto, context.getFetchType(), mergedProperties));
+            filterMappings.addAll(cto.getAdditionalFilterMappings());
+            filterMappings.addAll(cto.getNonCountAdditionalFilterMappings());
+            return filterMappings;
+        } catch (ServiceException e) {
+            throw new RuntimeException("Unable to build the filters for the export of " + ceilingEntity, e);
+        }
+    }
+
+    /**
+     * The configured {@link #getExportedProperties()} or, by default, the id followed by the columns that are shown
+     * in the list grid.
+     */
+    protected List<String> getColumns(String idProperty, Map<String, FieldMetadata> mergedProperties) {
+        if (exportedProperties != null && !exportedProperties.isEmpty()) {
+            return new ArrayList<>(exportedProperties);
+        }
+        List<Map.Entry<String, BasicFieldMetadata>> gridFields = new ArrayList<>();
+        for (Map.Entry<String, FieldMetadata> entry : mergedProperties.entrySet()) {
+            if (!(entry.getValue() instanceof BasicFieldMetadata) || entry.getKey().equals(idProperty)) {
+                continue;
+            }
+            BasicFieldMetadata md = (BasicFieldMetadata) entry.getValue();
+            if (md.isProminent() != null && md.isProminent()
+                    && !ArrayUtils.contains(FormBuilderServiceImpl.GRID_HIDDEN_VISIBILITIES, md.getVisibility())
+                    && md.getFieldType() != SupportedFieldType.PASSWORD
+                    && md.getFieldType() != SupportedFieldType.PASSWORD_CONFIRM) {
+                gridFields.add(new AbstractMap.SimpleEntry<>(entry.getKey(), md));
+            }
+        }
+        Collections.sort(gridFields, new Comparator<Map.Entry<String, BasicFieldMetadata>>() {
+            @Override
+            public int compare(Map.Entry<String, BasicFieldMetadata> o1, Map.Entry<String, BasicFieldMetadata> o2) {
+                Integer order1 = o1.getValue().getGridOrder() == null ? Integer.MAX_VALUE : o1.getValue().getGridOrder();
+                Integer order2 = o2.getValue().getGridOrder() == null ? Integer.MAX_VALUE : o2.getValue().getGridOrder();
+                int result = order1.compareTo(order2);
+                return result != 0 ? result : o1.getKey().compareTo(o2.getKey());
+            }
+        });
+        List<String> columns = new ArrayList<>();
+        columns.add(idProperty);
+        for (Map.Entry<String, BasicFieldMetadata> gridField : gridFields) {
+            columns.add(gridField.getKey());
+        }
+        return columns;
+    }
+
+    /**
+     * Writes the records whose id is greater than <code>lowerExclusive</code> and not greater than
+     * <code>upperInclusive</code>, one page at a time. Either bound may be null. Each page is read and written in its
+     * own read only transaction, and the entity manager is cleared afterwards so that the level 1 cache does not grow
+     * with the export.
+     *
+     * @return the number of records written
+     */
+    protected long exportRange(final ExportContext context, final ExportRecordWriter recordWriter,
+            final Serializable lowerExclusive, final Serializable upperInclusive) throws IOException {
+        return persistenceThreadManager.operation(TargetModeType.SANDBOX, context.getPersistencePackage(), new Persistable<Long, IOException>() {
+            @Override
+            public Long execute() throws IOException {
+                final PersistenceManager persistenceManager = PersistenceManagerFactory.getPersistenceManager();
+                final BasicPersistenceModule module = (BasicPersistenceModule) ((InspectHelper) persistenceManager)
+                        .getCompatibleModule(OperationType.BASIC);
+                final EntityManager em = persistenceManager.getDynamicEntityDao().getStandardEntityManager();
+                PlatformTransactionManager transactionManager = persistenceService.identifyTransactionManager(ceilingEntity, TargetModeType.SANDBOX);
+                // The dao's field manager is shared and keeps state, so each range gets its own
+                final FieldManager fieldManager = new FieldManager(persistenceManager.getDynamicEntityDao().getEntityConfiguration(), em);
+                final List<FilterMapping> filterMappings = buildFilterMappings(persistenceManager, module, context);
+                final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+                final List<String> values = new ArrayList<>(context.getColumns().size());
+                final Serializable[] lastId = new Serializable[] { lowerExclusive };
+                final int[] pageCount = new int[1];
+                long total = 0;
+                do {
+                    transUtil.runOptionalTransactionalOperation(new StreamCapableTransactionalOperationAdapter() {
+                        @Override
+                        public void execute() throws Throwable {
+                            List<Serializable> page = readPage(module, persistenceManager, context, filterMappings, lastId[0], upperInclusive);
+                            for (Serializable record : page) {
+                                values.clear();
+                                for (String column : context.getColumns()) {
+                                    values.add(formatValue(persistenceManager, getValue(fieldManager, record, column), dateFormat));
+                                }
+                                recordWriter.writeRecord(values);
+                            }
+                            pageCount[0] = page.size();
+                            if (!page.isEmpty()) {
+                                lastId[0] = (Serializable) getValue(fieldManager, page.get(page.size() - 1), context.getIdProperty());
+                            }
+                        }
+                    }, IOException.class, true, TransactionDefinition.PROPAGATION_REQUIRED, TransactionDefinition.ISOLATION_DEFAULT, true, transactionManager);
+                    em.clear();
+                    recordWriter.flush();
+                    total += pageCount[0];
+                } while (pageCount[0] == pageSize);
+                return total;
+            }
+        });
+    }
+
+    protected List<Serializable> readPage(BasicPersistenceModule module, PersistenceManager persistenceManager,
+            ExportContext context, List<FilterMapping> rangeFilterMappings, Serializable lowerExclusive, Serializable upperInclusive) {
+        List<FilterMapping> filterMappings = new ArrayList<>(rangeFilterMappings);
+        filterMappings.add(buildKeysetMapping(context.getIdProperty(), lowerExclusive, upperInclusive));
+        return module.getCriteriaTranslator().translateQuery(persistenceManager.getDynamicEntityDao(),
+                context.getFetchType(), filterMappings, null, pageSize).getResultList();
+    }
+
+    /**
+     * Restricts the query to ids in <code>(lowerExclusive, upperInclusive]</code> and sorts by id ascending. The
+     * mapping is ordered first so that the id is the primary sort.
+     */
+    protected FilterMapping buildKeysetMapping(final String idProperty, final Serializable lowerExclusive, final Serializable upperInclusive) {
+        return new FilterMapping()
+                .withFullPropertyName(idProperty)
+                .withDirectFilterValues(new EmptyFilterValues())
+                .withSortDirection(SortDirection.ASCENDING)
+                .withOrder(Integer.MIN_VALUE)
+                .withRestriction(new Restriction().withPredicateProvider(new PredicateProvider() {
+                    @Override
+                    public Predicate buildPredicate(CriteriaBuilder builder, FieldPathBuilder fieldPathBuilder, From root,
+                            String ceilingEntity, String fullPropertyName, Path explicitPath, List directValues) {
+                        Path<Comparable> idPath = root.get(idProperty);
+                        List<Predicate> predicates = new ArrayList<>();
+                        if (lowerExclusive != null) {
+                            predicates.add(builder.greaterThan(idPath, (Comparable) lowerExclusive));
+                        }
+                        if (upperInclusive != null) {
+                            predicates.add(builder.lessThanOrEqualTo(idPath, (Comparable) upperInclusive));
+                        }
+                        return predicates.isEmpty() ? null : builder.and(predicates.toArray(new Predicate[predicates.size()]));
+                    }
+                }));
+    }
+
+    /**
+     * Splits the id range into {@link #getPartitions()} slices, exports each slice to its own file in a work area on
+     * its own thread, and then copies the files to <code>out</code> in id order.
+     *
+     * @return the number of records written
+     */
+    protected long exportPartitioned(final ExportContext context, OutputStream out) throws IOException {
+        Number minId = (Number) readBoundary(context, false);
+        Number maxId = (Number) readBoundary(context, true);
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        List<Long> bounds = getPartitionBounds(minId.longValue(), maxId.longValue(), partitions);
+
+        final BroadleafRequestContext callerContext = BroadleafRequestContext.getBroadleafRequestContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        FileWorkArea workArea = fileService.initializeWorkArea();
+        ExecutorService executor = Executors.newFixedThreadPool(bounds.size() - 1, new ExportThreadFactory(name));
+        try {
+            List<File> files = new ArrayList<>();
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < bounds.size() - 1; i++) {
+                final File file = new File(workArea.getFilePathLocation(), "part-" + i + "." + format.getExtension());
+                final Long lower = bounds.get(i);
+                final Long upper = bounds.get(i + 1);
+                final BroadleafRequestContext brc = callerContext == null ? null : callerContext.createLightWeightClone();
+                files.add(file);
+                futures.add(executor.submit(() -> exportSlice(context, file, lower, upper, brc, securityContext)));
+            }
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            for (File file : files) {
+                Files.copy(file.toPath(), out);
+            }
+            return total;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException("Unable to export " + ceilingEntity, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting " + ceilingEntity, e);
+        } finally {
+            executor.shutdownNow();
+            fileService.closeWorkArea(workArea);
+        }
+    }
+
+    protected long exportSlice(ExportContext context, File file, Long lowerExclusive, Long upperInclusive,
+            BroadleafRequestContext brc, SecurityContext securityContext) throws IOException {
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        SecurityContextHolder.setContext(securityContext);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            ExportRecordWriter recordWriter = format.createWriter(writer);
+            return exportRange(context, recordWriter, lowerExclusive, upperInclusive);
+        } finally {
+            SecurityContextHolder.clearContext();
+            BroadleafRequestContext.setBroadleafRequestContext(null);
+        }
+    }
+
+    /**
+     * @return <code>partitions + 1</code> exclusive lower / inclusive upper bounds covering <code>[minId, maxId]</code>
+     */
+    protected List<Long> getPartitionBounds(long minId, long maxId, int partitions) {
+        long span = maxId - minId + 1;
+        int slices = (int) Math.max(1, Math.min(partitions, span));
+        List<Long> bounds = new ArrayList<>(slices + 1);
+        bounds.add(minId - 1);
+        for (int i = 1; i < slices; i++) {
+            bounds.add(minId - 1 + span * i / slices);
+        }
+        bounds.add(maxId);
+        return bounds;
+    }
+
+    /**
+     * Reads the smallest or largest id that passes the export's filters. The largest is a max query; the smallest is
+     * the first row of a keyset page.
+     */
+    protected Object readBoundary(final ExportContext context, final boolean max) throws IOException {
+        return persistenceThreadManager.operation(TargetModeType.SANDBOX, context.getPersistencePackage(), new Persistable<Object, IOException>() {
+            @Override
+            public Object execute() {
+                PersistenceManager persistenceManager = PersistenceManagerFactory.getPersistenceManager();
+                BasicPersistenceModule module = (BasicPersistenceModule) ((InspectHelper) persistenceManager)
+                        .getCompatibleModule(OperationType.BASIC);
+                List<FilterMapping> filterMappings = buildFilterMappings(persistenceManager, module, context);
+                if (max) {
+                    return module.getMaxValue(context.getFetchType(), filterMappings, context.getIdProperty());
+                }
+                filterMappings.add(buildKeysetMapping(context.getIdProperty(), null, null));
+                List<Serializable> first = module.getCriteriaTranslator().translateQuery(persistenceManager.getDynamicEntityDao(),
+                        context.getFetchType(), filterMappings, null, 1).getResultList();
+                return first.isEmpty() ? null : getValue(module.getFieldManager(), first.get(0), context.getIdProperty());
+            }
+        });
+    }
+
+    protected Object getValue(FieldManager fieldManager, Object record, String propertyName) {
+        try {
+            return fieldManager.getFieldValue(record, propertyName);
+        } catch (FieldNotAvailableException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Unable to read " + propertyName + " from " + record.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Converts a property value to the text that is exported. Related entities are written as their id.
+     */
+    protected String formatValue(PersistenceManager persistenceManager, Object value, SimpleDateFormat dateFormat) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String || value instanceof Number && !(value instanceof BigDecimal)
+                || value instanceof Boolean || value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Money) {
+            return ((Money) value).getAmount().toPlainString();
+        }
+        if (value instanceof Date) {
+            return dateFormat.format((Date) value);
+        }
+        if (value instanceof BroadleafEnumerationType) {
+            return ((BroadleafEnumerationType) value).getType();
+        }
+        if (value instanceof Enum) {
+            return ((Enum) value).name();
+        }
+        try {
+            Serializable id = persistenceManager.getDynamicEntityDao().getIdentifier(value);
+            return id == null ? null : id.toString();
+        } catch (RuntimeException e) {
+            return value.toString();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getFriendlyName() {
+        return friendlyName;
+    }
+
+    public void setFriendlyName(String friendlyName) {
+        this.friendlyName = friendlyName;
+    }
+
+    /**
+     * Filters come from the list grid parameters, so there are no additional criteria fields
+     */
+    @Override
+    public List<Property> getCriteriaFields() {
+        return null;
+    }
+
+    @Override
+    public String getType() {
+        return ceilingEntity;
+    }
+
+    public String getCeilingEntity() {
+        return ceilingEntity;
+    }
+
+    public void setCeilingEntity(String ceilingEntity) {
+        this.ceilingEntity = ceilingEntity;
+    }
+
+    @Override
+    public String getFileName() {
+        if (fileName != null) {
+            return fileName;
+        }
+        return StringUtils.substringAfterLast("." + ceilingEntity, ".") + "." + format.getExtension();
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public List<String> getExportedProperties() {
+        return exportedProperties;
+    }
+
+    /**
+     * The properties to export, in order. Dotted paths are allowed. When not set, the id and the list grid columns are
+     * exported.
+     */
+    public void setExportedProperties(List<String> exportedProperties) {
+        this.exportedProperties = exportedProperties;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    protected static class ExportContext {
+
+        protected final PersistencePackage persistencePackage;
+        protected final String fetchType;
+        protected final Map<String, String> params;
+        protected final String idProperty;
+        protected final boolean numericId;
+        protected final List<String> columns;
+
+        public ExportContext(PersistencePackage persistencePackage, String fetchType, Map<String, String> params,
+                String idProperty, boolean numericId, List<String> columns) {
+            this.persistencePackage = persistencePackage;
+            this.fetchType = fetchType;
+            this.params = params;
+            this.idProperty = idProperty;
+            this.numericId = numericId;
+            this.columns = columns;
+        }
+
+        public PersistencePackage getPersistencePackage() {
+            return persistencePackage;
+        }
+
+        public String getFetchType() {
+            return fetchType;
+        }
+
+        public Map<String, String> getParams() {
+            return params;
+        }
+
+        public String getIdProperty() {
+            return idProperty;
+        }
+
+        public boolean isNumericId() {
+            return numericId;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+    }
+
+    protected static class ExportThreadFactory implements ThreadFactory {
+
+        protected final String prefix;
+        protected final AtomicInteger count = new AtomicInteger();
+
+        public ExportThreadFactory(String exporterName) {
+            this.prefix = "export-" + exporterName + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
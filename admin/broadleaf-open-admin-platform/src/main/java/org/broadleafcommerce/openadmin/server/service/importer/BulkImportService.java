@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import org.broadleafcommerce.common.exception.ServiceException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Adds or updates large numbers of admin entities from a stream of records. Each record goes through the same
+ * {@link org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager} add or update pipeline as the
+ * admin forms, but the entity metadata and security check are resolved once per import and records are written in
+ * chunks, each in its own transaction, on several threads.
+ *
+ * @see BulkImportServiceImpl
+ */
+public interface BulkImportService {
+
+    /**
+     * Imports every record in <code>in</code> as an instance of <code>ceilingEntity</code>. Each record is a map of
+     * property names to values in the same string form the admin forms submit. A record with a value for the id
+     * property updates that entity; a record without one adds a new entity.
+     * <p>
+     * A record that cannot be parsed, fails validation or cannot be saved does not stop the import. It is written to
+     * <code>rejects</code> along with its line number and the reason.
+     *
+     * @throws ServiceException if the current admin user may not add and update the ceiling entity
+     */
+    BulkImportResult importRecords(String ceilingEntity, ImportFormat format, InputStream in, OutputStream rejects)
+            throws ServiceException, IOException;
+
+}
@@ -0,0 +1,542 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.common.persistence.TargetModeType;
+import org.broadleafcommerce.common.presentation.client.OperationType;
+import org.broadleafcommerce.common.presentation.client.SupportedFieldType;
+import org.broadleafcommerce.common.service.PersistenceService;
+import org.broadleafcommerce.common.util.StreamCapableTransactionalOperationAdapter;
+import org.broadleafcommerce.common.util.StreamingTransactionCapable;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.openadmin.dto.BasicFieldMetadata;
+import org.broadleafcommerce.openadmin.dto.CriteriaTransferObject;
+import org.broadleafcommerce.openadmin.dto.Entity;
+import org.broadleafcommerce.openadmin.dto.FieldMetadata;
+import org.broadleafcommerce.openadmin.dto.PersistencePackage;
+import org.broadleafcommerce.openadmin.dto.Property;
+import org.broadleafcommerce.openadmin.server.dao.DynamicEntityDao;
+import org.broadleafcommerce.openadmin.server.domain.PersistencePackageRequest;
+import org.broadleafcommerce.openadmin.server.factory.PersistencePackageFactory;
+import org.broadleafcommerce.openadmin.server.security.remote.EntityOperationType;
+import org.broadleafcommerce.openadmin.server.security.remote.SecurityVerifier;
+import org.broadleafcommerce.openadmin.server.service.DynamicEntityService;
+import org.broadleafcommerce.openadmin.server.service.ValidationException;
+import org.broadleafcommerce.openadmin.server.service.export.ExportRecordWriter;
+import org.broadleafcommerce.openadmin.server.service.persistence.Persistable;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerFactory;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceThreadManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.BasicPersistenceModule;
+import org.broadleafcommerce.openadmin.server.service.persistence.module.InspectHelper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+
+/**
+ * <p>
+ * Default {@link BulkImportService}. The security check, merged property metadata, id property and transaction manager
+ * are resolved once per import into an {@link ImportPlan}. Records are then read one at a time and grouped into chunks
+ * of <code>admin.import.chunk.size</code>, and each chunk is written in a single transaction.
+ * </p>
+ * <p>
+ * Every record is saved through {@link DynamicEntityService#nonTransactionalAdd} or
+ * {@link DynamicEntityService#nonTransactionalUpdate}, the same pipeline as a save from the admin entity form. Custom
+ * persistence handlers, such as the one that creates the default sku of a product, persistence manager event
+ * handlers, field persistence providers, validators and input cleaning all apply to imported records.
+ * </p>
+ * <p>
+ * Chunks run in parallel on <code>admin.import.threads</code> threads. The queue in front of the threads is bounded,
+ * and the reading thread runs a chunk itself when the queue is full, so a large input never sits in memory.
+ * </p>
+ * <p>
+ * A record that fails validation is rejected and the rest of its chunk is saved. If the chunk fails to flush, for
+ * instance because of a constraint violation, it is rolled back and its records are retried one per transaction so
+ * that only the offending records are rejected.
+ * </p>
+ */
+@Service("blBulkImportService")
+public class BulkImportServiceImpl implements BulkImportService, DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(BulkImportServiceImpl.class);
+
+    public static final List<String> REJECT_COLUMNS = Collections.unmodifiableList(Arrays.asList("line", "error", "record"));
+
+    @Resource(name = "blPersistencePackageFactory")
+    protected PersistencePackageFactory persistencePackageFactory;
+
+    @Resource(name = "blAdminSecurityRemoteService")
+    protected SecurityVerifier adminRemoteSecurityService;
+
+    @Resource(name = "blPersistenceThreadManager")
+    protected PersistenceThreadManager persistenceThreadManager;
+
+    @Resource(name = "blDynamicEntityRemoteService")
+    protected DynamicEntityService dynamicEntityService;
+
+    @Resource(name = "blPersistenceService")
+    protected PersistenceService persistenceService;
+
+    @Resource(name = "blStreamingTransactionCapableUtil")
+    protected StreamingTransactionCapable transUtil;
+
+    @Value("${admin.import.chunk.size:100}")
+    protected int chunkSize = 100;
+
+    @Value("${admin.import.threads:4}")
+    protected int threads = 4;
+
+    protected volatile ExecutorService executor;
+
+    @Override
+    public BulkImportResult importRecords(String ceilingEntity, ImportFormat format, InputStream in, OutputStream rejects)
+            throws ServiceException, IOException {
+        long start = System.currentTimeMillis();
+        ImportPlan plan = buildPlan(ceilingEntity);
+        ImportRecordReader reader = format.createReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        RejectWriter rejectWriter = new RejectWriter(format.getRejectFormat().createWriter(
+                new BufferedWriter(new OutputStreamWriter(rejects, StandardCharsets.UTF_8))));
+
+        BroadleafRequestContext callerContext = BroadleafRequestContext.getBroadleafRequestContext();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        List<Future<Integer>> pending = new ArrayList<>();
+        long imported = 0;
+        try {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                ImportRow row;
+                try {
+                    row = reader.read();
+                } catch (ImportRowException e) {
+                    rejectWriter.reject(e.getRow(), e.getMessage());
+                    continue;
+                }
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                    final List<ImportRow> submitted = chunk;
+                    final BroadleafRequestContext brc = callerContext == null ? null : callerContext.createLightWeightClone();
+                    pending.add(getExecutor().submit(() -> importChunkOnWorker(plan, submitted, rejectWriter, brc, securityContext)));
+                    chunk = new ArrayList<>(chunkSize);
+                    imported += collectCompleted(pending, false);
+                }
+                if (row == null) {
+                    break;
+                }
+            }
+            imported += collectCompleted(pending, true);
+        } finally {
+            for (Future<Integer> future : pending) {
+                future.cancel(true);
+            }
+            rejectWriter.flush();
+        }
+
+        if (!plan.getUnknownProperties().isEmpty()) {
+            LOG.warn(String.format("Ignored the following columns while importing %s because they are not properties of the entity: %s",
+                    ceilingEntity, plan.getUnknownProperties()));
+        }
+        BulkImportResult result = new BulkImportResult(imported, rejectWriter.getCount(), System.currentTimeMillis() - start);
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Bulk import of " + ceilingEntity + " finished: " + result);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves everything about the ceiling entity that does not change from one record to the next
+     */
+    protected ImportPlan buildPlan(final String ceilingEntity) throws ServiceException {
+        PersistencePackageRequest request = PersistencePackageRequest.standard().withCeilingEntityClassname(ceilingEntity);
+        final PersistencePackage persistencePackage = persistencePackageFactory.create(request);
+        return persistenceThreadManager.operation(TargetModeType.SANDBOX, persistencePackage, new Persistable<ImportPlan, ServiceException>() {
+            @Override
+            public ImportPlan execute() throws ServiceException {
+                adminRemoteSecurityService.securityCheck(persistencePackage, EntityOperationType.ADD);
+                adminRemoteSecurityService.securityCheck(persistencePackage, EntityOperationType.UPDATE);
+
+                PersistenceManager persistenceManager = PersistenceManagerFactory.getPersistenceManager();
+                BasicPersistenceModule module = getBasicPersistenceModule(persistenceManager);
+                Map<String, FieldMetadata> mergedProperties = module.getMergedProperties(persistencePackage, new CriteriaTransferObject());
+                String idProperty = module.getIdPropertyName(mergedProperties);
+                BasicFieldMetadata idMetadata = (BasicFieldMetadata) mergedProperties.get(idProperty);
+                Class<?> implClass = persistenceManager.getDynamicEntityDao().getCeilingImplClass(ceilingEntity);
+                PlatformTransactionManager transactionManager = persistenceService.identifyTransactionManager(ceilingEntity, TargetModeType.SANDBOX);
+
+                return new ImportPlan(ceilingEntity, persistencePackage, mergedProperties, idProperty,
+                        idMetadata.getSecondaryType() == SupportedFieldType.INTEGER, implClass, transactionManager);
+            }
+        });
+    }
+
+    /**
+     * Sums the results of the finished chunks and removes them from <code>pending</code>, waiting for all of them when
+     * <code>waitForAll</code> is true
+     */
+    protected long collectCompleted(List<Future<Integer>> pending, boolean waitForAll) throws IOException {
+        long imported = 0;
+        Iterator<Future<Integer>> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Future<Integer> future = iterator.next();
+            if (!waitForAll && !future.isDone()) {
+                continue;
+            }
+            try {
+                imported += future.get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("A bulk import chunk failed unexpectedly", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for bulk import chunks", e);
+            }
+            iterator.remove();
+        }
+        return imported;
+    }
+
+    protected int importChunkOnWorker(ImportPlan plan, List<ImportRow> rows, RejectWriter rejectWriter,
+            BroadleafRequestContext brc, SecurityContext securityContext) throws IOException {
+        BroadleafRequestContext previous = BroadleafRequestContext.getBroadleafRequestContext(false);
+        SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            return importChunk(plan, rows, rejectWriter);
+        } finally {
+            SecurityContextHolder.setContext(previousSecurityContext);
+            BroadleafRequestContext.setBroadleafRequestContext(previous);
+        }
+    }
+
+    /**
+     * Saves a chunk in one transaction. If that fails, the records are retried one per transaction.
+     *
+     * @return the number of records saved
+     */
+    protected int importChunk(ImportPlan plan, List<ImportRow> rows, RejectWriter rejectWriter) throws IOException {
+        try {
+            return saveChunk(plan, rows, rejectWriter);
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                rejectWriter.reject(rows.get(0), getMessage(e));
+                return 0;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Unable to save a chunk of " + rows.size() + " records starting at line "
+                        + rows.get(0).getLineNumber() + ". Retrying them one at a time.", e);
+            }
+            int imported = 0;
+            for (ImportRow row : rows) {
+                try {
+                    imported += saveChunk(plan, Collections.singletonList(row), rejectWriter);
+                } catch (RuntimeException re) {
+                    rejectWriter.reject(row, getMessage(re));
+                }
+            }
+            return imported;
+        }
+    }
+
+    protected int saveChunk(final ImportPlan plan, final List<ImportRow> rows, RejectWriter rejectWriter) throws IOException {
+        final List<ImportRow> invalidRows = new ArrayList<>();
+        final List<String> invalidMessages = new ArrayList<>();
+        final int[] saved = new int[1];
+        persistenceThreadManager.operation(TargetModeType.SANDBOX, plan.getPersistencePackage(), new Persistable<Void, RuntimeException>() {
+            @Override
+            public Void execute() {
+                transUtil.runTransactionalOperation(new StreamCapableTransactionalOperationAdapter() {
+                    @Override
+                    public void execute() throws Throwable {
+                        DynamicEntityDao dynamicEntityDao = PersistenceManagerFactory.getPersistenceManager().getDynamicEntityDao();
+                        for (ImportRow row : rows) {
+                            String error = saveRecord(plan, dynamicEntityDao, row);
+                            if (error == null) {
+                                saved[0]++;
+                            } else {
+                                invalidRows.add(row);
+                                invalidMessages.add(error);
+                            }
+                        }
+                        dynamicEntityDao.flush();
+                        dynamicEntityDao.clear();
+                    }
+                }, RuntimeException.class, plan.getTransactionManager());
+                return null;
+            }
+        });
+        // Only report validation failures once the chunk has committed, so a retried chunk does not report them twice
+        for (int i = 0; i < invalidRows.size(); i++) {
+            rejectWriter.reject(invalidRows.get(i), invalidMessages.get(i));
+        }
+        return saved[0];
+    }
+
+    /**
+     * Adds a record, or updates the existing entity when the record has an id, through the admin persistence pipeline
+     *
+     * @return null if the record was saved, otherwise the reason it was rejected
+     */
+    protected String saveRecord(ImportPlan plan, DynamicEntityDao dynamicEntityDao, ImportRow row) throws ServiceException {
+        String id = row.getValues().get(plan.getIdProperty());
+        boolean isNew = StringUtils.isBlank(id);
+        Entity entity = new Entity();
+        if (isNew) {
+            entity.setType(new String[] { plan.getImplClass().getName() });
+        } else {
+            Object primaryKey = plan.isNumericId() ? Long.valueOf(id.trim()) : id;
+            Serializable instance = dynamicEntityDao.retrieve(plan.getImplClass(), primaryKey);
+            if (instance == null) {
+                return "No entity exists with " + plan.getIdProperty() + " " + id;
+            }
+            entity.setType(new String[] { instance.getClass().getName() });
+            entity.addProperty(buildProperty(plan.getIdProperty(), id.trim()));
+        }
+        for (Map.Entry<String, String> value : row.getValues().entrySet()) {
+            String name = value.getKey();
+            if (name.equals(plan.getIdProperty())) {
+                continue;
+            }
+            if (!plan.getMergedProperties().containsKey(name)) {
+                plan.getUnknownProperties().add(name);
+                continue;
+            }
+            entity.addProperty(buildProperty(name, value.getValue()));
+        }
+
+        PersistencePackage persistencePackage = persistencePackageFactory.create(PersistencePackageRequest.standard()
+                .withCeilingEntityClassname(plan.getCeilingEntity())
+                .withEntity(entity));
+        try {
+            if (isNew) {
+                dynamicEntityService.nonTransactionalAdd(persistencePackage);
+            } else {
+                dynamicEntityService.nonTransactionalUpdate(persistencePackage);
+            }
+        } catch (ValidationException e) {
+            return describeValidationErrors(e.getEntity() == null ? entity : e.getEntity());
+        }
+        return null;
+    }
+
+    protected Property buildProperty(String name, String value) {
+        Property property = new Property();
+        property.setName(name);
+        property.setValue(value);
+        property.setIsDirty(true);
+        return property;
+    }
+
+    protected String describeValidationErrors(Entity entity) {
+        List<String> errors = new ArrayList<>();
+        if (entity.getGlobalValidationErrors() != null) {
+            errors.addAll(entity.getGlobalValidationErrors());
+        }
+        if (entity.getPropertyValidationErrors() != null) {
+            for (Map.Entry<String, List<String>> propertyErrors : entity.getPropertyValidationErrors().entrySet()) {
+                errors.add(propertyErrors.getKey() + ": " + StringUtils.join(propertyErrors.getValue(), ", "));
+            }
+        }
+        return errors.isEmpty() ? "Validation failed" : StringUtils.join(errors, "; ");
+    }
+
+    protected String getMessage(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() == null ? cause.getClass().getName() : cause.getMessage();
+    }
+
+    protected BasicPersistenceModule getBasicPersistenceModule(PersistenceManager persistenceManager) {
+        return (BasicPersistenceModule) ((InspectHelper) persistenceManager).getCompatibleModule(OperationType.BASIC);
+    }
+
+    protected ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    int poolSize = Math.max(1, threads);
+                    executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(poolSize * 2), new ImportThreadFactory(),
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * What {@link BulkImportServiceImpl} resolves once per import
+     */
+    protected static class ImportPlan {
+
+        protected final String ceilingEntity;
+        protected final PersistencePackage persistencePackage;
+        protected final Map<String, FieldMetadata> mergedProperties;
+        protected final String idProperty;
+        protected final boolean numericId;
+        protected final Class<?> implClass;
+        protected final PlatformTransactionManager transactionManager;
+        protected final Set<String> unknownProperties = ConcurrentHashMap.newKeySet();
+
+        public ImportPlan(String ceilingEntity, PersistencePackage persistencePackage, Map<String, FieldMetadata> mergedProperties,
+                String idProperty, boolean numericId, Class<?> implClass, PlatformTransactionManager transactionManager) {
+            this.ceilingEntity = ceilingEntity;
+            this.persistencePackage = persistencePackage;
+            this.mergedProperties = mergedProperties;
+            this.idProperty = idProperty;
+            this.numericId = numericId;
+            this.implClass = implClass;
+            this.transactionManager = transactionManager;
+        }
+
+        public String getCeilingEntity() {
+            return ceilingEntity;
+        }
+
+        public PersistencePackage getPersistencePackage() {
+            return persistencePackage;
+        }
+
+        public Map<String, FieldMetadata> getMergedProperties() {
+            return mergedProperties;
+        }
+
+        public String getIdProperty() {
+            return idProperty;
+        }
+
+        public boolean isNumericId() {
+            return numericId;
+        }
+
+        public Class<?> getImplClass() {
+            return implClass;
+        }
+
+        public PlatformTransactionManager getTransactionManager() {
+            return transactionManager;
+        }
+
+        public Set<String> getUnknownProperties() {
+            return unknownProperties;
+        }
+    }
+
+    /**
+     * Serializes writes to the reject file from the chunk threads
+     */
+    protected static class RejectWriter {
+
+        protected final ExportRecordWriter writer;
+        protected long count;
+        protected boolean headerWritten;
+
+        public RejectWriter(ExportRecordWriter writer) {
+            this.writer = writer;
+        }
+
+        public synchronized void reject(ImportRow row, String message) throws IOException {
+            if (!headerWritten) {
+                writer.writeHeader(REJECT_COLUMNS);
+                headerWritten = true;
+            }
+            writer.writeRecord(Arrays.asList(String.valueOf(row.getLineNumber()), message, row.getRaw()));
+            count++;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    protected static class ImportThreadFactory implements ThreadFactory {
+
+        protected final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "blBulkImport-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
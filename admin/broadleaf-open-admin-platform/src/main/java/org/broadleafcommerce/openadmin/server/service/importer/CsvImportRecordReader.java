@@ -0,0 +1,142 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV. The first record holds the property names. Quoted values may contain separators, doubled
+ * quotes and line breaks. An empty field is read as an empty string.
+ */
+public class CsvImportRecordReader implements ImportRecordReader {
+
+    protected final Reader reader;
+    protected List<String> columns;
+    protected long lineNumber = 1;
+    protected int pushedBack = -2;
+
+    public CsvImportRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow read() throws IOException {
+        if (columns == null) {
+            columns = readFields(new StringBuilder());
+            if (columns == null) {
+                return null;
+            }
+        }
+        List<String> fields;
+        StringBuilder raw = new StringBuilder();
+        long startLine;
+        do {
+            raw.setLength(0);
+            startLine = lineNumber;
+            fields = readFields(raw);
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        if (fields.size() != columns.size()) {
+            throw new ImportRowException(new ImportRow(startLine, raw.toString(), null),
+                    "Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new LinkedHashMap<>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            values.put(columns.get(i), fields.get(i));
+        }
+        return new ImportRow(startLine, raw.toString(), values);
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     */
+    protected List<String> readFields(StringBuilder raw) throws IOException {
+        int c = next();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                        raw.append("\"\"");
+                    } else {
+                        quoted = false;
+                        raw.append('"');
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                    raw.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                raw.append('"');
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                raw.append(',');
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                raw.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    protected int next() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+}
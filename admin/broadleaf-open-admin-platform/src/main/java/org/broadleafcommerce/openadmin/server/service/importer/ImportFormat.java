@@ -0,0 +1,54 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import org.broadleafcommerce.openadmin.server.service.export.ExportFormat;
+
+import java.io.BufferedReader;
+
+/**
+ * The formats read by {@link BulkImportService}. Rejected records are written in the same format as the input.
+ */
+public enum ImportFormat {
+
+    CSV(ExportFormat.CSV) {
+        @Override
+        public ImportRecordReader createReader(BufferedReader reader) {
+            return new CsvImportRecordReader(reader);
+        }
+    },
+    JSON_LINES(ExportFormat.JSON_LINES) {
+        @Override
+        public ImportRecordReader createReader(BufferedReader reader) {
+            return new JsonLinesImportRecordReader(reader);
+        }
+    };
+
+    private final ExportFormat rejectFormat;
+
+    ImportFormat(ExportFormat rejectFormat) {
+        this.rejectFormat = rejectFormat;
+    }
+
+    public ExportFormat getRejectFormat() {
+        return rejectFormat;
+    }
+
+    public abstract ImportRecordReader createReader(BufferedReader reader);
+
+}
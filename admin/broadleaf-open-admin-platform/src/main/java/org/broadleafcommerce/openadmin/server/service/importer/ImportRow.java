@@ -0,0 +1,56 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import java.util.Map;
+
+/**
+ * A single record read from a bulk import. The raw text is kept so that a rejected record can be written to the
+ * reject file exactly as it was received.
+ */
+public class ImportRow {
+
+    protected final long lineNumber;
+    protected final String raw;
+    protected final Map<String, String> values;
+
+    public ImportRow(long lineNumber, String raw, Map<String, String> values) {
+        this.lineNumber = lineNumber;
+        this.raw = raw;
+        this.values = values;
+    }
+
+    /**
+     * @return the line on which the record starts, counting from 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * @return the values of the record keyed by property name. A value may be null.
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+/**
+ * Thrown by an {@link ImportRecordReader} when a record cannot be parsed. The reader has consumed the record, so the
+ * import can reject it and keep reading.
+ */
+public class ImportRowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final ImportRow row;
+
+    public ImportRowException(ImportRow row, String message) {
+        super(message);
+        this.row = row;
+    }
+
+    public ImportRow getRow() {
+        return row;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads one flat JSON object per line. Scalar values are read as their text and JSON null as null. Blank lines are
+ * skipped.
+ */
+public class JsonLinesImportRecordReader implements ImportRecordReader {
+
+    protected static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final BufferedReader reader;
+    protected long lineNumber = 0;
+
+    public JsonLinesImportRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow read() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.trim().isEmpty());
+
+        try {
+            return new ImportRow(lineNumber, line, parse(line));
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(new ImportRow(lineNumber, line, null), e.getOriginalMessage());
+        }
+    }
+
+    protected Map<String, String> parse(String line) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    throw new JsonParseException(parser, "Nested values are not supported for " + name);
+                }
+                values.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Malformed JSON object");
+            }
+        }
+        return values;
+    }
+
+}
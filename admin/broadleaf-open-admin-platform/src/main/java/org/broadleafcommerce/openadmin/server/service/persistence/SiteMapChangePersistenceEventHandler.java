@@ -0,0 +1,70 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.persistence;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.common.sitemap.service.SiteMapChangeService;
+import org.broadleafcommerce.openadmin.dto.Entity;
+import org.broadleafcommerce.openadmin.dto.PersistencePackage;
+import org.broadleafcommerce.openadmin.dto.Property;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * Records the entities added, updated or removed through the admin with the {@link SiteMapChangeService}, so that an
+ * incremental site map run only regenerates the id ranges that contain them.
+ */
+@Component("blSiteMapChangePersistenceEventHandler")
+public class SiteMapChangePersistenceEventHandler extends PersistenceManagerEventHandlerAdapter {
+
+    protected static final String ID_PROPERTY = "id";
+
+    @Resource(name = "blSiteMapChangeService")
+    protected SiteMapChangeService siteMapChangeService;
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postAdd(PersistenceManager persistenceManager, Entity entity, PersistencePackage persistencePackage) throws ServiceException {
+        recordChange(persistencePackage.getCeilingEntityFullyQualifiedClassname(), entity);
+        return super.postAdd(persistenceManager, entity, persistencePackage);
+    }
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postUpdate(PersistenceManager persistenceManager, Entity entity, PersistencePackage persistencePackage) throws ServiceException {
+        recordChange(persistencePackage.getCeilingEntityFullyQualifiedClassname(), entity);
+        return super.postUpdate(persistenceManager, entity, persistencePackage);
+    }
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postRemove(PersistenceManager persistenceManager, PersistencePackage persistencePackage) throws ServiceException {
+        recordChange(persistencePackage.getCeilingEntityFullyQualifiedClassname(), persistencePackage.getEntity());
+        return super.postRemove(persistenceManager, persistencePackage);
+    }
+
+    protected void recordChange(String ceilingEntity, Entity entity) {
+        if (entity == null || !siteMapChangeService.isTracked(ceilingEntity)) {
+            return;
+        }
+        Property property = entity.findProperty(ID_PROPERTY);
+        if (property != null && NumberUtils.isDigits(property.getValue())) {
+            siteMapChangeService.recordChange(ceilingEntity, Long.valueOf(property.getValue()));
+        }
+    }
+
+}
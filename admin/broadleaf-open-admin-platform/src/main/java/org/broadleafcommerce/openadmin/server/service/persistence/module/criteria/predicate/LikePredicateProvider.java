@@ -18,8 +18,10 @@
 package org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.predicate;
 
 import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.FieldPathBuilder;
+import org.broadleafcommerce.openadmin.server.service.search.AdminSearchIndexService;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Resource;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Path;
@@ -27,21 +29,41 @@ import javax.persistence.criteria.Predicate;
 import java.util.List;
 
 /**
+ * When the property is covered by the {@link AdminSearchIndexService}, the match is resolved through the index and the
+ * predicate restricts the id to the matching records. The LIKE is still applied to those records, which the database
+ * reads by id, so a record that changed since it was indexed and no longer matches is not returned. Otherwise, or when
+ * the index cannot answer, this is a <code>LOWER(...) LIKE</code> on the property.
+ *
  * @author Jeff Fischer
  */
 @Component("blLikePredicateProvider")
 public class LikePredicateProvider implements PredicateProvider<String, String> {
 
+    @Resource(name = "blAdminSearchIndexService")
+    protected AdminSearchIndexService adminSearchIndexService;
+
     @Override
     public Predicate buildPredicate(CriteriaBuilder builder, FieldPathBuilder fieldPathBuilder, From root, String ceilingEntity,
                                     String fullPropertyName, Path<String> explicitPath, List<String> directValues) {
+        List<Long> ids = null;
+        if (explicitPath == null && adminSearchIndexService != null
+                && adminSearchIndexService.isIndexed(ceilingEntity, fullPropertyName)) {
+            ids = adminSearchIndexService.findIds(ceilingEntity, fullPropertyName, directValues.get(0));
+            if (ids != null && ids.isEmpty()) {
+                return builder.disjunction();
+            }
+        }
         Path<String> path;
         if (explicitPath != null) {
             path = explicitPath;
         } else {
             path = fieldPathBuilder.getPath(root, fullPropertyName, builder);
         }
-        return builder.like(builder.lower(path), directValues.get(0));
+        Predicate like = builder.like(builder.lower(path), directValues.get(0));
+        if (ids != null) {
+            return builder.and(root.get(adminSearchIndexService.getIdPropertyName(ceilingEntity)).in(ids), like);
+        }
+        return like;
     }
 
 }
@@ -0,0 +1,75 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.search;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.broadleafcommerce.common.exception.ServiceException;
+import org.broadleafcommerce.openadmin.dto.Entity;
+import org.broadleafcommerce.openadmin.dto.PersistencePackage;
+import org.broadleafcommerce.openadmin.dto.Property;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandlerAdapter;
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandlerResponse;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * Tells the {@link AdminSearchIndexService} about records added, updated or removed through the admin, so that they
+ * can be found without waiting for the next refresh of the index.
+ */
+@Component("blAdminSearchIndexPersistenceEventHandler")
+public class AdminSearchIndexPersistenceEventHandler extends PersistenceManagerEventHandlerAdapter {
+
+    @Resource(name = "blAdminSearchIndexService")
+    protected AdminSearchIndexService adminSearchIndexService;
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postAdd(PersistenceManager persistenceManager, Entity entity, PersistencePackage persistencePackage) throws ServiceException {
+        String ceilingEntity = persistencePackage.getCeilingEntityFullyQualifiedClassname();
+        adminSearchIndexService.reindex(ceilingEntity, getId(ceilingEntity, entity));
+        return super.postAdd(persistenceManager, entity, persistencePackage);
+    }
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postUpdate(PersistenceManager persistenceManager, Entity entity, PersistencePackage persistencePackage) throws ServiceException {
+        String ceilingEntity = persistencePackage.getCeilingEntityFullyQualifiedClassname();
+        adminSearchIndexService.reindex(ceilingEntity, getId(ceilingEntity, entity));
+        return super.postUpdate(persistenceManager, entity, persistencePackage);
+    }
+
+    @Override
+    public PersistenceManagerEventHandlerResponse postRemove(PersistenceManager persistenceManager, PersistencePackage persistencePackage) throws ServiceException {
+        String ceilingEntity = persistencePackage.getCeilingEntityFullyQualifiedClassname();
+        adminSearchIndexService.remove(ceilingEntity, getId(ceilingEntity, persistencePackage.getEntity()));
+        return super.postRemove(persistenceManager, persistencePackage);
+    }
+
+    protected Long getId(String ceilingEntity, Entity entity) {
+        String idProperty = adminSearchIndexService.getIdPropertyName(ceilingEntity);
+        if (idProperty == null || entity == null) {
+            return null;
+        }
+        Property property = entity.findProperty(idProperty);
+        if (property == null || !NumberUtils.isDigits(property.getValue())) {
+            return null;
+        }
+        return Long.valueOf(property.getValue());
+    }
+
+}
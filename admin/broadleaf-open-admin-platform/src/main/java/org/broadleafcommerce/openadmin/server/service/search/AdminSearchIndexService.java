@@ -0,0 +1,69 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.search;
+
+import java.util.List;
+
+/**
+ * An optional index over a few text properties of an admin entity, used to answer list grid text filters without a
+ * <code>LOWER(...) LIKE '%value%'</code> scan of the table. The ceiling entities and properties are listed in
+ * <code>admin.search.index.fields</code>.
+ * <p>
+ * The index may be behind the database, and may not be able to answer every query. Callers should fall back to the
+ * LIKE restriction whenever {@link #findIds(String, String, String)} returns null.
+ *
+ * @see org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.predicate.LikePredicateProvider
+ */
+public interface AdminSearchIndexService {
+
+    /**
+     * @return whether <code>propertyName</code> of <code>ceilingEntity</code> is indexed and the index is ready
+     */
+    boolean isIndexed(String ceilingEntity, String propertyName);
+
+    /**
+     * @return the name of the id property of the indexed entity, or null if the entity is not indexed
+     */
+    String getIdPropertyName(String ceilingEntity);
+
+    /**
+     * Finds the records whose property matches a LIKE pattern, as produced by
+     * {@link org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.converter.StringLikeFilterValueConverter}.
+     *
+     * @return the ids of the matching records, or null if the index cannot answer, for example because there are more
+     * matches than <code>admin.search.index.max.ids</code>
+     */
+    List<Long> findIds(String ceilingEntity, String propertyName, String likePattern);
+
+    /**
+     * Indexes the record again once the current transaction commits, or right away if there is none.
+     */
+    void reindex(String ceilingEntity, Long id);
+
+    /**
+     * Removes the record from the index once the current transaction commits, or right away if there is none.
+     */
+    void remove(String ceilingEntity, Long id);
+
+    /**
+     * Indexes the records created or updated since the last call. This also runs every
+     * <code>admin.search.index.refresh.seconds</code>, to pick up changes made outside of the admin.
+     */
+    void catchUp(String ceilingEntity);
+
+}
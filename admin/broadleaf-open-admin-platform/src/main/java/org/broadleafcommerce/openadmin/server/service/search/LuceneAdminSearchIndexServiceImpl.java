@@ -0,0 +1,574 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.server.service.search;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.broadleafcommerce.common.persistence.EntityConfiguration;
+import org.broadleafcommerce.common.util.StreamingTransactionCapable;
+import org.broadleafcommerce.common.util.dao.HibernateMappingProvider;
+import org.hibernate.mapping.PersistentClass;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+/**
+ * Keeps an embedded Lucene index per ceiling entity listed in <code>admin.search.index.fields</code>, in the form
+ * <code>ceilingEntity:property|property,ceilingEntity:property</code>. For example
+ * <pre>
+ * admin.search.index.fields=org.broadleafcommerce.profile.core.domain.Customer:emailAddress|firstName|lastName,\
+ *     org.broadleafcommerce.core.order.domain.Order:orderNumber|emailAddress
+ * </pre>
+ * Each property value is indexed lower case as a single term, so a LIKE pattern becomes a {@link WildcardQuery}, which
+ * walks the term dictionary in memory instead of every row of the table.
+ * <p>
+ * The index is built once the application is ready and then brought up to date every
+ * <code>admin.search.index.refresh.seconds</code>. Each pass indexes the rows whose id is above the last one it saw,
+ * less <code>admin.search.index.id.overlap</code> since ids are allocated in blocks by each node, and the rows whose
+ * <code>admin.search.index.updated.property</code> changed since the previous pass. That second query is what picks up
+ * changes made outside of this admin node, such as a customer editing their profile in the storefront or an order
+ * number assigned at checkout, so nothing is indexed unless the property is set. The column behind it should have a
+ * database index, since it is queried on every pass. Changes made through this admin node are indexed when their
+ * transaction commits.
+ * <p>
+ * The index is only used for entities with a numeric id that have the updated property, once the first pass is
+ * complete, and while the last completed pass started less than two refresh intervals ago. Otherwise searches use
+ * LIKE. A record changed outside of the admin can still be missing from the results until the next pass, so for up to
+ * <code>admin.search.index.refresh.seconds</code>.
+ */
+@Service("blAdminSearchIndexService")
+public class LuceneAdminSearchIndexServiceImpl implements AdminSearchIndexService, ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(LuceneAdminSearchIndexServiceImpl.class);
+
+    protected static final String ID_FIELD = "_id";
+    protected static final String LAST_ID_KEY = "lastId";
+    protected static final String LAST_SCAN_KEY = "lastScan";
+
+    @PersistenceContext(unitName = "blPU")
+    protected EntityManager em;
+
+    @Resource(name = "blEntityConfiguration")
+    protected EntityConfiguration entityConfiguration;
+
+    @Resource(name = "blStreamingTransactionCapableUtil")
+    protected StreamingTransactionCapable transUtil;
+
+    @Value("${admin.search.index.fields:}")
+    protected String indexedFields;
+
+    @Value("${admin.search.index.directory:}")
+    protected String directory;
+
+    @Value("${admin.search.index.page.size:1000}")
+    protected int pageSize = 1000;
+
+    @Value("${admin.search.index.max.ids:1000}")
+    protected int maxIds = 1000;
+
+    @Value("${admin.search.index.refresh.seconds:60}")
+    protected long refreshSeconds = 60;
+
+    @Value("${admin.search.index.id.overlap:1000}")
+    protected long idOverlap = 1000;
+
+    @Value("${admin.search.index.updated.property:}")
+    protected String updatedProperty;
+
+    protected final Map<String, EntityIndex> indexes = new ConcurrentHashMap<>();
+
+    protected volatile ScheduledExecutorService scheduler;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (StringUtils.isBlank(indexedFields) || scheduler != null) {
+            return;
+        }
+        if (StringUtils.isBlank(updatedProperty)) {
+            LOG.warn("admin.search.index.fields is set but admin.search.index.updated.property is not. Changes made outside"
+                    + " of the admin could not be indexed, so the admin search index is disabled and searches will use LIKE.");
+            return;
+        }
+        if (StringUtils.isBlank(directory)) {
+            LOG.warn("admin.search.index.fields is set but admin.search.index.directory is not. The admin search index is"
+                    + " disabled and searches will use LIKE.");
+            return;
+        }
+        for (Map.Entry<String, List<String>> entry : parseIndexedFields(indexedFields).entrySet()) {
+            try {
+                EntityIndex index = openIndex(entry.getKey(), entry.getValue());
+                if (index != null) {
+                    indexes.put(entry.getKey(), index);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Unable to open the admin search index for " + entry.getKey() + ". Searches will use LIKE.", e);
+            }
+        }
+        if (!indexes.isEmpty()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "admin-search-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                for (String ceilingEntity : indexes.keySet()) {
+                    catchUp(ceilingEntity);
+                }
+            }, 0, Math.max(1, refreshSeconds), TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (EntityIndex index : indexes.values()) {
+            try {
+                index.getSearcherManager().close();
+                index.getWriter().close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close the admin search index for " + index.getCeilingEntity(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isIndexed(String ceilingEntity, String propertyName) {
+        EntityIndex index = ceilingEntity == null ? null : indexes.get(ceilingEntity);
+        return index != null && index.isReady() && index.isUpdatedPropertySupported() && isCurrent(index)
+                && index.getProperties().contains(propertyName);
+    }
+
+    /**
+     * The index can only vouch for the records changed before its last completed pass. If that pass is more than two
+     * refresh intervals old, for example because the passes keep failing, it no longer answers.
+     */
+    protected boolean isCurrent(EntityIndex index) {
+        Long lastScan = index.getLastScan();
+        return lastScan != null
+                && System.currentTimeMillis() - lastScan <= 2 * TimeUnit.SECONDS.toMillis(Math.max(1, refreshSeconds));
+    }
+
+    @Override
+    public String getIdPropertyName(String ceilingEntity) {
+        EntityIndex index = indexes.get(ceilingEntity);
+        return index == null ? null : index.getIdProperty();
+    }
+
+    @Override
+    public List<Long> findIds(String ceilingEntity, String propertyName, String likePattern) {
+        if (!isIndexed(ceilingEntity, propertyName) || likePattern == null) {
+            return null;
+        }
+        EntityIndex index = indexes.get(ceilingEntity);
+        try {
+            IndexSearcher searcher = index.getSearcherManager().acquire();
+            try {
+                TopDocs topDocs = searcher.search(new WildcardQuery(new Term(propertyName, toWildcard(likePattern))), maxIds + 1);
+                if (topDocs.scoreDocs.length > maxIds) {
+                    return null;
+                }
+                List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(Long.valueOf(searcher.doc(scoreDoc.doc).get(ID_FIELD)));
+                }
+                return ids;
+            } finally {
+                index.getSearcherManager().release(searcher);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to search the admin search index for " + ceilingEntity + ". Falling back to LIKE.", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void reindex(final String ceilingEntity, final Long id) {
+        afterCommit(ceilingEntity, id, () -> reindexNow(indexes.get(ceilingEntity), id));
+    }
+
+    @Override
+    public void remove(final String ceilingEntity, final Long id) {
+        afterCommit(ceilingEntity, id, () -> {
+            EntityIndex index = indexes.get(ceilingEntity);
+            try {
+                index.getWriter().deleteDocuments(new Term(ID_FIELD, String.valueOf(id)));
+                index.getSearcherManager().maybeRefresh();
+            } catch (IOException e) {
+                LOG.warn("Unable to remove " + id + " from the admin search index for " + ceilingEntity, e);
+            }
+        });
+    }
+
+    @Override
+    public void catchUp(String ceilingEntity) {
+        final EntityIndex index = indexes.get(ceilingEntity);
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            try {
+                transUtil.runOptionalEntityManagerInViewOperation(() -> {
+                    try {
+                        catchUp(index);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOG.error("Unable to bring the admin search index for " + ceilingEntity + " up to date", e);
+            }
+        }
+    }
+
+    protected void catchUp(EntityIndex index) throws IOException {
+        long start = System.currentTimeMillis();
+        long lastId = index.getLastId();
+        long fromId = lastId == Long.MIN_VALUE ? lastId : lastId - idOverlap;
+        int count = 0;
+        while (true) {
+            List<Object[]> rows = readRows(index, fromId, null);
+            for (Object[] row : rows) {
+                index.getWriter().updateDocument(idTerm(row[0]), buildDocument(index, row));
+                fromId = ((Number) row[0]).longValue();
+                lastId = Math.max(lastId, fromId);
+            }
+            count += rows.size();
+            em.clear();
+            if (rows.size() < pageSize) {
+                break;
+            }
+        }
+
+        if (StringUtils.isNotBlank(updatedProperty) && index.isUpdatedPropertySupported()
+                && index.getLastScan() != null) {
+            // Timestamps are set by whichever node made the change, so look back a little further than the last pass
+            Date since = new Date(index.getLastScan() - TimeUnit.SECONDS.toMillis(refreshSeconds));
+            long cursor = Long.MIN_VALUE;
+            while (true) {
+                List<Object[]> rows = readRows(index, cursor, since);
+                for (Object[] row : rows) {
+                    index.getWriter().updateDocument(idTerm(row[0]), buildDocument(index, row));
+                    cursor = ((Number) row[0]).longValue();
+                }
+                count += rows.size();
+                em.clear();
+                if (rows.size() < pageSize) {
+                    break;
+                }
+            }
+        }
+
+        index.setLastId(lastId);
+        index.setLastScan(start);
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(LAST_ID_KEY, String.valueOf(lastId));
+        commitData.put(LAST_SCAN_KEY, String.valueOf(start));
+        index.getWriter().setLiveCommitData(commitData.entrySet());
+        index.getWriter().commit();
+        index.getSearcherManager().maybeRefresh();
+        if (!index.isReady()) {
+            index.setReady(true);
+            LOG.info("The admin search index for " + index.getCeilingEntity() + " is ready after indexing " + count
+                    + " records in " + (System.currentTimeMillis() - start) + "ms");
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Indexed " + count + " records for " + index.getCeilingEntity() + " in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
+
+    protected void reindexNow(EntityIndex index, Long id) {
+        try {
+            transUtil.runOptionalEntityManagerInViewOperation(() -> {
+                try {
+                    TypedQuery<Object[]> query = em.createQuery(buildSelect(index) + " where e." + index.getIdProperty()
+                            + " = :id", Object[].class);
+                    query.setParameter("id", id);
+                    List<Object[]> rows = query.getResultList();
+                    if (rows.isEmpty()) {
+                        index.getWriter().deleteDocuments(idTerm(id));
+                    } else {
+                        index.getWriter().updateDocument(idTerm(id), buildDocument(index, rows.get(0)));
+                    }
+                    index.getSearcherManager().maybeRefresh();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to index " + id + " in the admin search index for " + index.getCeilingEntity(), e);
+        }
+    }
+
+    /**
+     * Runs the change on the index thread once the current transaction commits, so that it reads the committed row
+     */
+    protected void afterCommit(String ceilingEntity, Long id, final Runnable change) {
+        if (id == null || !indexes.containsKey(ceilingEntity) || scheduler == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    scheduler.execute(change);
+                }
+            });
+        } else {
+            scheduler.execute(change);
+        }
+    }
+
+    protected List<Object[]> readRows(EntityIndex index, long afterId, Date updatedSince) {
+        StringBuilder jpql = new StringBuilder(buildSelect(index));
+        jpql.append(" where e.").append(index.getIdProperty()).append(" > :afterId");
+        if (updatedSince != null) {
+            jpql.append(" and e.").append(updatedProperty).append(" >= :since");
+        }
+        jpql.append(" order by e.").append(index.getIdProperty()).append(" asc");
+        TypedQuery<Object[]> query;
+        try {
+            query = em.createQuery(jpql.toString(), Object[].class);
+        } catch (IllegalArgumentException e) {
+            if (updatedSince == null) {
+                throw e;
+            }
+            LOG.warn(index.getCeilingEntity() + " has no " + updatedProperty + " property, so changes made outside of"
+                    + " the admin cannot be indexed. Searches on it will use LIKE.");
+            index.setUpdatedPropertySupported(false);
+            return Collections.emptyList();
+        }
+        query.setParameter("afterId", afterId);
+        if (updatedSince != null) {
+            query.setParameter("since", updatedSince);
+        }
+        query.setMaxResults(pageSize);
+        return query.getResultList();
+    }
+
+    protected String buildSelect(EntityIndex index) {
+        StringBuilder select = new StringBuilder("select e.").append(index.getIdProperty());
+        for (String property : index.getProperties()) {
+            select.append(", e.").append(property);
+        }
+        return select.append(" from ").append(index.getImplClass().getName()).append(" e").toString();
+    }
+
+    protected Document buildDocument(EntityIndex index, Object[] row) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, String.valueOf(row[0]), Field.Store.YES));
+        for (int i = 0; i < index.getProperties().size(); i++) {
+            Object value = row[i + 1];
+            if (value != null) {
+                String term = value.toString().toLowerCase();
+                if (term.getBytes(StandardCharsets.UTF_8).length < IndexWriter.MAX_TERM_LENGTH) {
+                    document.add(new StringField(index.getProperties().get(i), term, Field.Store.NO));
+                }
+            }
+        }
+        return document;
+    }
+
+    protected Term idTerm(Object id) {
+        return new Term(ID_FIELD, String.valueOf(id));
+    }
+
+    /**
+     * Turns a LIKE pattern into a Lucene wildcard pattern. As in SQL, <code>%</code> and <code>_</code> typed by the
+     * user act as wildcards.
+     */
+    protected String toWildcard(String likePattern) {
+        StringBuilder sb = new StringBuilder(likePattern.length() + 4);
+        for (char c : likePattern.toCharArray()) {
+            switch (c) {
+                case '%':
+                    sb.append(WildcardQuery.WILDCARD_STRING);
+                    break;
+                case '_':
+                    sb.append(WildcardQuery.WILDCARD_CHAR);
+                    break;
+                case '*':
+                case '?':
+                case '\\':
+                    sb.append(WildcardQuery.WILDCARD_ESCAPE).append(c);
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    protected EntityIndex openIndex(String ceilingEntity, List<String> properties) throws IOException {
+        Class<?> implClass = entityConfiguration.lookupEntityClass(ceilingEntity);
+        PersistentClass mapping = HibernateMappingProvider.getMapping(implClass.getName());
+        if (mapping == null || mapping.getIdentifierProperty() == null
+                || !Number.class.isAssignableFrom(mapping.getIdentifierProperty().getType().getReturnedClass())) {
+            LOG.warn("The admin search index only supports entities with a numeric id. " + ceilingEntity + " will not be indexed.");
+            return null;
+        }
+        Path path = Paths.get(directory, ceilingEntity);
+        IndexWriter writer = new IndexWriter(FSDirectory.open(path), new IndexWriterConfig()
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        EntityIndex index = new EntityIndex(ceilingEntity, implClass, mapping.getIdentifierProperty().getName(),
+                properties, writer, new SearcherManager(writer, null));
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (LAST_ID_KEY.equals(entry.getKey())) {
+                    index.setLastId(Long.parseLong(entry.getValue()));
+                } else if (LAST_SCAN_KEY.equals(entry.getKey())) {
+                    index.setLastScan(Long.parseLong(entry.getValue()));
+                }
+            }
+        }
+        return index;
+    }
+
+    protected Map<String, List<String>> parseIndexedFields(String value) {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        for (String entry : StringUtils.split(value, ',')) {
+            String ceilingEntity = StringUtils.trim(StringUtils.substringBefore(entry, ":"));
+            String[] properties = StringUtils.stripAll(StringUtils.split(StringUtils.substringAfter(entry, ":"), '|'));
+            if (StringUtils.isNotEmpty(ceilingEntity) && properties != null && properties.length > 0) {
+                fields.put(ceilingEntity, Arrays.asList(properties));
+            }
+        }
+        return fields;
+    }
+
+    protected static class EntityIndex {
+
+        protected final String ceilingEntity;
+        protected final Class<?> implClass;
+        protected final String idProperty;
+        protected final List<String> properties;
+        protected final IndexWriter writer;
+        protected final SearcherManager searcherManager;
+        protected volatile boolean ready;
+        protected volatile boolean updatedPropertySupported = true;
+        protected volatile long lastId = Long.MIN_VALUE;
+        protected volatile Long lastScan;
+
+        public EntityIndex(String ceilingEntity, Class<?> implClass, String idProperty, List<String> properties,
+                IndexWriter writer, SearcherManager searcherManager) {
+            this.ceilingEntity = ceilingEntity;
+            this.implClass = implClass;
+            this.idProperty = idProperty;
+            this.properties = properties;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        public String getCeilingEntity() {
+            return ceilingEntity;
+        }
+
+        public Class<?> getImplClass() {
+            return implClass;
+        }
+
+        public String getIdProperty() {
+            return idProperty;
+        }
+
+        public List<String> getProperties() {
+            return properties;
+        }
+
+        public IndexWriter getWriter() {
+            return writer;
+        }
+
+        public SearcherManager getSearcherManager() {
+            return searcherManager;
+        }
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public void setReady(boolean ready) {
+            this.ready = ready;
+        }
+
+        public boolean isUpdatedPropertySupported() {
+            return updatedPropertySupported;
+        }
+
+        public void setUpdatedPropertySupported(boolean updatedPropertySupported) {
+            this.updatedPropertySupported = updatedPropertySupported;
+        }
+
+        public long getLastId() {
+            return lastId;
+        }
+
+        public void setLastId(long lastId) {
+            this.lastId = lastId;
+        }
+
+        public Long getLastScan() {
+            return lastScan;
+        }
+
+        public void setLastScan(Long lastScan) {
+            this.lastScan = lastScan;
+        }
+    }
+}
@@ -89,4 +89,9 @@ public class AbstractAdminAbstractControllerExtensionHandler extends AbstractExt
     public ExtensionResultStatusType modifyPreAddEntityForm(EntityForm entityForm, ClassMetadata cmd, Map<String, String> pathVars) {
         return ExtensionResultStatusType.NOT_HANDLED;
     }
+
+    @Override
+    public ExtensionResultStatusType reportSubCollectionFetchTimes(String ceilingEntity, Map<String, Long> fetchTimesMillis) {
+        return ExtensionResultStatusType.NOT_HANDLED;
+    }
 }
@@ -125,4 +125,13 @@ public interface AdminAbstractControllerExtensionHandler extends ExtensionHandle
      * @return
      */
     public ExtensionResultStatusType modifyPreAddEntityForm(EntityForm entityForm, ClassMetadata cmd, Map<String, String> pathVars);
+
+    /**
+     * Invoked after the collections of an entity form have been fetched, with the time each collection took to fetch.
+     *
+     * @param ceilingEntity the entity the form is for
+     * @param fetchTimesMillis the fetch time in milliseconds, keyed by collection property name, in form order
+     * @return the extension result status
+     */
+    public ExtensionResultStatusType reportSubCollectionFetchTimes(String ceilingEntity, Map<String, Long> fetchTimesMillis);
 }
@@ -0,0 +1,194 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.broadleafcommerce.common.presentation.client.PersistencePerspectiveItemType
+import org.broadleafcommerce.common.presentation.client.SupportedFieldType
+import org.broadleafcommerce.openadmin.dto.BasicCollectionMetadata
+import org.broadleafcommerce.openadmin.dto.BasicFieldMetadata
+import org.broadleafcommerce.openadmin.dto.FieldMetadata
+import org.broadleafcommerce.openadmin.dto.ForeignKey
+import org.broadleafcommerce.openadmin.dto.MergedPropertyType
+import org.broadleafcommerce.openadmin.dto.PersistencePerspective
+import org.broadleafcommerce.openadmin.server.dao.AdminMetadataSnapshot
+import org.broadleafcommerce.openadmin.server.dao.DynamicDaoHelperImpl
+import org.broadleafcommerce.openadmin.server.dao.DynamicEntityDaoImpl
+
+import java.nio.file.Files
+import java.util.zip.GZIPOutputStream
+
+import spock.lang.Specification
+
+class AdminMetadataSnapshotSpec extends Specification {
+
+    static class Widget implements Serializable {
+        String name
+    }
+
+    static class Gadget extends Widget {
+    }
+
+    static class Payload implements Serializable {
+        String command = "run"
+    }
+
+    AdminMetadataSnapshot snapshot
+    java.nio.file.Path directory
+
+    def setup() {
+        directory = Files.createTempDirectory("admin-metadata-snapshot-spec")
+        snapshot = newSnapshot([:])
+    }
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    def newSnapshot(Map<String, String> configuration) {
+        def result = new AdminMetadataSnapshot()
+        result.metadataOverrides = [:]
+        result.propertyConfigurations = configuration
+        result.fieldMetadataProviders = []
+        result.directory = directory.toString()
+        result.enabled = true
+        return result
+    }
+
+    def metadata() {
+        def name = new BasicFieldMetadata()
+        name.name = "name"
+        name.fieldType = SupportedFieldType.STRING
+        name.owningClass = Widget.name
+        name.inheritedFromType = Widget.name
+        name.availableToTypes = [Widget.name, Gadget.name] as String[]
+        name.showIfFieldEquals = [type: Arrays.asList("A", "B")]
+        name.enumerationValues = [["A", "Alpha"], ["B", "Beta"]] as String[][]
+
+        def perspective = new PersistencePerspective()
+        perspective.addPersistencePerspectiveItem(PersistencePerspectiveItemType.FOREIGNKEY, new ForeignKey("widget", Widget.name))
+        def parts = new BasicCollectionMetadata()
+        parts.persistencePerspective = perspective
+        parts.owningClass = Widget.name
+        parts.collectionCeilingEntity = Gadget.name
+
+        return [name: name, parts: parts] as Map<String, FieldMetadata>
+    }
+
+    def "the key changes with the cache key source, the polymorphic entities and the configuration"() {
+        setup:
+        String key = snapshot.getKey("source", Gadget, [Gadget, Widget] as Class[])
+
+        expect:
+        key != null
+        key == snapshot.getKey("source", Gadget, [Gadget, Widget] as Class[])
+        key == newSnapshot([:]).getKey("source", Gadget, [Gadget, Widget] as Class[])
+        key != snapshot.getKey("other", Gadget, [Gadget, Widget] as Class[])
+        key != snapshot.getKey("source", Gadget, [Gadget] as Class[])
+        key != snapshot.getKey("source", Widget, [Gadget, Widget] as Class[])
+        key != newSnapshot([setting: "changed"]).getKey("source", Gadget, [Gadget, Widget] as Class[])
+    }
+
+    def "there is no key for a class whose bytecode cannot be read"() {
+        setup:
+        Class<?> generated = new GroovyClassLoader(getClass().classLoader).parseClass("class GeneratedEntity {}")
+
+        expect:
+        snapshot.getKey("source", generated, [generated] as Class[]) == null
+    }
+
+    def "metadata written to a snapshot is read back"() {
+        setup:
+        def written = metadata()
+
+        when:
+        snapshot.write("key", written)
+        def read = snapshot.read("key")
+
+        then:
+        read.keySet() == written.keySet()
+        read.name == written.name
+        read.name.showIfFieldEquals == [type: ["A", "B"]]
+        read.name.enumerationValues == [["A", "Alpha"], ["B", "Beta"]] as String[][]
+        read.parts.collectionCeilingEntity == Gadget.name
+        read.parts.persistencePerspective.persistencePerspectiveItems[PersistencePerspectiveItemType.FOREIGNKEY].manyToField == "widget"
+        snapshot.read("missing") == null
+    }
+
+    def "a snapshot built from a class that has changed since is not used"() {
+        setup:
+        snapshot.write("key", metadata())
+
+        when:
+        snapshot.classHashes.put(Widget.name, "changed")
+
+        then:
+        snapshot.read("key") == null
+        !Files.exists(directory.resolve("key.ser.gz"))
+    }
+
+    def "a snapshot holding a class outside of the metadata types is rejected"() {
+        setup:
+        def file = directory.resolve("key.ser.gz")
+        new ObjectOutputStream(new GZIPOutputStream(Files.newOutputStream(file))).withCloseable {
+            it.writeObject(new AdminMetadataSnapshot.Snapshot([name: value] as HashMap, [:]))
+        }
+
+        expect:
+        snapshot.read("key") == null
+        !Files.exists(file)
+
+        where:
+        value << [new Date(), new Payload(), new File("payload"), new java.util.concurrent.ConcurrentHashMap()]
+    }
+
+    def "the same lock guards a key"() {
+        expect:
+        snapshot.getLock("key").is(snapshot.getLock("key"))
+        !snapshot.getLock("key").is(snapshot.getLock("other"))
+    }
+
+    def "the snapshot is read outside of the metadata cache lock and only published under it"() {
+        setup:
+        def dao = new DynamicEntityDaoImpl()
+        dao.metadataSnapshot = snapshot
+        dao.cacheEntityMetaDataTtl = -1
+        String cacheKey = dao.getCacheKey(Widget.name, null, null, null, MergedPropertyType.PRIMARY, false, Widget, null, false)
+        String snapshotKey = dao.getSnapshotKey(cacheKey, Widget.name, null, null, null, MergedPropertyType.PRIMARY, false, Widget, [Widget] as Class[], null, false)
+        snapshot.write(snapshotKey, metadata())
+        String nestedKey
+        synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+            nestedKey = dao.getSnapshotKey(cacheKey, Widget.name, null, null, null, MergedPropertyType.PRIMARY, false, Widget, [Widget] as Class[], null, false)
+        }
+
+        expect: "metadata built for a property of another class, under the lock, is not snapshotted"
+        snapshotKey != null
+        nestedKey == null
+
+        when:
+        dao.readMetadataSnapshot(snapshotKey, cacheKey, Widget.name)
+
+        then:
+        DynamicEntityDaoImpl.METADATA_CACHE.get(cacheKey).keySet() == ["name", "parts"] as Set
+        dao.getSnapshotKey(cacheKey, Widget.name, null, null, null, MergedPropertyType.PRIMARY, false, Widget, [Widget] as Class[], null, false) == null
+
+        cleanup:
+        synchronized (DynamicDaoHelperImpl.LOCK_OBJECT) {
+            DynamicEntityDaoImpl.METADATA_CACHE.remove(cacheKey)
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.apache.commons.lang.ClassUtils
+import org.broadleafcommerce.openadmin.server.security.dao.AdminPermissionDao
+import org.broadleafcommerce.openadmin.server.security.domain.AdminModuleImpl
+import org.broadleafcommerce.openadmin.server.security.domain.AdminPermission
+import org.broadleafcommerce.openadmin.server.security.domain.AdminPermissionImpl
+import org.broadleafcommerce.openadmin.server.security.domain.AdminPermissionQualifiedEntity
+import org.broadleafcommerce.openadmin.server.security.domain.AdminPermissionQualifiedEntityImpl
+import org.broadleafcommerce.openadmin.server.security.domain.AdminRole
+import org.broadleafcommerce.openadmin.server.security.domain.AdminRoleImpl
+import org.broadleafcommerce.openadmin.server.security.domain.AdminSection
+import org.broadleafcommerce.openadmin.server.security.domain.AdminSectionImpl
+import org.broadleafcommerce.openadmin.server.security.domain.AdminUser
+import org.broadleafcommerce.openadmin.server.security.domain.AdminUserImpl
+import org.broadleafcommerce.openadmin.server.security.service.AdminPermissionMatrix
+import org.broadleafcommerce.openadmin.server.security.service.AdminSecurityService
+import org.broadleafcommerce.openadmin.server.security.service.AdminSecurityServiceImpl
+import org.broadleafcommerce.openadmin.server.security.service.type.PermissionType
+
+import spock.lang.Specification
+
+/**
+ * The compiled matrix must answer every check the way the permission queries in Admin.orm.xml do. Those queries are
+ * evaluated here against the same object graph: a user's own permissions and those of its roles, the types and
+ * qualified entities of their child permissions, the interfaces of the ceiling entity, and the default permissions.
+ */
+class AdminPermissionMatrixSpec extends Specification {
+
+    static final List<PermissionType> TYPES = [PermissionType.READ, PermissionType.CREATE, PermissionType.UPDATE,
+            PermissionType.DELETE, PermissionType.ALL, PermissionType.OTHER]
+
+    static final List<String> CEILINGS = [AdminUserImpl.name, AdminRoleImpl.name, AdminSectionImpl.name,
+            AdminPermissionImpl.name, AdminPermissionQualifiedEntityImpl.name, AdminModuleImpl.name]
+
+    AdminUser user
+    List<AdminPermission> defaultPermissions
+    AdminPermissionMatrix matrix
+
+    def setup() {
+        // granted directly to the user, against the interface of the ceiling entity
+        def direct = permission("PERMISSION_READ_USER", PermissionType.READ, [AdminUser.name])
+        // granted through a role, with a child of another type and entity
+        def roleParent = permission("PERMISSION_UPDATE_ROLE", PermissionType.UPDATE, [AdminRoleImpl.name],
+                [permission("PERMISSION_DELETE_SECTION", PermissionType.DELETE, [AdminSection.name])])
+        // a parent without entities of its own, whose ALL type applies to the entities of its child
+        def allParent = permission("PERMISSION_ALL_PERMISSION", PermissionType.ALL, [],
+                [permission("PERMISSION_READ_PERMISSION", PermissionType.READ, [AdminPermission.name])])
+        // neither it nor its child name an entity, so it grants nothing
+        def unqualified = permission("PERMISSION_OTHER_NOTHING", PermissionType.OTHER, [],
+                [permission("PERMISSION_CREATE_NOTHING", PermissionType.CREATE, [])])
+        AdminRole role = Stub(AdminRole) {
+            getAllPermissions() >> ([roleParent, allParent, unqualified] as Set)
+        }
+        user = Stub(AdminUser) {
+            getId() >> 1L
+            getAllPermissions() >> ([direct] as Set)
+            getAllRoles() >> ([role] as Set)
+        }
+        // default permissions grant every type, on their own entities and those of their children
+        defaultPermissions = [permission(AdminSecurityService.DEFAULT_PERMISSIONS[0], PermissionType.OTHER, [],
+                [permission("PERMISSION_OTHER_QUALIFIED", PermissionType.OTHER, [AdminPermissionQualifiedEntity.name])])]
+
+        def service = new AdminSecurityServiceImpl()
+        service.adminPermissionDao = Stub(AdminPermissionDao) {
+            readAdminPermissionsByNames(Arrays.asList(AdminSecurityService.DEFAULT_PERMISSIONS)) >> defaultPermissions
+        }
+        matrix = service.buildPermissionMatrix(user, 1L)
+    }
+
+    def permission(String name, PermissionType type, List<String> ceilings, List<AdminPermission> children = []) {
+        List<AdminPermissionQualifiedEntity> qualifiedEntities = ceilings.collect { ceiling ->
+            Stub(AdminPermissionQualifiedEntity) {
+                getCeilingEntityFullyQualifiedName() >> ceiling
+            }
+        }
+        return Stub(AdminPermission) {
+            getName() >> name
+            getType() >> type
+            getQualifiedEntities() >> qualifiedEntities
+            getAllChildPermissions() >> children
+        }
+    }
+
+    /**
+     * BC_COUNT_PERMISSIONS_FOR_USER_BY_TYPE_AND_CEILING_ENTITY, over the rows of its outer joins
+     */
+    boolean countPermissionsForUser(PermissionType type, String ceilingEntity) {
+        Set<AdminPermission> permissions = new HashSet<>(user.allPermissions)
+        user.allRoles.each { permissions.addAll(it.allPermissions) }
+        return permissions.any { adminPermission ->
+            ([null] + adminPermission.allChildPermissions).any { childPermission ->
+                boolean typeMatches = adminPermission.type.type in [type.type, "ALL"] ||
+                        childPermission?.type?.type in [type.type, "ALL"]
+                typeMatches && entityMatches(adminPermission, childPermission, ceilingEntity)
+            }
+        }
+    }
+
+    /**
+     * BC_COUNT_BY_PERMISSION_AND_CEILING_ENTITY
+     */
+    boolean countDefaultPermissions(String ceilingEntity) {
+        return defaultPermissions.findAll { it.name in AdminSecurityService.DEFAULT_PERMISSIONS }.any { adminPermission ->
+            ([null] + adminPermission.allChildPermissions).any { childPermission ->
+                entityMatches(adminPermission, childPermission, ceilingEntity)
+            }
+        }
+    }
+
+    boolean entityMatches(AdminPermission adminPermission, AdminPermission childPermission, String ceilingEntity) {
+        return adminPermission.qualifiedEntities.any { it.ceilingEntityFullyQualifiedName == ceilingEntity } ||
+                childPermission?.qualifiedEntities?.any { it.ceilingEntityFullyQualifiedName == ceilingEntity }
+    }
+
+    /**
+     * AdminSecurityServiceImpl falls back on the DAO in this order, trying the ceiling and then each of its interfaces
+     */
+    boolean queryDao(PermissionType type, String ceilingEntity) {
+        List<String> testClasses = [ceilingEntity] + ClassUtils.getAllInterfaces(Class.forName(ceilingEntity))*.name
+        return testClasses.any { countPermissionsForUser(type, it) } || testClasses.any { countDefaultPermissions(it) }
+    }
+
+    def "the matrix answers every check the way the permission queries do"() {
+        expect:
+        matrix.isQualified(type, ceiling) == queryDao(type, ceiling)
+
+        where:
+        [type, ceiling] << [TYPES, CEILINGS].combinations()
+    }
+
+    def "the graph grants through each path the queries cover"() {
+        expect:
+        matrix.isQualified(type, ceiling) == expected
+        queryDao(type, ceiling) == expected
+
+        where:
+        type                  | ceiling                                 | expected
+        PermissionType.READ   | AdminUserImpl.name                      | true
+        PermissionType.UPDATE | AdminUserImpl.name                      | false
+        PermissionType.UPDATE | AdminRoleImpl.name                      | true
+        PermissionType.DELETE | AdminRoleImpl.name                      | true
+        PermissionType.READ   | AdminRoleImpl.name                      | false
+        PermissionType.UPDATE | AdminSectionImpl.name                   | true
+        PermissionType.DELETE | AdminSectionImpl.name                   | true
+        PermissionType.CREATE | AdminSectionImpl.name                   | false
+        PermissionType.CREATE | AdminPermissionImpl.name                | true
+        PermissionType.DELETE | AdminPermissionQualifiedEntityImpl.name | true
+        PermissionType.OTHER  | AdminModuleImpl.name                    | false
+    }
+
+    def "a permission type without a bit left is neither registered nor used"() {
+        setup:
+        int next = AdminPermissionMatrix.NEXT_TYPE_ORDINAL.get()
+        AdminPermissionMatrix.NEXT_TYPE_ORDINAL.set(AdminPermissionMatrix.MAX_TYPES - 1)
+
+        when: "the last bit is taken"
+        int last = AdminPermissionMatrix.typeOrdinal("SPEC_LAST_TYPE")
+
+        then:
+        last == AdminPermissionMatrix.MAX_TYPES - 1
+
+        when: "there is no bit left"
+        AdminPermissionMatrix.typeOrdinal("SPEC_OVERFLOW_TYPE")
+
+        then:
+        thrown(IllegalStateException)
+        !AdminPermissionMatrix.TYPE_ORDINALS.containsKey("SPEC_OVERFLOW_TYPE")
+        AdminPermissionMatrix.NEXT_TYPE_ORDINAL.get() == AdminPermissionMatrix.MAX_TYPES
+
+        when: "an ordinal out of range was registered anyway"
+        AdminPermissionMatrix.TYPE_ORDINALS.put("SPEC_OUT_OF_RANGE_TYPE", AdminPermissionMatrix.MAX_TYPES)
+        AdminPermissionMatrix.typeOrdinal("SPEC_OUT_OF_RANGE_TYPE")
+
+        then:
+        thrown(IllegalStateException)
+
+        cleanup:
+        AdminPermissionMatrix.TYPE_ORDINALS.remove("SPEC_LAST_TYPE")
+        AdminPermissionMatrix.TYPE_ORDINALS.remove("SPEC_OUT_OF_RANGE_TYPE")
+        AdminPermissionMatrix.NEXT_TYPE_ORDINAL.set(next)
+    }
+}
@@ -0,0 +1,207 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.broadleafcommerce.common.web.BroadleafRequestContext
+import org.broadleafcommerce.openadmin.dto.BasicFieldMetadata
+import org.broadleafcommerce.openadmin.dto.Entity
+import org.broadleafcommerce.openadmin.dto.PersistencePackage
+import org.broadleafcommerce.openadmin.dto.PersistenceResponse
+import org.broadleafcommerce.openadmin.server.dao.DynamicEntityDao
+import org.broadleafcommerce.openadmin.server.factory.PersistencePackageFactory
+import org.broadleafcommerce.openadmin.server.service.DynamicEntityService
+import org.broadleafcommerce.openadmin.server.service.ValidationException
+import org.broadleafcommerce.openadmin.server.service.export.ExportFormat
+import org.broadleafcommerce.openadmin.server.service.importer.BulkImportServiceImpl
+import org.broadleafcommerce.openadmin.server.service.importer.ImportFormat
+import org.broadleafcommerce.openadmin.server.service.importer.ImportRow
+
+import java.nio.charset.StandardCharsets
+
+import spock.lang.Specification
+
+class BulkImportServiceSpec extends Specification {
+
+    static class Widget implements Serializable {
+    }
+
+    def plan = new BulkImportServiceImpl.ImportPlan(Widget.name, new PersistencePackage(),
+            [id: new BasicFieldMetadata(), name: new BasicFieldMetadata()], "id", true, Widget, null)
+
+    def rejects = new ByteArrayOutputStream()
+    def rejectWriter = new BulkImportServiceImpl.RejectWriter(ExportFormat.CSV.createWriter(
+            new OutputStreamWriter(rejects, StandardCharsets.UTF_8)))
+
+    def row(long line, Map<String, String> values) {
+        new ImportRow(line, values.values().join(","), values)
+    }
+
+    def rejected() {
+        rejectWriter.flush()
+        new String(rejects.toByteArray(), StandardCharsets.UTF_8)
+    }
+
+    def "a failed chunk is retried one record at a time and only the failing record is rejected"() {
+        setup:
+        def attempts = []
+        def service = new BulkImportServiceImpl() {
+            @Override
+            protected int saveChunk(BulkImportServiceImpl.ImportPlan plan, List<ImportRow> rows,
+                    BulkImportServiceImpl.RejectWriter rejectWriter) {
+                attempts << rows*.lineNumber
+                if (rows.any { it.values.name == "duplicate" }) {
+                    throw new RuntimeException("flush failed", new IllegalStateException("duplicate key"))
+                }
+                return rows.size()
+            }
+        }
+        def rows = [row(2, [name: "a"]), row(3, [name: "duplicate"]), row(4, [name: "c"])]
+
+        when:
+        int imported = service.importChunk(plan, rows, rejectWriter)
+
+        then:
+        imported == 2
+        attempts == [[2L, 3L, 4L], [2L], [3L], [4L]]
+        rejected() == "line,error,record\r\n3,duplicate key,duplicate\r\n"
+    }
+
+    def "a single record chunk that fails is rejected without a retry"() {
+        setup:
+        int calls = 0
+        def service = new BulkImportServiceImpl() {
+            @Override
+            protected int saveChunk(BulkImportServiceImpl.ImportPlan plan, List<ImportRow> rows,
+                    BulkImportServiceImpl.RejectWriter rejectWriter) {
+                calls++
+                throw new RuntimeException("constraint violated")
+            }
+        }
+
+        when:
+        int imported = service.importChunk(plan, [row(2, [name: "a"])], rejectWriter)
+
+        then:
+        imported == 0
+        calls == 1
+        rejectWriter.count == 1
+    }
+
+    def "malformed and invalid records are written to the reject file and the rest are imported"() {
+        setup:
+        def importPlan = plan
+        def service = new BulkImportServiceImpl() {
+            @Override
+            protected BulkImportServiceImpl.ImportPlan buildPlan(String ceilingEntity) {
+                return importPlan
+            }
+
+            @Override
+            protected int saveChunk(BulkImportServiceImpl.ImportPlan plan, List<ImportRow> rows,
+                    BulkImportServiceImpl.RejectWriter rejectWriter) {
+                int saved = 0
+                rows.each {
+                    if (it.values.name.isEmpty()) {
+                        rejectWriter.reject(it, "name: required")
+                    } else {
+                        saved++
+                    }
+                }
+                return saved
+            }
+        }
+        service.chunkSize = 2
+        service.threads = 1
+        def input = "id,name\n,first\n,\n,\"with, comma\"\n,too,many\n,last\n"
+
+        when:
+        def result = service.importRecords(Widget.name, ImportFormat.CSV,
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), rejects)
+
+        then:
+        result.imported == 3
+        result.rejected == 2
+        def lines = rejected().split("\r\n") as List
+        lines[0] == "line,error,record"
+        lines.contains("3,name: required,\",\"")
+        lines.contains("5,Expected 2 fields but found 3,\",too,many\"")
+
+        cleanup:
+        service.destroy()
+        BroadleafRequestContext.setBroadleafRequestContext(null)
+    }
+
+    def "a record that fails validation is rejected with its validation errors"() {
+        setup:
+        def dynamicEntityService = Mock(DynamicEntityService)
+        def persistencePackageFactory = Mock(PersistencePackageFactory)
+        def dynamicEntityDao = Mock(DynamicEntityDao)
+        def service = new BulkImportServiceImpl()
+        service.dynamicEntityService = dynamicEntityService
+        service.persistencePackageFactory = persistencePackageFactory
+        def invalid = new Entity()
+        invalid.addValidationError("name", "Name is required")
+        invalid.addGlobalValidationError("Widget is incomplete")
+
+        when:
+        String error = service.saveRecord(plan, dynamicEntityDao, row(2, [id: "", name: "", color: "red"]))
+
+        then:
+        1 * persistencePackageFactory.create({ it.entity.type[0] == Widget.name && it.entity.findProperty("name") != null }) >> new PersistencePackage()
+        1 * dynamicEntityService.nonTransactionalAdd(_) >> { throw new ValidationException(invalid, "invalid") }
+        0 * dynamicEntityService.nonTransactionalUpdate(_)
+        error == "Widget is incomplete; name: Name is required"
+        plan.unknownProperties == ["color"] as Set
+    }
+
+    def "a record with an id updates the existing entity"() {
+        setup:
+        def dynamicEntityService = Mock(DynamicEntityService)
+        def persistencePackageFactory = Mock(PersistencePackageFactory)
+        def dynamicEntityDao = Mock(DynamicEntityDao)
+        def service = new BulkImportServiceImpl()
+        service.dynamicEntityService = dynamicEntityService
+        service.persistencePackageFactory = persistencePackageFactory
+
+        when:
+        String error = service.saveRecord(plan, dynamicEntityDao, row(2, [id: " 7 ", name: "renamed"]))
+
+        then:
+        1 * dynamicEntityDao.retrieve(Widget, 7L) >> new Widget()
+        1 * persistencePackageFactory.create({ it.entity.findProperty("id").value == "7" }) >> new PersistencePackage()
+        1 * dynamicEntityService.nonTransactionalUpdate(_) >> new PersistenceResponse()
+        0 * dynamicEntityService.nonTransactionalAdd(_)
+        error == null
+    }
+
+    def "a record whose id does not exist is rejected"() {
+        setup:
+        def dynamicEntityService = Mock(DynamicEntityService)
+        def dynamicEntityDao = Mock(DynamicEntityDao)
+        def service = new BulkImportServiceImpl()
+        service.dynamicEntityService = dynamicEntityService
+
+        when:
+        String error = service.saveRecord(plan, dynamicEntityDao, row(2, [id: "9", name: "missing"]))
+
+        then:
+        1 * dynamicEntityDao.retrieve(Widget, 9L) >> null
+        0 * dynamicEntityService._
+        error == "No entity exists with id 9"
+    }
+}
@@ -0,0 +1,226 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.apache.lucene.index.IndexWriter
+import org.apache.lucene.index.IndexWriterConfig
+import org.apache.lucene.search.SearcherManager
+import org.apache.lucene.store.FSDirectory
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.FieldPathBuilder
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.predicate.LikePredicateProvider
+import org.broadleafcommerce.openadmin.server.service.search.AdminSearchIndexService
+import org.broadleafcommerce.openadmin.server.service.search.LuceneAdminSearchIndexServiceImpl
+
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+import javax.persistence.criteria.CriteriaBuilder
+import javax.persistence.criteria.Expression
+import javax.persistence.criteria.From
+import javax.persistence.criteria.Path
+import javax.persistence.criteria.Predicate
+
+import spock.lang.Specification
+
+class LuceneAdminSearchIndexSpec extends Specification {
+
+    static final String CUSTOMER = "org.broadleafcommerce.profile.core.domain.Customer"
+
+    LuceneAdminSearchIndexServiceImpl service
+    LuceneAdminSearchIndexServiceImpl.EntityIndex index
+    java.nio.file.Path directory
+
+    def setup() {
+        directory = Files.createTempDirectory("admin-search-spec")
+        service = new LuceneAdminSearchIndexServiceImpl()
+        service.refreshSeconds = 60
+        service.maxIds = 2
+        IndexWriter writer = new IndexWriter(FSDirectory.open(directory), new IndexWriterConfig())
+        index = new LuceneAdminSearchIndexServiceImpl.EntityIndex(CUSTOMER, Object, "id", ["emailAddress", "lastName"],
+                writer, new SearcherManager(writer, null))
+        [[1L, "Jane@Example.com", "Smith"], [2L, "john@example.com", "Smithers"], [3L, "ann@test.org", null]].each {
+            writer.updateDocument(service.idTerm(it[0]), service.buildDocument(index, it as Object[]))
+        }
+        writer.commit()
+        index.searcherManager.maybeRefresh()
+        index.ready = true
+        index.lastScan = System.currentTimeMillis()
+        service.indexes.put(CUSTOMER, index)
+    }
+
+    def cleanup() {
+        service.destroy()
+        directory.toFile().deleteDir()
+    }
+
+    def "like patterns are answered from the index without regard to case"() {
+        expect:
+        service.findIds(CUSTOMER, property, pattern)?.sort() == ids
+
+        where:
+        property       | pattern         | ids
+        "lastName"     | "%smith%"       | [1L, 2L]
+        "lastName"     | "smith"         | [1L]
+        "emailAddress" | "jane@%"        | [1L]
+        "emailAddress" | "j_n%"          | [1L, 2L]
+        "emailAddress" | "%@test.org"    | [3L]
+        "lastName"     | "%jones%"       | []
+    }
+
+    def "more matches than the limit are left to the database"() {
+        expect:
+        service.findIds(CUSTOMER, "emailAddress", "%") == null
+    }
+
+    def "lucene wildcard characters typed by the user are matched literally"() {
+        expect:
+        service.toWildcard("50%_off*?\\") == "50*?off\\*\\?\\\\"
+    }
+
+    def "the index only answers while it is ready, current and able to see outside changes"() {
+        when:
+        index.lastScan = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(3 * 60)
+
+        then: "the last pass is more than two refresh intervals old"
+        !service.isIndexed(CUSTOMER, "lastName")
+        service.findIds(CUSTOMER, "lastName", "%smith%") == null
+
+        when:
+        index.lastScan = System.currentTimeMillis()
+        index.updatedPropertySupported = false
+
+        then: "the entity has no updated property"
+        !service.isIndexed(CUSTOMER, "lastName")
+
+        when:
+        index.updatedPropertySupported = true
+        index.ready = false
+
+        then: "the first pass has not completed"
+        !service.isIndexed(CUSTOMER, "lastName")
+
+        when:
+        index.ready = true
+
+        then:
+        service.isIndexed(CUSTOMER, "lastName")
+        !service.isIndexed(CUSTOMER, "firstName")
+        !service.isIndexed("org.broadleafcommerce.core.order.domain.Order", "lastName")
+    }
+
+    def "the index is not opened without an updated property or a directory"() {
+        setup:
+        def disabled = new LuceneAdminSearchIndexServiceImpl()
+        disabled.indexedFields = CUSTOMER + ":lastName"
+        disabled.directory = updatedDirectory
+        disabled.updatedProperty = updatedProperty
+
+        when:
+        disabled.onApplicationEvent(null)
+
+        then:
+        disabled.indexes.isEmpty()
+        disabled.scheduler == null
+
+        where:
+        updatedDirectory     | updatedProperty
+        "/tmp/admin-search"  | ""
+        ""                   | "auditable.dateUpdated"
+    }
+
+    def "an indexed property restricts the ids and still applies the like"() {
+        setup:
+        def indexService = Mock(AdminSearchIndexService)
+        def builder = Mock(CriteriaBuilder)
+        def root = Mock(From)
+        def path = Mock(Path)
+        def idPath = Mock(Path)
+        def lower = Mock(Expression)
+        def like = Mock(Predicate)
+        def inIds = Mock(Predicate)
+        def combined = Mock(Predicate)
+        def provider = new LikePredicateProvider(adminSearchIndexService: indexService)
+
+        when:
+        def predicate = provider.buildPredicate(builder, fieldPathBuilder(path), root, CUSTOMER, "lastName", null, ["%smith%"])
+
+        then:
+        1 * indexService.isIndexed(CUSTOMER, "lastName") >> true
+        1 * indexService.findIds(CUSTOMER, "lastName", "%smith%") >> [1L, 2L]
+        1 * indexService.getIdPropertyName(CUSTOMER) >> "id"
+        1 * root.get("id") >> idPath
+        1 * idPath.'in'([1L, 2L]) >> inIds
+        1 * builder.lower(path) >> lower
+        1 * builder.like(lower, "%smith%") >> like
+        1 * builder.and(inIds, like) >> combined
+        predicate == combined
+    }
+
+    def "no indexed match means no database query for the property"() {
+        setup:
+        def indexService = Mock(AdminSearchIndexService)
+        def builder = Mock(CriteriaBuilder)
+        def none = Mock(Predicate)
+        def provider = new LikePredicateProvider(adminSearchIndexService: indexService)
+
+        when:
+        def predicate = provider.buildPredicate(builder, fieldPathBuilder(Mock(Path)), Mock(From), CUSTOMER, "lastName", null, ["%zz%"])
+
+        then:
+        1 * indexService.isIndexed(CUSTOMER, "lastName") >> true
+        1 * indexService.findIds(CUSTOMER, "lastName", "%zz%") >> []
+        1 * builder.disjunction() >> none
+        0 * builder.like(_, _)
+        predicate == none
+    }
+
+    def "the like alone is used when the index cannot answer"() {
+        setup:
+        def indexService = Mock(AdminSearchIndexService)
+        def builder = Mock(CriteriaBuilder)
+        def root = Mock(From)
+        def path = Mock(Path)
+        def lower = Mock(Expression)
+        def like = Mock(Predicate)
+        def provider = new LikePredicateProvider(adminSearchIndexService: indexService)
+
+        when:
+        def predicate = provider.buildPredicate(builder, fieldPathBuilder(path), root, CUSTOMER, "lastName", null, ["%smith%"])
+
+        then:
+        1 * indexService.isIndexed(CUSTOMER, "lastName") >> indexed
+        (indexed ? 1 : 0) * indexService.findIds(CUSTOMER, "lastName", "%smith%") >> null
+        0 * root.get(_)
+        1 * builder.lower(path) >> lower
+        1 * builder.like(lower, "%smith%") >> like
+        0 * builder.and(*_)
+        predicate == like
+
+        where:
+        indexed << [true, false]
+    }
+
+    def fieldPathBuilder(Path path) {
+        return new FieldPathBuilder() {
+            @Override
+            Path getPath(From root, String fullPropertyName, CriteriaBuilder builder) {
+                return path
+            }
+        }
+    }
+}
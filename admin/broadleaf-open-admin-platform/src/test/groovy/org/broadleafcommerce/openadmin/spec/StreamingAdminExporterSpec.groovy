@@ -0,0 +1,329 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.broadleafcommerce.common.exception.SecurityServiceException
+import org.broadleafcommerce.common.persistence.TargetModeType
+import org.broadleafcommerce.common.presentation.client.OperationType
+import org.broadleafcommerce.common.service.PersistenceService
+import org.broadleafcommerce.common.util.StreamingTransactionCapable
+import org.broadleafcommerce.openadmin.dto.CriteriaTransferObject
+import org.broadleafcommerce.openadmin.dto.FieldMetadata
+import org.broadleafcommerce.openadmin.dto.PersistencePackage
+import org.broadleafcommerce.openadmin.dto.PersistencePerspective
+import org.broadleafcommerce.openadmin.dto.SortDirection
+import org.broadleafcommerce.openadmin.server.dao.DynamicEntityDao
+import org.broadleafcommerce.openadmin.server.factory.PersistencePackageFactory
+import org.broadleafcommerce.openadmin.server.security.remote.EntityOperationType
+import org.broadleafcommerce.openadmin.server.security.remote.SecurityVerifier
+import org.broadleafcommerce.openadmin.server.service.export.ExportFormat
+import org.broadleafcommerce.openadmin.server.service.export.ExportRecordWriter
+import org.broadleafcommerce.openadmin.server.service.export.StreamingAdminExporter
+import org.broadleafcommerce.openadmin.server.service.persistence.Persistable
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManager
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerContext
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandler
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceManagerEventHandlerResponse
+import org.broadleafcommerce.openadmin.server.service.persistence.PersistenceThreadManager
+import org.broadleafcommerce.openadmin.server.service.persistence.module.BasicPersistenceModule
+import org.broadleafcommerce.openadmin.server.service.persistence.module.FieldManager
+import org.broadleafcommerce.openadmin.server.service.persistence.module.InspectHelper
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.CriteriaTranslator
+import org.broadleafcommerce.openadmin.server.service.persistence.module.criteria.FilterMapping
+
+import javax.persistence.EntityManager
+import javax.persistence.TypedQuery
+import javax.persistence.criteria.CriteriaBuilder
+import javax.persistence.criteria.From
+import javax.persistence.criteria.Path
+import javax.persistence.criteria.Predicate
+
+import spock.lang.Specification
+
+class StreamingAdminExporterSpec extends Specification {
+
+    static class Widget implements Serializable {
+    }
+
+    /**
+     * Runs the operation on the calling thread against whatever persistence manager the spec has put in the context
+     */
+    static class DirectPersistenceThreadManager extends PersistenceThreadManager {
+
+        @Override
+        public <T, G extends Throwable> T operation(TargetModeType targetModeType, PersistencePackage pkg, Persistable<T, G> persistable) throws G {
+            return persistable.execute()
+        }
+    }
+
+    InspectingPersistenceManager manager = Mock(InspectingPersistenceManager)
+    DynamicEntityDao dao = Mock(DynamicEntityDao)
+    StreamingTransactionCapable transUtil = Stub(StreamingTransactionCapable) {
+        runOptionalTransactionalOperation(*_) >> { args -> args[0].execute() }
+    }
+
+    def setup() {
+        def context = new PersistenceManagerContext()
+        context.addPersistenceManager(manager)
+        PersistenceManagerContext.addPersistenceManagerContext(context)
+    }
+
+    def cleanup() {
+        PersistenceManagerContext.getPersistenceManagerContext()?.remove()
+    }
+
+    def exportContext(Map<String, String> params) {
+        new StreamingAdminExporter.ExportContext(new PersistencePackage(), Widget.name, params, "id", true, ["id", "name"])
+    }
+
+    /**
+     * An exporter over <code>rows</code>, sorted by id, that answers each page the way the keyset query would and
+     * records the bounds each page was asked for
+     */
+    def pagingExporter(List<Map> rows, List<List> requested) {
+        def exporter = new StreamingAdminExporter() {
+            @Override
+            protected List<Serializable> readPage(BasicPersistenceModule module, PersistenceManager persistenceManager,
+                    StreamingAdminExporter.ExportContext context, List<FilterMapping> rangeFilterMappings,
+                    Serializable lowerExclusive, Serializable upperInclusive) {
+                requested << [lowerExclusive, upperInclusive]
+                return rows.findAll {
+                    (lowerExclusive == null || it.id > lowerExclusive) && (upperInclusive == null || it.id <= upperInclusive)
+                }.take(pageSize)
+            }
+
+            @Override
+            protected List<FilterMapping> buildFilterMappings(PersistenceManager persistenceManager, BasicPersistenceModule module,
+                    StreamingAdminExporter.ExportContext context) {
+                return []
+            }
+
+            @Override
+            protected Object getValue(FieldManager fieldManager, Object record, String propertyName) {
+                return record[propertyName]
+            }
+        }
+        exporter.pageSize = 2
+        exporter.persistenceThreadManager = new DirectPersistenceThreadManager()
+        exporter.persistenceService = Mock(PersistenceService)
+        exporter.transUtil = transUtil
+        return exporter
+    }
+
+    def "each page asks for the rows after the last id of the previous page until a page comes back short"() {
+        setup:
+        manager.getDynamicEntityDao() >> dao
+        dao.getStandardEntityManager() >> Mock(EntityManager)
+        def rows = (1..<(count + 1)).collect { [id: (long) it, name: "name" + it] }
+        def requested = []
+        def exporter = pagingExporter(rows, requested)
+        def out = new StringWriter()
+        ExportRecordWriter writer = ExportFormat.CSV.createWriter(out)
+
+        when:
+        long total = exporter.exportRange(exportContext([:]), writer, lower, upper)
+
+        then:
+        requested == pages
+        total == exported.size()
+        out.toString() == exported.collect { "$it,name$it\r\n" }.join("")
+
+        where:
+        count | lower | upper | pages                                   | exported
+        0     | null  | null  | [[null, null]]                          | []
+        1     | null  | null  | [[null, null]]                          | [1]
+        2     | null  | null  | [[null, null], [2L, null]]              | [1, 2]
+        3     | null  | null  | [[null, null], [2L, null]]              | [1, 2, 3]
+        4     | null  | null  | [[null, null], [2L, null], [4L, null]]  | [1, 2, 3, 4]
+        5     | 1L    | 3L    | [[1L, 3L], [3L, 3L]]                    | [2, 3]
+        5     | 3L    | 4L    | [[3L, 4L]]                              | [4]
+        5     | 5L    | null  | [[5L, null]]                            | []
+    }
+
+    def "the keyset mapping is the first sort, by id ascending, and restricts the ids to the range"() {
+        setup:
+        FilterMapping mapping = new StreamingAdminExporter().buildKeysetMapping("id", 4L, 9L)
+        def builder = Mock(CriteriaBuilder)
+        def root = Mock(From)
+        def idPath = Mock(Path)
+        def after = Mock(Predicate)
+        def upTo = Mock(Predicate)
+        def range = Mock(Predicate)
+
+        when:
+        def predicate = mapping.restriction.predicateProvider.buildPredicate(builder, null, root, Widget.name, "id", null, [])
+
+        then:
+        mapping.fullPropertyName == "id"
+        mapping.sortDirection == SortDirection.ASCENDING
+        mapping.order == Integer.MIN_VALUE
+        1 * root.get("id") >> idPath
+        1 * builder.greaterThan(idPath, 4L) >> after
+        1 * builder.lessThanOrEqualTo(idPath, 9L) >> upTo
+        1 * builder.and(after, upTo) >> range
+        predicate == range
+    }
+
+    def "an open ended keyset mapping only restricts the bound that is set"() {
+        setup:
+        def builder = Mock(CriteriaBuilder)
+        def root = Mock(From)
+        def idPath = Mock(Path)
+        def after = Mock(Predicate)
+        def range = Mock(Predicate)
+
+        when:
+        def first = new StreamingAdminExporter().buildKeysetMapping("id", null, null)
+                .restriction.predicateProvider.buildPredicate(builder, null, root, Widget.name, "id", null, [])
+
+        then: "the first page of an unbounded export is not restricted"
+        1 * root.get("id") >> idPath
+        0 * builder._
+        first == null
+
+        when:
+        def next = new StreamingAdminExporter().buildKeysetMapping("id", 4L, null)
+                .restriction.predicateProvider.buildPredicate(builder, null, root, Widget.name, "id", null, [])
+
+        then:
+        1 * root.get("id") >> idPath
+        1 * builder.greaterThan(idPath, 4L) >> after
+        0 * builder.lessThanOrEqualTo(*_)
+        1 * builder.and(after) >> range
+        next == range
+    }
+
+    def "every page goes through the criteria translator, which applies row level security, with the grid and handler filters"() {
+        setup:
+        def translator = Mock(CriteriaTranslator)
+        def query = Mock(TypedQuery)
+        def handler = Mock(PersistenceManagerEventHandler)
+        def gridFilter = new FilterMapping().withFullPropertyName("name")
+        def handlerFilter = new FilterMapping().withFullPropertyName("customer.id")
+        def module = new BasicPersistenceModule() {
+            @Override
+            Map<String, FieldMetadata> getMergedProperties(PersistencePackage persistencePackage, CriteriaTransferObject cto) {
+                return [:]
+            }
+
+            @Override
+            List<FilterMapping> getFilterMappings(PersistencePerspective persistencePerspective, CriteriaTransferObject cto,
+                    String ceilingEntityFullyQualifiedClassname, Map<String, FieldMetadata> mergedUnfilteredProperties) {
+                return [gridFilter]
+            }
+        }
+        module.criteriaTranslator = translator
+        def exporter = new StreamingAdminExporter()
+        exporter.persistenceManagerEventHandlers = [handler]
+        exporter.pageSize = 2
+        def context = exportContext([name: "a", exporter: "widgetCsv", blank: " "])
+
+        when:
+        def mappings = exporter.buildFilterMappings(manager, module, context)
+        def page = exporter.readPage(module, manager, context, mappings, 4L, null)
+
+        then:
+        1 * handler.preFetch(manager, context.persistencePackage, { it.criteriaMap.keySet() == ["name", "exporter"] as Set }) >> { args ->
+            args[2].additionalFilterMappings.add(handlerFilter)
+            new PersistenceManagerEventHandlerResponse().withStatus(PersistenceManagerEventHandlerResponse.PersistenceManagerEventHandlerResponseStatus.HANDLED)
+        }
+        1 * manager.getDynamicEntityDao() >> dao
+        1 * translator.translateQuery(dao, Widget.name, { List<FilterMapping> it ->
+            it.size() == 3 && it[0].is(gridFilter) && it[1].is(handlerFilter) && it[2].sortDirection == SortDirection.ASCENDING
+        }, null, 2) >> query
+        1 * query.getResultList() >> [[id: 5L]]
+        page == [[id: 5L]]
+
+        and: "the keyset mapping of one page is not kept for the next"
+        mappings == [gridFilter, handlerFilter]
+    }
+
+    def "nothing is read when the user may not fetch the entity"() {
+        setup:
+        def factory = Mock(PersistencePackageFactory)
+        def verifier = Mock(SecurityVerifier)
+        def exporter = new StreamingAdminExporter()
+        exporter.persistencePackageFactory = factory
+        exporter.adminRemoteSecurityService = verifier
+        exporter.persistenceThreadManager = new DirectPersistenceThreadManager()
+        exporter.ceilingEntity = Widget.name
+
+        when:
+        exporter.buildContext([:])
+
+        then:
+        1 * factory.create({ it.ceilingEntityClassname == Widget.name }) >> new PersistencePackage()
+        1 * verifier.securityCheck(_ as PersistencePackage, EntityOperationType.FETCH) >> { throw new SecurityServiceException("denied") }
+        0 * manager.getCompatibleModule(OperationType.BASIC)
+        def e = thrown(RuntimeException)
+        e.cause instanceof SecurityServiceException
+    }
+
+    def "csv values are quoted only when they hold a separator, a quote or a line break"() {
+        setup:
+        def out = new StringWriter()
+        ExportRecordWriter writer = ExportFormat.CSV.createWriter(out)
+
+        when:
+        writer.writeHeader(["id", "name"])
+        writer.writeRecord(values)
+        writer.flush()
+
+        then:
+        out.toString() == "id,name\r\n" + line + "\r\n"
+
+        where:
+        values               | line
+        ["1", "plain"]       | '1,plain'
+        ["2", "a,b"]         | '2,"a,b"'
+        ["3", 'say "hi"']    | '3,"say ""hi"""'
+        ["4", '"']           | '4,""""'
+        ["5", "two\nlines"]  | '5,"two\nlines"'
+        ["6", "cr\r\nlf"]    | '6,"cr\r\nlf"'
+        ["7", "semi;colon"]  | '7,semi;colon'
+        [null, ""]           | ','
+    }
+
+    def "json lines values are escaped and nulls are written as null"() {
+        setup:
+        def out = new StringWriter()
+        ExportRecordWriter writer = ExportFormat.JSON_LINES.createWriter(out)
+
+        when:
+        writer.writeHeader(["id", "note", "missing"])
+        writer.writeRecord(["1", 'say "hi"\n\\', null])
+        writer.flush()
+
+        then:
+        out.toString() == '{"id":"1","note":"say \\"hi\\"\\n\\\\","missing":null}\n'
+    }
+
+    def "the id range is split into contiguous slices"() {
+        expect:
+        new StreamingAdminExporter().getPartitionBounds(min, max, partitions) == bounds
+
+        where:
+        min | max | partitions | bounds
+        1   | 10  | 3          | [0L, 3L, 6L, 10L]
+        5   | 6   | 4          | [4L, 5L, 6L]
+        7   | 7   | 2          | [6L, 7L]
+    }
+}
+
+interface InspectingPersistenceManager extends PersistenceManager, InspectHelper {
+}
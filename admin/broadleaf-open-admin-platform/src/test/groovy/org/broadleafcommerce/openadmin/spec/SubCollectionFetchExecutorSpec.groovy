@@ -0,0 +1,231 @@
+/*-
+ * #%L
+ * BroadleafCommerce Open Admin Platform
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.openadmin.spec
+
+import org.broadleafcommerce.common.exception.ServiceException
+import org.broadleafcommerce.common.extension.ExtensionResultStatusType
+import org.broadleafcommerce.common.util.StreamingTransactionCapable
+import org.broadleafcommerce.common.web.BroadleafRequestContext
+import org.broadleafcommerce.openadmin.dto.DynamicResultSet
+import org.broadleafcommerce.openadmin.server.service.SubCollectionFetch
+import org.broadleafcommerce.openadmin.server.service.SubCollectionFetchExecutor
+import org.broadleafcommerce.openadmin.web.controller.AbstractAdminAbstractControllerExtensionHandler
+import org.broadleafcommerce.openadmin.web.controller.AdminAbstractControllerExtensionManager
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
+import org.springframework.security.core.context.SecurityContextImpl
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+class SubCollectionFetchExecutorSpec extends Specification {
+
+    static class RecordingHandler extends AbstractAdminAbstractControllerExtensionHandler {
+
+        List<List> reports = []
+
+        @Override
+        ExtensionResultStatusType reportSubCollectionFetchTimes(String ceilingEntity, Map<String, Long> fetchTimesMillis) {
+            reports << [ceilingEntity, fetchTimesMillis]
+            return ExtensionResultStatusType.HANDLED_CONTINUE
+        }
+    }
+
+    RecordingHandler handler = new RecordingHandler()
+    SubCollectionFetchExecutor executor = new SubCollectionFetchExecutor()
+
+    def setup() {
+        def extensionManager = new AdminAbstractControllerExtensionManager()
+        extensionManager.registerHandler(handler)
+        executor.extensionManager = extensionManager
+        executor.transUtil = Stub(StreamingTransactionCapable) {
+            runOptionalEntityManagerInViewOperation(_) >> { args -> args[0].run() }
+        }
+        executor.parallelFetchEnabled = true
+        executor.threads = 3
+        executor.timeoutSeconds = 10
+    }
+
+    def cleanup() {
+        executor.destroy()
+        BroadleafRequestContext.setBroadleafRequestContext(null)
+        SecurityContextHolder.clearContext()
+    }
+
+    def fetch(Closure<DynamicResultSet> body) {
+        return body as SubCollectionFetch
+    }
+
+    def "results come back in the order the fetches were given, whatever order they finish in"() {
+        setup:
+        def first = new DynamicResultSet()
+        def second = new DynamicResultSet()
+        def third = new DynamicResultSet()
+        def thirdDone = new CountDownLatch(1)
+        def secondDone = new CountDownLatch(1)
+        def finished = Collections.synchronizedList([])
+        def fetches = new LinkedHashMap<String, SubCollectionFetch>()
+        fetches.first = fetch {
+            assert secondDone.await(5, TimeUnit.SECONDS)
+            finished << "first"
+            first
+        }
+        fetches.second = fetch {
+            assert thirdDone.await(5, TimeUnit.SECONDS)
+            finished << "second"
+            secondDone.countDown()
+            second
+        }
+        fetches.third = fetch {
+            finished << "third"
+            thirdDone.countDown()
+            third
+        }
+
+        when:
+        def results = executor.fetch("Widget", fetches)
+
+        then:
+        finished == ["third", "second", "first"]
+        results.keySet() as List == ["first", "second", "third"]
+        results.first.is(first)
+        results.second.is(second)
+        results.third.is(third)
+    }
+
+    def "the first failure in fetch order is thrown once every fetch has finished"() {
+        setup:
+        def thirdFailed = new CountDownLatch(1)
+        def fetches = new LinkedHashMap<String, SubCollectionFetch>()
+        fetches.first = fetch { new DynamicResultSet() }
+        fetches.second = fetch {
+            assert thirdFailed.await(5, TimeUnit.SECONDS)
+            throw new ServiceException("second failed")
+        }
+        fetches.third = fetch {
+            thirdFailed.countDown()
+            throw new IllegalStateException("third failed")
+        }
+
+        when:
+        executor.fetch("Widget", fetches)
+
+        then:
+        def e = thrown(ServiceException)
+        e.message == "second failed"
+    }
+
+    def "each worker runs with a clone of the caller's request context and the caller's security context"() {
+        setup:
+        def callerContext = new BroadleafRequestContext()
+        callerContext.adminUserId = 7L
+        callerContext.admin = true
+        BroadleafRequestContext.setBroadleafRequestContext(callerContext)
+        def securityContext = new SecurityContextImpl()
+        securityContext.authentication = new TestingAuthenticationToken("admin", "admin")
+        SecurityContextHolder.setContext(securityContext)
+        def seen = Collections.synchronizedList([])
+        def fetches = new LinkedHashMap<String, SubCollectionFetch>()
+        ["first", "second"].each { name ->
+            fetches[name] = fetch {
+                seen << [thread: Thread.currentThread().name,
+                         context: BroadleafRequestContext.getBroadleafRequestContext(false),
+                         security: SecurityContextHolder.getContext()]
+                new DynamicResultSet()
+            }
+        }
+        executor.threads = 1
+
+        when:
+        executor.fetch("Widget", fetches)
+        def leftOnWorker = executor.@executor.submit({
+            [BroadleafRequestContext.getBroadleafRequestContext(false), SecurityContextHolder.getContext().authentication]
+        } as Callable).get()
+
+        then:
+        seen.size() == 2
+        seen.every { it.thread.startsWith("blSubCollectionFetch-") }
+        seen.every { it.context != null && !it.context.is(callerContext) }
+        seen.every { it.context.adminUserId == 7L && it.context.admin }
+        !seen[0].context.is(seen[1].context)
+        seen.every { it.security.is(securityContext) }
+
+        and: "the worker is left without the caller's contexts"
+        leftOnWorker == [null, null]
+
+        and: "the caller keeps its own"
+        BroadleafRequestContext.getBroadleafRequestContext(false).is(callerContext)
+        SecurityContextHolder.getContext().is(securityContext)
+    }
+
+    def "the time of each fetch is reported in fetch order"() {
+        setup:
+        executor.parallelFetchEnabled = parallel
+        def fetches = new LinkedHashMap<String, SubCollectionFetch>()
+        fetches.slow = fetch {
+            Thread.sleep(60)
+            new DynamicResultSet()
+        }
+        fetches.fast = fetch { new DynamicResultSet() }
+
+        when:
+        executor.fetch("Widget", fetches)
+
+        then:
+        handler.reports.size() == 1
+        handler.reports[0][0] == "Widget"
+        handler.reports[0][1].keySet() as List == ["slow", "fast"]
+        handler.reports[0][1].slow >= 60
+        handler.reports[0][1].fast < handler.reports[0][1].slow
+
+        where:
+        parallel << [true, false]
+    }
+
+    def "a single fetch runs on the calling thread and is still timed"() {
+        setup:
+        def threads = []
+        def fetches = new LinkedHashMap<String, SubCollectionFetch>()
+        fetches.only = fetch {
+            threads << Thread.currentThread()
+            new DynamicResultSet()
+        }
+
+        when:
+        def results = executor.fetch("Widget", fetches)
+
+        then:
+        threads == [Thread.currentThread()]
+        results.keySet() == ["only"] as Set
+        executor.@executor == null
+        handler.reports.size() == 1
+        handler.reports[0][1].keySet() == ["only"] as Set
+    }
+
+    def "nothing is reported when there is nothing to fetch"() {
+        when:
+        def results = executor.fetch("Widget", [:])
+
+        then:
+        results.isEmpty()
+        handler.reports.isEmpty()
+    }
+}
@@ -0,0 +1,217 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.broadleafcommerce.benchmark.fixture.Stubs;
+import org.broadleafcommerce.common.dao.GenericEntityDao;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.domain.LocaleImpl;
+import org.broadleafcommerce.common.sandbox.SandBoxHelper;
+import org.broadleafcommerce.core.catalog.domain.CategoryImpl;
+import org.broadleafcommerce.core.catalog.domain.Product;
+import org.broadleafcommerce.core.catalog.domain.ProductImpl;
+import org.broadleafcommerce.core.search.dao.CatalogStructure;
+import org.broadleafcommerce.core.search.domain.FieldEntity;
+import org.broadleafcommerce.core.search.domain.FieldImpl;
+import org.broadleafcommerce.core.search.domain.IndexField;
+import org.broadleafcommerce.core.search.domain.IndexFieldImpl;
+import org.broadleafcommerce.core.search.domain.IndexFieldType;
+import org.broadleafcommerce.core.search.domain.IndexFieldTypeImpl;
+import org.broadleafcommerce.core.search.domain.solr.FieldType;
+import org.broadleafcommerce.core.search.service.solr.SolrConfiguration;
+import org.broadleafcommerce.core.search.service.solr.SolrHelperServiceImpl;
+import org.broadleafcommerce.core.search.service.solr.SolrSearchServiceExtensionManager;
+import org.broadleafcommerce.core.search.service.solr.index.SolrIndexCachedOperation;
+import org.broadleafcommerce.core.search.service.solr.index.SolrIndexServiceExtensionManager;
+import org.broadleafcommerce.core.search.service.solr.indexer.CatalogDocumentBuilderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building Solr documents for products, which is the CPU-bound part of a catalog reindex. The catalog
+ * structure that the reindex normally reads up front is built in memory: each product sits in a few leaf categories
+ * of a category tree of the given depth. Nothing is sent to Solr; the client is only needed to construct the
+ * {@link SolrConfiguration}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogDocumentBuilderBenchmark {
+
+    protected static final int PRODUCT_COUNT = 100;
+    protected static final int CATEGORIES_PER_PRODUCT = 3;
+
+    @Param({ "2", "5" })
+    public int categoryDepth;
+
+    protected BenchmarkCatalogDocumentBuilder documentBuilder;
+    protected SolrClient solrClient;
+    protected List<Product> products;
+    protected List<IndexField> fields;
+    protected List<Locale> locales;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        solrClient = new HttpSolrClient.Builder("http://localhost:8983/solr").build();
+        documentBuilder = new BenchmarkCatalogDocumentBuilder(new SolrConfiguration(solrClient, solrClient, solrClient,
+                "primary", "reindex", "d"));
+
+        fields = new ArrayList<>();
+        fields.add(createIndexField("model", "model", FieldType.STRING));
+        fields.add(createIndexField("manufacturer", "mfg", FieldType.STRING, FieldType.TEXT));
+        fields.add(createIndexField("url", "url", FieldType.STRING));
+
+        LocaleImpl locale = new LocaleImpl();
+        locale.setLocaleCode("en_US");
+        locales = Collections.singletonList(locale);
+
+        CatalogStructure catalogStructure = new CatalogStructure();
+        Map<Long, Set<Long>> parentCategoriesByCategory = new HashMap<>();
+        Map<Long, Set<Long>> parentCategoriesByProduct = new HashMap<>();
+        Map<String, BigDecimal> displayOrders = new HashMap<>();
+
+        // Each leaf category gets its own chain of ancestors, ids counting down towards the root
+        int leafCount = PRODUCT_COUNT * CATEGORIES_PER_PRODUCT / 10;
+        List<Long> leaves = new ArrayList<>();
+        long nextCategoryId = 1;
+        for (int i = 0; i < leafCount; i++) {
+            Long parent = null;
+            for (int level = 0; level < categoryDepth; level++) {
+                Long categoryId = nextCategoryId++;
+                Set<Long> parents = new HashSet<>();
+                if (parent != null) {
+                    parents.add(parent);
+                }
+                parentCategoriesByCategory.put(categoryId, parents);
+                parent = categoryId;
+            }
+            leaves.add(parent);
+        }
+
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            ProductImpl product = new ProductImpl();
+            product.setId(100000L + i);
+            product.setModel("Model " + i);
+            product.setManufacturer("Manufacturer " + (i % 7));
+            product.setUrl("/products/product-" + i);
+            products.add(product);
+
+            Set<Long> categories = new HashSet<>();
+            for (int c = 0; c < CATEGORIES_PER_PRODUCT; c++) {
+                Long categoryId = leaves.get((i + c * 7) % leaves.size());
+                categories.add(categoryId);
+                displayOrders.put(categoryId + "-" + product.getId(), BigDecimal.valueOf(i));
+            }
+            parentCategoriesByProduct.put(product.getId(), categories);
+        }
+
+        catalogStructure.setParentCategoriesByCategory(parentCategoriesByCategory);
+        catalogStructure.setParentCategoriesByProduct(parentCategoriesByProduct);
+        catalogStructure.setDisplayOrdersByCategoryProduct(displayOrders);
+        SolrIndexCachedOperation.setCache(catalogStructure);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SolrIndexCachedOperation.clearCache();
+        solrClient.close();
+    }
+
+    @Benchmark
+    public void buildDocuments(Blackhole blackhole) {
+        for (Product product : products) {
+            SolrInputDocument document = documentBuilder.buildDocument(product, fields, locales);
+            blackhole.consume(document);
+        }
+    }
+
+    protected IndexField createIndexField(String propertyName, String abbreviation, FieldType... fieldTypes) {
+        FieldImpl field = new FieldImpl();
+        field.setPropertyName(propertyName);
+        field.setAbbreviation(abbreviation);
+        field.setEntityType(FieldEntity.PRODUCT);
+
+        IndexFieldImpl indexField = new IndexFieldImpl();
+        indexField.setField(field);
+        indexField.setSearchable(true);
+
+        List<IndexFieldType> indexFieldTypes = new ArrayList<>();
+        for (FieldType fieldType : fieldTypes) {
+            IndexFieldTypeImpl indexFieldType = new IndexFieldTypeImpl();
+            indexFieldType.setFieldType(fieldType);
+            indexFieldType.setIndexField(indexField);
+            indexFieldTypes.add(indexFieldType);
+        }
+        indexField.setFieldTypes(indexFieldTypes);
+        return indexField;
+    }
+
+    protected static class BenchmarkCatalogDocumentBuilder extends CatalogDocumentBuilderImpl {
+
+        public BenchmarkCatalogDocumentBuilder(SolrConfiguration solrConfiguration) {
+            this.shs = new BenchmarkSolrHelperService();
+            this.extensionManager = new SolrIndexServiceExtensionManager();
+            this.solrConfiguration = solrConfiguration;
+            this.sandBoxHelper = Stubs.of(SandBoxHelper.class).build();
+        }
+    }
+
+    protected static class BenchmarkSolrHelperService extends SolrHelperServiceImpl {
+
+        public BenchmarkSolrHelperService() {
+            final CategoryImpl category = new CategoryImpl();
+            this.indexExtensionManager = new SolrIndexServiceExtensionManager();
+            this.searchExtensionManager = new SolrSearchServiceExtensionManager();
+            this.genericEntityDao = Stubs.of(GenericEntityDao.class)
+                    .returning("readGenericEntity", category)
+                    .build();
+            this.environment = new StandardEnvironment();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.common.extension.AbstractExtensionHandler;
+import org.broadleafcommerce.common.extension.ExtensionHandler;
+import org.broadleafcommerce.common.extension.ExtensionManager;
+import org.broadleafcommerce.common.extension.ExtensionManagerOperation;
+import org.broadleafcommerce.common.extension.ExtensionResultStatusType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatch through an {@link ExtensionManager}. Most storefront code calls <code>getProxy()</code>, which
+ * goes through a JDK proxy and reflection for every handler, even when no handlers are registered. The operation
+ * variant uses {@link ExtensionManager#execute(ExtensionManagerOperation, Object...)}, which calls handlers directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionManagerBenchmark {
+
+    @Param({ "0", "1", "4" })
+    public int handlerCount;
+
+    protected BenchmarkExtensionManager extensionManager;
+    protected Object target = new Object();
+
+    @Setup
+    public void setup() {
+        extensionManager = new BenchmarkExtensionManager();
+        List<BenchmarkExtensionHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < handlerCount; i++) {
+            NotHandledExtensionHandler handler = new NotHandledExtensionHandler();
+            handler.setPriority(i);
+            handlers.add(handler);
+        }
+        extensionManager.setHandlers(handlers);
+    }
+
+    @Benchmark
+    public ExtensionResultStatusType proxyDispatch() {
+        return extensionManager.getProxy().touch(target);
+    }
+
+    @Benchmark
+    public ExtensionResultStatusType operationDispatch() {
+        return extensionManager.touch(target);
+    }
+
+    public interface BenchmarkExtensionHandler extends ExtensionHandler {
+
+        ExtensionResultStatusType touch(Object target);
+    }
+
+    public static class BenchmarkExtensionManager extends ExtensionManager<BenchmarkExtensionHandler> {
+
+        protected static final ExtensionManagerOperation TOUCH = new ExtensionManagerOperation() {
+            @Override
+            public ExtensionResultStatusType execute(ExtensionHandler handler, Object... params) {
+                return ((BenchmarkExtensionHandler) handler).touch(params[0]);
+            }
+        };
+
+        public BenchmarkExtensionManager() {
+            super(BenchmarkExtensionHandler.class);
+        }
+
+        public ExtensionResultStatusType touch(Object target) {
+            return execute(TOUCH, target);
+        }
+
+        @Override
+        public boolean continueOnHandled() {
+            return true;
+        }
+    }
+
+    public static class NotHandledExtensionHandler extends AbstractExtensionHandler implements BenchmarkExtensionHandler {
+
+        @Override
+        public ExtensionResultStatusType touch(Object target) {
+            return ExtensionResultStatusType.NOT_HANDLED;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.cms.structure.service.StructuredContentCacheKey;
+import org.broadleafcommerce.common.cache.NearCache;
+import org.broadleafcommerce.common.locale.domain.LocaleImpl;
+import org.broadleafcommerce.common.structure.dto.StructuredContentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+
+/**
+ * Measures the content lookups behind a home page that renders about twenty content zones, all of which are cache
+ * hits. One variant reads the {@link NearCache} that the structured content service keeps in front of its JCache
+ * region; the other reads the region itself. The region is configured to store by value, so every hit copies the
+ * value the way a clustered or off-heap provider has to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HomePageContentCacheBenchmark {
+
+    protected static final int ZONE_COUNT = 20;
+    protected static final int ITEMS_PER_ZONE = 3;
+    protected static final Long SITE_ID = 1L;
+
+    protected LocaleImpl locale;
+    protected String[] contentTypes;
+
+    protected NearCache<StructuredContentCacheKey, List<StructuredContentDTO>> nearCache;
+    protected CachingProvider cachingProvider;
+    protected CacheManager cacheManager;
+    protected Cache<String, List<StructuredContentDTO>> jcache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locale = new LocaleImpl();
+        locale.setLocaleCode("en_US");
+
+        nearCache = new NearCache<>("homePageBenchmark", 1000, 3600);
+        cachingProvider = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider");
+        cacheManager = cachingProvider.getCacheManager();
+        MutableConfiguration<String, List<StructuredContentDTO>> configuration = new MutableConfiguration<>();
+        configuration.setStoreByValue(true);
+        jcache = cacheManager.createCache("homePageBenchmark", configuration);
+
+        contentTypes = new String[ZONE_COUNT];
+        for (int i = 0; i < ZONE_COUNT; i++) {
+            contentTypes[i] = "Home Page Zone " + i;
+            List<StructuredContentDTO> content = createContent(contentTypes[i]);
+            nearCache.put(StructuredContentCacheKey.forType(null, SITE_ID, locale, contentTypes[i], false), content);
+            jcache.put(jcacheKey(contentTypes[i]), content);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.destroyCache("homePageBenchmark");
+        cachingProvider.close();
+    }
+
+    @Benchmark
+    public void nearCache(Blackhole blackhole) {
+        for (String contentType : contentTypes) {
+            blackhole.consume(nearCache.get(StructuredContentCacheKey.forType(null, SITE_ID, locale, contentType, false)));
+        }
+    }
+
+    @Benchmark
+    public void jcache(Blackhole blackhole) {
+        for (String contentType : contentTypes) {
+            blackhole.consume(jcache.get(jcacheKey(contentType)));
+        }
+    }
+
+    /**
+     * Builds the key the same way the structured content service does for its JCache region
+     */
+    protected String jcacheKey(String contentType) {
+        StringBuilder key = new StringBuilder(contentType);
+        key.append("-").append(locale.getLocaleCode());
+        key.append("-").append(SITE_ID);
+        key.append("-").append(false);
+        return key.toString();
+    }
+
+    protected List<StructuredContentDTO> createContent(String contentType) {
+        List<StructuredContentDTO> content = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ZONE; i++) {
+            StructuredContentDTO dto = new StructuredContentDTO();
+            dto.setId((long) (contentType.hashCode() + i));
+            dto.setContentType(contentType);
+            dto.setContentName(contentType + " Item " + i);
+            dto.setLocaleCode(locale.getLocaleCode());
+            dto.setPriority(i);
+            HashMap<String, Object> values = new HashMap<>();
+            values.put("imageUrl", "/img/banners/" + contentType.replace(' ', '-') + "-" + i + ".jpg");
+            values.put("targetUrl", "/promotions/" + i);
+            values.put("messageText", "Content for " + contentType + ", item " + i);
+            dto.setValues(values);
+            content.add(dto);
+        }
+        return content;
+    }
+}
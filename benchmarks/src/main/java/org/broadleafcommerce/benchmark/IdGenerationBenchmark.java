@@ -0,0 +1,95 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.benchmark.fixture.Stubs;
+import org.broadleafcommerce.common.id.dao.IdGenerationDao;
+import org.broadleafcommerce.common.id.domain.IdGeneration;
+import org.broadleafcommerce.common.id.domain.IdGenerationImpl;
+import org.broadleafcommerce.common.id.service.IdGenerationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link IdGenerationServiceImpl#findNextId(String)}. The DAO hands out batches from memory, so the numbers
+ * show the cost of the service's own locking: one lock around the id type map, and one per id type. The contended
+ * variant is the checkout-heavy case where many threads generate order numbers at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    protected static final long BATCH_SIZE = 100L;
+
+    protected IdGenerationServiceImpl idGenerationService;
+
+    @Setup
+    public void setup() {
+        final AtomicLong nextBatchStart = new AtomicLong(1L);
+        IdGenerationDao dao = Stubs.of(IdGenerationDao.class)
+                .answer("findNextId", args -> {
+                    IdGeneration idGeneration = new IdGenerationImpl();
+                    idGeneration.setType((String) args[0]);
+                    idGeneration.setBatchStart(nextBatchStart.getAndAdd(BATCH_SIZE));
+                    idGeneration.setBatchSize(BATCH_SIZE);
+                    return idGeneration;
+                })
+                .build();
+        idGenerationService = new InMemoryIdGenerationService(dao);
+    }
+
+    @Benchmark
+    public Long findNextId() {
+        return idGenerationService.findNextId("ORDER");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Long findNextIdContended() {
+        return idGenerationService.findNextId("ORDER");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Long findNextIdAcrossTypes() {
+        return idGenerationService.findNextId(Thread.currentThread().getId() % 2 == 0 ? "ORDER" : "CUSTOMER");
+    }
+
+    public static class InMemoryIdGenerationService extends IdGenerationServiceImpl {
+
+        public InMemoryIdGenerationService(IdGenerationDao idGenerationDao) {
+            this.idGenerationDao = idGenerationDao;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.benchmark.fixture.Stubs;
+import org.broadleafcommerce.common.service.GenericEntityService;
+import org.broadleafcommerce.core.offer.dao.OfferDao;
+import org.broadleafcommerce.core.offer.domain.Offer;
+import org.broadleafcommerce.core.offer.domain.OfferTargetCriteriaXref;
+import org.broadleafcommerce.core.offer.domain.OrderItemPriceDetailAdjustmentImpl;
+import org.broadleafcommerce.core.offer.service.OfferDataItemProvider;
+import org.broadleafcommerce.core.offer.service.OfferServiceUtilitiesImpl;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableCandidateItemOffer;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableCandidateOrderOffer;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableItemFactoryImpl;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableOfferUtility;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableOfferUtilityImpl;
+import org.broadleafcommerce.core.offer.service.discount.domain.PromotableOrder;
+import org.broadleafcommerce.core.offer.service.processor.ItemOfferProcessorImpl;
+import org.broadleafcommerce.core.offer.service.processor.OfferTimeZoneProcessor;
+import org.broadleafcommerce.core.offer.service.type.OfferDiscountType;
+import org.broadleafcommerce.core.offer.service.type.OfferItemRestrictionRuleType;
+import org.broadleafcommerce.core.order.dao.OrderItemDao;
+import org.broadleafcommerce.core.order.domain.OrderItemPriceDetailImpl;
+import org.broadleafcommerce.core.order.domain.OrderItemQualifierImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures item offer selection in {@link ItemOfferProcessorImpl}. With more than one qualified item offer, the processor
+ * applies every permutation of the offers to the order to find the one with the lowest subtotal, so this is the part of
+ * pricing that grows fastest with the number of active promotions. The fixtures come from {@link OfferDataItemProvider},
+ * the same order and offers the offer processor unit tests use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemOfferPermutationBenchmark {
+
+    protected static final String CATEGORY_RULE = "([MVEL.eval(\"toUpperCase()\",\"test1\"), MVEL.eval(\"toUpperCase()\",\"test2\")] "
+            + "contains MVEL.eval(\"toUpperCase()\", discreteOrderItem.category.name))";
+
+    protected OfferDataItemProvider dataProvider = new OfferDataItemProvider();
+    protected PromotableOfferUtility promotableOfferUtility;
+    protected ItemOfferProcessorImpl itemProcessor;
+    protected List<Offer> offers;
+
+    protected PromotableOrder order;
+    protected List<PromotableCandidateItemOffer> qualifiedItemOffers;
+
+    @Setup(Level.Trial)
+    public void setupProcessor() {
+        promotableOfferUtility = new PromotableOfferUtilityImpl();
+
+        OfferDao offerDao = Stubs.of(OfferDao.class)
+                .answer("createOrderItemPriceDetailAdjustment", args -> new OrderItemPriceDetailAdjustmentImpl())
+                .build();
+        OrderItemDao orderItemDao = Stubs.of(OrderItemDao.class)
+                .answer("createOrderItemPriceDetail", args -> new OrderItemPriceDetailImpl())
+                .answer("createOrderItemQualifier", args -> new OrderItemQualifierImpl())
+                .build();
+        OfferTimeZoneProcessor offerTimeZoneProcessor = Stubs.of(OfferTimeZoneProcessor.class)
+                .returning("getTimeZone", TimeZone.getTimeZone("CST"))
+                .build();
+
+        OfferServiceUtilitiesImpl offerServiceUtilities = new OfferServiceUtilitiesImpl(promotableOfferUtility);
+        offerServiceUtilities.setOfferDao(offerDao);
+        offerServiceUtilities.setPromotableItemFactory(new PromotableItemFactoryImpl(promotableOfferUtility));
+        offerServiceUtilities.setGenericEntityService(Stubs.of(GenericEntityService.class).build());
+
+        itemProcessor = new ItemOfferProcessorImpl(promotableOfferUtility);
+        itemProcessor.setOfferDao(offerDao);
+        itemProcessor.setOrderItemDao(orderItemDao);
+        itemProcessor.setOfferTimeZoneProcessor(offerTimeZoneProcessor);
+        itemProcessor.setPromotableItemFactory(new PromotableItemFactoryImpl(promotableOfferUtility));
+        itemProcessor.setOfferServiceUtilities(offerServiceUtilities);
+
+        Offer qualifierAndTarget = createOffer(1L, OfferDiscountType.PERCENT_OFF);
+
+        Offer targetOnly = createOffer(2L, OfferDiscountType.PERCENT_OFF);
+        OfferTargetCriteriaXref targetXref = targetOnly.getTargetItemCriteriaXref().iterator().next();
+        targetXref.getOfferItemCriteria().setQuantity(4);
+        targetOnly.getQualifyingItemCriteriaXref().clear();
+        targetOnly.setOfferItemTargetRuleType(OfferItemRestrictionRuleType.TARGET);
+
+        Offer amountOff = createOffer(3L, OfferDiscountType.AMOUNT_OFF);
+        amountOff.setPriority(-1);
+
+        offers = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(qualifierAndTarget, targetOnly, amountOff)));
+    }
+
+    @Setup(Level.Invocation)
+    public void setupOrder() {
+        order = dataProvider.createBasicPromotableOrder(promotableOfferUtility);
+        qualifiedItemOffers = new ArrayList<>();
+        for (Offer offer : offers) {
+            itemProcessor.filterItemLevelOffer(order, qualifiedItemOffers, offer);
+        }
+    }
+
+    @Benchmark
+    public PromotableOrder chooseBestPermutation() {
+        itemProcessor.applyAndCompareOrderAndItemOffers(order, new ArrayList<PromotableCandidateOrderOffer>(), qualifiedItemOffers);
+        return order;
+    }
+
+    protected Offer createOffer(Long id, OfferDiscountType discountType) {
+        Offer offer = dataProvider.createItemBasedOfferWithItemCriteria("order.subTotal.getAmount()>20", discountType,
+                CATEGORY_RULE, CATEGORY_RULE).get(0);
+        offer.setId(id);
+        return offer;
+    }
+}
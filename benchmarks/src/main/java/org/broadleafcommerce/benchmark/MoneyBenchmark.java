@@ -0,0 +1,160 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrencyImpl;
+import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.money.MoneyAccumulator;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Money} arithmetic that pricing performs for every item of a cart: extended price, a percent off
+ * adjustment, and the running subtotal. The accumulator variants do the same sums with {@link MoneyAccumulator}, the way
+ * the pricing workflow activities now do. The request context has a currency, so {@link Money#defaultCurrency()} takes
+ * the same path it takes during a storefront request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({ "5", "50", "200" })
+    public int itemCount;
+
+    protected Money[] prices;
+    protected int[] quantities;
+    protected Money[][] taxes;
+    protected BigDecimal percentOff;
+    protected Currency usd;
+
+    @Setup
+    public void setup() {
+        prices = new Money[itemCount];
+        quantities = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            prices[i] = new Money(new BigDecimal("9.99").add(BigDecimal.valueOf(i)), "USD");
+            quantities[i] = 1 + (i % 3);
+        }
+        taxes = new Money[itemCount][];
+        for (int i = 0; i < itemCount; i++) {
+            Money extended = prices[i].multiply(quantities[i]);
+            taxes[i] = new Money[] { extended.multiply(new BigDecimal("0.06")), extended.multiply(new BigDecimal("0.015")) };
+        }
+        percentOff = new BigDecimal("0.15");
+        usd = Currency.getInstance("USD");
+
+        BroadleafCurrency currency = new BroadleafCurrencyImpl();
+        currency.setCurrencyCode("USD");
+        BroadleafRequestContext brc = new BroadleafRequestContext();
+        brc.setBroadleafCurrency(currency);
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+    }
+
+    @Benchmark
+    public Money subtotal() {
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            subtotal = subtotal.add(prices[i].multiply(quantities[i]));
+        }
+        return subtotal;
+    }
+
+    @Benchmark
+    public Money subtotalWithAccumulator() {
+        MoneyAccumulator subtotal = new MoneyAccumulator(usd);
+        for (int i = 0; i < itemCount; i++) {
+            subtotal.add(prices[i], quantities[i]);
+        }
+        return subtotal.toMoney();
+    }
+
+    /**
+     * Sums the tax details of every line and then the line totals, like TotalActivity.setTaxSums.
+     */
+    @Benchmark
+    public Money taxSums() {
+        Money total = new Money(BigDecimal.ZERO);
+        for (int i = 0; i < itemCount; i++) {
+            Money itemTax = new Money(BigDecimal.ZERO);
+            for (Money tax : taxes[i]) {
+                itemTax = itemTax.add(tax);
+            }
+            total = total.add(itemTax);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money taxSumsWithAccumulator() {
+        MoneyAccumulator total = new MoneyAccumulator(usd);
+        MoneyAccumulator itemTax = new MoneyAccumulator(usd);
+        for (int i = 0; i < itemCount; i++) {
+            itemTax.reset();
+            for (Money tax : taxes[i]) {
+                itemTax.add(tax);
+            }
+            total.add(itemTax.toMoney());
+        }
+        return total.toMoney();
+    }
+
+    @Benchmark
+    public Money subtotalWithPercentOff() {
+        Money subtotal = new Money("0", "USD");
+        for (int i = 0; i < itemCount; i++) {
+            Money extended = prices[i].multiply(quantities[i]);
+            Money discount = extended.multiply(percentOff);
+            subtotal = subtotal.add(extended.subtract(discount));
+        }
+        return subtotal;
+    }
+
+    @Benchmark
+    public boolean compareAndMin() {
+        Money lowest = prices[0];
+        for (int i = 1; i < itemCount; i++) {
+            lowest = lowest.min(prices[i]);
+        }
+        return lowest.lessThan(prices[itemCount - 1]);
+    }
+}
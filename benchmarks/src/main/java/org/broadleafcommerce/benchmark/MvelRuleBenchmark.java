@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.rule.MvelHelper;
+import org.broadleafcommerce.core.order.domain.OrderImpl;
+import org.broadleafcommerce.profile.core.domain.CustomerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MvelHelper#evaluateRule(String, Map, Map)} with the kinds of rules that content targeting and offers
+ * evaluate on every storefront request. The cached variant is the steady state; the uncached variant shows what a cold
+ * or undersized expression cache costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MvelRuleBenchmark {
+
+    @Param({
+        "customer.registered == true",
+        "customer.registered == true && customer.emailAddress != null && customer.emailAddress.endsWith(\"@example.com\")",
+        "order.subTotal.amount >= 50 && MvelHelper.convertField(\"INTEGER\", \"5\") > 2"
+    })
+    public String rule;
+
+    protected Map<String, Object> ruleParameters;
+    protected Map<String, Serializable> expressionCache;
+
+    @Setup
+    public void setup() {
+        CustomerImpl customer = new CustomerImpl();
+        customer.setId(1L);
+        customer.setRegistered(true);
+        customer.setEmailAddress("shopper@example.com");
+
+        OrderImpl order = new OrderImpl();
+        order.setId(1L);
+        order.setSubTotal(new Money("74.99", "USD"));
+
+        ruleParameters = new HashMap<>();
+        ruleParameters.put("customer", customer);
+        ruleParameters.put("order", order);
+
+        expressionCache = new ConcurrentHashMap<>();
+        MvelHelper.evaluateRule(rule, ruleParameters, expressionCache);
+    }
+
+    @Benchmark
+    public boolean evaluateCachedRule() {
+        return MvelHelper.evaluateRule(rule, ruleParameters, expressionCache);
+    }
+
+    @Benchmark
+    public boolean evaluateUncachedRule() {
+        return MvelHelper.evaluateRule(rule, ruleParameters, new HashMap<String, Serializable>());
+    }
+}
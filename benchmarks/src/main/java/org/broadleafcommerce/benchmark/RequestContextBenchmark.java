@@ -0,0 +1,119 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrencyImpl;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.domain.LocaleImpl;
+import org.broadleafcommerce.common.site.domain.Site;
+import org.broadleafcommerce.common.site.domain.SiteImpl;
+import org.broadleafcommerce.common.site.domain.ThemeDTO;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Currency;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request work around {@link BroadleafRequestContext}: building and binding a context the way the
+ * request processors do, and the thread-local lookups that storefront code performs many times per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestContextBenchmark {
+
+    protected Site site;
+    protected Locale locale;
+    protected BroadleafCurrency currency;
+    protected ThemeDTO theme;
+    protected TimeZone timeZone;
+
+    @Setup
+    public void setup() {
+        SiteImpl siteImpl = new SiteImpl();
+        siteImpl.setId(1L);
+        siteImpl.setName("Default Site");
+        site = siteImpl;
+
+        currency = new BroadleafCurrencyImpl();
+        currency.setCurrencyCode("USD");
+        currency.setDefaultFlag(true);
+
+        LocaleImpl localeImpl = new LocaleImpl();
+        localeImpl.setLocaleCode("en_US");
+        localeImpl.setDefaultCurrency(currency);
+        locale = localeImpl;
+
+        theme = new ThemeDTO();
+        theme.setName("default");
+        theme.setPath("default");
+
+        timeZone = TimeZone.getTimeZone("America/Chicago");
+    }
+
+    @TearDown
+    public void tearDown() {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+    }
+
+    @Benchmark
+    public BroadleafRequestContext setupAndTeardownContext() {
+        BroadleafRequestContext brc = new BroadleafRequestContext();
+        brc.setNonPersistentSite(site);
+        brc.setLocale(locale);
+        brc.setBroadleafCurrency(currency);
+        brc.setTheme(theme);
+        brc.setTimeZone(timeZone);
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        return brc;
+    }
+
+    @Benchmark
+    public void typicalLookups(Blackhole blackhole) {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext();
+        if (brc.getLocale() == null) {
+            brc.setNonPersistentSite(site);
+            brc.setLocale(locale);
+            brc.setBroadleafCurrency(currency);
+        }
+        blackhole.consume(BroadleafRequestContext.getBroadleafRequestContext().getNonPersistentSite());
+        blackhole.consume(BroadleafRequestContext.getBroadleafRequestContext().getJavaLocale());
+        Currency javaCurrency = BroadleafRequestContext.getBroadleafRequestContext().getJavaCurrency();
+        blackhole.consume(javaCurrency);
+        blackhole.consume(BroadleafRequestContext.getBroadleafRequestContext().isProductionSandBox());
+        blackhole.consume(BroadleafRequestContext.hasLocale());
+    }
+}
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark;
+
+import org.broadleafcommerce.benchmark.fixture.Stubs;
+import org.broadleafcommerce.cms.url.dao.URLHandlerDao;
+import org.broadleafcommerce.cms.url.domain.URLHandler;
+import org.broadleafcommerce.cms.url.domain.URLHandlerImpl;
+import org.broadleafcommerce.cms.url.service.URLHandlerServiceImpl;
+import org.broadleafcommerce.cms.url.type.URLRedirectType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the regex matching that {@link URLHandlerServiceImpl} performs when a URI is not in the URL handler cache.
+ * Every regex handler is tried in order, so a URI that matches nothing, which is the common case, pays for all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class URLHandlerMatchingBenchmark {
+
+    @Param({ "10", "200" })
+    public int handlerCount;
+
+    protected MatchingURLHandlerService urlHandlerService;
+    protected String firstHandlerUri;
+    protected String lastHandlerUri;
+    protected String unmatchedUri;
+
+    @Setup
+    public void setup() {
+        final List<URLHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < handlerCount; i++) {
+            URLHandlerImpl handler = new URLHandlerImpl();
+            handler.setId((long) i);
+            handler.setIncomingURL("/legacy-" + i + "/(.*)");
+            handler.setNewURL("/category-" + i + "/$1");
+            handler.setUrlRedirectType(URLRedirectType.REDIRECT_PERM);
+            handler.setRegexHandler(true);
+            handlers.add(handler);
+        }
+        URLHandlerDao urlHandlerDao = Stubs.of(URLHandlerDao.class)
+                .returning("findAllRegexURLHandlers", handlers)
+                .build();
+        urlHandlerService = new MatchingURLHandlerService(urlHandlerDao);
+
+        firstHandlerUri = "/legacy-0/summer-hot-sauces";
+        lastHandlerUri = "/legacy-" + (handlerCount - 1) + "/summer-hot-sauces";
+        unmatchedUri = "/hot-sauces/green-ghost";
+    }
+
+    @Benchmark
+    public URLHandler matchFirstHandler() {
+        return urlHandlerService.match(firstHandlerUri);
+    }
+
+    @Benchmark
+    public URLHandler matchLastHandler() {
+        return urlHandlerService.match(lastHandlerUri);
+    }
+
+    @Benchmark
+    public URLHandler matchNoHandler() {
+        return urlHandlerService.match(unmatchedUri);
+    }
+
+    public static class MatchingURLHandlerService extends URLHandlerServiceImpl {
+
+        public MatchingURLHandlerService(URLHandlerDao urlHandlerDao) {
+            this.urlHandlerDao = urlHandlerDao;
+        }
+
+        public URLHandler match(String uri) {
+            return checkForMatches(manipulateUri(uri));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*-
+ * #%L
+ * BroadleafCommerce Benchmarks
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.benchmark.fixture;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds in-memory stand-ins for the DAOs and helpers that the benchmarked services depend on. Only the methods that
+ * a benchmark actually reaches get an answer; everything else returns null, false or zero. Unlike a mocking library,
+ * a stub does not record calls, so it adds almost nothing to the measured time.
+ */
+public class Stubs {
+
+    public static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public static class Builder<T> {
+
+        protected final Class<T> type;
+        protected final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        protected Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Answers every call to the named method, regardless of the overload, with the result of the function
+         */
+        public Builder<T> answer(String methodName, Function<Object[], Object> answer) {
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        public Builder<T> returning(String methodName, Object value) {
+            return answer(methodName, args -> value);
+        }
+
+        @SuppressWarnings("unchecked")
+        public T build() {
+            InvocationHandler handler = (proxy, method, args) -> invoke(proxy, method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[] { type }, handler);
+        }
+
+        protected Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName() + " stub";
+                }
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        protected Object defaultValue(Class<?> returnType) {
+            if (!returnType.isPrimitive() || returnType == void.class) {
+                return null;
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == char.class) {
+                return '\0';
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            if (returnType == double.class) {
+                return 0D;
+            }
+            if (returnType == float.class) {
+                return 0F;
+            }
+            if (returnType == short.class) {
+                return (short) 0;
+            }
+            if (returnType == byte.class) {
+                return (byte) 0;
+            }
+            return 0;
+        }
+    }
+}
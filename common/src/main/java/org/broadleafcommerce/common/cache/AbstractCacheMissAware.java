@@ -20,6 +20,7 @@ package org.broadleafcommerce.common.cache;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.sandbox.domain.SandBox;
 import org.broadleafcommerce.common.site.domain.Site;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
@@ -52,6 +53,9 @@ public abstract class AbstractCacheMissAware<T> {
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
 
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     private Object nullObject = null;
 
     /**
@@ -113,6 +117,9 @@ public abstract class AbstractCacheMissAware<T> {
             getLogger().trace("Evicting [" + key + "] from the [" + cacheName + "] cache.");
         }
         getCache(cacheName).remove(key);
+        if (cacheInvalidationBus != null) {
+            cacheInvalidationBus.publishEviction(cacheName, key);
+        }
     }
 
     /**
@@ -125,6 +132,9 @@ public abstract class AbstractCacheMissAware<T> {
             getLogger().trace("Evicting all keys from the [" + cacheName + "] cache.");
         }
         getCache(cacheName).removeAll();
+        if (cacheInvalidationBus != null) {
+            cacheInvalidationBus.publishClear(cacheName);
+        }
     }
 
     /**
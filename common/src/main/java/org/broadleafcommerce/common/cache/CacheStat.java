@@ -29,6 +29,8 @@ public class CacheStat {
 
     protected AtomicLong requestCount = new AtomicLong(0L);
     protected AtomicLong cacheHitCount = new AtomicLong(0L);
+    protected AtomicLong loadCount = new AtomicLong(0L);
+    protected AtomicLong totalLoadTime = new AtomicLong(0L);
     protected Long lastLogTime = SystemTime.asMillis(true);
 
     public Long getCacheHitCount() {
@@ -55,6 +57,25 @@ public class CacheStat {
         cacheHitCount.incrementAndGet();
     }
 
+    public void addLoadTime(long millis) {
+        loadCount.incrementAndGet();
+        totalLoadTime.addAndGet(millis);
+    }
+
+    public Long getLoadCount() {
+        return loadCount.longValue();
+    }
+
+    /**
+     * @return the average time in milliseconds it took to load a value after a miss, or -1 if no load times were recorded
+     */
+    public BigDecimal getAverageLoadTime() {
+        if (getLoadCount() == 0) {
+            return new BigDecimal(-1);
+        }
+        return new BigDecimal(totalLoadTime.longValue()).divide(new BigDecimal(getLoadCount()), 2, BigDecimal.ROUND_HALF_UP);
+    }
+
     public BigDecimal getHitRate() {
         if (getRequestCount() == 0) {
             return new BigDecimal(-1);
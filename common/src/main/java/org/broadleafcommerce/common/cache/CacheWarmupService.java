@@ -0,0 +1,51 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.cache;
+
+/**
+ * Loads frequently used data into the caches when the application starts, so that the first requests served by a node
+ * do not all miss at once.
+ *
+ * @see CacheWarmupTask
+ */
+public interface CacheWarmupService {
+
+    /**
+     * Runs every enabled {@link CacheWarmupTask} and waits for the batches to finish, or for the timeout to pass.
+     * Only the first call does anything.
+     */
+    void warmUp();
+
+    /**
+     * @return whether the node is ready to take traffic as far as cache warm-up is concerned. This is true when
+     * warm-up is disabled, and otherwise once {@link #warmUp()} has returned.
+     */
+    boolean isReady();
+
+    int getTotalBatchCount();
+
+    int getCompletedBatchCount();
+
+    int getFailedBatchCount();
+
+    /**
+     * @return how long the warm-up took, or how long it has been running so far, in milliseconds
+     */
+    long getDurationMillis();
+
+}
@@ -0,0 +1,209 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the {@link CacheWarmupTask}s in a fixed size thread pool when the application is ready.
+ *
+ * The warm-up runs on the thread that publishes the {@link ApplicationReadyEvent}. Spring Boot only moves the
+ * application to {@link org.springframework.boot.availability.ReadinessState#ACCEPTING_TRAFFIC} after the listeners
+ * for that event have returned, so a readiness probe does not report the node as ready until the warm-up is done or
+ * has timed out. Progress and duration are also available through JMX.
+ *
+ * Warm-up is off by default. Set <code>cache.warmup.enabled=true</code> to turn it on, and list task names in
+ * <code>cache.warmup.tasks</code> to run only some of them.
+ */
+@Service("blCacheWarmupService")
+@ManagedResource(objectName="org.broadleafcommerce:name=CacheWarmupService", description="Cache Warm-up Service", currencyTimeLimit=15)
+public class CacheWarmupServiceImpl implements CacheWarmupService, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Log LOG = LogFactory.getLog(CacheWarmupServiceImpl.class);
+
+    @Autowired(required = false)
+    protected List<CacheWarmupTask> tasks = new ArrayList<>();
+
+    @Value("${cache.warmup.enabled:false}")
+    protected boolean enabled = false;
+
+    @Value("${cache.warmup.tasks:}")
+    protected String taskNames = "";
+
+    @Value("${cache.warmup.threads:4}")
+    protected int threads = 4;
+
+    @Value("${cache.warmup.timeout.seconds:120}")
+    protected long timeoutSeconds = 120;
+
+    protected final AtomicBoolean started = new AtomicBoolean();
+    protected final AtomicInteger totalBatches = new AtomicInteger();
+    protected final AtomicInteger completedBatches = new AtomicInteger();
+    protected final AtomicInteger failedBatches = new AtomicInteger();
+    protected volatile long startMillis;
+    protected volatile long endMillis;
+    protected volatile boolean complete;
+    protected volatile boolean timedOut;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startMillis = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), new WarmupThreadFactory());
+        try {
+            for (CacheWarmupTask task : getEnabledTasks()) {
+                List<Runnable> batches;
+                try {
+                    batches = task.getBatches();
+                } catch (RuntimeException e) {
+                    LOG.warn("Unable to build the cache warm-up batches for " + task.getName(), e);
+                    continue;
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Submitting " + batches.size() + " cache warm-up batches for " + task.getName());
+                }
+                totalBatches.addAndGet(batches.size());
+                for (Runnable batch : batches) {
+                    executor.execute(() -> runBatch(task, batch));
+                }
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                timedOut = true;
+                LOG.warn("Cache warm-up did not finish within " + timeoutSeconds + " seconds. Continuing startup with "
+                        + completedBatches.get() + " of " + totalBatches.get() + " batches complete.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            endMillis = System.currentTimeMillis();
+            complete = true;
+        }
+        LOG.info("Cache warm-up ran " + completedBatches.get() + " of " + totalBatches.get() + " batches ("
+                + failedBatches.get() + " failed) in " + getDurationMillis() + "ms");
+    }
+
+    protected void runBatch(CacheWarmupTask task, Runnable batch) {
+        BroadleafRequestContext.setBroadleafRequestContext(new BroadleafRequestContext());
+        try {
+            batch.run();
+            completedBatches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            LOG.warn("A cache warm-up batch for " + task.getName() + " failed", e);
+        } finally {
+            BroadleafRequestContext.setBroadleafRequestContext(null);
+        }
+    }
+
+    protected List<CacheWarmupTask> getEnabledTasks() {
+        if (StringUtils.isBlank(taskNames)) {
+            return tasks;
+        }
+        Set<String> names = new HashSet<>(Arrays.asList(StringUtils.stripAll(StringUtils.split(taskNames, ','))));
+        List<CacheWarmupTask> enabledTasks = new ArrayList<>();
+        for (CacheWarmupTask task : tasks) {
+            if (names.contains(task.getName())) {
+                enabledTasks.add(task);
+            }
+        }
+        return enabledTasks;
+    }
+
+    @Override
+    @ManagedAttribute(description="Whether cache warm-up is disabled or has finished", currencyTimeLimit=15)
+    public boolean isReady() {
+        return !enabled || complete;
+    }
+
+    @ManagedAttribute(description="Whether cache warm-up stopped waiting for batches because of the timeout", currencyTimeLimit=15)
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    @Override
+    @ManagedAttribute(description="The number of cache warm-up batches that were submitted", currencyTimeLimit=15)
+    public int getTotalBatchCount() {
+        return totalBatches.get();
+    }
+
+    @Override
+    @ManagedAttribute(description="The number of cache warm-up batches that have finished successfully", currencyTimeLimit=15)
+    public int getCompletedBatchCount() {
+        return completedBatches.get();
+    }
+
+    @Override
+    @ManagedAttribute(description="The number of cache warm-up batches that threw an exception", currencyTimeLimit=15)
+    public int getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    @Override
+    @ManagedAttribute(description="How long cache warm-up took, or has taken so far, in milliseconds", currencyTimeLimit=15)
+    public long getDurationMillis() {
+        if (startMillis == 0) {
+            return 0;
+        }
+        return (complete ? endMillis : System.currentTimeMillis()) - startMillis;
+    }
+
+    protected static class WarmupThreadFactory implements ThreadFactory {
+
+        protected final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "blCacheWarmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
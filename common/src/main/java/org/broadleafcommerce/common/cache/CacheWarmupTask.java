@@ -0,0 +1,45 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.cache;
+
+import java.util.List;
+
+/**
+ * A unit of work for the {@link CacheWarmupService}. Each task loads one kind of data into the caches that serve it
+ * during request processing, split into batches that can run in parallel.
+ *
+ * Batches run on warm-up threads with a fresh, empty {@link org.broadleafcommerce.common.web.BroadleafRequestContext}
+ * bound, so they see the production sandbox and no site. Exceptions thrown by a batch are logged and counted, and do
+ * not stop the other batches.
+ *
+ * @see CacheWarmupServiceImpl
+ */
+public interface CacheWarmupTask {
+
+    /**
+     * @return the name used to enable this task in the <code>cache.warmup.tasks</code> property and in log messages
+     */
+    String getName();
+
+    /**
+     * Builds the batches for this task. This is called on the thread that runs the warm-up, so it should do no more
+     * than read the keys that the batches will load.
+     */
+    List<Runnable> getBatches();
+
+}
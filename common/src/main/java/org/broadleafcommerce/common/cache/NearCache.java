@@ -0,0 +1,182 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A small, size-bounded, on-heap cache intended to sit in front of a JCache region. When the JCache provider is
+ * clustered, every hit on the region crosses the network and deserializes the value. A near cache answers repeated
+ * lookups for the same key from local memory instead.
+ *
+ * Entries also expire after a time to live. Evictions issued on one node do not reach the near cache of another node,
+ * so the time to live bounds how long another node can serve a stale value.
+ *
+ * Entries are held in a {@link ConcurrentHashMap}, so lookups never block and invalidation can walk the keys while
+ * other threads read and write. When a put takes the cache over its maximum size, expired entries are dropped first and
+ * then the least recently read ones, down to three quarters of the maximum, so that a full cache does not trim on
+ * every put.
+ *
+ * Values should be immutable, since the same instance is handed to every caller.
+ */
+public class NearCache<K, V> {
+
+    protected final String name;
+    protected final Map<K, NearCacheEntry<V>> entries = new ConcurrentHashMap<>();
+    protected final int maxEntries;
+    protected final long timeToLiveMillis;
+    protected final AtomicBoolean trimming = new AtomicBoolean();
+    protected final AtomicLong hits = new AtomicLong();
+    protected final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param name a name used for logging and statistics
+     * @param maxEntries the number of entries after which least recently used entries are evicted
+     * @param timeToLiveSeconds the number of seconds an entry is served before it must be reloaded from the backing cache
+     */
+    public NearCache(String name, int maxEntries, long timeToLiveSeconds) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLiveSeconds * 1000L;
+    }
+
+    /**
+     * Returns the cached value, or null if there is no live entry for the key.
+     */
+    public V get(K key) {
+        NearCacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            entries.remove(key, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.setLastRead(now);
+        hits.incrementAndGet();
+        return entry.getValue();
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.put(key, new NearCacheEntry<>(value, now, now + timeToLiveMillis));
+        if (entries.size() > maxEntries) {
+            trim(now);
+        }
+    }
+
+    /**
+     * Drops the expired entries and then, if the cache is still over three quarters of its maximum size, the least
+     * recently read entries. Only one thread trims at a time; puts on other threads carry on meanwhile.
+     */
+    protected void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            int excess = entries.size() - maxEntries * 3 / 4;
+            if (excess > 0) {
+                List<Map.Entry<K, NearCacheEntry<V>>> leastRecentlyRead = new ArrayList<>(entries.entrySet());
+                leastRecentlyRead.sort(Comparator.comparingLong(entry -> entry.getValue().getLastRead()));
+                for (int i = 0; i < excess && i < leastRecentlyRead.size(); i++) {
+                    Map.Entry<K, NearCacheEntry<V>> entry = leastRecentlyRead.get(i);
+                    entries.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    public void remove(K key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches the predicate. This walks all of the keys, so it is meant for
+     * invalidation paths rather than for request processing.
+     */
+    public void removeIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    protected static class NearCacheEntry<V> {
+
+        protected final V value;
+        protected final long expiresAt;
+        protected volatile long lastRead;
+
+        public NearCacheEntry(V value, long created, long expiresAt) {
+            this.value = value;
+            this.lastRead = created;
+            this.expiresAt = expiresAt;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getLastRead() {
+            return lastRead;
+        }
+
+        public void setLastRead(long lastRead) {
+            this.lastRead = lastRead;
+        }
+
+        public boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+}
@@ -23,6 +23,13 @@ package org.broadleafcommerce.common.cache;
 public interface StatisticsService {
     void addCacheStat(String key, boolean isHit);
 
+    /**
+     * Records how long it took to build a value for the cache identified by the key, usually after a miss. Does
+     * nothing by default.
+     */
+    default void addCacheLoadTime(String key, long millis) {
+    }
+
     Long getLogResolution();
 
     void setLogResolution(Long logResolution);
@@ -73,11 +73,20 @@ public class StatisticsServiceImpl implements DynamicMBean, StatisticsService, S
             myStat.setLastLogTime(SystemTime.asMillis());
             BigDecimal percentage = myStat.getHitRate();
             if (LOG.isInfoEnabled()) {
-                LOG.info("Cache hit percentage for " + key + " is: " + percentage.toString() + "%");
+                String message = "Cache hit percentage for " + key + " is: " + percentage.toString() + "%";
+                if (myStat.getLoadCount() > 0) {
+                    message += ", average load time is: " + myStat.getAverageLoadTime().toString() + "ms";
+                }
+                LOG.info(message);
             }
         }
     }
 
+    @Override
+    public void addCacheLoadTime(String key, long millis) {
+        getCacheStat(key).addLoadTime(millis);
+    }
+
     protected CacheStat getCacheStat(String key) {
         if (!cacheStats.containsKey(key)) {
             CacheStat stat = new CacheStat();
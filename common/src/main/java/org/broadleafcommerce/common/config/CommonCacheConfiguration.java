@@ -130,6 +130,11 @@ public class CommonCacheConfiguration {
         return new JCacheRegionConfiguration("blTemplateElements", 3600, 5000);
     }
 
+    @Bean
+    public JCacheRegionConfiguration blTemplateFragmentElements() {
+        return new JCacheRegionConfiguration("blTemplateFragmentElements", 3600, 10000);
+    }
+
     @Bean
     public JCacheRegionConfiguration blTranslationElements() {
         return new JCacheRegionConfiguration("blTranslationElements", 3600, 10000000);
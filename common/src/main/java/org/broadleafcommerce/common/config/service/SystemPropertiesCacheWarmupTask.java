@@ -0,0 +1,70 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.config.service;
+
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.common.config.dao.SystemPropertiesDao;
+import org.broadleafcommerce.common.config.domain.SystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+/**
+ * Resolves every system property stored in the database so that the values are in the system property cache.
+ */
+@Component("blSystemPropertiesCacheWarmupTask")
+public class SystemPropertiesCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blSystemPropertiesDao")
+    protected SystemPropertiesDao systemPropertiesDao;
+
+    @Resource(name = "blSystemPropertiesService")
+    protected SystemPropertiesService systemPropertiesService;
+
+    @Value("${cache.warmup.batch.size:50}")
+    protected int batchSize = 50;
+
+    @Override
+    public String getName() {
+        return "systemProperties";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        List<String> names = new ArrayList<>();
+        for (SystemProperty property : systemPropertiesDao.readAllSystemProperties()) {
+            names.add(property.getName());
+        }
+        List<Runnable> batches = new ArrayList<>();
+        for (List<String> batch : Lists.partition(names, Math.max(1, batchSize))) {
+            batches.add(() -> {
+                for (String name : batch) {
+                    systemPropertiesService.resolveSystemProperty(name);
+                }
+            });
+        }
+        return batches;
+    }
+
+}
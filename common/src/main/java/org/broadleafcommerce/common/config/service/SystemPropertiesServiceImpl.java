@@ -23,6 +23,7 @@ import org.broadleafcommerce.common.classloader.release.ThreadLocalManager;
 import org.broadleafcommerce.common.config.dao.SystemPropertiesDao;
 import org.broadleafcommerce.common.config.domain.SystemProperty;
 import org.broadleafcommerce.common.config.service.type.SystemPropertyFieldType;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.extensibility.jpa.SiteDiscriminator;
 import org.broadleafcommerce.common.extension.ExtensionResultHolder;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
@@ -70,6 +71,9 @@ public class SystemPropertiesServiceImpl implements SystemPropertiesService{
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
 
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     @Autowired
     protected Environment env;
 
@@ -228,11 +232,13 @@ public class SystemPropertiesServiceImpl implements SystemPropertiesService{
         //including the site (if applicable) from the systemProperty itself
         String key = buildKey(systemProperty);
         getSystemPropertyCache().remove(key);
+        cacheInvalidationBus.publishEviction(getCacheName(), key);
 
         // The system property could have been called from the environment,
         // so we need to evict that cache key as well
         key = buildKey(systemProperty, true);
         getSystemPropertyCache().remove(key);
+        cacheInvalidationBus.publishEviction(getCacheName(), key);
 
         systemPropertiesDao.removeFromCache(systemProperty);
     }
@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Resource;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+/**
+ * Handles the parts of a {@link CacheInvalidationBus} that don't depend on the transport: building events, ignoring
+ * this node's own events, calling listeners and applying the eviction to the local JCache region.
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Log LOG = LogFactory.getLog(AbstractCacheInvalidationBus.class);
+
+    @Resource(name = "blCacheManager")
+    protected CacheManager cacheManager;
+
+    protected final String nodeId = UUID.randomUUID().toString();
+    protected final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publishEviction(String cacheName, String key) {
+        if (cacheName == null || key == null) {
+            return;
+        }
+        publish(new CacheInvalidationEvent(cacheName, key, nodeId, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        if (cacheName == null) {
+            return;
+        }
+        publish(new CacheInvalidationEvent(cacheName, null, nodeId, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sends the event to the other nodes.
+     *
+     * @param event
+     */
+    protected abstract void publish(CacheInvalidationEvent event);
+
+    /**
+     * Applies an event that was received from another node. Events published by this node are ignored.
+     *
+     * @param event
+     */
+    protected void receive(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            return;
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Applying remote cache invalidation for " + event);
+        }
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                LOG.error("Cache invalidation listener failed for " + event, e);
+            }
+        }
+        Cache<Object, Object> cache = cacheManager == null ? null : cacheManager.getCache(event.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (event.isClear()) {
+            cache.removeAll();
+        } else {
+            cache.remove(event.getKey());
+        }
+    }
+
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+}
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache;
+
+/**
+ * Broadcasts JCache evictions to the other nodes of a cluster. Most Broadleaf regions live in a per-node cache, so
+ * without a bus a change made in the admin is only seen by the storefront nodes once their entries expire.
+ *
+ * Publishing does not touch the local cache. Callers evict locally the way they always have and then publish, and
+ * every other node removes the same key from the region with the same name. Keys must be Strings, since they have to
+ * survive the trip to another JVM.
+ *
+ * @see InProcessCacheInvalidationBus
+ * @see DatabaseCacheInvalidationBus
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Asks the other nodes to remove a single key from the named region.
+     *
+     * @param cacheName the JCache region name
+     * @param key the key that was evicted locally
+     */
+    void publishEviction(String cacheName, String key);
+
+    /**
+     * Asks the other nodes to remove every entry from the named region.
+     *
+     * @param cacheName the JCache region name
+     */
+    void publishClear(String cacheName);
+
+    /**
+     * Registers a listener that is called for every event received from another node, before the key is removed
+     * from the region. Services use this to clear state that the region can't know about, such as a near cache or
+     * entries whose keys are derived from the evicted value.
+     *
+     * @param listener
+     */
+    void addListener(CacheInvalidationListener listener);
+
+    /**
+     * @return the identifier of this node, used to ignore events that this node published
+     */
+    String getNodeId();
+
+}
@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache;
+
+import java.io.Serializable;
+
+/**
+ * An eviction sent over a {@link CacheInvalidationBus}. A null key means the whole region should be cleared.
+ */
+public class CacheInvalidationEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final String cacheName;
+    protected final String key;
+    protected final String nodeId;
+    protected final long createdMillis;
+
+    public CacheInvalidationEvent(String cacheName, String key, String nodeId, long createdMillis) {
+        this.cacheName = cacheName;
+        this.key = key;
+        this.nodeId = nodeId;
+        this.createdMillis = createdMillis;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    @Override
+    public String toString() {
+        return cacheName + (isClear() ? " (all keys)" : " [" + key + "]") + " from " + nodeId;
+    }
+}
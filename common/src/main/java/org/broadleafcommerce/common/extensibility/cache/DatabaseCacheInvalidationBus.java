@@ -0,0 +1,213 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.extensibility.cache.domain.CacheInvalidationMessage;
+import org.broadleafcommerce.common.extensibility.cache.domain.CacheInvalidationMessageImpl;
+import org.broadleafcommerce.common.persistence.EntityConfiguration;
+import org.broadleafcommerce.common.util.TransactionUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Passes evictions between nodes through the BLC_CACHE_INVALIDATION table. Publishing inserts a row, and every node
+ * polls the table for rows written by other nodes. Since all nodes already share the database, this needs no extra
+ * infrastructure. Enable it with <code>cache.invalidation.bus=database</code>.
+ *
+ * When an eviction is published inside a transaction, the row is written after that transaction commits. Other nodes
+ * therefore can't evict and then reload the old value before the change is visible to them.
+ *
+ * Each poll reads rows newer than the previous poll minus <code>cache.invalidation.poll.overlap.millis</code>, which
+ * covers clock skew between nodes and rows that were committed after the previous poll started. Rows that were already
+ * applied are skipped. Rows older than <code>cache.invalidation.retention.minutes</code> are deleted by whichever node
+ * gets to them first.
+ */
+@Component("blCacheInvalidationBus")
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "database")
+public class DatabaseCacheInvalidationBus extends AbstractCacheInvalidationBus implements InitializingBean, DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(DatabaseCacheInvalidationBus.class);
+
+    protected static final int MAX_REMEMBERED_MESSAGES = 10000;
+
+    @PersistenceContext(unitName = "blPU")
+    protected EntityManager em;
+
+    @Resource(name = "blTransactionManager")
+    protected PlatformTransactionManager transactionManager;
+
+    @Resource(name = "blEntityConfiguration")
+    protected EntityConfiguration entityConfiguration;
+
+    @Value("${cache.invalidation.poll.interval.millis:2000}")
+    protected long pollIntervalMillis = 2000L;
+
+    @Value("${cache.invalidation.poll.overlap.millis:10000}")
+    protected long pollOverlapMillis = 10000L;
+
+    @Value("${cache.invalidation.retention.minutes:60}")
+    protected long retentionMinutes = 60L;
+
+    protected Timer timer;
+    protected long lastPollMillis;
+    protected long lastPurgeMillis;
+
+    /**
+     * Ids of the rows that were applied recently. Only touched by the timer thread.
+     */
+    protected final Map<Long, Boolean> appliedMessageIds = new LinkedHashMap<Long, Boolean>(16, 0.75f, false) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_REMEMBERED_MESSAGES;
+        }
+    };
+
+    @Override
+    public void afterPropertiesSet() {
+        // Don't replay evictions that happened before this node started; its caches are empty anyway.
+        lastPollMillis = System.currentTimeMillis();
+        lastPurgeMillis = lastPollMillis;
+        timer = new Timer("CacheInvalidationPollThread", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    poll();
+                } catch (RuntimeException e) {
+                    LOG.error("Unable to poll for cache invalidation messages", e);
+                }
+            }
+        }, pollIntervalMillis, pollIntervalMillis);
+    }
+
+    @Override
+    public void destroy() {
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    @Override
+    protected void publish(final CacheInvalidationEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    insert(event);
+                }
+            });
+        } else {
+            insert(event);
+        }
+    }
+
+    protected void insert(CacheInvalidationEvent event) {
+        TransactionStatus status = TransactionUtils.createTransaction("insertCacheInvalidationMessage",
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW, transactionManager, false);
+        boolean isError = false;
+        try {
+            CacheInvalidationMessage message = (CacheInvalidationMessage) entityConfiguration.createEntityInstance(CacheInvalidationMessage.class.getName());
+            message.setCacheName(event.getCacheName());
+            message.setCacheKey(event.getKey());
+            message.setNodeId(event.getNodeId());
+            message.setCreatedMillis(event.getCreatedMillis());
+            em.persist(message);
+        } catch (RuntimeException e) {
+            isError = true;
+            LOG.error("Unable to publish cache invalidation for " + event, e);
+        } finally {
+            TransactionUtils.finalizeTransaction(status, transactionManager, isError);
+        }
+    }
+
+    protected void poll() {
+        long now = System.currentTimeMillis();
+        List<CacheInvalidationMessage> messages = readMessagesSince(lastPollMillis - pollOverlapMillis);
+        for (CacheInvalidationMessage message : messages) {
+            if (appliedMessageIds.put(message.getId(), Boolean.TRUE) == null) {
+                receive(new CacheInvalidationEvent(message.getCacheName(), message.getCacheKey(), message.getNodeId(),
+                        message.getCreatedMillis()));
+            }
+        }
+        lastPollMillis = now;
+
+        long retentionMillis = retentionMinutes * 60L * 1000L;
+        if (now - lastPurgeMillis > Math.min(retentionMillis, 10L * 60L * 1000L)) {
+            purgeMessagesBefore(now - retentionMillis);
+            lastPurgeMillis = now;
+        }
+    }
+
+    protected List<CacheInvalidationMessage> readMessagesSince(long sinceMillis) {
+        TransactionStatus status = TransactionUtils.createTransaction("readCacheInvalidationMessages",
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW, transactionManager, true);
+        boolean isError = false;
+        try {
+            return em.createQuery("SELECT message FROM " + CacheInvalidationMessageImpl.class.getName() + " message "
+                    + "WHERE message.createdMillis >= :since AND message.nodeId <> :nodeId "
+                    + "ORDER BY message.createdMillis", CacheInvalidationMessage.class)
+                    .setParameter("since", sinceMillis)
+                    .setParameter("nodeId", nodeId)
+                    .getResultList();
+        } catch (RuntimeException e) {
+            isError = true;
+            throw e;
+        } finally {
+            TransactionUtils.finalizeTransaction(status, transactionManager, isError);
+        }
+    }
+
+    protected void purgeMessagesBefore(long beforeMillis) {
+        TransactionStatus status = TransactionUtils.createTransaction("purgeCacheInvalidationMessages",
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW, transactionManager, false);
+        boolean isError = false;
+        try {
+            em.createQuery("DELETE FROM " + CacheInvalidationMessageImpl.class.getName() + " message "
+                    + "WHERE message.createdMillis < :before")
+                    .setParameter("before", beforeMillis)
+                    .executeUpdate();
+        } catch (RuntimeException e) {
+            isError = true;
+            LOG.warn("Unable to purge old cache invalidation messages", e);
+        } finally {
+            TransactionUtils.finalizeTransaction(status, transactionManager, isError);
+        }
+    }
+}
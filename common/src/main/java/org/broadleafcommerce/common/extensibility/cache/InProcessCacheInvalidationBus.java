@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers events synchronously to the other buses on the same channel in this JVM. This is the default bus: with a
+ * single application context there is nobody else on the channel, so publishing costs nothing. Tests can create
+ * several buses on a shared channel, each with its own CacheManager, to stand in for the nodes of a cluster.
+ *
+ * Set <code>cache.invalidation.bus=database</code> to use {@link DatabaseCacheInvalidationBus} instead.
+ */
+@Component("blCacheInvalidationBus")
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "inprocess", matchIfMissing = true)
+public class InProcessCacheInvalidationBus extends AbstractCacheInvalidationBus implements InitializingBean, DisposableBean {
+
+    public static final String DEFAULT_CHANNEL = "default";
+
+    protected static final Map<String, List<InProcessCacheInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    protected final String channel;
+
+    public InProcessCacheInvalidationBus() {
+        this(DEFAULT_CHANNEL);
+    }
+
+    public InProcessCacheInvalidationBus(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        getMembers().add(this);
+    }
+
+    @Override
+    public void destroy() {
+        getMembers().remove(this);
+    }
+
+    @Override
+    protected void publish(CacheInvalidationEvent event) {
+        for (InProcessCacheInvalidationBus member : getMembers()) {
+            if (member != this) {
+                member.receive(event);
+            }
+        }
+    }
+
+    protected List<InProcessCacheInvalidationBus> getMembers() {
+        List<InProcessCacheInvalidationBus> members = CHANNELS.get(channel);
+        if (members == null) {
+            CHANNELS.putIfAbsent(channel, new CopyOnWriteArrayList<InProcessCacheInvalidationBus>());
+            members = CHANNELS.get(channel);
+        }
+        return members;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+}
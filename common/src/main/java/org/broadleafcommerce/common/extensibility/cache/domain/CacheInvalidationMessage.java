@@ -0,0 +1,51 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache.domain;
+
+import java.io.Serializable;
+
+/**
+ * A row in the table that {@link org.broadleafcommerce.common.extensibility.cache.DatabaseCacheInvalidationBus} uses to
+ * pass evictions between nodes.
+ */
+public interface CacheInvalidationMessage extends Serializable {
+
+    Long getId();
+
+    void setId(Long id);
+
+    String getCacheName();
+
+    void setCacheName(String cacheName);
+
+    /**
+     * @return the evicted key, or null if the whole region was cleared
+     */
+    String getCacheKey();
+
+    void setCacheKey(String cacheKey);
+
+    String getNodeId();
+
+    void setNodeId(String nodeId);
+
+    Long getCreatedMillis();
+
+    void setCreatedMillis(Long createdMillis);
+
+}
@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.cache.domain;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "BLC_CACHE_INVALIDATION", indexes = {
+        @Index(name = "IDX_BLCAIN_CREATED_MILLIS", columnList = "CREATED_MILLIS")
+    })
+@Inheritance(strategy = InheritanceType.JOINED)
+public class CacheInvalidationMessageImpl implements CacheInvalidationMessage {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(generator = "CacheInvalidationMessageId")
+    @GenericGenerator(
+        name = "CacheInvalidationMessageId",
+        strategy = "org.broadleafcommerce.common.persistence.IdOverrideTableGenerator",
+        parameters = {
+            @Parameter(name = "segment_value", value = "CacheInvalidationMessageImpl"),
+            @Parameter(name = "entity_name", value = "org.broadleafcommerce.common.extensibility.cache.domain.CacheInvalidationMessageImpl")
+        }
+    )
+    @Column(name = "CACHE_INVALIDATION_ID")
+    protected Long id;
+
+    @Column(name = "CACHE_NAME", nullable = false)
+    protected String cacheName;
+
+    @Column(name = "CACHE_KEY", length = 2000)
+    protected String cacheKey;
+
+    @Column(name = "NODE_ID", nullable = false, length = 36)
+    protected String nodeId;
+
+    @Column(name = "CREATED_MILLIS", nullable = false)
+    protected Long createdMillis;
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    @Override
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    @Override
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    @Override
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public Long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    @Override
+    public void setCreatedMillis(Long createdMillis) {
+        this.createdMillis = createdMillis;
+    }
+}
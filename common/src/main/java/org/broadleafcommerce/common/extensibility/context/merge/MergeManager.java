@@ -17,6 +17,7 @@
  */
 package org.broadleafcommerce.common.extensibility.context.merge;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -93,11 +94,14 @@ public class MergeManager {
 
     private MergeHandler[] handlers;
 
+    private String handlerFingerprint;
+
     public MergeManager() throws MergeManagerSetupException {
         try {
             Properties props = loadProperties();
             removeSkippedMergeComponents(props);
             setHandlers(props);
+            handlerFingerprint = buildHandlerFingerprint(props);
         } catch (IOException e) {
             throw new MergeManagerSetupException(e);
         } catch (ClassNotFoundException e) {
@@ -235,22 +239,26 @@ public class MergeManager {
      */
     public ResourceInputStream merge(ResourceInputStream stream1, ResourceInputStream stream2) throws MergeException {
         try {
+            long start = System.currentTimeMillis();
             Document doc1 = builder.parse(stream1);
             Document doc2 = builder.parse(stream2);
+            long parsed = System.currentTimeMillis();
 
             List<Node> exhaustedNodes = new ArrayList<>();
+            MergePointLocator locator = new MergePointLocator(doc1, doc2);
 
             //process any defined handlers
             for (MergeHandler handler : this.handlers) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Processing handler: " + handler.getXPath());
                 }
-                MergePoint point = new MergePoint(handler, doc1, doc2);
+                MergePoint point = new MergePoint(handler, locator);
                 Node[] list = point.merge(exhaustedNodes);
                 if (list != null) {
                     Collections.addAll(exhaustedNodes, list);
                 }
             }
+            long merged = System.currentTimeMillis();
 
             TransformerFactory tFactory = TransformerFactory.newInstance();
             Transformer xmlTransformer = tFactory.newTransformer();
@@ -274,6 +282,12 @@ public class MergeManager {
 
             byte[] itemArray = baos.toByteArray();
 
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Merged " + stream2.getName() + " in " + (System.currentTimeMillis() - start) + "ms (parse "
+                        + (parsed - start) + "ms, handlers " + (merged - parsed) + "ms, serialize "
+                        + (System.currentTimeMillis() - merged) + "ms)");
+            }
+
             return new ResourceInputStream(new ByteArrayInputStream(itemArray), stream2.getName(), stream1.getNames());
         } catch (Exception e) {
             throw new MergeException(e);
@@ -335,6 +349,24 @@ public class MergeManager {
         Arrays.sort(this.handlers);
     }
 
+    /**
+     * Identifies the merge handler configuration, so that a merged result cached with one configuration is not used
+     * with another.
+     */
+    private String buildHandlerFingerprint(Properties props) {
+        List<String> keys = new ArrayList<>(props.stringPropertyNames());
+        Collections.sort(keys);
+        StringBuilder sb = new StringBuilder();
+        for (String key : keys) {
+            sb.append(key).append('=').append(props.getProperty(key)).append('\n');
+        }
+        return DigestUtils.sha256Hex(sb.toString());
+    }
+
+    public String getHandlerFingerprint() {
+        return handlerFingerprint;
+    }
+
     private Properties loadProperties() throws IOException {
         Properties defaultProperties = new Properties();
         defaultProperties.load(MergeManager.class.getResourceAsStream("default.properties"));
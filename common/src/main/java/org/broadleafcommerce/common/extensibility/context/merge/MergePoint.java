@@ -22,13 +22,9 @@ import org.apache.commons.logging.LogFactory;
 import org.broadleafcommerce.common.extensibility.context.merge.handlers.MergeHandler;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import javax.xml.transform.TransformerException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -50,16 +46,19 @@ public class MergePoint {
     private static final Log LOG = LogFactory.getLog(MergePoint.class);
     
     private MergeHandler handler;
-    private Document doc1;
-    private Document doc2;
-    private XPath xPath;
+    private MergePointLocator locator;
     
     public MergePoint(MergeHandler handler, Document doc1, Document doc2) {
+        this(handler, new MergePointLocator(doc1, doc2));
+    }
+
+    /**
+     * @param handler
+     * @param locator shared by all of the merge points of a single merge, so that the patch document is only indexed once
+     */
+    public MergePoint(MergeHandler handler, MergePointLocator locator) {
         this.handler = handler;
-        this.doc1 = doc1;
-        this.doc2 = doc2;
-        XPathFactory factory=XPathFactory.newInstance();
-        xPath=factory.newXPath();
+        this.locator = locator;
     }
     
     /**
@@ -91,23 +90,13 @@ public class MergePoint {
         List<Node> nodeList1 = new ArrayList<Node>();
         List<Node> nodeList2 = new ArrayList<Node>();
         for (String xPathVal : xPaths) {
-            NodeList temp1 = (NodeList) xPath.evaluate(xPathVal, doc1, XPathConstants.NODESET);
-            if (temp1 != null) {
-                int length = temp1.getLength();
-                for (int j=0;j<length;j++) {
-                    nodeList1.add(temp1.item(j));
-                }
-            }
-            NodeList temp2 = (NodeList) xPath.evaluate(xPathVal, doc2, XPathConstants.NODESET);
-            if (temp2 != null) {
-                int length = temp2.getLength();
-                for (int j=0;j<length;j++) {
-                    nodeList2.add(temp2.item(j));
-                }
-            }
+            nodeList1.addAll(locator.findSourceNodes(xPathVal));
+            nodeList2.addAll(locator.findPatchNodes(xPathVal));
         }
         if (nodeList1 != null && nodeList2 != null) {
-            return handler.merge(nodeList1, nodeList2, exhaustedNodes);
+            Node[] merged = handler.merge(nodeList1, nodeList2, exhaustedNodes);
+            locator.sourceChanged();
+            return merged;
         }
         return null;
     }
@@ -0,0 +1,245 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.context.merge;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Finds the nodes of a merge point in the source and patch documents of a single merge. Merge points are almost
+ * always simple absolute paths such as /beans/bean[@id='blConfiguration'] or /config/*, so instead of running them
+ * through a general XPath engine they are resolved by walking down the child elements of the document, using an index
+ * of the child elements by name that is built once per parent. Expressions that use anything else fall back to XPath.
+ *
+ * Handlers never add or remove nodes in the patch document, so its indexes live for the whole merge. Handlers do
+ * restructure the source document, so its indexes are dropped with {@link #sourceChanged()} after every handler.
+ *
+ * @see MergeManager
+ */
+public class MergePointLocator {
+
+    protected static final Pattern STEP_PATTERN = Pattern.compile("^([A-Za-z_][\\w.\\-]*|\\*)(?:\\[@([A-Za-z_][\\w.\\-]*)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\])?$");
+    protected static final Pattern ATTRIBUTE_STEP_PATTERN = Pattern.compile("^@([A-Za-z_][\\w.\\-]*)$");
+
+    /**
+     * Parsed expressions, shared by every merge. An empty list marks an expression that must be evaluated by XPath.
+     */
+    protected static final Map<String, List<Step>> PARSED_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    protected final Document sourceDocument;
+    protected final Document patchDocument;
+    protected Map<Node, ChildIndex> sourceIndexes = new HashMap<>();
+    protected final Map<Node, ChildIndex> patchIndexes = new HashMap<>();
+    protected XPath xPath;
+
+    public MergePointLocator(Document sourceDocument, Document patchDocument) {
+        this.sourceDocument = sourceDocument;
+        this.patchDocument = patchDocument;
+    }
+
+    public List<Node> findSourceNodes(String expression) throws XPathExpressionException {
+        return find(sourceDocument, sourceIndexes, expression);
+    }
+
+    public List<Node> findPatchNodes(String expression) throws XPathExpressionException {
+        return find(patchDocument, patchIndexes, expression);
+    }
+
+    /**
+     * Must be called after a handler may have added, replaced or removed nodes in the source document.
+     */
+    public void sourceChanged() {
+        sourceIndexes = new HashMap<>();
+    }
+
+    protected List<Node> find(Document document, Map<Node, ChildIndex> indexes, String expression) throws XPathExpressionException {
+        List<Step> steps = PARSED_EXPRESSIONS.get(expression);
+        if (steps == null) {
+            steps = parse(expression);
+            PARSED_EXPRESSIONS.put(expression, steps);
+        }
+        List<Node> nodes = steps.isEmpty() ? null : walk(document, indexes, steps);
+        if (nodes == null) {
+            nodes = evaluate(document, expression);
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the nodes matching the steps in document order, or null if the document contains something the walk
+     * cannot match exactly the way XPath would, such as prefixed element names
+     */
+    protected List<Node> walk(Document document, Map<Node, ChildIndex> indexes, List<Step> steps) {
+        List<Node> current = Collections.<Node>singletonList(document);
+        for (Step step : steps) {
+            List<Node> next = new ArrayList<>();
+            for (Node parent : current) {
+                if (step.attribute) {
+                    Node attribute = parent.getAttributes() == null ? null : parent.getAttributes().getNamedItem(step.name);
+                    if (attribute != null) {
+                        next.add(attribute);
+                    }
+                    continue;
+                }
+                ChildIndex index = indexes.get(parent);
+                if (index == null) {
+                    index = new ChildIndex(parent);
+                    indexes.put(parent, index);
+                }
+                if (index.hasPrefixedElements) {
+                    return null;
+                }
+                next.addAll(index.find(step));
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    protected List<Node> evaluate(Document document, String expression) throws XPathExpressionException {
+        if (xPath == null) {
+            xPath = XPathFactory.newInstance().newXPath();
+        }
+        NodeList nodeList = (NodeList) xPath.evaluate(expression, document, XPathConstants.NODESET);
+        List<Node> nodes = new ArrayList<>();
+        if (nodeList != null) {
+            int length = nodeList.getLength();
+            for (int j = 0; j < length; j++) {
+                nodes.add(nodeList.item(j));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the steps of an absolute path made of element names or *, each with an optional [@attribute='value']
+     * predicate, and optionally ending in an @attribute step, or an empty list for any other expression
+     */
+    protected static List<Step> parse(String expression) {
+        if (expression == null || !expression.startsWith("/") || expression.startsWith("//") || expression.endsWith("/")) {
+            return Collections.emptyList();
+        }
+        String[] parts = expression.substring(1).split("/", -1);
+        List<Step> steps = new ArrayList<>(parts.length);
+        for (int j = 0; j < parts.length; j++) {
+            String part = parts[j].trim();
+            Matcher attributeMatcher = ATTRIBUTE_STEP_PATTERN.matcher(part);
+            if (attributeMatcher.matches() && j == parts.length - 1 && j > 0) {
+                steps.add(new Step(attributeMatcher.group(1), null, null, true));
+                continue;
+            }
+            Matcher matcher = STEP_PATTERN.matcher(part);
+            if (!matcher.matches()) {
+                return Collections.emptyList();
+            }
+            String value = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+            steps.add(new Step(matcher.group(1), matcher.group(2), value, false));
+        }
+        return steps;
+    }
+
+    protected static class Step {
+
+        protected final String name;
+        protected final String predicateAttribute;
+        protected final String predicateValue;
+        protected final boolean attribute;
+
+        protected Step(String name, String predicateAttribute, String predicateValue, boolean attribute) {
+            this.name = name;
+            this.predicateAttribute = predicateAttribute;
+            this.predicateValue = predicateValue;
+            this.attribute = attribute;
+        }
+
+        protected boolean isWildcard() {
+            return "*".equals(name);
+        }
+    }
+
+    /**
+     * The element children of a node, grouped by name. Attribute predicates are checked against the grouped elements
+     * on every lookup, since handlers may change attribute values.
+     */
+    protected static class ChildIndex {
+
+        protected final List<Node> elements = new ArrayList<>();
+        protected final Map<String, List<Node>> elementsByName = new HashMap<>();
+        protected boolean hasPrefixedElements;
+
+        protected ChildIndex(Node parent) {
+            for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                String name = child.getNodeName();
+                if (name.indexOf(':') >= 0) {
+                    hasPrefixedElements = true;
+                }
+                elements.add(child);
+                List<Node> named = elementsByName.get(name);
+                if (named == null) {
+                    named = new ArrayList<>();
+                    elementsByName.put(name, named);
+                }
+                named.add(child);
+            }
+        }
+
+        protected List<Node> find(Step step) {
+            List<Node> candidates;
+            if (step.isWildcard()) {
+                candidates = elements;
+            } else {
+                candidates = elementsByName.get(step.name);
+                if (candidates == null) {
+                    return Collections.emptyList();
+                }
+            }
+            if (step.predicateAttribute == null) {
+                return candidates;
+            }
+            List<Node> matching = new ArrayList<>();
+            for (Node candidate : candidates) {
+                Element element = (Element) candidate;
+                if (element.hasAttribute(step.predicateAttribute)
+                        && step.predicateValue.equals(element.getAttribute(step.predicateAttribute))) {
+                    matching.add(element);
+                }
+            }
+            return matching;
+        }
+    }
+
+}
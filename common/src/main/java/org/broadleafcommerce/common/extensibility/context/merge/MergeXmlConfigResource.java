@@ -17,6 +17,7 @@
  */
 package org.broadleafcommerce.common.extensibility.context.merge;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.broadleafcommerce.common.extensibility.context.merge.exceptions.MergeException;
@@ -27,10 +28,13 @@ import org.springframework.beans.FatalBeanException;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  *
@@ -41,6 +45,8 @@ public class MergeXmlConfigResource {
 
     private static final Log LOG = LogFactory.getLog(MergeXmlConfigResource.class);
 
+    private MergeManager mergeManager;
+
     public Resource getMergedConfigResource(ResourceInputStream[] sources) throws BeansException {
         Resource configResource = null;
         ResourceInputStream merged = null;
@@ -48,17 +54,7 @@ public class MergeXmlConfigResource {
             merged = merge(sources);
 
             //read the final stream into a byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            boolean eof = false;
-            while (!eof) {
-                int temp = merged.read();
-                if (temp == -1) {
-                    eof = true;
-                } else {
-                    baos.write(temp);
-                }
-            }
-            configResource = new ByteArrayResource(baos.toByteArray());
+            configResource = new ByteArrayResource(IOUtils.toByteArray(merged));
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Merged config: \n" + StringUtil.sanitize(serialize(configResource)));
@@ -83,6 +79,29 @@ public class MergeXmlConfigResource {
     protected ResourceInputStream merge(ResourceInputStream[] sources) throws MergeException, MergeManagerSetupException {
         if (sources.length == 1) return sources[0];
 
+        long start = System.currentTimeMillis();
+        MergedResourceCache cache = getMergedResourceCache();
+        String cacheKey = null;
+        if (cache != null) {
+            List<byte[]> contents = new ArrayList<>(sources.length);
+            sources = Arrays.copyOf(sources, sources.length);
+            try {
+                for (int j=0;j<sources.length;j++) {
+                    byte[] content = buildArrayFromStream(sources[j]);
+                    contents.add(content);
+                    sources[j] = new ResourceInputStream(new ByteArrayInputStream(content), null, sources[j].getNames());
+                }
+            } catch (IOException e) {
+                throw new MergeException(e);
+            }
+            cacheKey = cache.buildKey(getMergeManager().getHandlerFingerprint(), contents);
+            byte[] cached = cache.get(cacheKey);
+            if (cached != null) {
+                logMergeTime(sources, start, true);
+                return new ResourceInputStream(new ByteArrayInputStream(cached), null, getMergedNames(sources));
+            }
+        }
+
         ResourceInputStream response = null;
         ResourceInputStream[] pair = new ResourceInputStream[2];
         pair[0] = sources[0];
@@ -102,15 +121,59 @@ public class MergeXmlConfigResource {
             pair[0] = response;
         }
 
+        if (cache != null) {
+            try {
+                byte[] merged = buildArrayFromStream(response);
+                cache.put(cacheKey, merged);
+                response = new ResourceInputStream(new ByteArrayInputStream(merged), null, response.getNames());
+            } catch (IOException e) {
+                throw new MergeException(e);
+            }
+        }
+        logMergeTime(sources, start, false);
+
         return response;
     }
 
     protected ResourceInputStream mergeItems(ResourceInputStream sourceLocationFirst, ResourceInputStream sourceLocationSecond) throws MergeException, MergeManagerSetupException {
-        ResourceInputStream response = new MergeManager().merge(sourceLocationFirst, sourceLocationSecond);
+        ResourceInputStream response = getMergeManager().merge(sourceLocationFirst, sourceLocationSecond);
 
         return response;
     }
 
+    /**
+     * The handler configuration is the same for every pair of resources, so a single MergeManager is used for all of
+     * the merges done by this instance.
+     */
+    protected MergeManager getMergeManager() throws MergeManagerSetupException {
+        if (mergeManager == null) {
+            mergeManager = new MergeManager();
+        }
+        return mergeManager;
+    }
+
+    /**
+     * @return the on-disk cache of merge results, or null if caching is disabled
+     */
+    protected MergedResourceCache getMergedResourceCache() {
+        return MergedResourceCache.fromSystemProperty();
+    }
+
+    protected List<String> getMergedNames(ResourceInputStream[] sources) {
+        List<String> names = new ArrayList<>();
+        for (ResourceInputStream source : sources) {
+            names.addAll(source.getNames());
+        }
+        return names;
+    }
+
+    protected void logMergeTime(ResourceInputStream[] sources, long start, boolean fromCache) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Merged " + sources.length + " xml resources in " + (System.currentTimeMillis() - start) + "ms"
+                    + (fromCache ? " from the merge cache" : "") + ": " + getMergedNames(sources));
+        }
+    }
+
     public String serialize(Resource resource) {
         String response = "";
         try {
@@ -151,23 +214,12 @@ public class MergeXmlConfigResource {
     }
 
     protected byte[] buildArrayFromStream(InputStream source) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        boolean eof = false;
         try{
-            while (!eof) {
-                int temp = source.read();
-                if (temp == -1) {
-                    eof = true;
-                } else {
-                    baos.write(temp);
-                }
-            }
+            return IOUtils.toByteArray(source);
         } finally {
             try{ source.close(); } catch (Throwable e) {
                 LOG.error("Unable to merge source and patch locations", e);
             }
         }
-
-        return baos.toByteArray();
     }
 }
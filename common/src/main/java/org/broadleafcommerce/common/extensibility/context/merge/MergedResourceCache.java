@@ -0,0 +1,121 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.context.merge;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.io.AtomicMove;
+import org.broadleafcommerce.common.io.AtomicMoveImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps merged xml resources on disk, keyed by a hash of the merge handler configuration and of the content of every
+ * resource that went into the merge. When none of the inputs changed between two startups, the merged result is read
+ * back instead of being merged again.
+ *
+ * The cache is off unless the system property {@link #MERGE_CACHE_DIRECTORY_SYSTEM_PROPERTY} names a directory. Entries
+ * are never removed, since a changed input simply produces a new key; the directory can be cleared at any time.
+ *
+ * @see MergeXmlConfigResource
+ */
+public class MergedResourceCache {
+
+    public static final String MERGE_CACHE_DIRECTORY_SYSTEM_PROPERTY = "org.broadleafcommerce.extensibility.context.merge.cache.dir";
+
+    private static final Log LOG = LogFactory.getLog(MergedResourceCache.class);
+
+    protected final File directory;
+
+    protected AtomicMove atomicMove = new AtomicMoveImpl();
+
+    public MergedResourceCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache configured through {@link #MERGE_CACHE_DIRECTORY_SYSTEM_PROPERTY}, or null if it is not set
+     */
+    public static MergedResourceCache fromSystemProperty() {
+        String directory = System.getProperty(MERGE_CACHE_DIRECTORY_SYSTEM_PROPERTY);
+        if (StringUtils.isBlank(directory)) {
+            return null;
+        }
+        return new MergedResourceCache(new File(directory));
+    }
+
+    public String buildKey(String handlerFingerprint, List<byte[]> contents) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update(StringUtils.defaultString(handlerFingerprint).getBytes(StandardCharsets.UTF_8));
+        for (byte[] content : contents) {
+            // Prefix every input with its length so that moving bytes from one input to the next changes the key
+            digest.update(ByteBuffer.allocate(4).putInt(content.length).array());
+            digest.update(content);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * @return the cached merge result, or null if there is none
+     */
+    public byte[] get(String key) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            LOG.warn("Unable to read the cached merge result " + file.getAbsolutePath() + ", merging again", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a merge result. The file is written under a temporary name and renamed into place, so that another
+     * process starting at the same time never reads a partial result. Failures are logged and otherwise ignored.
+     */
+    public void put(String key, byte[] merged) {
+        File file = getFile(key);
+        File tempFile = new File(directory, "." + file.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.write(tempFile.toPath(), merged);
+            atomicMove.replaceExisting(tempFile, file);
+        } catch (IOException e) {
+            LOG.warn("Unable to cache the merge result in " + directory.getAbsolutePath(), e);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    protected File getFile(String key) {
+        return new File(directory, key + ".xml");
+    }
+
+}
@@ -20,12 +20,16 @@ package org.broadleafcommerce.common.extensibility.jpa;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.broadleafcommerce.common.exception.ExceptionHelper;
 import org.broadleafcommerce.common.extensibility.jpa.convert.BroadleafClassTransformer;
 import org.broadleafcommerce.common.extensibility.jpa.convert.BroadleafPersistenceUnitDeclaringClassTransformer;
 import org.broadleafcommerce.common.extensibility.jpa.convert.EntityMarkerClassTransformer;
+import org.broadleafcommerce.common.extensibility.jpa.convert.PreWovenClassManifest;
+import org.broadleafcommerce.common.extensibility.jpa.convert.PreWovenClassRecorder;
+import org.broadleafcommerce.common.extensibility.jpa.convert.PreWovenClassSkippingTransformer;
 import org.broadleafcommerce.common.extensibility.jpa.copy.NullClassTransformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -39,15 +43,19 @@ import org.springframework.orm.jpa.persistenceunit.DefaultPersistenceUnitManager
 import org.springframework.orm.jpa.persistenceunit.MutablePersistenceUnitInfo;
 import org.springframework.util.ClassUtils;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
@@ -109,6 +117,19 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
      */
     protected static boolean transformed = false;
 
+    /**
+     * The classes listed in this manifest were woven ahead of time, see {@link PreWovenClassRecorder}
+     */
+    protected PreWovenClassManifest preWovenClassManifest;
+
+    protected PreWovenClassRecorder preWovenClassRecorder;
+
+    /**
+     * The persistence unit, class and configuration fingerprint of every registered transformer whose work can be done
+     * ahead of time
+     */
+    protected Set<String> registeredTransformerNames = new TreeSet<>();
+
     @Override
     protected boolean isPersistenceUnitOverrideAllowed() {
         return true;
@@ -169,6 +190,9 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
                 exceptionIfEntityMarkerNotFound();
                 
                 triggerClassLoadForManagedClasses();
+                if (preWovenClassRecorder != null) {
+                    preWovenClassRecorder.writeManifest();
+                }
                 
                 List<String> nonTransformedClasses = detectNonTransformedClasses();
                 if (CollectionUtils.isNotEmpty(nonTransformedClasses)) {
@@ -192,6 +216,7 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
      */
     protected boolean addTransformersToPersistenceUnits() throws Exception {
         boolean weaverRegistered = true;
+        preWovenClassManifest = PreWovenClassManifest.load(getClass().getClassLoader());
         for (PersistenceUnitInfo pui : mergedPus.values()) {
             for (BroadleafClassTransformer transformer : classTransformers) {
                 try {
@@ -205,7 +230,7 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
                             pui.getPersistenceUnitName().equals(((BroadleafPersistenceUnitDeclaringClassTransformer) transformer).getPersistenceUnitName())
                         );
                     if (isTransformerQualified) {
-                        pui.addTransformer(transformer);
+                        pui.addTransformer(wrapForPreWeaving(pui, transformer));
                     }
                 } catch (Exception e) {
                     weaverRegistered = handleClassTransformerRegistrationProblem(transformer, e);
@@ -213,7 +238,8 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
             }
         }
         weaverRegistered = addNamedQueriesToPersistenceUnits(weaverRegistered);
-
+        weaverRegistered = addPreWovenClassRecorder(weaverRegistered);
+        exceptionIfPreWovenClassesAreStale();
 
         return weaverRegistered;
     }
@@ -240,7 +266,7 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
             if (!namedQueries.isEmpty() || !nativeQueries.isEmpty()) {
                 QueryConfigurationClassTransformer transformer = new QueryConfigurationClassTransformer(namedQueries, nativeQueries, pui.getManagedClassNames());
                 try {
-                    pui.addTransformer(transformer);
+                    pui.addTransformer(wrapForPreWeaving(pui, transformer));
                 } catch (Exception e) {
                     weaverRegistered = handleClassTransformerRegistrationProblem(transformer, e);
                 }
@@ -249,6 +275,73 @@ public class MergePersistenceUnitManager extends DefaultPersistenceUnitManager {
         return weaverRegistered;
     }
 
+    /**
+     * Lets classes that were woven ahead of time pass through the transformer untouched. The
+     * {@link EntityMarkerClassTransformer} still sees every class, since it only validates that transformation happened.
+     */
+    protected BroadleafClassTransformer wrapForPreWeaving(PersistenceUnitInfo pui, BroadleafClassTransformer transformer) {
+        if (transformer instanceof EntityMarkerClassTransformer) {
+            return transformer;
+        }
+        registeredTransformerNames.add(pui.getPersistenceUnitName() + ":" + transformer.getClass().getName() + "@"
+                + PreWovenClassManifest.hash(transformer.getConfigurationFingerprint().getBytes(StandardCharsets.UTF_8)));
+        if (preWovenClassManifest == null) {
+            return transformer;
+        }
+        return new PreWovenClassSkippingTransformer(transformer, preWovenClassManifest);
+    }
+
+    /**
+     * When jpa.prewoven.classes.record.dir is set, registers a {@link PreWovenClassRecorder} after all of the other
+     * transformers so that the woven entity classes are written to that directory.
+     */
+    protected boolean addPreWovenClassRecorder(boolean weaverRegistered) throws Exception {
+        String recordDirectory = environment == null ? null : environment.getProperty("jpa.prewoven.classes.record.dir");
+        if (StringUtils.isBlank(recordDirectory) || mergedPus.isEmpty()) {
+            return weaverRegistered;
+        }
+        Set<String> managedClassNames = new HashSet<>();
+        for (PersistenceUnitInfo pui : mergedPus.values()) {
+            managedClassNames.addAll(pui.getManagedClassNames());
+        }
+        preWovenClassRecorder = new PreWovenClassRecorder(new File(recordDirectory), managedClassNames, getRegisteredTransformerNames());
+        // The load time weaver is shared by all of the persistence units, so registering with one of them is enough
+        PersistenceUnitInfo pui = mergedPus.values().iterator().next();
+        try {
+            pui.addTransformer(preWovenClassRecorder);
+        } catch (Exception e) {
+            weaverRegistered = handleClassTransformerRegistrationProblem(preWovenClassRecorder, e);
+            preWovenClassRecorder = null;
+        }
+        return weaverRegistered;
+    }
+
+    /**
+     * Classes woven with a different set of transformers, or with transformers whose templates, conditional properties
+     * or queries have changed since, would be transformed twice or would silently miss fields and queries, so startup
+     * fails instead.
+     */
+    protected void exceptionIfPreWovenClassesAreStale() {
+        if (preWovenClassManifest != null && !preWovenClassManifest.getTransformers().equals(getRegisteredTransformerNames())) {
+            throw new IllegalStateException("The pre-woven entity classes on the classpath (" + PreWovenClassManifest.MANIFEST_LOCATION
+                    + ") were recorded with the class transformers\n" + preWovenClassManifest.getTransformers()
+                    + "\nbut the registered class transformers are\n" + getRegisteredTransformerNames()
+                    + "\nRecord the pre-woven classes again, or remove them from the classpath.");
+        }
+    }
+
+    protected String getRegisteredTransformerNames() {
+        return StringUtils.join(registeredTransformerNames, ",");
+    }
+
+    /**
+     * @return the class and configuration fingerprint of every registered class transformer. It changes whenever the
+     * transformers would weave entity classes differently, for instance when a module adds a DirectCopy template.
+     */
+    public String getClassTransformerFingerprint() {
+        return getRegisteredTransformerNames();
+    }
+
     protected boolean handleClassTransformerRegistrationProblem(BroadleafClassTransformer transformer, Exception e) throws Exception {
         boolean weaverRegistered;
         Exception refined = ExceptionHelper.refineException(IllegalStateException.class, RuntimeException.class, e);
@@ -31,6 +31,7 @@ import javassist.bytecode.annotation.MemberValue;
 import javassist.bytecode.annotation.StringMemberValue;
 
 import org.broadleafcommerce.common.extensibility.jpa.convert.BroadleafClassTransformer;
+import org.broadleafcommerce.common.extensibility.jpa.convert.ClassTransformerFingerprint;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -79,6 +80,17 @@ public class QueryConfigurationClassTransformer implements BroadleafClassTransfo
         //do nothing
     }
 
+    /**
+     * Annotation instances describe all of their members, so a new or changed query changes the fingerprint
+     */
+    @Override
+    public String getConfigurationFingerprint() {
+        return new ClassTransformerFingerprint(getClass())
+                .append("namedQueries", namedQueries)
+                .append("nativeQueries", nativeQueries)
+                .toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain
             protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
@@ -92,6 +92,17 @@ public class RemoveCacheClassTransformer extends AbstractClassTransformer implem
         // When simply copying properties over for Java class files, JPA properties do not need modification
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        return newConfigurationFingerprint()
+                .append("moduleName", moduleName)
+                .append("classNames", classNames)
+                .append("cacheRegions", cacheRegions)
+                .append("annotationClass", annotationClass)
+                .append("removeOrderCustomerEntityL2Cache", removeOrderCustomerEntityL2Cache)
+                .toString();
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (ConfigurableBeanFactory) beanFactory;
@@ -104,6 +104,14 @@ public class AlterTableNameClassTransformer extends AbstractClassTransformer imp
         //do nothing
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        return newConfigurationFingerprint()
+                .append("tableName", tableName)
+                .append("targetedClass", targetedClass)
+                .toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
         // Lambdas and anonymous methods in Java 8 do not have a class name defined and so no transformation should be done
@@ -28,5 +28,16 @@ import java.util.Properties;
 public interface BroadleafClassTransformer extends ClassTransformer {
 
     public void compileJPAProperties(Properties props, Object key) throws Exception;
-        
+
+    /**
+     * Describes everything besides the class file itself that decides how this transformer changes a class, such as
+     * its templates and the properties that turn it on. Entity classes woven ahead of time are only reused while the
+     * fingerprints of the registered transformers are the ones they were recorded with.
+     *
+     * @see ClassTransformerFingerprint
+     */
+    default String getConfigurationFingerprint() {
+        return new ClassTransformerFingerprint(getClass()).toString();
+    }
+
 }
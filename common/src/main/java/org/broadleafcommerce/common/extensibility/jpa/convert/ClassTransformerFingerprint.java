@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.jpa.convert;
+
+import org.broadleafcommerce.common.extensibility.jpa.copy.DirectCopyIgnorePattern;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Builds the value of {@link BroadleafClassTransformer#getConfigurationFingerprint()}. Maps are written in key order,
+ * so the fingerprint only changes when the configuration does. Template classes can be added by name, in which case
+ * a hash of their class files is included, since a template that gains a field changes the woven entity as much as a
+ * new template does.
+ */
+public class ClassTransformerFingerprint {
+
+    protected final StringBuilder fingerprint = new StringBuilder();
+
+    public ClassTransformerFingerprint(Class<?> transformerClass) {
+        fingerprint.append(transformerClass.getName());
+    }
+
+    public ClassTransformerFingerprint append(String name, Object value) {
+        fingerprint.append(';').append(name).append('=');
+        if (value instanceof Map) {
+            fingerprint.append(new TreeMap<>((Map<?, ?>) value));
+        } else if (value instanceof Object[]) {
+            fingerprint.append(Arrays.deepToString((Object[]) value));
+        } else {
+            fingerprint.append(value);
+        }
+        return this;
+    }
+
+    public ClassTransformerFingerprint appendIgnorePatterns(List<DirectCopyIgnorePattern> ignorePatterns) {
+        fingerprint.append(";ignorePatterns=");
+        if (ignorePatterns != null) {
+            for (DirectCopyIgnorePattern pattern : ignorePatterns) {
+                fingerprint.append(Arrays.toString(pattern.getPatterns())).append(Arrays.toString(pattern.getTemplateTokenPatterns()));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds a hash of the class file of each of the given classes, in name order. Each entry may hold several comma
+     * separated class names, as the values of an xform template map do.
+     */
+    public ClassTransformerFingerprint appendClassFiles(String name, Collection<String> classNames) {
+        Set<String> sortedClassNames = new TreeSet<>();
+        if (classNames != null) {
+            for (String entry : classNames) {
+                if (entry == null) {
+                    continue;
+                }
+                for (String className : entry.split(",")) {
+                    if (!className.trim().isEmpty()) {
+                        sortedClassNames.add(className.trim());
+                    }
+                }
+            }
+        }
+        fingerprint.append(';').append(name).append('=');
+        for (String className : sortedClassNames) {
+            fingerprint.append(className).append('@').append(hashClassFile(className)).append(',');
+        }
+        return this;
+    }
+
+    protected String hashClassFile(String className) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassTransformerFingerprint.class.getClassLoader();
+        }
+        try (InputStream is = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (is == null) {
+                return "missing";
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return PreWovenClassManifest.hash(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the class file of " + className, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return fingerprint.toString();
+    }
+
+}
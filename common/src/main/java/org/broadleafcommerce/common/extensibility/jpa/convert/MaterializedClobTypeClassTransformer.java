@@ -78,6 +78,11 @@ public class MaterializedClobTypeClassTransformer implements BroadleafClassTrans
         //do nothing
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        return new ClassTransformerFingerprint(getClass()).appendIgnorePatterns(ignorePatterns).toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
         if (className == null) {
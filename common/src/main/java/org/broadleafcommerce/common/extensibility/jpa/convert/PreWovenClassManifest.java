@@ -0,0 +1,140 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.jpa.convert;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lists the entity classes whose class files were already run through the {@link BroadleafClassTransformer}s ahead of
+ * time, together with a SHA-256 hash of each woven class file and the transformers that produced them. Each transformer
+ * is recorded with a hash of its {@link BroadleafClassTransformer#getConfigurationFingerprint() configuration}.
+ *
+ * A class is only treated as pre-woven when the bytes being loaded hash to the recorded value. A deployment that still
+ * contains the original class file for an entity gets it transformed at load time as usual.
+ *
+ * @see PreWovenClassRecorder
+ * @see PreWovenClassSkippingTransformer
+ */
+public class PreWovenClassManifest {
+
+    public static final String MANIFEST_LOCATION = "META-INF/broadleaf-prewoven-classes.properties";
+
+    protected static final String TRANSFORMERS_KEY = "transformers";
+    protected static final String CLASS_PREFIX = "class.";
+
+    protected final Properties properties = new Properties();
+    protected final Map<String, Boolean> preWovenClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Reads every manifest on the classpath. All of them must have been recorded with the same transformers.
+     *
+     * @return the combined manifest, or null if there is none on the classpath
+     */
+    public static PreWovenClassManifest load(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> resources = classLoader.getResources(MANIFEST_LOCATION);
+        PreWovenClassManifest manifest = null;
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            Properties properties = new Properties();
+            try (InputStream is = resource.openStream()) {
+                properties.load(is);
+            }
+            if (manifest == null) {
+                manifest = new PreWovenClassManifest();
+            } else if (!manifest.getTransformers().equals(properties.getProperty(TRANSFORMERS_KEY, ""))) {
+                throw new IllegalStateException("The pre-woven class manifest " + resource + " was recorded with different "
+                        + "class transformers than another manifest on the classpath. Record the pre-woven classes again.");
+            }
+            manifest.properties.putAll(properties);
+        }
+        return manifest;
+    }
+
+    public String getTransformers() {
+        return properties.getProperty(TRANSFORMERS_KEY, "");
+    }
+
+    public void setTransformers(String transformers) {
+        properties.setProperty(TRANSFORMERS_KEY, transformers);
+    }
+
+    /**
+     * @return whether the given class file is the one recorded for the class, meaning that it must not be transformed
+     * again
+     */
+    public boolean isPreWoven(String className, byte[] classfileBuffer) {
+        String expectedHash = properties.getProperty(CLASS_PREFIX + className);
+        if (expectedHash == null) {
+            return false;
+        }
+        // Several transformers see the same class file, so the hash is only computed once per class
+        Boolean preWoven = preWovenClasses.get(className);
+        if (preWoven == null) {
+            preWoven = expectedHash.equals(hash(classfileBuffer));
+            preWovenClasses.put(className, preWoven);
+        }
+        return preWoven;
+    }
+
+    public void addClass(String className, byte[] wovenClassfileBuffer) {
+        properties.setProperty(CLASS_PREFIX + className, hash(wovenClassfileBuffer));
+    }
+
+    public int size() {
+        int size = 0;
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(CLASS_PREFIX)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public void write(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "Broadleaf pre-woven entity classes");
+        }
+    }
+
+    public static String hash(byte[] bytes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder sb = new StringBuilder(64);
+        for (byte b : digest.digest(bytes)) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+}
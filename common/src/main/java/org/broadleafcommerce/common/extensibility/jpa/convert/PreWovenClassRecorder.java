@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.jpa.convert;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.instrument.IllegalClassFormatException;
+import java.nio.file.Files;
+import java.security.ProtectionDomain;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Captures the class files of the managed entity classes after every other {@link BroadleafClassTransformer} ran on
+ * them, and writes them to a directory along with a {@link PreWovenClassManifest}. It must be registered last so that
+ * it sees the final bytes.
+ *
+ * This is the offline half of pre-weaving: start the application once, typically from the build, with
+ * jpa.prewoven.classes.record.dir pointing at an output directory. Then package the contents of that directory ahead
+ * of the original entity classes, e.g. in WEB-INF/classes or BOOT-INF/classes. Later startups find the manifest and
+ * skip transforming those classes.
+ *
+ * @see org.broadleafcommerce.common.extensibility.jpa.MergePersistenceUnitManager
+ */
+public class PreWovenClassRecorder implements BroadleafClassTransformer {
+
+    private static final Log LOG = LogFactory.getLog(PreWovenClassRecorder.class);
+
+    protected final File outputDirectory;
+    protected final Set<String> managedClassNames;
+    protected final PreWovenClassManifest manifest = new PreWovenClassManifest();
+
+    public PreWovenClassRecorder(File outputDirectory, Collection<String> managedClassNames, String transformers) {
+        this.outputDirectory = outputDirectory;
+        this.managedClassNames = new HashSet<>(managedClassNames);
+        manifest.setTransformers(transformers);
+    }
+
+    @Override
+    public void compileJPAProperties(Properties props, Object key) throws Exception {
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+            ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+        if (className == null || classBeingRedefined != null || !managedClassNames.contains(className.replace('/', '.'))) {
+            return null;
+        }
+        try {
+            File classFile = new File(outputDirectory, className + ".class");
+            classFile.getParentFile().mkdirs();
+            Files.write(classFile.toPath(), classfileBuffer);
+            synchronized (manifest) {
+                manifest.addClass(className.replace('/', '.'), classfileBuffer);
+            }
+        } catch (IOException e) {
+            LOG.error("Unable to record the woven class file for " + className, e);
+        }
+        return null;
+    }
+
+    /**
+     * Writes the manifest once all of the managed classes have been loaded.
+     */
+    public void writeManifest() throws IOException {
+        synchronized (manifest) {
+            manifest.write(new File(outputDirectory, PreWovenClassManifest.MANIFEST_LOCATION));
+            LOG.info("Recorded " + manifest.size() + " pre-woven entity classes in " + outputDirectory.getAbsolutePath());
+        }
+    }
+
+}
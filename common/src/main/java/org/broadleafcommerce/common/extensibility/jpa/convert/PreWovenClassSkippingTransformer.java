@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.jpa.convert;
+
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.Properties;
+
+/**
+ * Wraps a {@link BroadleafClassTransformer} so that class files listed in the {@link PreWovenClassManifest} are passed
+ * through untouched. Every other class is handed to the wrapped transformer.
+ */
+public class PreWovenClassSkippingTransformer implements BroadleafClassTransformer {
+
+    protected final BroadleafClassTransformer delegate;
+    protected final PreWovenClassManifest manifest;
+
+    public PreWovenClassSkippingTransformer(BroadleafClassTransformer delegate, PreWovenClassManifest manifest) {
+        this.delegate = delegate;
+        this.manifest = manifest;
+    }
+
+    @Override
+    public void compileJPAProperties(Properties props, Object key) throws Exception {
+        delegate.compileJPAProperties(props, key);
+    }
+
+    @Override
+    public String getConfigurationFingerprint() {
+        return delegate.getConfigurationFingerprint();
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+            ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+        if (className != null && manifest.isPreWoven(className.replace('/', '.'), classfileBuffer)) {
+            return null;
+        }
+        return delegate.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+    }
+
+    public BroadleafClassTransformer getDelegate() {
+        return delegate;
+    }
+
+}
@@ -93,6 +93,16 @@ public class SingleTableInheritanceClassTransformer extends AbstractClassTransfo
         }
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        List<String> singleTableEntities = new ArrayList<String>();
+        for (SingleTableInheritanceInfo info : infos) {
+            singleTableEntities.add(info.getClassName() + "," + info.getDiscriminatorName() + ","
+                    + info.getDiscriminatorType() + "," + info.getDiscriminatorLength());
+        }
+        return newConfigurationFingerprint().append("singleTableEntities", singleTableEntities).toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
         // Lambdas and anonymous methods in Java 8 do not have a class name defined and so no transformation should be done
@@ -17,6 +17,8 @@
  */
 package org.broadleafcommerce.common.extensibility.jpa.copy;
 
+import org.broadleafcommerce.common.extensibility.jpa.convert.ClassTransformerFingerprint;
+
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -62,4 +64,12 @@ public abstract class AbstractClassTransformer implements InitializingBean {
 	public void setPreLoadClassNamePatterns(List<String> fullyQualifiedClassNames) {
     	this.preLoadClassNamePatterns = fullyQualifiedClassNames;
     }
+
+    /**
+     * @return a fingerprint that already holds the class of the transformer and its pre-load list, for subclasses to add
+     * their own configuration to
+     */
+    protected ClassTransformerFingerprint newConfigurationFingerprint() {
+        return new ClassTransformerFingerprint(getClass()).append("preLoadClassNamePatterns", preLoadClassNamePatterns);
+    }
 }
@@ -19,6 +19,7 @@ package org.broadleafcommerce.common.extensibility.jpa.copy;
 
 import org.apache.commons.lang.StringUtils;
 import org.broadleafcommerce.common.extensibility.jpa.convert.BroadleafClassTransformer;
+import org.broadleafcommerce.common.extensibility.jpa.convert.ClassTransformerFingerprint;
 import org.broadleafcommerce.common.logging.LifeCycleEvent;
 import org.broadleafcommerce.common.logging.SupportLogManager;
 import org.broadleafcommerce.common.logging.SupportLogger;
@@ -67,6 +68,15 @@ public class AnnotationsCopyClassTransformer implements BroadleafClassTransforme
         // When simply copying properties over for Java class files, JPA properties do not need modification
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        return new ClassTransformerFingerprint(getClass())
+                .append("moduleName", moduleName)
+                .append("xformTemplates", xformTemplates)
+                .appendClassFiles("xformTemplateClasses", xformTemplates.values())
+                .toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, 
             ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
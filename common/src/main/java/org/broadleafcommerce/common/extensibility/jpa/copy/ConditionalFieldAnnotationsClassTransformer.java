@@ -27,6 +27,10 @@ import java.io.ByteArrayInputStream;
 import java.lang.instrument.IllegalClassFormatException;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import javax.annotation.Resource;
@@ -181,4 +185,24 @@ public class ConditionalFieldAnnotationsClassTransformer extends AbstractClassTr
         //Nothing to do here...
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        Map<String, String> enabledTemplates = new HashMap<>();
+        List<String> templateNames = new ArrayList<>();
+        if (manager != null) {
+            for (Map.Entry<String, ConditionalFieldAnnotationCopyTransformMemberDTO> entry : manager.getEnabledTransformMembers().entrySet()) {
+                String[] names = entry.getValue().getTemplateNames();
+                enabledTemplates.put(entry.getKey(), Arrays.toString(names));
+                if (names != null) {
+                    templateNames.addAll(Arrays.asList(names));
+                }
+            }
+        }
+        return newConfigurationFingerprint()
+                .append("moduleName", moduleName)
+                .append("enabledTemplates", enabledTemplates)
+                .appendClassFiles("templateClasses", templateNames)
+                .toString();
+    }
+
 }
@@ -101,6 +101,31 @@ public class DirectCopyClassTransformer extends AbstractClassTransformer impleme
         // When simply copying properties over for Java class files, JPA properties do not need modification
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        Map<String, String> conditionalTransforms = new HashMap<>();
+        if (conditionalDirectCopyTransformersManager != null) {
+            for (Map.Entry<String, ConditionalDirectCopyTransformMemberDto> entry
+                    : conditionalDirectCopyTransformersManager.getEnabledTransformMembers().entrySet()) {
+                ConditionalDirectCopyTransformMemberDto member = entry.getValue();
+                conditionalTransforms.put(entry.getKey(), Arrays.toString(member.getTemplateTokens())
+                        + ",renameMethodOverlaps=" + member.isRenameMethodOverlaps() + ",skipOverlaps=" + member.isSkipOverlaps());
+            }
+        }
+        return newConfigurationFingerprint()
+                .append("moduleName", moduleName)
+                .append("xformTemplates", xformTemplates)
+                .appendClassFiles("xformTemplateClasses", xformTemplates.values())
+                .append("renameMethodOverlaps", renameMethodOverlaps)
+                .append("renameMethodPrefix", renameMethodPrefix)
+                .append("skipOverlaps", skipOverlaps)
+                .append("templateTokens", templateTokens)
+                .appendClassFiles("templateTokenClasses", templateTokens.values())
+                .appendIgnorePatterns(ignorePatterns)
+                .append("conditionalTransforms", conditionalTransforms)
+                .toString();
+    }
+
     @Override
     public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
                             ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
@@ -65,6 +65,17 @@ public class RemoveAnnotationClassTransformer extends AbstractClassTransformer i
         // When simply copying properties over for Java class files, JPA properties do not need modification
     }
 
+    @Override
+    public String getConfigurationFingerprint() {
+        return newConfigurationFingerprint()
+                .append("moduleName", moduleName)
+                .append("classNames", classNames)
+                .append("annotationClass", annotationClass)
+                .append("conditionalPropertyName", conditionalPropertyName)
+                .append("enabled", conditionalPropertyName == null || isPropertyEnabled(conditionalPropertyName))
+                .toString();
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (ConfigurableBeanFactory) beanFactory;
@@ -28,6 +28,8 @@ import org.broadleafcommerce.common.extension.ExtensionResultStatusType;
 import org.broadleafcommerce.common.file.FileServiceException;
 import org.broadleafcommerce.common.file.domain.FileWorkArea;
 import org.broadleafcommerce.common.file.service.type.FileApplicationType;
+import org.broadleafcommerce.common.io.AtomicMove;
+import org.broadleafcommerce.common.io.AtomicMoveImpl;
 import org.broadleafcommerce.common.site.domain.Site;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,6 +39,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Resource;
 
@@ -62,6 +65,8 @@ public class FileSystemFileServiceProvider implements FileServiceProvider {
     @Resource(name = "blBroadleafFileServiceExtensionManager")
     protected BroadleafFileServiceExtensionManager extensionManager;
 
+    protected AtomicMove atomicMove = new AtomicMoveImpl();
+
     private static final String DEFAULT_STORAGE_DIRECTORY = System.getProperty("java.io.tmpdir");
 
     private static final Log LOG = LogFactory.getLog(FileSystemFileServiceProvider.class);
@@ -116,14 +121,7 @@ public class FileSystemFileServiceProvider implements FileServiceProvider {
             }
             
             try {
-                if (removeFilesFromWorkArea) {
-                    if (destFile.exists()) {
-                        FileUtils.deleteQuietly(destFile);
-                    }
-                    FileUtils.moveFile(srcFile, destFile);
-                } else {
-                    FileUtils.copyFile(srcFile, destFile);
-                }
+                publishFile(srcFile, destFile, removeFilesFromWorkArea);
                 result.add(fileName);
             } catch (IOException ioe) {
                 throw new FileServiceException("Error copying resource named " + fileName + " from workArea " +
@@ -133,6 +131,24 @@ public class FileSystemFileServiceProvider implements FileServiceProvider {
         return result;
     }
 
+    /**
+     * Writes the file next to its destination under a temporary name and then renames it into place, so that a reader
+     * sees either the previous version of the file or the complete new one, never a partially written file.
+     */
+    protected void publishFile(File srcFile, File destFile, boolean removeSrcFile) throws IOException {
+        File tempFile = new File(destFile.getParentFile(), "." + destFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            if (removeSrcFile) {
+                FileUtils.moveFile(srcFile, tempFile);
+            } else {
+                FileUtils.copyFile(srcFile, tempFile);
+            }
+            atomicMove.replaceExisting(tempFile, destFile);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
     @Override
     public boolean removeResource(String name) {
         String resourceName = buildResourceName(name);
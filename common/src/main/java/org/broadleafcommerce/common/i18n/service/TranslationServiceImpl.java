@@ -21,6 +21,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
 import org.broadleafcommerce.common.extension.ExtensionResultHolder;
 import org.broadleafcommerce.common.extension.ItemStatus;
 import org.broadleafcommerce.common.extension.ResultType;
@@ -95,6 +96,9 @@ public class TranslationServiceImpl implements TranslationService, TranslationSu
     @Resource(name = "blCacheManager")
     protected CacheManager cacheManager;
     
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+    
     protected Cache<String, Object> cache;
     
     @Override
@@ -263,12 +267,14 @@ public class TranslationServiceImpl implements TranslationService, TranslationSu
                     String key = getCacheKey(resultType, translation.getEntityType());
                     LOG.debug("Removing key [" + key + "] for STANDARD site");
                     getCache().remove(key);
+                    cacheInvalidationBus.publishEviction(getCacheName(), key);
                 } else {
                     List<String> cacheKeysList =
                             getCacheKeyListForTemplateSite(translation.getEntityType().getFriendlyType());
                     for (String key: cacheKeysList) {
                         LOG.debug("Removing key [" + key + "] for TEMPLATE site");
                         getCache().remove(key);
+                        cacheInvalidationBus.publishEviction(getCacheName(), key);
                     }
                 }
             }
@@ -462,9 +462,11 @@ public class Money implements Serializable, Cloneable, Comparable<Money>, Extern
         // Check the BLC Thread
         BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext();
 
-        if (brc != null && brc.getBroadleafCurrency() != null) {
-            assert brc.getBroadleafCurrency().getCurrencyCode() != null;
-            return Currency.getInstance(brc.getBroadleafCurrency().getCurrencyCode());
+        if (brc != null) {
+            Currency currency = brc.getBroadleafJavaCurrency();
+            if (currency != null) {
+                return currency;
+            }
         }
 
         if (System.getProperty("currency.default") != null) {
@@ -0,0 +1,170 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+
+/**
+ * A mutable running total for pricing loops. Every call to {@link Money#add(Money)} allocates a new BigDecimal and a
+ * new Money. This class keeps the total as a long count of minor units (cents for USD) and only builds a Money when
+ * {@link #toMoney()} is called.
+ *
+ * The results are the same as chaining {@link Money#add(Money)} and {@link Money#subtract(Money)} on a zero Money of
+ * the same currency. Amounts that carry more precision than the currency, or totals that would not fit in a long,
+ * switch the accumulator to BigDecimal arithmetic, rounding after each operation the way Money does.
+ *
+ * Instances are not thread safe and are meant to be used as local variables.
+ */
+public class MoneyAccumulator {
+
+    protected static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+
+    protected final Currency currency;
+    protected final int scale;
+    protected long units;
+    protected BigDecimal amount;
+
+    public MoneyAccumulator(Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("currency cannot be null");
+        }
+        this.currency = currency;
+        this.scale = BankersRounding.getScaleForCurrency(currency);
+    }
+
+    /**
+     * Starts the total at the given amount. The accumulator uses the currency of the Money.
+     */
+    public MoneyAccumulator(Money initial) {
+        this(initial.getCurrency());
+        add(initial);
+    }
+
+    public MoneyAccumulator add(Money other) {
+        return add(other, 1);
+    }
+
+    /**
+     * Adds the amount multiplied by the quantity without building the intermediate Money.
+     */
+    public MoneyAccumulator add(Money other, int quantity) {
+        other = convert(other);
+        if (other == null) {
+            return this;
+        }
+        if (amount == null) {
+            long otherUnits = toUnits(other.getAmount());
+            if (otherUnits != Long.MIN_VALUE) {
+                try {
+                    units = Math.addExact(units, Math.multiplyExact(otherUnits, (long) quantity));
+                    return this;
+                } catch (ArithmeticException e) {
+                    // fall through to BigDecimal arithmetic
+                }
+            }
+            amount = BigDecimal.valueOf(units, scale);
+        }
+        BigDecimal value = other.getAmount();
+        if (quantity != 1) {
+            value = value.multiply(BigDecimal.valueOf(quantity));
+        }
+        amount = BankersRounding.setScale(amount.add(value), scale);
+        return this;
+    }
+
+    public MoneyAccumulator subtract(Money other) {
+        return add(other, -1);
+    }
+
+    public boolean isZero() {
+        return amount == null ? units == 0 : amount.signum() == 0;
+    }
+
+    /**
+     * Sets the total back to zero so the accumulator can be reused for the next item in a loop.
+     */
+    public MoneyAccumulator reset() {
+        units = 0;
+        amount = null;
+        return this;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public BigDecimal getAmount() {
+        return amount == null ? BigDecimal.valueOf(units, scale) : amount;
+    }
+
+    public Money toMoney() {
+        return new Money(getAmount(), currency, scale);
+    }
+
+    @Override
+    public String toString() {
+        return getAmount().toString();
+    }
+
+    /**
+     * Mirrors the currency handling of {@link Money#add(Money)}. Returns null if there is nothing to add.
+     */
+    protected Money convert(Money other) {
+        if (other.getCurrency().equals(currency)) {
+            return other;
+        }
+        if (CurrencyConversionContext.getCurrencyConversionContext() != null &&
+                CurrencyConversionContext.getCurrencyConversionContext().size() > 0 &&
+                CurrencyConversionContext.getCurrencyConversionService() != null) {
+            return CurrencyConversionContext.getCurrencyConversionService().convertCurrency(other, currency, scale);
+        }
+        if (other == Money.ZERO) {
+            return null;
+        }
+        throw new UnsupportedOperationException("No currency conversion service is registered, cannot add different currency " +
+                "types together (" + currency.getCurrencyCode() + " " + other.getCurrency().getCurrencyCode() + ")");
+    }
+
+    /**
+     * Returns the amount as a count of minor units, or Long.MIN_VALUE if that can't be done without rounding or
+     * overflow.
+     */
+    protected long toUnits(BigDecimal value) {
+        int shift = scale - value.scale();
+        if (shift < 0 || shift >= POWERS_OF_TEN.length) {
+            return Long.MIN_VALUE;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() > 62) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Math.multiplyExact(unscaled.longValue(), POWERS_OF_TEN[shift]);
+        } catch (ArithmeticException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
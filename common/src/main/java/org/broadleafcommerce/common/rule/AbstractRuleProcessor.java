@@ -59,6 +59,31 @@ public abstract class AbstractRuleProcessor<T> implements RuleProcessor<T> {
         return MvelHelper.evaluateRule(expression, vars);
     }
 
+    /**
+     * Like {@link #executeExpression(String, Map)}, but remembers the result for the rest of the current request.
+     * Evaluating the same expression against the same rule DTO instances again returns the remembered result.
+     *
+     * Outside of a web request this simply delegates to {@link #executeExpression(String, Map)}.
+     *
+     * @param expression
+     * @param vars
+     * @return the result of the expression
+     * @see RequestRuleCache
+     */
+    protected Boolean executeMemoizedExpression(String expression, Map<String, Object> vars) {
+        RequestRuleCache cache = RequestRuleCache.getInstance();
+        if (cache == null) {
+            return executeExpression(expression, vars);
+        }
+        Object key = RequestRuleCache.expressionKey(expression, vars);
+        Boolean result = (Boolean) cache.get(key);
+        if (result == null) {
+            result = executeExpression(expression, vars);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
     /**
      * List of class names to add to the MVEL ParserContext.
      * @see {@link ParserContext}
@@ -0,0 +1,162 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.rule;
+
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes rule results, and the lookups that rules depend on, for the duration of a single web request. A page with
+ * many targeted content items tends to evaluate the same expressions against the same rule DTOs over and over, once
+ * per item and once per content tag. With this cache each distinct combination is evaluated once.
+ *
+ * The cache lives in {@link BroadleafRequestContext#getAdditionalProperties()}, so it goes away with the request.
+ * It is only available when the context is bound to an HTTP request; background threads get null from
+ * {@link #getInstance()} and should evaluate directly.
+ *
+ * Rule DTOs are compared by identity (see {@link #expressionKey(String, Map)}), so an object that is mutated during the
+ * request keeps the result that was computed for it first.
+ */
+public class RequestRuleCache {
+
+    public static final String ADDITIONAL_PROPERTY_KEY = "blRequestRuleCache";
+
+    protected static final Object NULL_VALUE = new Object();
+    protected static final int MAX_ENTRIES = 10000;
+
+    protected final Map<Object, Object> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cache for the current request, or null if there is no request bound to the current thread
+     */
+    public static RequestRuleCache getInstance() {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext(false);
+        if (brc == null || brc.getRequest() == null) {
+            return null;
+        }
+        Map<String, Object> additionalProperties = brc.getAdditionalProperties();
+        RequestRuleCache cache = (RequestRuleCache) additionalProperties.get(ADDITIONAL_PROPERTY_KEY);
+        if (cache == null) {
+            cache = new RequestRuleCache();
+            additionalProperties.put(ADDITIONAL_PROPERTY_KEY, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Builds a key for the result of evaluating an expression against a set of rule DTOs.
+     */
+    public static Object expressionKey(String expression, Map<String, Object> vars) {
+        return new ExpressionKey(expression, vars);
+    }
+
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns the cached value. Use {@link #containsKey(Object)} to tell a cached null apart from a missing entry.
+     */
+    public Object get(Object key) {
+        Object value = entries.get(key);
+        return value == NULL_VALUE ? null : value;
+    }
+
+    public void put(Object key, Object value) {
+        if (entries.size() < MAX_ENTRIES) {
+            entries.put(key, value == null ? NULL_VALUE : value);
+        }
+    }
+
+    public void remove(Object key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * An expression plus the identities of the rule DTOs it was evaluated against. The hash code does not depend on
+     * the iteration order of the map.
+     */
+    protected static final class ExpressionKey {
+
+        private final String expression;
+        private final String[] names;
+        private final Object[] values;
+        private final int hash;
+
+        protected ExpressionKey(String expression, Map<String, Object> vars) {
+            this.expression = expression;
+            int size = vars == null ? 0 : vars.size();
+            this.names = new String[size];
+            this.values = new Object[size];
+            int h = expression == null ? 0 : expression.hashCode();
+            if (vars != null) {
+                int i = 0;
+                for (Map.Entry<String, Object> entry : vars.entrySet()) {
+                    names[i] = entry.getKey();
+                    values[i] = entry.getValue();
+                    h += (entry.getKey() == null ? 0 : entry.getKey().hashCode()) ^ System.identityHashCode(entry.getValue());
+                    i++;
+                }
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExpressionKey)) {
+                return false;
+            }
+            ExpressionKey that = (ExpressionKey) o;
+            if (hash != that.hash || names.length != that.names.length) {
+                return false;
+            }
+            if (expression == null ? that.expression != null : !expression.equals(that.expression)) {
+                return false;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (!that.hasIdenticalValue(names[i], values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected boolean hasIdenticalValue(String name, Object value) {
+            for (int i = 0; i < names.length; i++) {
+                if (name == null ? names[i] == null : name.equals(names[i])) {
+                    return values[i] == value;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
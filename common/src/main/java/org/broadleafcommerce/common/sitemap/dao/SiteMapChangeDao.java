@@ -0,0 +1,43 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.dao;
+
+import org.broadleafcommerce.common.sitemap.domain.SiteMapChange;
+
+import java.util.Date;
+import java.util.List;
+
+public interface SiteMapChangeDao {
+
+    SiteMapChange create();
+
+    SiteMapChange save(SiteMapChange change);
+
+    /**
+     * Reads the distinct ids of the entities of the given type that changed after the given date.
+     */
+    List<Long> readEntityIdsChangedSince(String entityType, Date since);
+
+    /**
+     * Deletes the changes recorded before the given date.
+     *
+     * @return the number of changes deleted
+     */
+    int deleteChangesBefore(Date date);
+
+}
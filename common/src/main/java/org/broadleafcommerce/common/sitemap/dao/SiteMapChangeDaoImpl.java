@@ -0,0 +1,78 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.dao;
+
+import org.broadleafcommerce.common.persistence.EntityConfiguration;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapChange;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapChangeImpl;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+@Repository("blSiteMapChangeDao")
+public class SiteMapChangeDaoImpl implements SiteMapChangeDao {
+
+    @PersistenceContext(unitName = "blPU")
+    protected EntityManager em;
+
+    @Resource(name = "blEntityConfiguration")
+    protected EntityConfiguration entityConfiguration;
+
+    @Override
+    public SiteMapChange create() {
+        return entityConfiguration.createEntityInstance(SiteMapChange.class.getName(), SiteMapChange.class);
+    }
+
+    @Override
+    public SiteMapChange save(SiteMapChange change) {
+        return em.merge(change);
+    }
+
+    @Override
+    public List<Long> readEntityIdsChangedSince(String entityType, Date since) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<SiteMapChangeImpl> change = criteria.from(SiteMapChangeImpl.class);
+        criteria.select(change.<Long>get("entityId")).distinct(true);
+        criteria.where(
+                builder.equal(change.get("entityType"), entityType),
+                builder.greaterThanOrEqualTo(change.<Date>get("dateChanged"), since));
+
+        return em.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public int deleteChangesBefore(Date date) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaDelete<SiteMapChangeImpl> delete = builder.createCriteriaDelete(SiteMapChangeImpl.class);
+        Root<SiteMapChangeImpl> change = delete.from(SiteMapChangeImpl.class);
+        delete.where(builder.lessThan(change.<Date>get("dateChanged"), date));
+
+        return em.createQuery(delete).executeUpdate();
+    }
+
+}
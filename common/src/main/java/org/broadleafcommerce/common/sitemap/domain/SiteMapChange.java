@@ -0,0 +1,50 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Records that an entity which contributes URLs to the site map was added, changed or removed, so that an incremental
+ * site map run only has to regenerate the id range the entity falls in.
+ *
+ * @see org.broadleafcommerce.common.sitemap.service.SiteMapChangeService
+ */
+public interface SiteMapChange extends Serializable {
+
+    Long getId();
+
+    void setId(Long id);
+
+    /**
+     * @return the fully qualified name of the ceiling entity that changed, e.g. the Product interface
+     */
+    String getEntityType();
+
+    void setEntityType(String entityType);
+
+    Long getEntityId();
+
+    void setEntityId(Long entityId);
+
+    Date getDateChanged();
+
+    void setDateChanged(Date dateChanged);
+
+}
@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.broadleafcommerce.common.file.domain.FileWorkArea;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapConfiguration;
+
+import java.util.List;
+
+/**
+ * Builds the site map files of a single shard during an incremental run. Files are named after the shard instead of
+ * being numbered across the whole site map, so that regenerating one shard replaces exactly the files it owns.
+ */
+public class ShardSiteMapBuilder extends SiteMapBuilder {
+
+    protected String shardName;
+
+    public ShardSiteMapBuilder(SiteMapConfiguration siteMapConfig, FileWorkArea fileWorkArea, String baseUrl,
+            boolean gzipSiteMapFiles, String shardName) {
+        super(siteMapConfig, fileWorkArea, baseUrl, gzipSiteMapFiles);
+        this.shardName = shardName;
+    }
+
+    /**
+     * For example, sitemap_g0_12_1.xml, sitemap_g0_12_2.xml, etc. for the 13th shard of the first generator
+     */
+    @Override
+    protected String createNextIndexedFileName() {
+        String pattern = siteMapConfig.getSiteMapIndexFilePattern();
+        int indexFileNumber = indexedFileNames.size() + 1;
+        return pattern.replaceFirst("###", "_" + shardName + "_" + indexFileNumber);
+    }
+
+    /**
+     * Saves the URLs that have not been written yet. A shard without any URLs produces no files.
+     *
+     * @return the names of the files written for this shard
+     */
+    public List<String> persistShard() {
+        if (!currentURLSetWrapper.getSiteMapUrlWrappers().isEmpty()) {
+            persistIndexedURLSetWrapper(currentURLSetWrapper);
+        }
+        return indexedFileNames;
+    }
+
+}
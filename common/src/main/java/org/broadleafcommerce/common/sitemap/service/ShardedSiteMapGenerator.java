@@ -0,0 +1,69 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * A {@link SiteMapGenerator} whose entries can be produced one id range at a time. When incremental site maps are
+ * enabled, each id range becomes its own set of site map files, and only the ranges containing entities recorded by
+ * the {@link SiteMapChangeService} since the previous run are regenerated.
+ *
+ * @see SiteMapServiceImpl
+ */
+public interface ShardedSiteMapGenerator extends SiteMapGenerator {
+
+    /**
+     * @return the fully qualified name of the entity type whose changes are recorded through the
+     * {@link SiteMapChangeService}, e.g. the Product interface
+     */
+    public String getTrackedEntityType();
+
+    /**
+     * Returns the ids of the tracked entity type whose entries may have changed since the given date. By default these
+     * are the ids recorded for {@link #getTrackedEntityType()}. Generators whose entries also depend on another entity,
+     * such as a sku URL built from its product URL, should add the ids affected by changes to that entity as well.
+     *
+     * @param siteMapChangeService
+     * @param since
+     * @return the ids of the tracked entity type whose id ranges should be regenerated
+     */
+    public default Collection<Long> findChangedEntityIds(SiteMapChangeService siteMapChangeService, Date since) {
+        return siteMapChangeService.findEntityIdsChangedSince(getTrackedEntityType(), since);
+    }
+
+    /**
+     * @return the highest id that could currently produce an entry, or null if there are none
+     */
+    public Long readMaximumId(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration);
+
+    /**
+     * Adds the entries for the entities whose ids are at least fromId and less than toId.
+     *
+     * @param siteMapGeneratorConfiguration
+     * @param siteMapBuilder
+     * @param fromId inclusive lower bound of the id range
+     * @param toId exclusive upper bound of the id range
+     */
+    public void addSiteMapEntries(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration, SiteMapBuilder siteMapBuilder,
+            Long fromId, Long toId);
+
+}
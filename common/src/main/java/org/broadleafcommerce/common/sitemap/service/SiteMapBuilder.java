@@ -36,7 +36,9 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -145,9 +147,25 @@ public class SiteMapBuilder {
         // Save the leftover URL set
         persistIndexedURLSetWrapper(currentURLSetWrapper);
 
-        // Build the siteMapIndex
-        SiteMapIndexWrapper siteMapIndexWrapper = new SiteMapIndexWrapper();
+        Map<String, String> lastModifiedDates = new HashMap<String, String>();
         for (String fileName : indexedFileNames) {
+            lastModifiedDates.put(fileName, now);
+        }
+        String indexFileName = siteMapConfig.getIndexedSiteMapFileName();
+        persistSiteMapIndex(indexFileName, new ArrayList<String>(indexedFileNames), lastModifiedDates);
+        indexedFileNames.add(indexFileName);
+    }
+
+    /**
+     * Save a site map index file that references the given files. 
+     * 
+     * @param indexFileName
+     * @param fileNames the names of the site map files, without the gzip extension
+     * @param lastModifiedDates W3C formatted last modified dates keyed by file name
+     */
+    public void persistSiteMapIndex(String indexFileName, List<String> fileNames, Map<String, String> lastModifiedDates) {
+        SiteMapIndexWrapper siteMapIndexWrapper = new SiteMapIndexWrapper();
+        for (String fileName : fileNames) {
             SiteMapWrapper siteMapWrapper = new SiteMapWrapper();
             String fileLoc = null;
             if (gzipSiteMapFiles) {
@@ -156,16 +174,14 @@ public class SiteMapBuilder {
                 fileLoc = BroadleafFileUtils.appendUnixPaths(baseUrl, fileName);
             }
             siteMapWrapper.setLoc(fileLoc)   ;         
-            siteMapWrapper.setLastmod(now);
+            siteMapWrapper.setLastmod(lastModifiedDates.get(fileName));
             siteMapIndexWrapper.getSiteMapWrappers().add(siteMapWrapper);
         }
 
         if (LOG.isTraceEnabled()) {
             LOG.trace("Persisting sitemap.xml file for indexed site map ");
         }
-        indexedFileNames.add(siteMapConfig.getIndexedSiteMapFileName());
-        persistXMLDocument(siteMapConfig.getIndexedSiteMapFileName(),
-                siteMapIndexWrapper);
+        persistXMLDocument(indexFileName, siteMapIndexWrapper);
     }
 
     /**
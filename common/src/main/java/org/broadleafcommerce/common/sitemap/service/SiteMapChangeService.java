@@ -0,0 +1,51 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps track of changes to entities that contribute URLs to the site map, so that an incremental run of
+ * {@link SiteMapService#generateSiteMap()} only regenerates the id ranges that were touched.
+ *
+ * @see ShardedSiteMapGenerator
+ */
+public interface SiteMapChangeService {
+
+    /**
+     * @return whether changes to entities of the given type should be recorded
+     */
+    boolean isTracked(String entityType);
+
+    /**
+     * Records that the given entity was added, changed or removed. Does nothing if the type is not tracked.
+     */
+    void recordChange(String entityType, Long entityId);
+
+    /**
+     * @return the distinct ids of the entities of the given type that changed at or after the given date
+     */
+    List<Long> findEntityIdsChangedSince(String entityType, Date since);
+
+    /**
+     * Removes the changes recorded before the given date, once a site map run no longer needs them.
+     */
+    void purgeChangesBefore(Date date);
+
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.sitemap.dao.SiteMapChangeDao;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapChange;
+import org.broadleafcommerce.common.time.SystemTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Resource;
+
+@Service("blSiteMapChangeService")
+public class SiteMapChangeServiceImpl implements SiteMapChangeService {
+
+    protected static final Log LOG = LogFactory.getLog(SiteMapChangeServiceImpl.class);
+
+    @Resource(name = "blSiteMapChangeDao")
+    protected SiteMapChangeDao siteMapChangeDao;
+
+    @Value("${sitemap.incremental.enabled:false}")
+    protected boolean incrementalSiteMap = false;
+
+    protected Set<String> trackedEntityTypes = new HashSet<>();
+
+    @Value("${sitemap.incremental.tracked.entities:}")
+    public void setTrackedEntityTypes(String trackedEntityTypes) {
+        this.trackedEntityTypes = new HashSet<>();
+        for (String entityType : StringUtils.split(StringUtils.defaultString(trackedEntityTypes), ',')) {
+            if (StringUtils.isNotBlank(entityType)) {
+                this.trackedEntityTypes.add(entityType.trim());
+            }
+        }
+    }
+
+    @Override
+    public boolean isTracked(String entityType) {
+        return incrementalSiteMap && entityType != null && trackedEntityTypes.contains(entityType);
+    }
+
+    @Override
+    @Transactional("blTransactionManager")
+    public void recordChange(String entityType, Long entityId) {
+        if (entityId == null || !isTracked(entityType)) {
+            return;
+        }
+        SiteMapChange change = siteMapChangeDao.create();
+        change.setEntityType(entityType);
+        change.setEntityId(entityId);
+        change.setDateChanged(SystemTime.asDate());
+        siteMapChangeDao.save(change);
+    }
+
+    @Override
+    public List<Long> findEntityIdsChangedSince(String entityType, Date since) {
+        return siteMapChangeDao.readEntityIdsChangedSince(entityType, since);
+    }
+
+    @Override
+    @Transactional("blTransactionManager")
+    public void purgeChangesBefore(Date date) {
+        int purged = siteMapChangeDao.deleteChangesBefore(date);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Purged " + purged + " site map changes recorded before " + date);
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Records which files were produced for each shard of an incremental site map, along with the time each file was last
+ * written. The next incremental run reads it back to find out which files it can keep, and which files it has to
+ * remove because their shard no longer produces them.
+ *
+ * Shards are identified by a group, one per site map generator configuration, and a shard name, which is either the
+ * number of an id range or {@link #ALL_SHARD} for generators that are not sharded.
+ */
+public class SiteMapManifest {
+
+    public static final String ALL_SHARD = "all";
+
+    protected static final String FINGERPRINT_KEY = "fingerprint";
+    protected static final String LAST_RUN_KEY = "lastRun";
+    protected static final String LAST_FULL_RUN_KEY = "lastFullRun";
+    protected static final String SHARD_PREFIX = "shard.";
+    protected static final String LASTMOD_PREFIX = "lastmod.";
+
+    protected final Properties properties = new Properties();
+
+    public static SiteMapManifest read(File file) throws IOException {
+        SiteMapManifest manifest = new SiteMapManifest();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            manifest.properties.load(is);
+        }
+        return manifest;
+    }
+
+    public void write(File file) throws IOException {
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "Site map manifest");
+        }
+    }
+
+    public String getFingerprint() {
+        return properties.getProperty(FINGERPRINT_KEY);
+    }
+
+    public void setFingerprint(String fingerprint) {
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+    }
+
+    public Date getLastRun() {
+        return getDate(LAST_RUN_KEY);
+    }
+
+    public void setLastRun(Date lastRun) {
+        setDate(LAST_RUN_KEY, lastRun);
+    }
+
+    public Date getLastFullRun() {
+        return getDate(LAST_FULL_RUN_KEY);
+    }
+
+    public void setLastFullRun(Date lastFullRun) {
+        setDate(LAST_FULL_RUN_KEY, lastFullRun);
+    }
+
+    /**
+     * @return the numbered shards of the group that currently have files, in ascending order
+     */
+    public SortedSet<Long> getShards(String group) {
+        SortedSet<Long> shards = new TreeSet<>();
+        String prefix = SHARD_PREFIX + group + ".";
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                String shard = key.substring(prefix.length());
+                if (StringUtils.isNumeric(shard)) {
+                    shards.add(Long.valueOf(shard));
+                }
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * @return the highest numbered shard of the group, or -1 if it has none
+     */
+    public long getHighestShard(String group) {
+        SortedSet<Long> shards = getShards(group);
+        return shards.isEmpty() ? -1L : shards.last();
+    }
+
+    public List<String> getShardFiles(String group, String shard) {
+        String files = properties.getProperty(SHARD_PREFIX + group + "." + shard);
+        if (StringUtils.isEmpty(files)) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(StringUtils.split(files, ','));
+    }
+
+    /**
+     * Replaces the files of a shard. A shard without files is removed from the manifest.
+     */
+    public void setShardFiles(String group, String shard, List<String> fileNames, String lastmod) {
+        removeShard(group, shard);
+        if (fileNames.isEmpty()) {
+            return;
+        }
+        properties.setProperty(SHARD_PREFIX + group + "." + shard, StringUtils.join(fileNames, ','));
+        for (String fileName : fileNames) {
+            properties.setProperty(LASTMOD_PREFIX + fileName, lastmod);
+        }
+    }
+
+    public void removeShard(String group, String shard) {
+        for (String fileName : getShardFiles(group, shard)) {
+            properties.remove(LASTMOD_PREFIX + fileName);
+        }
+        properties.remove(SHARD_PREFIX + group + "." + shard);
+    }
+
+    /**
+     * Copies every shard of the group, and the last modified dates of their files, from another manifest.
+     */
+    public void copyGroup(SiteMapManifest source, String group) {
+        String prefix = SHARD_PREFIX + group + ".";
+        for (String key : source.properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                String shard = key.substring(prefix.length());
+                List<String> fileNames = source.getShardFiles(group, shard);
+                properties.setProperty(key, source.properties.getProperty(key));
+                for (String fileName : fileNames) {
+                    properties.setProperty(LASTMOD_PREFIX + fileName, source.getLastModified(fileName));
+                }
+            }
+        }
+    }
+
+    public String getLastModified(String fileName) {
+        return properties.getProperty(LASTMOD_PREFIX + fileName);
+    }
+
+    /**
+     * @return the files of every shard, ordered by group and then by shard so that the site map index is stable
+     */
+    public List<String> getAllFiles() {
+        List<String> keys = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(SHARD_PREFIX)) {
+                keys.add(key);
+            }
+        }
+        Collections.sort(keys, (a, b) -> {
+            String[] left = StringUtils.split(a, '.');
+            String[] right = StringUtils.split(b, '.');
+            int result = left[1].compareTo(right[1]);
+            if (result != 0) {
+                return result;
+            }
+            if (StringUtils.isNumeric(left[2]) && StringUtils.isNumeric(right[2])) {
+                return Long.valueOf(left[2]).compareTo(Long.valueOf(right[2]));
+            }
+            return left[2].compareTo(right[2]);
+        });
+        Set<String> fileNames = new LinkedHashSet<>();
+        for (String key : keys) {
+            fileNames.addAll(Arrays.asList(StringUtils.split(properties.getProperty(key), ',')));
+        }
+        return new ArrayList<>(fileNames);
+    }
+
+    protected Date getDate(String key) {
+        String value = properties.getProperty(key);
+        return StringUtils.isNumeric(value) ? new Date(Long.parseLong(value)) : null;
+    }
+
+    protected void setDate(String key, Date date) {
+        if (date == null) {
+            properties.remove(key);
+        } else {
+            properties.setProperty(key, String.valueOf(date.getTime()));
+        }
+    }
+
+}
@@ -18,6 +18,7 @@
 
 package org.broadleafcommerce.common.sitemap.service;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -29,8 +30,11 @@ import org.broadleafcommerce.common.file.service.BroadleafFileService;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapConfiguration;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
 import org.broadleafcommerce.common.sitemap.exception.SiteMapException;
+import org.broadleafcommerce.common.time.SystemTime;
 import org.broadleafcommerce.common.util.BLCSystemProperty;
+import org.broadleafcommerce.common.util.FormatUtil;
 import org.broadleafcommerce.common.web.BaseUrlResolver;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
@@ -38,7 +42,12 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Resource;
@@ -73,6 +82,24 @@ public class SiteMapServiceImpl implements SiteMapService {
     @Resource(name = "blBaseUrlResolver")
     protected BaseUrlResolver baseUrlResolver;
 
+    @Resource(name = "blSiteMapChangeService")
+    protected SiteMapChangeService siteMapChangeService;
+
+    @Value("${sitemap.incremental.enabled:false}")
+    protected boolean incrementalSiteMap = false;
+
+    @Value("${sitemap.incremental.shard.size:10000}")
+    protected long incrementalShardSize = 10000L;
+
+    @Value("${sitemap.incremental.overlap.seconds:300}")
+    protected long incrementalOverlapSeconds = 300L;
+
+    @Value("${sitemap.incremental.full.rebuild.hours:168}")
+    protected long incrementalFullRebuildHours = 168L;
+
+    @Value("${sitemap.incremental.manifest.file:sitemap_manifest.properties}")
+    protected String incrementalManifestFileName = "sitemap_manifest.properties";
+
     @Override
     public SiteMapGenerationResponse generateSiteMap() throws SiteMapException, IOException {
         SiteMapGenerationResponse smgr = new SiteMapGenerationResponse();
@@ -86,6 +113,10 @@ public class SiteMapServiceImpl implements SiteMapService {
             return smgr;
         }
 
+        if (incrementalSiteMap) {
+            return generateIncrementalSiteMap(smc);
+        }
+
         FileWorkArea fileWorkArea = broadleafFileService.initializeWorkArea();
         SiteMapBuilder siteMapBuilder = new SiteMapBuilder(smc, fileWorkArea, baseUrlResolver.getSiteBaseUrl(), getGzipSiteMapFiles());
 
@@ -133,6 +164,196 @@ public class SiteMapServiceImpl implements SiteMapService {
         return smgr;
     }
 
+    /**
+     * Regenerates only the parts of the site map that may have changed since the previous run. Entries from a
+     * {@link ShardedSiteMapGenerator} are split into files per id range, and a range is rebuilt when the
+     * {@link SiteMapChangeService} recorded a change to one of its ids, or when it is at the top of the id space where
+     * new entities appear. Entries from other generators are rebuilt on every run. The files produced for each range
+     * are recorded in a {@link SiteMapManifest} next to the site map.
+     *
+     * Everything is rebuilt when there is no manifest, when the site map configuration changed, or when the last full
+     * run is older than sitemap.incremental.full.rebuild.hours. Periodic full runs pick up changes that are not
+     * recorded, such as products whose active dates were reached or catalog updates made outside of the admin.
+     *
+     * The shard files are published before the index and the manifest, so a crawler never sees an index that
+     * references a file that has not been written yet.
+     */
+    protected SiteMapGenerationResponse generateIncrementalSiteMap(SiteMapConfiguration smc) throws IOException {
+        Date runStarted = SystemTime.asDate();
+        String now = FormatUtil.formatDateUsingW3C(runStarted);
+        String baseUrl = baseUrlResolver.getSiteBaseUrl();
+        boolean gzip = getGzipSiteMapFiles();
+
+        SiteMapManifest previousManifest = readManifest();
+        String fingerprint = buildFingerprint(smc, baseUrl, gzip);
+        boolean fullRun = previousManifest == null
+                || !fingerprint.equals(previousManifest.getFingerprint())
+                || isFullRebuildDue(previousManifest, runStarted);
+
+        SiteMapManifest manifest = new SiteMapManifest();
+        manifest.setFingerprint(fingerprint);
+        manifest.setLastRun(runStarted);
+        manifest.setLastFullRun(fullRun ? runStarted : previousManifest.getLastFullRun());
+
+        FileWorkArea shardWorkArea = broadleafFileService.initializeWorkArea();
+        List<String> writtenFileNames = new ArrayList<String>();
+        for (SiteMapGeneratorConfiguration currentConfiguration : smc.getSiteMapGeneratorConfigurations()) {
+            if (currentConfiguration.isDisabled()) {
+                continue;
+            }
+            SiteMapGenerator generator = selectSiteMapGenerator(currentConfiguration);
+            if (generator == null) {
+                LOG.warn("No site map generator found to process generator configuration for " + currentConfiguration.getSiteMapGeneratorType());
+                continue;
+            }
+            String group = "g" + currentConfiguration.getId();
+            if (generator instanceof ShardedSiteMapGenerator) {
+                ShardedSiteMapGenerator shardedGenerator = (ShardedSiteMapGenerator) generator;
+                Set<Long> shards = fullRun ? new TreeSet<Long>()
+                        : findChangedShards(shardedGenerator, group, previousManifest, manifest);
+                Long maximumId = shardedGenerator.readMaximumId(currentConfiguration);
+                long highestShard = maximumId == null ? -1L : maximumId / incrementalShardSize;
+                long firstShard = fullRun ? 0L : Math.max(previousManifest.getHighestShard(group), 0L);
+                for (long shard = firstShard; shard <= highestShard; shard++) {
+                    shards.add(shard);
+                }
+                for (Long shard : manifest.getShards(group)) {
+                    if (shard > highestShard) {
+                        manifest.removeShard(group, String.valueOf(shard));
+                    }
+                }
+                for (Long shard : shards) {
+                    if (shard > highestShard) {
+                        continue;
+                    }
+                    ShardSiteMapBuilder shardBuilder = new ShardSiteMapBuilder(smc, shardWorkArea, baseUrl, gzip, group + "_" + shard);
+                    shardedGenerator.addSiteMapEntries(currentConfiguration, shardBuilder, shard * incrementalShardSize,
+                            (shard + 1) * incrementalShardSize);
+                    List<String> fileNames = shardBuilder.persistShard();
+                    manifest.setShardFiles(group, String.valueOf(shard), fileNames, now);
+                    writtenFileNames.addAll(fileNames);
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Regenerated " + shards.size() + " site map shards for " + generator.getClass().getSimpleName());
+                }
+            } else {
+                ShardSiteMapBuilder shardBuilder = new ShardSiteMapBuilder(smc, shardWorkArea, baseUrl, gzip, group);
+                generator.addSiteMapEntries(currentConfiguration, shardBuilder);
+                List<String> fileNames = shardBuilder.persistShard();
+                manifest.setShardFiles(group, SiteMapManifest.ALL_SHARD, fileNames, now);
+                writtenFileNames.addAll(fileNames);
+            }
+        }
+
+        if (gzip) {
+            gzipAndDeleteFiles(shardWorkArea, writtenFileNames, false);
+        }
+        broadleafFileService.addOrUpdateResources(shardWorkArea, true);
+        broadleafFileService.closeWorkArea(shardWorkArea);
+
+        List<String> allFileNames = manifest.getAllFiles();
+        Map<String, String> lastModifiedDates = new HashMap<String, String>();
+        for (String fileName : allFileNames) {
+            lastModifiedDates.put(fileName, manifest.getLastModified(fileName));
+        }
+        FileWorkArea indexWorkArea = broadleafFileService.initializeWorkArea();
+        SiteMapBuilder indexBuilder = new SiteMapBuilder(smc, indexWorkArea, baseUrl, gzip);
+        indexBuilder.persistSiteMapIndex(smc.getIndexedSiteMapFileName(), allFileNames, lastModifiedDates);
+        manifest.write(new File(indexWorkArea.getFilePathLocation() + incrementalManifestFileName));
+        broadleafFileService.addOrUpdateResources(indexWorkArea, true);
+        broadleafFileService.closeWorkArea(indexWorkArea);
+
+        if (previousManifest != null) {
+            List<String> obsoleteFileNames = new ArrayList<String>(previousManifest.getAllFiles());
+            obsoleteFileNames.removeAll(allFileNames);
+            for (String fileName : obsoleteFileNames) {
+                broadleafFileService.removeResource(fileName);
+                broadleafFileService.removeResource(fileName + ENCODING_EXTENSION);
+            }
+        }
+        siteMapChangeService.purgeChangesBefore(getChangesSince(runStarted));
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info((fullRun ? "Full" : "Incremental") + " site map generation wrote " + writtenFileNames.size()
+                    + " of " + allFileNames.size() + " site map files");
+        }
+
+        SiteMapGenerationResponse smgr = new SiteMapGenerationResponse();
+        List<String> siteMapFilePaths = new ArrayList<String>();
+        for (String fileName : allFileNames) {
+            siteMapFilePaths.add(gzip ? fileName + ENCODING_EXTENSION : fileName);
+        }
+        siteMapFilePaths.add(smc.getIndexedSiteMapFileName());
+        smgr.setSiteMapFilePaths(siteMapFilePaths);
+        return smgr;
+    }
+
+    /**
+     * Copies the shards of the group from the previous manifest and returns the ones that contain an entity changed
+     * since the previous run.
+     */
+    protected Set<Long> findChangedShards(ShardedSiteMapGenerator generator, String group, SiteMapManifest previousManifest,
+            SiteMapManifest manifest) {
+        manifest.copyGroup(previousManifest, group);
+        Set<Long> shards = new TreeSet<Long>();
+        Date since = getChangesSince(previousManifest.getLastRun());
+        for (Long entityId : generator.findChangedEntityIds(siteMapChangeService, since)) {
+            shards.add(entityId / incrementalShardSize);
+        }
+        return shards;
+    }
+
+    /**
+     * Changes are read from a little before the start of the previous run, so that a change committed while that run
+     * was reading the catalog is picked up again.
+     */
+    protected Date getChangesSince(Date runStarted) {
+        long since = runStarted == null ? 0L : runStarted.getTime() - incrementalOverlapSeconds * 1000L;
+        return new Date(since);
+    }
+
+    protected boolean isFullRebuildDue(SiteMapManifest manifest, Date now) {
+        Date lastFullRun = manifest.getLastFullRun();
+        if (lastFullRun == null || manifest.getLastRun() == null) {
+            return true;
+        }
+        return incrementalFullRebuildHours >= 0
+                && now.getTime() - lastFullRun.getTime() >= incrementalFullRebuildHours * 60L * 60L * 1000L;
+    }
+
+    /**
+     * Anything that changes how entries are split into files or how they are addressed invalidates the shards of the
+     * previous run.
+     */
+    protected String buildFingerprint(SiteMapConfiguration smc, String baseUrl, boolean gzip) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(smc.getId()).append('|')
+                .append(smc.getMaximumUrlEntriesPerFile()).append('|')
+                .append(smc.getSiteMapIndexFilePattern()).append('|')
+                .append(smc.getIndexedSiteMapFileName()).append('|')
+                .append(baseUrl).append('|')
+                .append(gzip).append('|')
+                .append(incrementalShardSize);
+        for (SiteMapGeneratorConfiguration configuration : smc.getSiteMapGeneratorConfigurations()) {
+            sb.append('|').append(configuration.getId())
+                    .append(':').append(configuration.getSiteMapGeneratorType() == null ? null : configuration.getSiteMapGeneratorType().getType())
+                    .append(':').append(configuration.isDisabled());
+        }
+        return DigestUtils.sha256Hex(sb.toString());
+    }
+
+    protected SiteMapManifest readManifest() {
+        try {
+            File manifestFile = broadleafFileService.getResource(incrementalManifestFileName);
+            if (manifestFile != null && manifestFile.exists()) {
+                return SiteMapManifest.read(manifestFile);
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to read the site map manifest, regenerating the whole site map", e);
+        }
+        return null;
+    }
+
     @Override
     public File getSiteMapFile(String fileName) throws SiteMapException, IOException {
         if (LOG.isTraceEnabled()) {
@@ -17,6 +17,9 @@
  */
 package org.broadleafcommerce.common.weave;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Responsible for determining if an entity has been conditionally enabled for loadtime weaving for the enterprise and/or
  * multitenant modules. The primary utility of this class is to allow conditional inclusion of additional fields important
@@ -70,4 +73,12 @@ public interface ConditionalDirectCopyTransformersManager {
      */
     ConditionalDirectCopyTransformMemberDto getTransformMember(String entityName);
 
+    /**
+     * @return the transform config info of every entity whose conditionalProperty is true, keyed by entity name. Empty
+     * by default, for implementations written before this method was added.
+     */
+    default Map<String, ConditionalDirectCopyTransformMemberDto> getEnabledTransformMembers() {
+        return Collections.emptyMap();
+    }
+
 }
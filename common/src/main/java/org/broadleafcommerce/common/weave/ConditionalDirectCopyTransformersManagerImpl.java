@@ -24,6 +24,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -71,6 +72,11 @@ public class ConditionalDirectCopyTransformersManagerImpl implements BeanFactory
         return enabledEntities.get(entityName);
     }
 
+    @Override
+    public Map<String, ConditionalDirectCopyTransformMemberDto> getEnabledTransformMembers() {
+        return Collections.unmodifiableMap(enabledEntities);
+    }
+
     protected Boolean isPropertyEnabled(String propertyName) {
         Boolean shouldProceed;
         try {
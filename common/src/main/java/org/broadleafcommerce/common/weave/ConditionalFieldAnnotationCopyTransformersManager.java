@@ -17,6 +17,9 @@
  */
 package org.broadleafcommerce.common.weave;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * 
  * @author Kelly Tisdell
@@ -40,4 +43,12 @@ public interface ConditionalFieldAnnotationCopyTransformersManager {
      */
     ConditionalFieldAnnotationCopyTransformMemberDTO getTransformMember(String entityName);
 
+    /**
+     * @return the transform config info of every entity whose conditionalProperty is true, keyed by entity name. Empty
+     * by default, for implementations written before this method was added.
+     */
+    default Map<String, ConditionalFieldAnnotationCopyTransformMemberDTO> getEnabledTransformMembers() {
+        return Collections.emptyMap();
+    }
+
 }
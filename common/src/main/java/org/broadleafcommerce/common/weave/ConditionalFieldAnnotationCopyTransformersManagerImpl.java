@@ -23,6 +23,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -58,6 +59,11 @@ public class ConditionalFieldAnnotationCopyTransformersManagerImpl implements Co
         return enabledEntities.get(entityName);
     }
 
+    @Override
+    public Map<String, ConditionalFieldAnnotationCopyTransformMemberDTO> getEnabledTransformMembers() {
+        return Collections.unmodifiableMap(enabledEntities);
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (ConfigurableBeanFactory) beanFactory;
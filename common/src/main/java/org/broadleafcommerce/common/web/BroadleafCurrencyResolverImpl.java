@@ -23,6 +23,7 @@ import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
 import org.broadleafcommerce.common.currency.domain.BroadleafRequestedCurrencyDto;
 import org.broadleafcommerce.common.currency.service.BroadleafCurrencyService;
 import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.site.domain.Site;
 import org.broadleafcommerce.common.util.BLCRequestUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.ServletWebRequest;
@@ -57,6 +58,9 @@ public class BroadleafCurrencyResolverImpl implements BroadleafCurrencyResolver
     @Resource(name = "blCurrencyService")
     private BroadleafCurrencyService broadleafCurrencyService;
 
+    @Resource(name = "blRequestEnvironmentCache")
+    protected RequestEnvironmentCache requestEnvironmentCache;
+
     /**
      * Responsible for returning the currency to use for the current request.
      */
@@ -75,7 +79,11 @@ public class BroadleafCurrencyResolverImpl implements BroadleafCurrencyResolver
         // 2) Check for a request parameter
         if (desiredCurrency == null && BLCRequestUtils.getURLorHeaderParameter(request, CURRENCY_CODE_PARAM) != null) {
             String currencyCode = BLCRequestUtils.getURLorHeaderParameter(request, CURRENCY_CODE_PARAM);
-            desiredCurrency = broadleafCurrencyService.findCurrencyByCode(currencyCode);
+            if (requestEnvironmentCache.isEnabled()) {
+                desiredCurrency = requestEnvironmentCache.getEnvironment(getNonPersistentSite(), null, currencyCode).getCurrency();
+            } else {
+                desiredCurrency = broadleafCurrencyService.findCurrencyByCode(currencyCode);
+            }
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Attempt to find currency by param " + currencyCode + " resulted in " + desiredCurrency);
             }
@@ -95,7 +103,12 @@ public class BroadleafCurrencyResolverImpl implements BroadleafCurrencyResolver
         }
 
         // 5) Lookup default currency from DB
-        BroadleafCurrency defaultCurrency = broadleafCurrencyService.findDefaultBroadleafCurrency();
+        BroadleafCurrency defaultCurrency;
+        if (requestEnvironmentCache.isEnabled()) {
+            defaultCurrency = requestEnvironmentCache.getEnvironment(getNonPersistentSite(), null, null).getDefaultCurrency();
+        } else {
+            defaultCurrency = broadleafCurrencyService.findDefaultBroadleafCurrency();
+        }
         if (desiredCurrency == null) {
             desiredCurrency = defaultCurrency;
         }
@@ -112,4 +125,8 @@ public class BroadleafCurrencyResolverImpl implements BroadleafCurrencyResolver
         return dto;
     }
 
+    protected Site getNonPersistentSite() {
+        return BroadleafRequestContext.getBroadleafRequestContext().getNonPersistentSite();
+    }
+
 }
@@ -59,6 +59,9 @@ public class BroadleafLocaleResolverImpl implements BroadleafLocaleResolver {
     @Resource(name = "blLocaleService")
     private LocaleService localeService;
 
+    @Resource(name = "blRequestEnvironmentCache")
+    protected RequestEnvironmentCache requestEnvironmentCache;
+
     @Override
     public Locale resolveLocale(HttpServletRequest request) {
         return resolveLocale(new ServletWebRequest(request));
@@ -74,7 +77,11 @@ public class BroadleafLocaleResolverImpl implements BroadleafLocaleResolver {
         // Second, check for a request parameter
         if (locale == null && BLCRequestUtils.getURLorHeaderParameter(request, LOCALE_CODE_PARAM) != null) {
             String localeCode = BLCRequestUtils.getURLorHeaderParameter(request, LOCALE_CODE_PARAM);
-            locale = localeService.findLocaleByCode(localeCode);
+            if (requestEnvironmentCache.isEnabled()) {
+                locale = requestEnvironmentCache.getEnvironment(getNonPersistentSite(), localeCode, null).getLocale();
+            } else {
+                locale = localeService.findLocaleByCode(localeCode);
+            }
             if (BLCRequestUtils.isOKtoUseSession(request)) {
                 request.removeAttribute(BroadleafCurrencyResolverImpl.CURRENCY_VAR, WebRequest.SCOPE_SESSION);
             }
@@ -98,12 +105,16 @@ public class BroadleafLocaleResolverImpl implements BroadleafLocaleResolver {
 
         // Finally, use the default
         if (locale == null) {
-            Site nonPersistentSite = BroadleafRequestContext.getBroadleafRequestContext().getNonPersistentSite();
-            Locale defaultSiteLocale = null;
-            if(nonPersistentSite != null) {
-                defaultSiteLocale = nonPersistentSite.getDefaultLocale();
+            Site nonPersistentSite = getNonPersistentSite();
+            if (requestEnvironmentCache.isEnabled()) {
+                locale = requestEnvironmentCache.getEnvironment(nonPersistentSite, null, null).getLocale();
+            } else {
+                Locale defaultSiteLocale = null;
+                if(nonPersistentSite != null) {
+                    defaultSiteLocale = nonPersistentSite.getDefaultLocale();
+                }
+                locale = defaultSiteLocale == null ? localeService.findDefaultLocale() : defaultSiteLocale;
             }
-            locale = defaultSiteLocale == null ? localeService.findDefaultLocale() : defaultSiteLocale;
             if (BLCRequestUtils.isOKtoUseSession(request)) {
                 request.removeAttribute(BroadleafCurrencyResolverImpl.CURRENCY_VAR, WebRequest.SCOPE_SESSION);
             }
@@ -122,4 +133,8 @@ public class BroadleafLocaleResolverImpl implements BroadleafLocaleResolver {
         }
         return locale;
     }
+
+    protected Site getNonPersistentSite() {
+        return BroadleafRequestContext.getBroadleafRequestContext().getNonPersistentSite();
+    }
 }
@@ -163,6 +163,7 @@ public class BroadleafRequestContext {
     protected Theme theme;
     protected java.util.Locale javaLocale;
     protected Currency javaCurrency;
+    protected Currency broadleafJavaCurrency;
     protected Catalog currentCatalog;
     protected List<Long> explicitCatalogs = new ArrayList<>();
     protected Site currentProfile;
@@ -404,6 +405,27 @@ public class BroadleafRequestContext {
 
     public void setBroadleafCurrency(BroadleafCurrency broadleafCurrency) {
         this.broadleafCurrency = broadleafCurrency;
+        this.javaCurrency = null;
+        this.broadleafJavaCurrency = null;
+    }
+
+    /**
+     * Returns the java.util.Currency for the BroadleafCurrency of this request, or null if no BroadleafCurrency with a
+     * currency code has been set. Unlike {@link #getJavaCurrency()} there is no fallback to the locale.
+     * {@link org.broadleafcommerce.common.money.Money#defaultCurrency()} calls this every time a Money is built without
+     * a currency, so the lookup is only done once per request.
+     */
+    public Currency getBroadleafJavaCurrency() {
+        BroadleafCurrency currency = broadleafCurrency;
+        if (currency == null || currency.getCurrencyCode() == null) {
+            return null;
+        }
+        Currency cached = broadleafJavaCurrency;
+        if (cached == null || !cached.getCurrencyCode().equals(currency.getCurrencyCode())) {
+            cached = Currency.getInstance(currency.getCurrencyCode());
+            broadleafJavaCurrency = cached;
+        }
+        return cached;
     }
 
     public BroadleafCurrency getRequestedBroadleafCurrency() {
@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web;
+
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
+import org.broadleafcommerce.common.locale.domain.Locale;
+
+/**
+ * An immutable snapshot of the locale and currency lookups that request resolution needs for one combination of
+ * site, requested locale code and requested currency code.
+ *
+ * @see RequestEnvironmentCache
+ */
+public final class RequestEnvironment {
+
+    private final Long siteId;
+    private final Locale locale;
+    private final BroadleafCurrency currency;
+    private final BroadleafCurrency defaultCurrency;
+
+    public RequestEnvironment(Long siteId, Locale locale, BroadleafCurrency currency, BroadleafCurrency defaultCurrency) {
+        this.siteId = siteId;
+        this.locale = locale;
+        this.currency = currency;
+        this.defaultCurrency = defaultCurrency;
+    }
+
+    public Long getSiteId() {
+        return siteId;
+    }
+
+    /**
+     * @return the locale for the requested locale code, or the default locale of the site or the system when no code
+     * was requested. Null if a code was requested and no such locale exists.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return the currency for the requested currency code, or null if no code was requested or no such currency exists
+     */
+    public BroadleafCurrency getCurrency() {
+        return currency;
+    }
+
+    public BroadleafCurrency getDefaultCurrency() {
+        return defaultCurrency;
+    }
+}
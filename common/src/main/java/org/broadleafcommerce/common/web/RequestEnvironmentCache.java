@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web;
+
+import org.broadleafcommerce.common.site.domain.Site;
+
+/**
+ * Caches {@link RequestEnvironment} snapshots so that {@link BroadleafLocaleResolverImpl} and
+ * {@link BroadleafCurrencyResolverImpl} answer their locale and currency lookups with one map lookup per request rather
+ * than a query or second level cache hit for each.
+ *
+ * Snapshots are dropped when a site, locale or currency is saved (see {@link RequestEnvironmentEntityListener}), and
+ * in any case after a time to live.
+ */
+public interface RequestEnvironmentCache {
+
+    /**
+     * @return whether snapshots are cached. When this is false the resolvers look up locales and currencies directly.
+     */
+    boolean isEnabled();
+
+    /**
+     * @param site the non-persistent site for the request, or null
+     * @param localeCode the requested locale code, or null for the default locale
+     * @param currencyCode the requested currency code, or null
+     */
+    RequestEnvironment getEnvironment(Site site, String localeCode, String currencyCode);
+
+    /**
+     * Drops every snapshot on this node and on the other nodes reachable through the cache invalidation bus.
+     */
+    void clear();
+
+}
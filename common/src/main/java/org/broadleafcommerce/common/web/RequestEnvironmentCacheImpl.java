@@ -0,0 +1,160 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web;
+
+import org.broadleafcommerce.common.cache.NearCache;
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
+import org.broadleafcommerce.common.currency.service.BroadleafCurrencyService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.service.LocaleService;
+import org.broadleafcommerce.common.site.domain.Site;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+
+/**
+ * Default {@link RequestEnvironmentCache}, enabled with <code>request.environment.cache.enabled</code>. When it is
+ * disabled, {@link #getEnvironment(Site, String, String)} still works but builds a fresh snapshot on every call.
+ */
+@Component("blRequestEnvironmentCache")
+public class RequestEnvironmentCacheImpl implements RequestEnvironmentCache {
+
+    public static final String REQUEST_ENVIRONMENT_CACHE_NAME = "blRequestEnvironment";
+
+    @Resource(name = "blLocaleService")
+    protected LocaleService localeService;
+
+    @Resource(name = "blCurrencyService")
+    protected BroadleafCurrencyService currencyService;
+
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${request.environment.cache.enabled:false}")
+    protected boolean enabled = false;
+
+    @Value("${request.environment.cache.maxEntries:500}")
+    protected int maxEntries = 500;
+
+    @Value("${request.environment.cache.timeToLiveSeconds:300}")
+    protected long timeToLiveSeconds = 300L;
+
+    protected volatile NearCache<EnvironmentKey, RequestEnvironment> environments;
+
+    @PostConstruct
+    public void registerCacheInvalidationListener() {
+        cacheInvalidationBus.addListener(event -> {
+            if (REQUEST_ENVIRONMENT_CACHE_NAME.equals(event.getCacheName()) && environments != null) {
+                environments.clear();
+            }
+        });
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public RequestEnvironment getEnvironment(Site site, String localeCode, String currencyCode) {
+        if (!enabled) {
+            return buildEnvironment(site, localeCode, currencyCode);
+        }
+        EnvironmentKey key = new EnvironmentKey(site == null ? null : site.getId(), localeCode, currencyCode);
+        RequestEnvironment environment = getEnvironments().get(key);
+        if (environment == null) {
+            environment = buildEnvironment(site, localeCode, currencyCode);
+            getEnvironments().put(key, environment);
+        }
+        return environment;
+    }
+
+    @Override
+    public void clear() {
+        if (environments != null) {
+            environments.clear();
+        }
+        cacheInvalidationBus.publishClear(REQUEST_ENVIRONMENT_CACHE_NAME);
+    }
+
+    protected RequestEnvironment buildEnvironment(Site site, String localeCode, String currencyCode) {
+        Locale locale;
+        if (localeCode != null) {
+            locale = localeService.findLocaleByCode(localeCode);
+        } else {
+            locale = site == null ? null : site.getDefaultLocale();
+            if (locale == null) {
+                locale = localeService.findDefaultLocale();
+            }
+        }
+        BroadleafCurrency currency = currencyCode == null ? null : currencyService.findCurrencyByCode(currencyCode);
+        BroadleafCurrency defaultCurrency = currencyService.findDefaultBroadleafCurrency();
+        return new RequestEnvironment(site == null ? null : site.getId(), locale, currency, defaultCurrency);
+    }
+
+    protected NearCache<EnvironmentKey, RequestEnvironment> getEnvironments() {
+        if (environments == null) {
+            synchronized (this) {
+                if (environments == null) {
+                    environments = new NearCache<>(REQUEST_ENVIRONMENT_CACHE_NAME, maxEntries, timeToLiveSeconds);
+                }
+            }
+        }
+        return environments;
+    }
+
+    protected static final class EnvironmentKey {
+
+        private final Long siteId;
+        private final String localeCode;
+        private final String currencyCode;
+        private final int hash;
+
+        protected EnvironmentKey(Long siteId, String localeCode, String currencyCode) {
+            this.siteId = siteId;
+            this.localeCode = localeCode;
+            this.currencyCode = currencyCode;
+            this.hash = Objects.hash(siteId, localeCode, currencyCode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EnvironmentKey)) {
+                return false;
+            }
+            EnvironmentKey that = (EnvironmentKey) o;
+            return hash == that.hash
+                    && Objects.equals(siteId, that.siteId)
+                    && Objects.equals(localeCode, that.localeCode)
+                    && Objects.equals(currencyCode, that.currencyCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web;
+
+import org.broadleafcommerce.common.util.ApplicationContextHolder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Clears the {@link RequestEnvironmentCache} once a transaction that changed a site, locale or currency has committed.
+ *
+ * @see RequestEnvironmentCacheImpl
+ */
+public class RequestEnvironmentEntityListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void environmentChanged(final Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    clearCache();
+                }
+            });
+        } else {
+            clearCache();
+        }
+    }
+
+    protected void clearCache() {
+        ApplicationContext context = ApplicationContextHolder.getApplicationContext();
+        if (context != null && context.containsBean("blRequestEnvironmentCache")) {
+            context.getBean("blRequestEnvironmentCache", RequestEnvironmentCache.class).clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web.cache;
+
+import org.broadleafcommerce.common.util.ApplicationContextHolder;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Ehcache 3 cache event listener that evicts cached template fragments when an entity they declared changes. It is
+ * registered on the same second level cache regions as the hydrated cache listener, such as blProducts and
+ * blCategories.
+ *
+ * Hibernate keys its second level cache entries with a CacheKeyImplementation whose String form is the entity or
+ * collection role name and the id separated by a '#'. Entries with any other kind of key are ignored.
+ *
+ * @see TemplateFragmentCacheService
+ */
+public class TemplateFragmentCacheEventListener implements CacheEventListener<Object, Object> {
+
+    protected static final String HIBERNATE_CACHE_KEY = "org.hibernate.cache.internal.CacheKeyImplementation";
+
+    protected TemplateFragmentCacheService templateFragmentCacheService;
+
+    @Override
+    public void onEvent(CacheEvent<?, ?> cacheEvent) {
+        if (EventType.CREATED.equals(cacheEvent.getType())) {
+            return;
+        }
+        Object key = cacheEvent.getKey();
+        if (key == null || !HIBERNATE_CACHE_KEY.equals(key.getClass().getName())) {
+            return;
+        }
+        TemplateFragmentCacheService service = getTemplateFragmentCacheService();
+        if (service == null) {
+            return;
+        }
+        String[] keyPieces = key.toString().split("#");
+        if (keyPieces.length == 2) {
+            service.evictEntity(keyPieces[0], keyPieces[1]);
+        }
+    }
+
+    protected TemplateFragmentCacheService getTemplateFragmentCacheService() {
+        if (templateFragmentCacheService == null) {
+            ApplicationContext ctx = ApplicationContextHolder.getApplicationContext();
+            if (ctx != null && ctx.containsBean("blTemplateFragmentCacheService")) {
+                templateFragmentCacheService = ctx.getBean("blTemplateFragmentCacheService", TemplateFragmentCacheService.class);
+            }
+        }
+        return templateFragmentCacheService;
+    }
+}
@@ -0,0 +1,55 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web.cache;
+
+import org.broadleafcommerce.common.util.ApplicationContextHolder;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Ehcache 3 cache event listener on the {@link TemplateFragmentCacheService#CACHE_NAME} region. When a fragment
+ * expires or is evicted to make room, it tells the {@link TemplateFragmentCacheService} to forget the entities the
+ * fragment declared, so that the index from entities to fragments does not outgrow the region.
+ */
+public class TemplateFragmentCacheRemovalListener implements CacheEventListener<Object, Object> {
+
+    protected TemplateFragmentCacheService templateFragmentCacheService;
+
+    @Override
+    public void onEvent(CacheEvent<?, ?> cacheEvent) {
+        Object key = cacheEvent.getKey();
+        if (!(key instanceof String)) {
+            return;
+        }
+        TemplateFragmentCacheService service = getTemplateFragmentCacheService();
+        if (service != null) {
+            service.removeCacheKey((String) key);
+        }
+    }
+
+    protected TemplateFragmentCacheService getTemplateFragmentCacheService() {
+        if (templateFragmentCacheService == null) {
+            ApplicationContext ctx = ApplicationContextHolder.getApplicationContext();
+            if (ctx != null && ctx.containsBean("blTemplateFragmentCacheService")) {
+                templateFragmentCacheService = ctx.getBean("blTemplateFragmentCacheService", TemplateFragmentCacheService.class);
+            }
+        }
+        return templateFragmentCacheService;
+    }
+}
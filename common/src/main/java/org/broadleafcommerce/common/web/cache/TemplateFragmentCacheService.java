@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Caches the rendered output of template fragments, such as headers, menus and product tiles, that would otherwise be
+ * rendered again on every request. Entries are kept in the {@link #CACHE_NAME} region and are only used in the
+ * production sandbox.
+ *
+ * A fragment can declare the entities it was rendered from. When one of those entities changes, every fragment that
+ * declared it is evicted.
+ *
+ * @see TemplateFragmentCacheEventListener
+ */
+public interface TemplateFragmentCacheService {
+
+    public static final String CACHE_NAME = "blTemplateFragmentElements";
+
+    /**
+     * @return whether fragments should be cached for the current request
+     */
+    public boolean isCacheable();
+
+    /**
+     * Builds the cache key for a fragment. The key combines the template with the site, locale, currency and sandbox of
+     * the current request, with the key declared by the template and with the parameters the fragment is rendered with.
+     * Entities are identified by their class and id, and any other value by its String form.
+     *
+     * @param template the name of the template or fragment being rendered
+     * @param declaredKey the key declared by the template, typically an entity or an id
+     * @param parameters the evaluated parameters passed to the fragment, by name
+     */
+    public String buildCacheKey(String template, Object declaredKey, Map<String, Object> parameters);
+
+    /**
+     * @return the rendered fragment for the key, or null if it has not been cached
+     */
+    public String getFragment(String cacheKey);
+
+    /**
+     * Caches a rendered fragment.
+     *
+     * @param cacheKey the key returned from {@link #buildCacheKey(String, Object, Map)}
+     * @param content the rendered fragment
+     * @param entities the entities the fragment was rendered from. Changes to any of them evict the fragment.
+     * @param renderTime the number of milliseconds it took to render the fragment
+     */
+    public void putFragment(String cacheKey, String content, Collection<?> entities, long renderTime);
+
+    /**
+     * Evicts every fragment that declared the entity with the given name and id
+     *
+     * @param entityName the fully qualified class name of the entity, or a collection role on that entity
+     * @param id the id of the entity
+     */
+    public void evictEntity(String entityName, Serializable id);
+
+    /**
+     * Forgets the entities a fragment declared, once the fragment has expired or been evicted from the cache
+     *
+     * @see TemplateFragmentCacheRemovalListener
+     */
+    public void removeCacheKey(String cacheKey);
+
+    public void clear();
+
+}
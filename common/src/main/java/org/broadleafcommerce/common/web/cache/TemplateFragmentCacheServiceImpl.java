@@ -0,0 +1,255 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.web.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.cache.CacheStatType;
+import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extension.ExtensionResultHolder;
+import org.broadleafcommerce.common.extension.ExtensionResultStatusType;
+import org.broadleafcommerce.common.extension.TemplateCacheExtensionManager;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Resource;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.Entity;
+
+/**
+ * Default {@link TemplateFragmentCacheService}. Entities are identified the same way Hibernate identifies them in the
+ * second level cache, by the name of the root entity class and the id, so that the changes reported by
+ * {@link TemplateFragmentCacheEventListener} can be matched to the fragments that declared them.
+ *
+ * The index from entities to fragment keys is kept on the heap of each node. Like the hydrated cache, it only sees
+ * changes to the second level cache of the node it runs on. A fragment is dropped from the index when it is evicted
+ * through it, and when it expires or is evicted from the {@link #CACHE_NAME} region, which
+ * {@link TemplateFragmentCacheRemovalListener} reports.
+ */
+@Service("blTemplateFragmentCacheService")
+public class TemplateFragmentCacheServiceImpl implements TemplateFragmentCacheService {
+
+    private static final Log LOG = LogFactory.getLog(TemplateFragmentCacheServiceImpl.class);
+
+    @Resource(name = "blCacheManager")
+    protected CacheManager cacheManager;
+
+    @Resource(name = "blStatisticsService")
+    protected StatisticsService statisticsService;
+
+    @Resource(name = "blTemplateCacheExtensionManager")
+    protected TemplateCacheExtensionManager extensionManager;
+
+    @Value("${template.fragment.cache.enabled:false}")
+    protected boolean enabled = false;
+
+    protected Cache<String, String> cache;
+
+    protected final Map<String, Set<String>> cacheKeysByEntity = new ConcurrentHashMap<>();
+
+    protected final Map<String, Set<String>> entityTagsByCacheKey = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isCacheable() {
+        if (!enabled) {
+            return false;
+        }
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext();
+        return brc != null && brc.isProductionSandBox();
+    }
+
+    @Override
+    public String buildCacheKey(String template, Object declaredKey, Map<String, Object> parameters) {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext();
+        StringBuilder key = new StringBuilder(template);
+        key.append("-").append(buildDeclaredKey(declaredKey));
+        if (parameters != null) {
+            for (Map.Entry<String, Object> parameter : new TreeMap<>(parameters).entrySet()) {
+                key.append("-").append(parameter.getKey()).append("=").append(buildDeclaredKey(parameter.getValue()));
+            }
+        }
+        if (brc != null) {
+            if (brc.getNonPersistentSite() != null) {
+                key.append("-").append(brc.getNonPersistentSite().getId());
+            }
+            if (brc.getLocale() != null) {
+                key.append("-").append(brc.getLocale().getLocaleCode());
+            }
+            if (brc.getBroadleafCurrency() != null) {
+                key.append("-").append(brc.getBroadleafCurrency().getCurrencyCode());
+            }
+            if (brc.getSandBox() != null) {
+                key.append("-").append(brc.getSandBox().getId());
+            }
+        }
+
+        ExtensionResultHolder<Object> erh = new ExtensionResultHolder<>();
+        ExtensionResultStatusType result = extensionManager.getTemplateCacheKey(key.toString(), template, erh);
+        if (!ExtensionResultStatusType.NOT_HANDLED.equals(result) && erh.getResult() != null) {
+            return String.valueOf(erh.getResult());
+        }
+        return key.toString();
+    }
+
+    protected String buildDeclaredKey(Object declaredKey) {
+        if (declaredKey instanceof Collection) {
+            StringBuilder sb = new StringBuilder();
+            for (Object item : (Collection<?>) declaredKey) {
+                if (sb.length() > 0) {
+                    sb.append(",");
+                }
+                sb.append(buildDeclaredKey(item));
+            }
+            return sb.toString();
+        }
+        String entityTag = getEntityTag(declaredKey);
+        return entityTag != null ? entityTag : String.valueOf(declaredKey);
+    }
+
+    @Override
+    public String getFragment(String cacheKey) {
+        String content = getCache().get(cacheKey);
+        statisticsService.addCacheStat(CacheStatType.TEMPLATE_FRAGMENT_CACHE_HIT_RATE.toString(), content != null);
+        return content;
+    }
+
+    @Override
+    public void putFragment(String cacheKey, String content, Collection<?> entities, long renderTime) {
+        statisticsService.addCacheLoadTime(CacheStatType.TEMPLATE_FRAGMENT_CACHE_HIT_RATE.toString(), renderTime);
+        if (content == null) {
+            return;
+        }
+        if (entities != null) {
+            for (Object entity : entities) {
+                String entityTag = getEntityTag(entity);
+                if (entityTag != null) {
+                    cacheKeysByEntity.computeIfAbsent(entityTag, k -> ConcurrentHashMap.newKeySet()).add(cacheKey);
+                    entityTagsByCacheKey.computeIfAbsent(cacheKey, k -> ConcurrentHashMap.newKeySet()).add(entityTag);
+                }
+            }
+        }
+        getCache().put(cacheKey, content);
+    }
+
+    @Override
+    public void evictEntity(String entityName, Serializable id) {
+        if (cacheKeysByEntity.isEmpty() || entityName == null || id == null) {
+            return;
+        }
+        evictTag(buildEntityTag(entityName, id));
+
+        // Collection regions are named after the owning entity followed by the collection property
+        int lastDot = entityName.lastIndexOf('.');
+        if (lastDot > 0 && lastDot < entityName.length() - 1 && Character.isLowerCase(entityName.charAt(lastDot + 1))) {
+            evictTag(buildEntityTag(entityName.substring(0, lastDot), id));
+        }
+    }
+
+    protected void evictTag(String entityTag) {
+        Set<String> cacheKeys = cacheKeysByEntity.remove(entityTag);
+        if (cacheKeys != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicting " + cacheKeys.size() + " template fragments for " + entityTag);
+            }
+            for (String cacheKey : cacheKeys) {
+                removeCacheKey(cacheKey);
+            }
+            getCache().removeAll(cacheKeys);
+        }
+    }
+
+    @Override
+    public void removeCacheKey(String cacheKey) {
+        Set<String> entityTags = entityTagsByCacheKey.remove(cacheKey);
+        if (entityTags != null) {
+            for (String entityTag : entityTags) {
+                cacheKeysByEntity.computeIfPresent(entityTag, (tag, cacheKeys) -> {
+                    cacheKeys.remove(cacheKey);
+                    return cacheKeys.isEmpty() ? null : cacheKeys;
+                });
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        cacheKeysByEntity.clear();
+        entityTagsByCacheKey.clear();
+        getCache().removeAll();
+    }
+
+    /**
+     * Identifies an entity by the name of its root entity class and its id, without initializing proxies.
+     *
+     * @return the tag, or null if the object is not an entity
+     */
+    protected String getEntityTag(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        Class<?> type;
+        Object id;
+        if (entity instanceof HibernateProxy) {
+            LazyInitializer lazyInitializer = ((HibernateProxy) entity).getHibernateLazyInitializer();
+            type = lazyInitializer.getPersistentClass();
+            id = lazyInitializer.getIdentifier();
+        } else {
+            type = entity.getClass();
+            Method getId = ReflectionUtils.findMethod(type, "getId");
+            id = getId == null ? null : ReflectionUtils.invokeMethod(getId, entity);
+        }
+        Class<?> rootType = null;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                rootType = current;
+            }
+        }
+        if (rootType == null || id == null) {
+            return null;
+        }
+        return buildEntityTag(rootType.getName(), id);
+    }
+
+    protected String buildEntityTag(String entityName, Object id) {
+        return entityName + "#" + id;
+    }
+
+    protected Cache<String, String> getCache() {
+        if (cache == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    cache = cacheManager.getCache(CACHE_NAME);
+                }
+            }
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.context.merge;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Tests for {@link MergePointLocator}, which must find the same nodes as XPath does
+ */
+public class MergePointLocatorTest {
+
+    protected static final String XML = "<?xml version=\"1.0\"?>"
+            + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:schemaLocation=\"a b\">"
+            + "<!-- comment --><service id=\"s1\" name=\"n\"/><persistence/>"
+            + "<cache alias=\"x\"><key-type>k</key-type></cache><cache alias=\"y\"/><service id=\"s2\"/>"
+            + "</config>";
+
+    protected static Document document;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testSimplePaths() throws Exception {
+        assertSameAsXPath("/config/*", 5);
+        assertSameAsXPath("/config/service", 2);
+        assertSameAsXPath("/config/cache/key-type", 1);
+        assertSameAsXPath("/nothing/*", 0);
+    }
+
+    @Test
+    public void testAttributePredicates() throws Exception {
+        assertSameAsXPath("/config/cache[@alias='y']", 1);
+        assertSameAsXPath("/config/service[@id=\"s2\"]", 1);
+        assertSameAsXPath("/config/*[@id='s1']", 1);
+        assertSameAsXPath("/config/service/@id", 2);
+    }
+
+    @Test
+    public void testXPathFallback() throws Exception {
+        assertSameAsXPath("//service", 2);
+        assertSameAsXPath("/config/service[1]", 1);
+    }
+
+    protected void assertSameAsXPath(String expression, int expectedSize) throws Exception {
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        NodeList nodeList = (NodeList) xPath.evaluate(expression, document, XPathConstants.NODESET);
+        List<Node> expected = new ArrayList<>();
+        for (int j = 0; j < nodeList.getLength(); j++) {
+            expected.add(nodeList.item(j));
+        }
+        MergePointLocator locator = new MergePointLocator(document, document);
+        assertEquals(expectedSize, expected.size());
+        assertEquals(expected, locator.findSourceNodes(expression));
+        assertEquals(expected, locator.findPatchNodes(expression));
+    }
+}
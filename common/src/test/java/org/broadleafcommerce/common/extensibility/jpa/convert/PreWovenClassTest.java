@@ -0,0 +1,123 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.extensibility.jpa.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Tests for {@link PreWovenClassRecorder} and {@link PreWovenClassSkippingTransformer}: a class file recorded by the
+ * former is passed through by the latter, while any other class file is still transformed
+ */
+public class PreWovenClassTest {
+
+    protected static final String CLASS_NAME = "com/example/Widget";
+    protected static final byte[] WOVEN = "woven widget".getBytes(StandardCharsets.UTF_8);
+    protected static final byte[] ORIGINAL = "original widget".getBytes(StandardCharsets.UTF_8);
+
+    protected File directory;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("prewoven-class-test").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    public void testRecordedClassIsPassedThroughAndOtherBytesAreTransformed() throws Exception {
+        PreWovenClassRecorder recorder = new PreWovenClassRecorder(directory, Arrays.asList("com.example.Widget"), "transformers");
+        assertNull(recorder.transform(null, CLASS_NAME, null, null, WOVEN));
+        assertNull(recorder.transform(null, "com/example/Unmanaged", null, null, ORIGINAL));
+        recorder.writeManifest();
+
+        assertArrayEquals(WOVEN, Files.readAllBytes(new File(directory, CLASS_NAME + ".class").toPath()));
+        assertFalse(new File(directory, "com/example/Unmanaged.class").exists());
+
+        PreWovenClassManifest manifest;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null)) {
+            manifest = PreWovenClassManifest.load(classLoader);
+        }
+        assertNotNull(manifest);
+        assertEquals(1, manifest.size());
+        assertEquals("transformers", manifest.getTransformers());
+
+        RecordingTransformer delegate = new RecordingTransformer();
+        PreWovenClassSkippingTransformer transformer = new PreWovenClassSkippingTransformer(delegate, manifest);
+
+        assertNull(transformer.transform(null, CLASS_NAME, null, null, WOVEN));
+        assertTrue(delegate.transformed.isEmpty());
+
+        // a fresh manifest, since the result of the hash comparison is remembered per class
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null)) {
+            transformer = new PreWovenClassSkippingTransformer(delegate, PreWovenClassManifest.load(classLoader));
+        }
+        assertArrayEquals(RecordingTransformer.TRANSFORMED, transformer.transform(null, CLASS_NAME, null, null, ORIGINAL));
+        assertArrayEquals(RecordingTransformer.TRANSFORMED, transformer.transform(null, "com/example/Unmanaged", null, null, ORIGINAL));
+        assertEquals(Arrays.asList(CLASS_NAME, "com/example/Unmanaged"), delegate.transformed);
+    }
+
+    @Test
+    public void testNoManifestOnTheClasspath() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null)) {
+            assertNull(PreWovenClassManifest.load(classLoader));
+        }
+    }
+
+    protected static class RecordingTransformer implements BroadleafClassTransformer {
+
+        protected static final byte[] TRANSFORMED = "transformed".getBytes(StandardCharsets.UTF_8);
+
+        protected final List<String> transformed = new ArrayList<>();
+
+        @Override
+        public void compileJPAProperties(Properties props, Object key) throws Exception {
+        }
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            transformed.add(className);
+            return TRANSFORMED;
+        }
+    }
+
+}
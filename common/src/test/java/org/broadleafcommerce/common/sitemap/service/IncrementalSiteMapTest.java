@@ -0,0 +1,268 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.broadleafcommerce.common.config.domain.ModuleConfiguration;
+import org.broadleafcommerce.common.config.service.ModuleConfigurationService;
+import org.broadleafcommerce.common.config.service.type.ModuleConfigurationType;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapConfiguration;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapConfigurationImpl;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
+import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfigurationImpl;
+import org.broadleafcommerce.common.sitemap.exception.SiteMapException;
+import org.broadleafcommerce.common.sitemap.wrapper.SiteMapURLWrapper;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Incremental site map tests. Entries are split into shards of 10 ids, so the ids 1, 5, 12 and 25 produce the shards
+ * 0, 1 and 2.
+ */
+public class IncrementalSiteMapTest extends SiteMapGeneratorTest {
+
+    protected static final String MANIFEST_FILE_NAME = "incremental_sitemap_test_manifest.properties";
+    protected static final String GROUP = "g1";
+
+    protected WidgetSiteMapGenerator generator = new WidgetSiteMapGenerator();
+    protected RecordedSiteMapChangeService changeService = new RecordedSiteMapChangeService();
+    protected SiteMapConfiguration smc = new SiteMapConfigurationImpl();
+
+    @Before
+    public void setupIncremental() {
+        siteMapService.incrementalSiteMap = true;
+        siteMapService.incrementalShardSize = 10L;
+        siteMapService.incrementalManifestFileName = MANIFEST_FILE_NAME;
+        siteMapService.siteMapChangeService = changeService;
+        siteMapService.setGzipSiteMapFiles(false);
+        siteMapService.setSiteMapGenerators(Collections.<SiteMapGenerator>singletonList(generator));
+        fileService.removeResource(MANIFEST_FILE_NAME);
+
+        SiteMapGeneratorConfiguration smgc = new SiteMapGeneratorConfigurationImpl();
+        smgc.setId(1L);
+        smgc.setDisabled(false);
+        smgc.setSiteMapConfiguration(smc);
+        List<SiteMapGeneratorConfiguration> smgcList = new ArrayList<>();
+        smgcList.add(smgc);
+        smc.setMaximumUrlEntriesPerFile(2);
+        smc.setSiteMapGeneratorConfigurations(smgcList);
+        smc.setIndexedSiteMapFileName("sitemap_index.xml");
+
+        List<ModuleConfiguration> mcList = new ArrayList<>();
+        mcList.add(smc);
+        ModuleConfigurationService mcs = EasyMock.createMock(ModuleConfigurationService.class);
+        EasyMock.expect(mcs.findActiveConfigurationsByType(ModuleConfigurationType.SITE_MAP)).andReturn(mcList).anyTimes();
+        EasyMock.replay(mcs);
+        siteMapService.setModuleConfigurationService(mcs);
+
+        generator.add(1L, 5L, 12L, 25L);
+    }
+
+    @After
+    public void deleteShardFiles() throws IOException {
+        File manifestFile = fileService.getResource(MANIFEST_FILE_NAME);
+        if (manifestFile.exists()) {
+            for (String fileName : SiteMapManifest.read(manifestFile).getAllFiles()) {
+                fileService.removeResource(fileName);
+            }
+        }
+        fileService.removeResource(MANIFEST_FILE_NAME);
+    }
+
+    @Test
+    public void testFirstRunBuildsEveryShard() throws SiteMapException, IOException {
+        generate();
+
+        SiteMapManifest manifest = readManifest();
+        Assert.assertEquals(Arrays.asList(0L, 1L, 2L), generator.generatedShards);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(0L, 1L, 2L)), manifest.getShards(GROUP));
+        Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml"), manifest.getShardFiles(GROUP, "0"));
+        Assert.assertEquals(manifest.getLastRun(), manifest.getLastFullRun());
+        String index = convertFileToString(fileService.getResource("/sitemap_index.xml"));
+        for (String fileName : manifest.getAllFiles()) {
+            Assert.assertTrue(fileService.getResource(fileName).exists());
+            Assert.assertTrue(index.contains("http://www.heatclinic.com/" + fileName));
+        }
+    }
+
+    @Test
+    public void testChangedIdRebuildsItsShardAndTheTopShard() throws SiteMapException, IOException {
+        generate();
+        Date lastFullRun = readManifest().getLastFullRun();
+        generator.urls.put(5L, "/widget/5-renamed");
+        changeService.changedIds.add(5L);
+
+        generate();
+
+        SiteMapManifest manifest = readManifest();
+        Assert.assertEquals(Arrays.asList(0L, 2L), generator.generatedShards);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(0L, 1L, 2L)), manifest.getShards(GROUP));
+        Assert.assertEquals(lastFullRun, manifest.getLastFullRun());
+        Assert.assertTrue(convertFileToString(fileService.getResource("sitemap_g1_0_1.xml")).contains("/widget/5-renamed"));
+        Assert.assertTrue(fileService.getResource("sitemap_g1_1_1.xml").exists());
+    }
+
+    @Test
+    public void testNewTopShardIsBuilt() throws SiteMapException, IOException {
+        generate();
+        generator.add(37L);
+
+        generate();
+
+        SiteMapManifest manifest = readManifest();
+        Assert.assertEquals(Arrays.asList(2L, 3L), generator.generatedShards);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(0L, 1L, 2L, 3L)), manifest.getShards(GROUP));
+        Assert.assertTrue(convertFileToString(fileService.getResource("sitemap_g1_3_1.xml")).contains("/widget/37"));
+        Assert.assertTrue(convertFileToString(fileService.getResource("/sitemap_index.xml")).contains("sitemap_g1_3_1.xml"));
+    }
+
+    @Test
+    public void testShrinkingMaximumIdRemovesTheShardsAboveIt() throws SiteMapException, IOException {
+        generate();
+        generator.urls.remove(12L);
+        generator.urls.remove(25L);
+        changeService.changedIds.addAll(Arrays.asList(12L, 25L));
+
+        generate();
+
+        SiteMapManifest manifest = readManifest();
+        Assert.assertTrue(generator.generatedShards.isEmpty());
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(0L)), manifest.getShards(GROUP));
+        Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml"), manifest.getAllFiles());
+        Assert.assertFalse(fileService.getResource("sitemap_g1_1_1.xml").exists());
+        Assert.assertFalse(fileService.getResource("sitemap_g1_2_1.xml").exists());
+        String index = convertFileToString(fileService.getResource("/sitemap_index.xml"));
+        Assert.assertTrue(index.contains("sitemap_g1_0_1.xml"));
+        Assert.assertFalse(index.contains("sitemap_g1_1_1.xml"));
+        Assert.assertFalse(index.contains("sitemap_g1_2_1.xml"));
+    }
+
+    @Test
+    public void testFingerprintChangeForcesFullRun() throws SiteMapException, IOException {
+        generate();
+        String fingerprint = readManifest().getFingerprint();
+        smc.setMaximumUrlEntriesPerFile(1);
+        generator.add(6L);
+
+        generate();
+
+        SiteMapManifest manifest = readManifest();
+        Assert.assertNotEquals(fingerprint, manifest.getFingerprint());
+        Assert.assertEquals(Arrays.asList(0L, 1L, 2L), generator.generatedShards);
+        Assert.assertEquals(manifest.getLastRun(), manifest.getLastFullRun());
+        Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml", "sitemap_g1_0_2.xml", "sitemap_g1_0_3.xml"),
+                manifest.getShardFiles(GROUP, "0"));
+    }
+
+    protected void generate() throws SiteMapException, IOException {
+        generator.generatedShards.clear();
+        SiteMapGenerationResponse smgr = siteMapService.generateSiteMap();
+        Assert.assertFalse(smgr.isHasError());
+        changeService.changedIds.clear();
+    }
+
+    protected SiteMapManifest readManifest() throws IOException {
+        return SiteMapManifest.read(fileService.getResource(MANIFEST_FILE_NAME));
+    }
+
+    protected static class WidgetSiteMapGenerator implements ShardedSiteMapGenerator {
+
+        protected SortedMap<Long, String> urls = new TreeMap<>();
+        protected List<Long> generatedShards = new ArrayList<>();
+
+        protected void add(Long... ids) {
+            for (Long id : ids) {
+                urls.put(id, "/widget/" + id);
+            }
+        }
+
+        @Override
+        public boolean canHandleSiteMapConfiguration(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration) {
+            return true;
+        }
+
+        @Override
+        public void addSiteMapEntries(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration, SiteMapBuilder siteMapBuilder) {
+            addSiteMapEntries(siteMapBuilder, urls);
+        }
+
+        @Override
+        public String getTrackedEntityType() {
+            return "Widget";
+        }
+
+        @Override
+        public Long readMaximumId(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration) {
+            return urls.isEmpty() ? null : urls.lastKey();
+        }
+
+        @Override
+        public void addSiteMapEntries(SiteMapGeneratorConfiguration siteMapGeneratorConfiguration, SiteMapBuilder siteMapBuilder,
+                Long fromId, Long toId) {
+            generatedShards.add(fromId / 10L);
+            addSiteMapEntries(siteMapBuilder, urls.subMap(fromId, toId));
+        }
+
+        protected void addSiteMapEntries(SiteMapBuilder siteMapBuilder, Map<Long, String> entries) {
+            for (String url : entries.values()) {
+                SiteMapURLWrapper siteMapUrl = new SiteMapURLWrapper();
+                siteMapUrl.setLoc(siteMapBuilder.getBaseUrl() + url);
+                siteMapBuilder.addUrl(siteMapUrl);
+            }
+        }
+    }
+
+    protected static class RecordedSiteMapChangeService implements SiteMapChangeService {
+
+        protected List<Long> changedIds = new ArrayList<>();
+
+        @Override
+        public boolean isTracked(String entityType) {
+            return true;
+        }
+
+        @Override
+        public void recordChange(String entityType, Long entityId) {
+            changedIds.add(entityId);
+        }
+
+        @Override
+        public List<Long> findEntityIdsChangedSince(String entityType, Date since) {
+            return new ArrayList<>(changedIds);
+        }
+
+        @Override
+        public void purgeChangesBefore(Date date) {
+        }
+    }
+
+}
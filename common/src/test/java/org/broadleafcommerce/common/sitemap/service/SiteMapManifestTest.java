@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.common.sitemap.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.TreeSet;
+
+/**
+ * Site map manifest tests
+ */
+public class SiteMapManifestTest {
+
+    @Test
+    public void testManifestIsReadBack() throws IOException {
+        SiteMapManifest manifest = new SiteMapManifest();
+        manifest.setFingerprint("abc");
+        manifest.setLastRun(new Date(2000L));
+        manifest.setLastFullRun(new Date(1000L));
+        manifest.setShardFiles("g1", "0", Arrays.asList("sitemap_g1_0_1.xml", "sitemap_g1_0_2.xml"), "2025-01-01");
+        manifest.setShardFiles("g2", SiteMapManifest.ALL_SHARD, Arrays.asList("sitemap_g2_1.xml"), "2025-01-02");
+
+        File file = File.createTempFile("sitemap_manifest", ".properties");
+        try {
+            manifest.write(file);
+            SiteMapManifest read = SiteMapManifest.read(file);
+
+            Assert.assertEquals("abc", read.getFingerprint());
+            Assert.assertEquals(new Date(2000L), read.getLastRun());
+            Assert.assertEquals(new Date(1000L), read.getLastFullRun());
+            Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml", "sitemap_g1_0_2.xml"), read.getShardFiles("g1", "0"));
+            Assert.assertEquals("2025-01-02", read.getLastModified("sitemap_g2_1.xml"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testShardsAreOrderedNumerically() {
+        SiteMapManifest manifest = new SiteMapManifest();
+        manifest.setShardFiles("g1", "10", Arrays.asList("sitemap_g1_10_1.xml"), "now");
+        manifest.setShardFiles("g1", "2", Arrays.asList("sitemap_g1_2_1.xml"), "now");
+        manifest.setShardFiles("g2", SiteMapManifest.ALL_SHARD, Arrays.asList("sitemap_g2_1.xml"), "now");
+        manifest.setShardFiles("g1", "0", Arrays.asList("sitemap_g1_0_1.xml"), "now");
+
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(0L, 2L, 10L)), manifest.getShards("g1"));
+        Assert.assertEquals(10L, manifest.getHighestShard("g1"));
+        Assert.assertEquals(-1L, manifest.getHighestShard("g3"));
+        Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml", "sitemap_g1_2_1.xml", "sitemap_g1_10_1.xml", "sitemap_g2_1.xml"),
+                manifest.getAllFiles());
+    }
+
+    @Test
+    public void testShardWithoutFilesIsRemoved() {
+        SiteMapManifest manifest = new SiteMapManifest();
+        manifest.setShardFiles("g1", "0", Arrays.asList("sitemap_g1_0_1.xml"), "now");
+
+        manifest.setShardFiles("g1", "0", Collections.<String>emptyList(), "later");
+
+        Assert.assertTrue(manifest.getShards("g1").isEmpty());
+        Assert.assertNull(manifest.getLastModified("sitemap_g1_0_1.xml"));
+    }
+
+    @Test
+    public void testCopyGroupKeepsLastModifiedDates() {
+        SiteMapManifest previous = new SiteMapManifest();
+        previous.setShardFiles("g1", "0", Arrays.asList("sitemap_g1_0_1.xml"), "then");
+        previous.setShardFiles("g2", "0", Arrays.asList("sitemap_g2_0_1.xml"), "then");
+
+        SiteMapManifest manifest = new SiteMapManifest();
+        manifest.copyGroup(previous, "g1");
+
+        Assert.assertEquals(Arrays.asList("sitemap_g1_0_1.xml"), manifest.getAllFiles());
+        Assert.assertEquals("then", manifest.getLastModified("sitemap_g1_0_1.xml"));
+    }
+
+}
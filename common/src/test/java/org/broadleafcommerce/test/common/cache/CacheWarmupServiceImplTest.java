@@ -0,0 +1,124 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.cache;
+
+import org.broadleafcommerce.common.cache.CacheWarmupServiceImpl;
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+public class CacheWarmupServiceImplTest extends TestCase {
+
+    public void testRunsEveryBatchAndCountsFailures() {
+        AtomicInteger runs = new AtomicInteger();
+        List<Runnable> batches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batches.add(runs::incrementAndGet);
+        }
+        batches.add(() -> {
+            throw new IllegalStateException("expected");
+        });
+        TestCacheWarmupService service = new TestCacheWarmupService(Collections.singletonList(new TestTask("a", batches)), "");
+
+        assertFalse(service.isReady());
+        service.warmUp();
+
+        assertTrue(service.isReady());
+        assertEquals(10, runs.get());
+        assertEquals(11, service.getTotalBatchCount());
+        assertEquals(10, service.getCompletedBatchCount());
+        assertEquals(1, service.getFailedBatchCount());
+    }
+
+    public void testOnlyRunsConfiguredTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        TestTask a = new TestTask("a", Collections.<Runnable>singletonList(runs::incrementAndGet));
+        TestTask b = new TestTask("b", Collections.<Runnable>singletonList(() -> fail("task b is not enabled")));
+        TestCacheWarmupService service = new TestCacheWarmupService(Arrays.<CacheWarmupTask>asList(a, b), " a ");
+
+        service.warmUp();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, service.getTotalBatchCount());
+        assertEquals(0, service.getFailedBatchCount());
+    }
+
+    public void testBatchesRunWithAFreshRequestContext() {
+        List<BroadleafRequestContext> contexts = Collections.synchronizedList(new ArrayList<BroadleafRequestContext>());
+        Runnable batch = () -> contexts.add(BroadleafRequestContext.getBroadleafRequestContext(false));
+        TestCacheWarmupService service = new TestCacheWarmupService(
+                Collections.singletonList(new TestTask("a", Arrays.asList(batch, batch))), "");
+
+        service.warmUp();
+
+        assertEquals(2, contexts.size());
+        assertNotNull(contexts.get(0));
+        assertNotNull(contexts.get(1));
+        assertNotSame(contexts.get(0), contexts.get(1));
+    }
+
+    public void testOnlyWarmsUpOnce() {
+        AtomicInteger runs = new AtomicInteger();
+        TestCacheWarmupService service = new TestCacheWarmupService(
+                Collections.singletonList(new TestTask("a", Collections.<Runnable>singletonList(runs::incrementAndGet))), "");
+
+        service.warmUp();
+        service.warmUp();
+
+        assertEquals(1, runs.get());
+    }
+
+    private static class TestCacheWarmupService extends CacheWarmupServiceImpl {
+
+        TestCacheWarmupService(List<CacheWarmupTask> tasks, String taskNames) {
+            this.tasks = tasks;
+            this.taskNames = taskNames;
+            this.enabled = true;
+            this.threads = 2;
+            this.timeoutSeconds = 10;
+        }
+    }
+
+    private static class TestTask implements CacheWarmupTask {
+
+        private final String name;
+        private final List<Runnable> batches;
+
+        TestTask(String name, List<Runnable> batches) {
+            this.name = name;
+            this.batches = batches;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Runnable> getBatches() {
+            return batches;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.cache;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationEvent;
+import org.broadleafcommerce.common.extensibility.cache.InProcessCacheInvalidationBus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import junit.framework.TestCase;
+
+public class InProcessCacheInvalidationBusTest extends TestCase {
+
+    private InProcessCacheInvalidationBus publisher;
+    private InProcessCacheInvalidationBus receiver;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        publisher = new InProcessCacheInvalidationBus("InProcessCacheInvalidationBusTest");
+        receiver = new InProcessCacheInvalidationBus("InProcessCacheInvalidationBusTest");
+        publisher.afterPropertiesSet();
+        receiver.afterPropertiesSet();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        publisher.destroy();
+        receiver.destroy();
+        super.tearDown();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testEvictionReachesOtherNodeOnly() {
+        Cache<Object, Object> publisherCache = createMock(Cache.class);
+        CacheManager publisherCacheManager = createMock(CacheManager.class);
+        replay(publisherCache, publisherCacheManager);
+        publisher.setCacheManager(publisherCacheManager);
+
+        Cache<Object, Object> receiverCache = createMock(Cache.class);
+        expect(receiverCache.remove("key")).andReturn(true);
+        receiverCache.removeAll();
+        expectLastCall();
+        CacheManager receiverCacheManager = createMock(CacheManager.class);
+        expect(receiverCacheManager.getCache("region")).andReturn(receiverCache).times(2);
+        replay(receiverCache, receiverCacheManager);
+        receiver.setCacheManager(receiverCacheManager);
+
+        final List<CacheInvalidationEvent> received = new ArrayList<>();
+        receiver.addListener(event -> received.add(event));
+
+        publisher.publishEviction("region", "key");
+        publisher.publishClear("region");
+
+        verify(publisherCache, publisherCacheManager, receiverCache, receiverCacheManager);
+        assertEquals(2, received.size());
+        assertEquals("key", received.get(0).getKey());
+        assertEquals(publisher.getNodeId(), received.get(0).getNodeId());
+        assertTrue(received.get(1).isClear());
+    }
+}
@@ -0,0 +1,119 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.cache;
+
+import org.broadleafcommerce.common.cache.NearCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class NearCacheTest extends TestCase {
+
+    public void testGetPutAndRemove() {
+        NearCache<String, String> cache = new NearCache<>("test", 10, 60);
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        cache.put("b", null);
+        cache.put(null, "B");
+        assertEquals("A", cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    public void testExpiredEntriesAreNotServed() throws Exception {
+        NearCache<String, String> cache = new NearCache<>("test", 10, 0);
+        cache.put("a", "A");
+        Thread.sleep(5);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    public void testRemoveIfOnlyRemovesMatchingKeys() {
+        NearCache<String, String> cache = new NearCache<>("test", 10, 60);
+        cache.put("page-1", "1");
+        cache.put("page-2", "2");
+        cache.put("content-1", "3");
+        cache.removeIf(key -> key.startsWith("page-"));
+        assertNull(cache.get("page-1"));
+        assertNull(cache.get("page-2"));
+        assertEquals("3", cache.get("content-1"));
+    }
+
+    public void testFullCacheDropsTheLeastRecentlyReadEntries() throws Exception {
+        NearCache<Integer, String> cache = new NearCache<>("test", 8, 60);
+        for (int i = 0; i < 8; i++) {
+            cache.put(i, "value" + i);
+            Thread.sleep(2);
+        }
+        cache.get(0);
+        cache.get(1);
+
+        cache.put(8, "value8");
+
+        assertEquals(6, cache.size());
+        assertEquals("value0", cache.get(0));
+        assertEquals("value1", cache.get(1));
+        assertEquals("value8", cache.get(8));
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+        assertNull(cache.get(4));
+    }
+
+    /**
+     * Invalidation walks the keys while other threads keep filling, and trimming, the cache
+     */
+    public void testRemoveIfWhileOtherThreadsWrite() throws Exception {
+        final NearCache<Integer, String> cache = new NearCache<>("test", 100, 60);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        cache.put(i * 4 + offset, "value");
+                    }
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                cache.removeIf(key -> key % 2 == 0);
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        cache.removeIf(key -> key % 2 == 0);
+        for (int i = 0; i < 80000; i += 2) {
+            assertNull(cache.get(i));
+        }
+    }
+}
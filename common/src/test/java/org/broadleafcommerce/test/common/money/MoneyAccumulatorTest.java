@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.money;
+
+import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.money.MoneyAccumulator;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import junit.framework.TestCase;
+
+public class MoneyAccumulatorTest extends TestCase {
+
+    private final Currency usd = Currency.getInstance("USD");
+
+    public void testMatchesChainedMoneyArithmetic() {
+        Money[] amounts = {
+                new Money("19.99", usd), new Money("0.01", usd), new Money(3, usd), new Money("-4.50", usd)
+        };
+        Money expected = new Money(BigDecimal.ZERO, usd);
+        MoneyAccumulator accumulator = new MoneyAccumulator(usd);
+        for (Money amount : amounts) {
+            expected = expected.add(amount).subtract(amount.multiply(2)).add(amount.multiply(3));
+            accumulator.add(amount).add(amount, -2).add(amount, 3);
+        }
+        assertEquals(expected, accumulator.toMoney());
+        assertEquals(expected.getAmount().scale(), accumulator.toMoney().getAmount().scale());
+    }
+
+    public void testRoundsExtraPrecisionLikeMoney() {
+        Money precise = new Money(new BigDecimal("1.005"), usd, 3);
+        Money expected = new Money(BigDecimal.ZERO, usd).add(new Money("0.01", usd)).add(precise).add(precise);
+        MoneyAccumulator accumulator = new MoneyAccumulator(usd).add(new Money("0.01", usd)).add(precise).add(precise);
+        assertEquals(expected, accumulator.toMoney());
+    }
+
+    public void testFallsBackToBigDecimalOnOverflow() {
+        Money large = new Money(new BigDecimal(Long.MAX_VALUE / 10), usd);
+        MoneyAccumulator accumulator = new MoneyAccumulator(usd).add(large).add(large);
+        assertEquals(large.add(large), accumulator.toMoney());
+    }
+
+    public void testReset() {
+        MoneyAccumulator accumulator = new MoneyAccumulator(usd).add(new Money("5.00", usd));
+        assertFalse(accumulator.isZero());
+        assertTrue(accumulator.reset().isZero());
+        assertEquals(new Money(BigDecimal.ZERO, usd), accumulator.toMoney());
+    }
+}
@@ -0,0 +1,110 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.rule;
+
+import org.broadleafcommerce.common.rule.RequestRuleCache;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class RequestRuleCacheTest extends TestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        super.tearDown();
+    }
+
+    public void testOnlyAvailableWithinAWebRequest() {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        assertNull(RequestRuleCache.getInstance());
+
+        BroadleafRequestContext brc = new BroadleafRequestContext();
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        assertNull(RequestRuleCache.getInstance());
+
+        brc.setRequest(new MockHttpServletRequest());
+        RequestRuleCache cache = RequestRuleCache.getInstance();
+        assertNotNull(cache);
+        assertSame(cache, RequestRuleCache.getInstance());
+
+        BroadleafRequestContext next = new BroadleafRequestContext();
+        next.setRequest(new MockHttpServletRequest());
+        BroadleafRequestContext.setBroadleafRequestContext(next);
+        assertNotSame(cache, RequestRuleCache.getInstance());
+    }
+
+    public void testCachedNullIsToldApartFromAMissingEntry() {
+        RequestRuleCache cache = new RequestRuleCache();
+        cache.put("missing", null);
+
+        assertTrue(cache.containsKey("missing"));
+        assertNull(cache.get("missing"));
+        assertFalse(cache.containsKey("other"));
+    }
+
+    public void testRemoveAndClear() {
+        RequestRuleCache cache = new RequestRuleCache();
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.remove("a");
+        assertFalse(cache.containsKey("a"));
+        assertEquals(2, cache.get("b"));
+
+        cache.clear();
+        assertFalse(cache.containsKey("b"));
+    }
+
+    public void testEntriesAreCapped() {
+        RequestRuleCache cache = new RequestRuleCache();
+        for (int i = 0; i < 10001; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.containsKey(9999));
+        assertFalse(cache.containsKey(10000));
+    }
+
+    public void testExpressionKeysCompareRuleObjectsByIdentity() {
+        Object customer = new StringBuilder("customer");
+        Object time = new StringBuilder("time");
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("customer", customer);
+        vars.put("time", time);
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("time", time);
+        reordered.put("customer", customer);
+        Map<String, Object> equalButNotSame = new HashMap<>();
+        equalButNotSame.put("customer", new StringBuilder("customer"));
+        equalButNotSame.put("time", time);
+
+        Object key = RequestRuleCache.expressionKey("customer.registered", vars);
+
+        assertEquals(key, RequestRuleCache.expressionKey("customer.registered", reordered));
+        assertEquals(key.hashCode(), RequestRuleCache.expressionKey("customer.registered", reordered).hashCode());
+        assertFalse(key.equals(RequestRuleCache.expressionKey("customer.registered", equalButNotSame)));
+        assertFalse(key.equals(RequestRuleCache.expressionKey("customer.anonymous", vars)));
+        assertEquals(RequestRuleCache.expressionKey("true", null), RequestRuleCache.expressionKey("true", new HashMap<>()));
+    }
+}
@@ -0,0 +1,149 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.web;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.broadleafcommerce.common.currency.domain.BroadleafCurrency;
+import org.broadleafcommerce.common.currency.service.BroadleafCurrencyService;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationEvent;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationListener;
+import org.broadleafcommerce.common.locale.domain.Locale;
+import org.broadleafcommerce.common.locale.service.LocaleService;
+import org.broadleafcommerce.common.web.RequestEnvironment;
+import org.broadleafcommerce.common.web.RequestEnvironmentCacheImpl;
+
+import junit.framework.TestCase;
+
+public class RequestEnvironmentCacheImplTest extends TestCase {
+
+    private LocaleService localeService;
+    private BroadleafCurrencyService currencyService;
+    private CacheInvalidationBus bus;
+    private Locale defaultLocale;
+    private BroadleafCurrency defaultCurrency;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        localeService = createMock(LocaleService.class);
+        currencyService = createMock(BroadleafCurrencyService.class);
+        bus = createMock(CacheInvalidationBus.class);
+        defaultLocale = createMock(Locale.class);
+        defaultCurrency = createMock(BroadleafCurrency.class);
+    }
+
+    public void testSnapshotIsBuiltOncePerKey() {
+        expect(localeService.findDefaultLocale()).andReturn(defaultLocale).once();
+        expect(currencyService.findDefaultBroadleafCurrency()).andReturn(defaultCurrency).once();
+        replay(localeService, currencyService, bus);
+
+        TestRequestEnvironmentCache cache = new TestRequestEnvironmentCache(true);
+        RequestEnvironment first = cache.getEnvironment(null, null, null);
+        RequestEnvironment second = cache.getEnvironment(null, null, null);
+
+        assertSame(first, second);
+        assertSame(defaultLocale, first.getLocale());
+        assertSame(defaultCurrency, first.getDefaultCurrency());
+        assertNull(first.getCurrency());
+        verify(localeService, currencyService);
+    }
+
+    public void testClearDropsSnapshotsAndNotifiesOtherNodes() {
+        expect(localeService.findDefaultLocale()).andReturn(defaultLocale).times(2);
+        expect(currencyService.findDefaultBroadleafCurrency()).andReturn(defaultCurrency).times(2);
+        bus.publishClear(RequestEnvironmentCacheImpl.REQUEST_ENVIRONMENT_CACHE_NAME);
+        expectLastCall().once();
+        replay(localeService, currencyService, bus);
+
+        TestRequestEnvironmentCache cache = new TestRequestEnvironmentCache(true);
+        RequestEnvironment first = cache.getEnvironment(null, null, null);
+        cache.clear();
+        RequestEnvironment second = cache.getEnvironment(null, null, null);
+
+        assertNotSame(first, second);
+        verify(localeService, currencyService, bus);
+    }
+
+    public void testRequestedCodesAreLookedUp() {
+        Locale french = createMock(Locale.class);
+        BroadleafCurrency euro = createMock(BroadleafCurrency.class);
+        expect(localeService.findLocaleByCode("fr_FR")).andReturn(french).once();
+        expect(currencyService.findCurrencyByCode("EUR")).andReturn(euro).once();
+        expect(currencyService.findDefaultBroadleafCurrency()).andReturn(defaultCurrency).once();
+        replay(localeService, currencyService, bus);
+
+        TestRequestEnvironmentCache cache = new TestRequestEnvironmentCache(true);
+        RequestEnvironment environment = cache.getEnvironment(null, "fr_FR", "EUR");
+        cache.getEnvironment(null, "fr_FR", "EUR");
+
+        assertSame(french, environment.getLocale());
+        assertSame(euro, environment.getCurrency());
+        verify(localeService, currencyService);
+    }
+
+    public void testDisabledCacheBuildsEverySnapshot() {
+        expect(localeService.findDefaultLocale()).andReturn(defaultLocale).times(2);
+        expect(currencyService.findDefaultBroadleafCurrency()).andReturn(defaultCurrency).times(2);
+        replay(localeService, currencyService, bus);
+
+        TestRequestEnvironmentCache cache = new TestRequestEnvironmentCache(false);
+        cache.getEnvironment(null, null, null);
+        cache.getEnvironment(null, null, null);
+
+        verify(localeService, currencyService);
+    }
+
+    public void testRemoteClearDropsSnapshots() {
+        CacheInvalidationListener[] registered = new CacheInvalidationListener[1];
+        bus.addListener(anyObject(CacheInvalidationListener.class));
+        expectLastCall().andAnswer(() -> {
+            registered[0] = (CacheInvalidationListener) getCurrentArguments()[0];
+            return null;
+        });
+        expect(localeService.findDefaultLocale()).andReturn(defaultLocale).times(2);
+        expect(currencyService.findDefaultBroadleafCurrency()).andReturn(defaultCurrency).times(2);
+        replay(localeService, currencyService, bus);
+
+        TestRequestEnvironmentCache cache = new TestRequestEnvironmentCache(true);
+        cache.registerCacheInvalidationListener();
+        cache.getEnvironment(null, null, null);
+        registered[0].onInvalidation(new CacheInvalidationEvent(RequestEnvironmentCacheImpl.REQUEST_ENVIRONMENT_CACHE_NAME, null,
+                "other", System.currentTimeMillis()));
+        cache.getEnvironment(null, null, null);
+
+        verify(localeService, currencyService, bus);
+    }
+
+    private class TestRequestEnvironmentCache extends RequestEnvironmentCacheImpl {
+
+        TestRequestEnvironmentCache(boolean enabled) {
+            this.localeService = RequestEnvironmentCacheImplTest.this.localeService;
+            this.currencyService = RequestEnvironmentCacheImplTest.this.currencyService;
+            this.cacheInvalidationBus = bus;
+            this.enabled = enabled;
+        }
+    }
+}
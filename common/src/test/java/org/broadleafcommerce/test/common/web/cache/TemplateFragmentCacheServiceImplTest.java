@@ -0,0 +1,171 @@
+/*-
+ * #%L
+ * BroadleafCommerce Common Libraries
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.test.common.web.cache;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.broadleafcommerce.common.cache.StatisticsService;
+import org.broadleafcommerce.common.extension.TemplateCacheExtensionManager;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.common.web.cache.TemplateFragmentCacheServiceImpl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.cache.Cache;
+import javax.persistence.Entity;
+
+import junit.framework.TestCase;
+
+public class TemplateFragmentCacheServiceImplTest extends TestCase {
+
+    private static final String PRODUCT = TestProduct.class.getName();
+
+    private Cache<String, String> cache;
+    private TestTemplateFragmentCacheService service;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setUp() throws Exception {
+        super.setUp();
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        cache = createMock(Cache.class);
+        service = new TestTemplateFragmentCacheService();
+    }
+
+    public void testEvictingAnEntityRemovesItsFragmentsFromTheIndex() {
+        cache.put("tile-1", "<div>1</div>");
+        cache.put("tile-1-and-2", "<div>1 2</div>");
+        cache.removeAll(new HashSet<>(Arrays.asList("tile-1", "tile-1-and-2")));
+        replay(cache);
+
+        service.putFragment("tile-1", "<div>1</div>", Collections.singletonList(new TestProduct(1L)), 5L);
+        service.putFragment("tile-1-and-2", "<div>1 2</div>", Arrays.asList(new TestProduct(1L), new TestProduct(2L)), 5L);
+        service.evictEntity(PRODUCT, 1L);
+        service.evictEntity(PRODUCT, 1L);
+        service.evictEntity(PRODUCT, 2L);
+
+        assertTrue(service.getCacheKeysByEntity().isEmpty());
+        assertTrue(service.getEntityTagsByCacheKey().isEmpty());
+        verify(cache);
+    }
+
+    public void testExpiredFragmentsAreForgotten() {
+        cache.put("tile-1", "<div>1</div>");
+        cache.put("tile-1-and-2", "<div>1 2</div>");
+        replay(cache);
+
+        service.putFragment("tile-1", "<div>1</div>", Collections.singletonList(new TestProduct(1L)), 5L);
+        service.putFragment("tile-1-and-2", "<div>1 2</div>", Arrays.asList(new TestProduct(1L), new TestProduct(2L)), 5L);
+        service.removeCacheKey("tile-1-and-2");
+
+        assertEquals(Collections.singleton(PRODUCT + "#1"), service.getCacheKeysByEntity().keySet());
+        assertEquals(Collections.singleton("tile-1"), service.getCacheKeysByEntity().get(PRODUCT + "#1"));
+        assertEquals(Collections.singleton("tile-1"), service.getEntityTagsByCacheKey().keySet());
+
+        service.removeCacheKey("tile-1");
+        service.removeCacheKey("unknown");
+
+        assertTrue(service.getCacheKeysByEntity().isEmpty());
+        assertTrue(service.getEntityTagsByCacheKey().isEmpty());
+        verify(cache);
+    }
+
+    public void testFragmentsWithoutEntitiesAreNotIndexed() {
+        cache.put("footer", "<footer/>");
+        replay(cache);
+
+        service.putFragment("footer", "<footer/>", Arrays.asList("footer", null), 5L);
+        service.putFragment("missing", null, Collections.singletonList(new TestProduct(1L)), 5L);
+
+        assertTrue(service.getCacheKeysByEntity().isEmpty());
+        assertTrue(service.getEntityTagsByCacheKey().isEmpty());
+        verify(cache);
+    }
+
+    public void testParametersArePartOfTheKey() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("showPrice", true);
+        parameters.put("product", new TestProduct(3L));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("product", new TestProduct(3L));
+        reordered.put("showPrice", true);
+        Map<String, Object> otherValue = new HashMap<>(parameters);
+        otherValue.put("showPrice", false);
+
+        String key = service.buildCacheKey("tile", new TestProduct(3L), parameters);
+
+        assertEquals("tile-" + PRODUCT + "#3-product=" + PRODUCT + "#3-showPrice=true", key);
+        assertEquals(key, service.buildCacheKey("tile", new TestProduct(3L), reordered));
+        assertFalse(key.equals(service.buildCacheKey("tile", new TestProduct(3L), otherValue)));
+        assertFalse(key.equals(service.buildCacheKey("tile", new TestProduct(3L), null)));
+        assertEquals("menu-a,b", service.buildCacheKey("menu", new HashSet<>(Arrays.asList("a", "b")), Collections.emptyMap()));
+    }
+
+    public void testFragmentsAreNotCachedUnlessEnabled() {
+        BroadleafRequestContext brc = new BroadleafRequestContext();
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        try {
+            assertFalse(new TemplateFragmentCacheServiceImpl().isCacheable());
+            assertTrue(service.isCacheable());
+        } finally {
+            BroadleafRequestContext.setBroadleafRequestContext(null);
+        }
+    }
+
+    @Entity
+    public static class TestProduct {
+
+        private final Long id;
+
+        public TestProduct(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    private class TestTemplateFragmentCacheService extends TemplateFragmentCacheServiceImpl {
+
+        TestTemplateFragmentCacheService() {
+            this.cache = TemplateFragmentCacheServiceImplTest.this.cache;
+            this.statisticsService = createNiceMock(StatisticsService.class);
+            replay(statisticsService);
+            this.extensionManager = new TemplateCacheExtensionManager();
+            this.enabled = true;
+        }
+
+        Map<String, Set<String>> getCacheKeysByEntity() {
+            return cacheKeysByEntity;
+        }
+
+        Map<String, Set<String>> getEntityTagsByCacheKey() {
+            return entityTagsByCacheKey;
+        }
+    }
+}
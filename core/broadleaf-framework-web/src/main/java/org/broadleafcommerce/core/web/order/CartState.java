@@ -20,6 +20,8 @@ package org.broadleafcommerce.core.web.order;
 import org.broadleafcommerce.common.web.BroadleafRequestContext;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.web.order.security.CartStateRequestProcessor;
+import org.broadleafcommerce.core.web.order.security.LazyCartResolver;
+import org.broadleafcommerce.profile.web.core.CustomerState;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.WebRequest;
 
@@ -38,7 +40,14 @@ public class CartState {
         }
 
         WebRequest request = BroadleafRequestContext.getBroadleafRequestContext().getWebRequest();
-        return (Order) request.getAttribute(CartStateRequestProcessor.getCartRequestAttributeName(), WebRequest.SCOPE_REQUEST);
+        Order cart = (Order) request.getAttribute(CartStateRequestProcessor.getCartRequestAttributeName(), WebRequest.SCOPE_REQUEST);
+        if (cart == null) {
+            LazyCartResolver resolver = getLazyCartResolver(request);
+            if (resolver != null) {
+                cart = resolver.getCartStateRequestProcessor().resolveLazyCart(request, true);
+            }
+        }
+        return cart;
     }
     
     /**
@@ -49,6 +58,43 @@ public class CartState {
     public static void setCart(Order cart) {
         WebRequest request = BroadleafRequestContext.getBroadleafRequestContext().getWebRequest();
         request.setAttribute(CartStateRequestProcessor.getCartRequestAttributeName(), cart, WebRequest.SCOPE_REQUEST);
+        request.removeAttribute(CartStateRequestProcessor.getLazyCartResolverAttributeName(), WebRequest.SCOPE_REQUEST);
+    }
+
+    /**
+     * @return whether the cart has been loaded on the current request. This is only false when lazy cart resolution
+     * is enabled and nothing has asked for the cart yet.
+     */
+    public static boolean isCartResolved() {
+        if (BroadleafRequestContext.getBroadleafRequestContext() == null ||
+                BroadleafRequestContext.getBroadleafRequestContext().getWebRequest() == null) {
+            return false;
+        }
+        return getLazyCartResolver(BroadleafRequestContext.getBroadleafRequestContext().getWebRequest()) == null;
+    }
+
+    /**
+     * Gets a summary of the current cart, such as its item count, without loading the cart when lazy cart resolution
+     * is enabled and a summary is already known for the customer
+     * 
+     * @return the summary of the current customer's cart, or null if there is no request
+     */
+    public static CartSummary getCartSummary() {
+        if (BroadleafRequestContext.getBroadleafRequestContext() == null ||
+                BroadleafRequestContext.getBroadleafRequestContext().getWebRequest() == null) {
+            return null;
+        }
+
+        WebRequest request = BroadleafRequestContext.getBroadleafRequestContext().getWebRequest();
+        LazyCartResolver resolver = getLazyCartResolver(request);
+        if (resolver != null) {
+            return resolver.getCartStateRequestProcessor().getCartSummary(request);
+        }
+        return new CartSummary(CustomerState.getCustomer() == null ? null : CustomerState.getCustomer().getId(), getCart());
+    }
+
+    protected static LazyCartResolver getLazyCartResolver(WebRequest request) {
+        return (LazyCartResolver) request.getAttribute(CartStateRequestProcessor.getLazyCartResolverAttributeName(), WebRequest.SCOPE_REQUEST);
     }
 
 }
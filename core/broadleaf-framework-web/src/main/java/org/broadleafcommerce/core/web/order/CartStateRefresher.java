@@ -56,7 +56,8 @@ public class CartStateRefresher implements ApplicationListener<OrderPersistedEve
         if (request != null) {
              Order dbOrder = event.getOrder();
             //Update the cart state ONLY IF the IDs of the newly persisted order and whatever is already in CartState match
-            boolean emptyCartState = CartState.getCart() == null || CartState.getCart() instanceof NullOrderImpl;
+            // A cart that has not been lazily resolved yet is treated as empty rather than loaded just for this check
+            boolean emptyCartState = !CartState.isCartResolved() || CartState.getCart() == null || CartState.getCart() instanceof NullOrderImpl;
             if (emptyCartState) {
                 //If cart state is empty, set it to this newly persisted order if it's the active Customer's cart
                 if (CustomerState.getCustomer() != null && CustomerState.getCustomer().getId().equals(dbOrder.getCustomer().getId())
@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework Web
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.web.order;
+
+import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.core.order.domain.Order;
+
+import java.io.Serializable;
+
+/**
+ * The parts of the cart that are shown on most pages, such as the item count in the header. It is kept in the session
+ * when lazy cart resolution is enabled, so that rendering them does not require loading the order.
+ *
+ * @see CartState#getCartSummary()
+ */
+public class CartSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Long customerId;
+    protected Long orderId;
+    protected int itemCount;
+    protected Money subTotal;
+
+    public CartSummary(Long customerId, Order cart) {
+        this.customerId = customerId;
+        if (cart != null) {
+            this.orderId = cart.getId();
+            this.itemCount = cart.getItemCount();
+            this.subTotal = cart.getSubTotal();
+        }
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public Money getSubTotal() {
+        return subTotal;
+    }
+}
@@ -26,6 +26,7 @@ import org.broadleafcommerce.common.web.filter.FilterOrdered;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.order.service.OrderLockManager;
 import org.broadleafcommerce.core.order.service.OrderService;
+import org.broadleafcommerce.core.pricing.service.exception.PricingException;
 import org.broadleafcommerce.core.web.order.CartState;
 import org.broadleafcommerce.core.web.order.security.exception.OrderLockAcquisitionFailureException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +45,7 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 
 /**
@@ -85,14 +87,27 @@ public class CartStateFilter extends AbstractIgnorableOncePerRequestFilter {
     @Override
     public void doFilterInternalUnlessIgnored(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws IOException, ServletException {        
-        cartStateProcessor.process(new ServletWebRequest(request, response));
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        cartStateProcessor.process(webRequest);
         
+        HttpServletRequest chainRequest = cartStateProcessor.isLazyCartEnabled() ? new LazyCartRequestWrapper(request) : request;
+
         if (!requestRequiresLock(request)) {
-            chain.doFilter(request, response);
+            try {
+                // A lazily resolved cart is priced when it is resolved, if it ever is
+                if (!cartStateProcessor.isCartResolutionDeferred(webRequest)) {
+                    priceCartIfPending();
+                }
+                chain.doFilter(chainRequest, response);
+            } finally {
+                cartStateProcessor.updateCartSummary(webRequest);
+            }
             return;
         }
 
-        Order order = CartState.getCart();
+        // This request will most likely modify the cart, so there is no point in pricing it first
+        Order order = cartStateProcessor.isCartResolutionDeferred(webRequest)
+                ? cartStateProcessor.resolveLazyCart(webRequest, false) : CartState.getCart();
 
         if (LOG.isTraceEnabled()) {
             LOG.trace("Thread[" + Thread.currentThread().getId() + "] attempting to lock order[" + order.getId() + "]");
@@ -124,11 +139,12 @@ public class CartStateFilter extends AbstractIgnorableOncePerRequestFilter {
             // sure we detach the order from the EntityManager and forcefully reload the order.
             CartState.setCart(orderService.reloadOrder(order));
 
-            chain.doFilter(request, response);
+            chain.doFilter(chainRequest, response);
         } finally {
             if (lockObject != null) {
                 orderLockManager.releaseLock(lockObject);
             }
+            cartStateProcessor.updateCartSummary(webRequest);
 
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Thread[" + Thread.currentThread().getId() + "] released lock for order[" + order.getId() +"]");
@@ -136,6 +152,50 @@ public class CartStateFilter extends AbstractIgnorableOncePerRequestFilter {
         }
     }
 
+    /**
+     * When deferred pricing is active, prices the cart before anything reads its totals. Requests that require a lock
+     * are not priced here. They usually modify the cart, which would only mark it again.
+     *
+     * @throws ServletException if pricing fails
+     * @see CartStateRequestProcessor#priceCartIfPending(Order)
+     */
+    protected void priceCartIfPending() throws ServletException {
+        Order order = CartState.getCart();
+        try {
+            Order pricedOrder = cartStateProcessor.priceCartIfPending(order);
+            if (pricedOrder != order) {
+                CartState.setCart(pricedOrder);
+            }
+        } catch (PricingException e) {
+            throw new ServletException("Unable to price order[" + order.getId() + "]", e);
+        }
+    }
+
+    /**
+     * Resolves the cart when a template or controller reads the cart, or the cart summary, from the request
+     * attributes while its resolution is deferred. The attribute names are deliberately not listed by
+     * {@link #getAttributeNames()}, since code that walks every attribute would otherwise load the cart.
+     */
+    protected static class LazyCartRequestWrapper extends HttpServletRequestWrapper {
+
+        public LazyCartRequestWrapper(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            Object value = super.getAttribute(name);
+            if (value == null) {
+                if (CartStateRequestProcessor.getCartRequestAttributeName().equals(name)) {
+                    value = CartState.getCart();
+                } else if (CartStateRequestProcessor.getCartSummaryAttributeName().equals(name)) {
+                    value = CartState.getCartSummary();
+                }
+            }
+            return value;
+        }
+    }
+
     /**
      * By default, all POST requests that are not matched by the {@link #getExcludedOrderLockRequestPatterns()} list
      * (using the {@link AntPathRequestMatcher}) will be marked as requiring a lock on the Order.
@@ -26,17 +26,22 @@ import org.broadleafcommerce.common.web.AbstractBroadleafWebRequestProcessor;
 import org.broadleafcommerce.common.web.BroadleafWebRequestProcessor;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.order.service.MergeCartService;
+import org.broadleafcommerce.core.order.service.OrderLockManager;
 import org.broadleafcommerce.core.order.service.OrderService;
 import org.broadleafcommerce.core.order.service.call.MergeCartResponse;
 import org.broadleafcommerce.core.order.service.exception.RemoveFromCartException;
 import org.broadleafcommerce.core.order.service.type.OrderStatus;
+import org.broadleafcommerce.core.pricing.service.DeferredPricingService;
 import org.broadleafcommerce.core.pricing.service.exception.PricingException;
+import org.broadleafcommerce.core.web.order.CartState;
+import org.broadleafcommerce.core.web.order.CartSummary;
 import org.broadleafcommerce.core.web.service.UpdateCartService;
 import org.broadleafcommerce.profile.core.domain.Customer;
 import org.broadleafcommerce.profile.web.core.CustomerState;
 import org.broadleafcommerce.profile.web.core.security.CustomerStateRequestProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
@@ -86,14 +91,32 @@ public class CartStateRequestProcessor extends AbstractBroadleafWebRequestProces
     @Resource(name = "blCustomerStateRequestProcessor")
     protected CustomerStateRequestProcessor customerStateRequestProcessor;
 
+    @Resource(name = "blOrderLockManager")
+    protected OrderLockManager orderLockManager;
+
+    @Resource(name = "blDeferredPricingService")
+    protected DeferredPricingService deferredPricingService;
+
     @Autowired(required = false)
     @Qualifier("blCrossAppAuthService")
     protected CrossAppAuthService crossAppAuthService;
 
+    /**
+     * When true, the cart is not looked up until something asks for it, see {@link #process(WebRequest)}
+     */
+    @Value("${cart.state.lazy.enabled:false}")
+    protected boolean lazyCartEnabled = false;
+
     protected static String cartRequestAttributeName = "cart";
     
     protected static String anonymousCartSessionAttributeName = "anonymousCart";
 
+    protected static String lazyCartResolverAttributeName = "blLazyCartResolver";
+
+    protected static String cartSummaryAttributeName = "cartSummary";
+
+    protected static String cartSummarySessionAttributeName = "blCartSummary";
+
     public static final String OVERRIDE_CART_ATTR_NAME = "_blc_overrideCartId";
         
     @Override
@@ -112,6 +135,9 @@ public class CartStateRequestProcessor extends AbstractBroadleafWebRequestProces
         Order cart;
         if (erh.getResult() != null) {
             cart = orderService.findCartForCustomerWithEnhancements(customer, erh.getResult());
+        } else if (isLazyCartResolutionAllowed(customer, request)) {
+            deferCartResolution(request, customer);
+            return;
         } else {
             cart = getOverrideCart(request);
             if (cart == null && mergeCartNeeded(customer, request)) {
@@ -134,9 +160,141 @@ public class CartStateRequestProcessor extends AbstractBroadleafWebRequestProces
 
     }
 
+    /**
+     * The cart can be resolved lazily unless it has to be merged after a login or an override cart is in play, since
+     * both of those change which cart the customer ends up with.
+     */
+    protected boolean isLazyCartResolutionAllowed(Customer customer, WebRequest request) {
+        if (!lazyCartEnabled) {
+            return false;
+        }
+        if (BLCRequestUtils.isOKtoUseSession(request)
+                && request.getAttribute(OVERRIDE_CART_ATTR_NAME, WebRequest.SCOPE_SESSION) != null) {
+            return false;
+        }
+        return !mergeCartNeeded(customer, request);
+    }
+
+    /**
+     * Leaves a {@link LazyCartResolver} on the request in place of the cart. Content targeting rules get a proxy that
+     * only loads the cart if a rule reads it.
+     */
+    protected void deferCartResolution(WebRequest request, Customer customer) {
+        LazyCartResolver resolver = new LazyCartResolver(this, customer);
+        request.setAttribute(lazyCartResolverAttributeName, resolver, WebRequest.SCOPE_REQUEST);
+        updateCartRuleMap(request, resolver.createOrderProxy());
+    }
+
+    /**
+     * Looks up the cart that {@link #process(WebRequest)} deferred and puts it on the request. Subsequent calls return
+     * null since the cart is then available from {@link CartState#getCart()}.
+     *
+     * @param priceIfPending whether to price the cart if it was left unpriced by deferred pricing. Requests that are
+     * about to modify the cart should pass false.
+     * @return the cart, or null if resolution was not deferred on this request
+     */
+    public Order resolveLazyCart(WebRequest request, boolean priceIfPending) {
+        LazyCartResolver resolver = (LazyCartResolver) request.getAttribute(lazyCartResolverAttributeName, WebRequest.SCOPE_REQUEST);
+        if (resolver == null) {
+            return null;
+        }
+        request.removeAttribute(lazyCartResolverAttributeName, WebRequest.SCOPE_REQUEST);
+
+        Order cart = orderService.findCartForCustomerWithEnhancements(resolver.getCustomer());
+        if (cart == null) {
+            cart = orderService.getNullOrder();
+        } else {
+            updateCartService.updateAndValidateCart(cart);
+            if (priceIfPending) {
+                try {
+                    cart = priceCartIfPending(cart);
+                } catch (PricingException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        updateCartRequestAttributes(request, cart);
+        return cart;
+    }
+
+    public boolean isCartResolutionDeferred(WebRequest request) {
+        return request.getAttribute(lazyCartResolverAttributeName, WebRequest.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * When deferred pricing is active, cart operations leave the order marked as needing pricing. Requests that do not
+     * modify the cart price it before anything reads its totals. The order lock is held while pricing so that the
+     * pricing pass does not overlap a cart operation, and the order is reloaded once the lock is acquired because a
+     * concurrent request may have already priced it.
+     *
+     * Checkout prices the order itself, see {@link DeferredPricingService#priceOrderIfPending(Order)}.
+     *
+     * @return the priced order, or the given order if it did not need pricing
+     */
+    public Order priceCartIfPending(Order order) throws PricingException {
+        if (!deferredPricingService.isActive() || !deferredPricingService.isPricingPending(order)) {
+            return order;
+        }
+
+        Object lockObject = null;
+        try {
+            if (orderLockManager.isActive()) {
+                lockObject = orderLockManager.acquireLock(order);
+                order = orderService.reloadOrder(order);
+            }
+            return deferredPricingService.priceOrderIfPending(order);
+        } finally {
+            if (lockObject != null) {
+                orderLockManager.releaseLock(lockObject);
+            }
+        }
+    }
+
+    /**
+     * Returns the summary of the current customer's cart. If the cart has been loaded on this request the summary is
+     * built from it. Otherwise the summary kept in the session is used, and the cart is only loaded if there is none.
+     */
+    public CartSummary getCartSummary(WebRequest request) {
+        Customer customer = CustomerState.getCustomer();
+        Long customerId = customer == null ? null : customer.getId();
+        if (!isCartResolutionDeferred(request)) {
+            return new CartSummary(customerId, CartState.getCart());
+        }
+        if (BLCRequestUtils.isOKtoUseSession(request)) {
+            CartSummary summary = (CartSummary) request.getAttribute(cartSummarySessionAttributeName, WebRequest.SCOPE_SESSION);
+            if (summary != null && summary.getCustomerId() != null && summary.getCustomerId().equals(customerId)) {
+                return summary;
+            }
+        }
+        return new CartSummary(customerId, CartState.getCart());
+    }
+
+    /**
+     * Stores the summary of the cart in the session if the cart was loaded on this request. Requests that never
+     * loaded the cart could not have changed it, so they leave the stored summary alone.
+     */
+    public void updateCartSummary(WebRequest request) {
+        if (!lazyCartEnabled || isCartResolutionDeferred(request) || !BLCRequestUtils.isOKtoUseSession(request)) {
+            return;
+        }
+        if (request instanceof ServletWebRequest && ((ServletWebRequest) request).getRequest().getSession(false) == null) {
+            // Don't create a session this late in the request just to hold the summary
+            return;
+        }
+        Order cart = (Order) request.getAttribute(cartRequestAttributeName, WebRequest.SCOPE_REQUEST);
+        Customer customer = CustomerState.getCustomer();
+        if (cart != null && customer != null) {
+            request.setAttribute(cartSummarySessionAttributeName, new CartSummary(customer.getId(), cart), WebRequest.SCOPE_SESSION);
+        }
+    }
+
     protected void updateCartRequestAttributes(WebRequest request, Order cart) {
         request.setAttribute(cartRequestAttributeName, cart, WebRequest.SCOPE_REQUEST);
+        updateCartRuleMap(request, cart);
+    }
 
+    protected void updateCartRuleMap(WebRequest request, Order cart) {
         // Setup cart for content rule processing
         @SuppressWarnings("unchecked")
         Map<String, Object> ruleMap = (Map<String, Object>) request.getAttribute(BLC_RULE_MAP_PARAM, WebRequest.SCOPE_REQUEST);
@@ -217,4 +375,16 @@ public class CartStateRequestProcessor extends AbstractBroadleafWebRequestProces
     public static void setCartRequestAttributeName(String cartRequestAttributeName) {
         CartStateRequestProcessor.cartRequestAttributeName = cartRequestAttributeName;
     }
+
+    public static String getLazyCartResolverAttributeName() {
+        return lazyCartResolverAttributeName;
+    }
+
+    public static String getCartSummaryAttributeName() {
+        return cartSummaryAttributeName;
+    }
+
+    public boolean isLazyCartEnabled() {
+        return lazyCartEnabled;
+    }
 }
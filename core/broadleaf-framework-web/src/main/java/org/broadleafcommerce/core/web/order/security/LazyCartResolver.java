@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework Web
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.web.order.security;
+
+import org.broadleafcommerce.core.order.domain.Order;
+import org.broadleafcommerce.core.web.order.CartState;
+import org.broadleafcommerce.profile.core.domain.Customer;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stands in for the cart on a request until something asks for it. {@link CartStateRequestProcessor} stores one of
+ * these on the request instead of looking up the cart, and {@link CartState#getCart()} resolves it on first use.
+ *
+ * @see CartStateRequestProcessor#resolveLazyCart(WebRequest, boolean)
+ */
+public class LazyCartResolver {
+
+    protected final CartStateRequestProcessor cartStateRequestProcessor;
+    protected final Customer customer;
+
+    public LazyCartResolver(CartStateRequestProcessor cartStateRequestProcessor, Customer customer) {
+        this.cartStateRequestProcessor = cartStateRequestProcessor;
+        this.customer = customer;
+    }
+
+    public CartStateRequestProcessor getCartStateRequestProcessor() {
+        return cartStateRequestProcessor;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    /**
+     * Builds an {@link Order} whose methods delegate to {@link CartState#getCart()}, so that the cart is only loaded if
+     * a content targeting rule actually reads it. The proxy only exposes the {@link Order} interface and must not be
+     * handed to the persistence layer.
+     */
+    public Order createOrderProxy() {
+        return (Order) Proxy.newProxyInstance(Order.class.getClassLoader(), new Class[] { Order.class },
+                (proxy, method, args) -> {
+                    Order cart = CartState.getCart();
+                    if (cart == null) {
+                        throw new IllegalStateException("The cart is not available outside of the request it was deferred on");
+                    }
+                    try {
+                        return method.invoke(cart, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,242 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework Web
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.web.processor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.common.web.cache.TemplateFragmentCacheService;
+import org.broadleafcommerce.presentation.condition.ConditionalOnTemplating;
+import org.broadleafcommerce.presentation.dialect.AbstractBroadleafTagReplacementProcessor;
+import org.broadleafcommerce.presentation.model.BroadleafTemplateContext;
+import org.broadleafcommerce.presentation.model.BroadleafTemplateModel;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.io.CharArrayWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Renders a template fragment and caches its output with the {@link TemplateFragmentCacheService}. Later requests
+ * for the same fragment, with the same site, locale, currency and sandbox, get the cached markup without rendering
+ * the fragment again. This is meant for markup that is expensive to render and the same for every visitor, such as
+ * headers, menus and product tiles.
+ * 
+ * The fragment is rendered through the application's view resolvers, so any fragment selector that works as a view
+ * name works here. Every attribute other than the ones below is evaluated and made available to the fragment as a
+ * variable. The evaluated variables are part of the cache key, so a fragment rendered with different variables is
+ * cached separately. Entities are identified by their class and id, and any other value by its String form, so pass
+ * values with a meaningful String form, such as entities, ids and strings.
+ * 
+ * <ul>
+ *  <li>template - the view name of the fragment to render</li>
+ *  <li>key - an expression for the value that identifies this rendering of the fragment, usually an entity</li>
+ *  <li>entities - an expression for the entity or collection of entities the fragment depends on. Changes to any of
+ *  them evict the fragment. Defaults to the key.</li>
+ * </ul>
+ * 
+ * Example usage:
+ * <pre>
+ *  {@code
+ *      <blc:cache template="catalog/partials/productListItem :: productListItem" key="${product}" product="${product}" />
+ *  }
+ * </pre>
+ * 
+ * Fragments that contain customer or cart specific data should not be cached. Use {@link UncacheableDataProcessor}
+ * to update that data on a cached page instead.
+ */
+@Component("blTemplateFragmentCacheProcessor")
+@ConditionalOnTemplating
+public class TemplateFragmentCacheProcessor extends AbstractBroadleafTagReplacementProcessor {
+
+    public static final String TEMPLATE_ATTRIBUTE = "template";
+    public static final String KEY_ATTRIBUTE = "key";
+    public static final String ENTITIES_ATTRIBUTE = "entities";
+
+    @Resource(name = "blTemplateFragmentCacheService")
+    protected TemplateFragmentCacheService templateFragmentCacheService;
+
+    @Override
+    public String getName() {
+        return "cache";
+    }
+
+    @Override
+    public int getPrecedence() {
+        return 100;
+    }
+
+    @Override
+    public BroadleafTemplateModel getReplacementModel(String tagName, Map<String, String> tagAttributes, BroadleafTemplateContext context) {
+        String template = tagAttributes.get(TEMPLATE_ATTRIBUTE);
+        if (StringUtils.isBlank(template)) {
+            throw new IllegalArgumentException("The " + TEMPLATE_ATTRIBUTE + " attribute is required on the " + tagName + " tag");
+        }
+
+        Object key = parseAttribute(tagAttributes, KEY_ATTRIBUTE, context);
+        Map<String, Object> variables = buildFragmentVariables(tagAttributes, context);
+        boolean cacheable = templateFragmentCacheService.isCacheable();
+        String cacheKey = null;
+        String content = null;
+        if (cacheable) {
+            cacheKey = templateFragmentCacheService.buildCacheKey(template, key, variables);
+            content = templateFragmentCacheService.getFragment(cacheKey);
+        }
+
+        if (content == null) {
+            long start = System.currentTimeMillis();
+            content = renderFragment(template, variables, context);
+            long renderTime = System.currentTimeMillis() - start;
+
+            if (cacheable) {
+                Object entities = tagAttributes.containsKey(ENTITIES_ATTRIBUTE) ? parseAttribute(tagAttributes, ENTITIES_ATTRIBUTE, context) : key;
+                templateFragmentCacheService.putFragment(cacheKey, content, toCollection(entities), renderTime);
+            }
+        }
+
+        BroadleafTemplateModel model = context.createModel();
+        model.addElement(context.createTextElement(content));
+        return model;
+    }
+
+    protected Object parseAttribute(Map<String, String> tagAttributes, String attributeName, BroadleafTemplateContext context) {
+        String expression = tagAttributes.get(attributeName);
+        if (StringUtils.isBlank(expression)) {
+            return null;
+        }
+        return context.parseExpression(expression);
+    }
+
+    protected Map<String, Object> buildFragmentVariables(Map<String, String> tagAttributes, BroadleafTemplateContext context) {
+        Map<String, Object> variables = new HashMap<>();
+        for (Map.Entry<String, String> attribute : tagAttributes.entrySet()) {
+            String name = attribute.getKey();
+            if (!TEMPLATE_ATTRIBUTE.equals(name) && !KEY_ATTRIBUTE.equals(name) && !ENTITIES_ATTRIBUTE.equals(name)) {
+                variables.put(name, parseAttribute(tagAttributes, name, context));
+            }
+        }
+        return variables;
+    }
+
+    protected Collection<?> toCollection(Object entities) {
+        if (entities == null) {
+            return Collections.emptyList();
+        }
+        if (entities instanceof Collection) {
+            return (Collection<?>) entities;
+        }
+        return Collections.singletonList(entities);
+    }
+
+    /**
+     * Renders the fragment with the first view resolver that can resolve it, the same way the DispatcherServlet
+     * would, and returns its output
+     */
+    protected String renderFragment(String template, Map<String, Object> variables, BroadleafTemplateContext context) {
+        HttpServletRequest request = context.getRequest();
+        HttpServletResponse response = BroadleafRequestContext.getBroadleafRequestContext().getResponse();
+        try {
+            View view = resolveView(template, request);
+            if (view == null) {
+                throw new IllegalArgumentException("Could not resolve the template fragment " + template);
+            }
+            FragmentResponseWrapper fragmentResponse = new FragmentResponseWrapper(response);
+            view.render(variables, request, fragmentResponse);
+            return fragmentResponse.getContent();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not render the template fragment " + template, e);
+        }
+    }
+
+    protected View resolveView(String template, HttpServletRequest request) throws Exception {
+        WebApplicationContext applicationContext = RequestContextUtils.findWebApplicationContext(request);
+        List<ViewResolver> viewResolvers = new ArrayList<>(BeanFactoryUtils.beansOfTypeIncludingAncestors(applicationContext,
+                ViewResolver.class, true, false).values());
+        AnnotationAwareOrderComparator.sort(viewResolvers);
+
+        Locale locale = BroadleafRequestContext.getBroadleafRequestContext().getJavaLocale();
+        for (ViewResolver viewResolver : viewResolvers) {
+            View view = viewResolver.resolveViewName(template, locale);
+            if (view != null) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the output of a fragment without touching the headers or body of the response for the page
+     */
+    protected static class FragmentResponseWrapper extends HttpServletResponseWrapper {
+
+        protected final CharArrayWriter output = new CharArrayWriter();
+        protected final PrintWriter writer = new PrintWriter(output);
+
+        public FragmentResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void setContentType(String type) {
+            // the page has already set its content type
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            // the page has already set its character encoding
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+            // the page has already set its locale
+        }
+
+        @Override
+        public void flushBuffer() {
+            writer.flush();
+        }
+
+        public String getContent() {
+            writer.flush();
+            return output.toString();
+        }
+    }
+}
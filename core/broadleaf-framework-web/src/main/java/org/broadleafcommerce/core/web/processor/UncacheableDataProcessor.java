@@ -64,7 +64,7 @@ import javax.annotation.Resource;
  * 
  * The Broadleaf processor works with the sample javacript function in HeatClinic found in heatClinic-UncacheableData.js work 
  * together to update the "In Cart", "Out of Stock", "Welcome {name}", and "Cart Qty" messages.   By doing this, the 
- * category and product pages in HeatClinic can be aggressively cached using the {@link BroadleafCacheProcessor}. 
+ * category and product pages in HeatClinic can be aggressively cached using the {@link TemplateFragmentCacheProcessor}. 
  * 
  * Example usage on cached pages with dynamic data.   This would generally go after the footer for the page.
  * <pre>
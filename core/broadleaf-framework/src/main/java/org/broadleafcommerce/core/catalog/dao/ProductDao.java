@@ -347,4 +347,20 @@ public interface ProductDao {
     public List<Long> readAllActiveProductIds(Long lastId, int pageSize);
 
     List<Product> readAllActiveProductsForSiteMap(int page, int pageSize);
+
+    /**
+     * Reads a page of active products for the site map whose ids are greater than lastId and less than toId, in
+     * ascending id order. Used to regenerate a single id range of the site map.
+     *
+     * @param lastId the last id from the previous page, or null for the first page
+     * @param toId the exclusive upper bound of the id range, or null for no upper bound
+     * @param pageSize
+     * @return
+     */
+    List<Product> readAllActiveProductsForSiteMap(Long lastId, Long toId, int pageSize);
+
+    /**
+     * @return the highest product id, or null if there are no products
+     */
+    Long readMaximumProductId();
 }
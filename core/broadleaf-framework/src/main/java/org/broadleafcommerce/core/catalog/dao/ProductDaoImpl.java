@@ -568,6 +568,27 @@ public class ProductDaoImpl implements ProductDao {
         return getCriteriaForActiveProducts(currentDate, null, true);
     }
 
+    @Override
+    public List<Product> readAllActiveProductsForSiteMap(Long lastId, Long toId, int pageSize) {
+        Date currentDate = DateUtil.getCurrentDateAfterFactoringInDateResolution(cachedDate, getCurrentDateResolution());
+        CriteriaQuery<Product> criteria = getCriteriaForActiveProducts(currentDate, lastId, toId, true);
+
+        TypedQuery<Product> query = em.createQuery(criteria);
+        query.setHint(QueryHints.HINT_CACHEABLE, true);
+        query.setHint(QueryHints.HINT_CACHE_REGION, "query.Catalog");
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    @Override
+    public Long readMaximumProductId() {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<ProductImpl> product = criteria.from(ProductImpl.class);
+        criteria.select(builder.max(product.<Long>get("id")));
+
+        return em.createQuery(criteria).getSingleResult();
+    }
+
     @Override
     public List<Long> readAllActiveProductIds(Long lastId, int pageSize) {
         Date currentDate = DateUtil.getCurrentDateAfterFactoringInDateResolution(cachedDate, getCurrentDateResolution());
@@ -693,6 +714,10 @@ public class ProductDaoImpl implements ProductDao {
     }
 
     protected CriteriaQuery<Product> getCriteriaForActiveProducts(Date currentDate, Long lastId, boolean forSiteMap) {
+        return getCriteriaForActiveProducts(currentDate, lastId, null, forSiteMap);
+    }
+
+    protected CriteriaQuery<Product> getCriteriaForActiveProducts(Date currentDate, Long lastId, Long toId, boolean forSiteMap) {
         // Set up the criteria query that specifies we want to return Products
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaQuery<Product> criteria = builder.createQuery(Product.class);
@@ -713,6 +738,9 @@ public class ProductDaoImpl implements ProductDao {
         if (lastId != null) {
             restrictions.add(builder.gt(product.get("id").as(Long.class), lastId));
         }
+        if (toId != null) {
+            restrictions.add(builder.lt(product.get("id").as(Long.class), toId));
+        }
 
         // Add the restrictions to the criteria query
         criteria.where(restrictions.toArray(new Predicate[restrictions.size()]));
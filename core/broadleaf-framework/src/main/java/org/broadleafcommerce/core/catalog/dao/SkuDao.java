@@ -157,6 +157,41 @@ public interface SkuDao {
      */
     List<Sku> readAllActiveSkus(Integer pageSize, Long lastId);
 
+    /**
+     * Same as {@link #readAllActiveSkus(Integer, Long)}, but only returns skus whose id is less than toId. Used to
+     * regenerate a single id range of the site map.
+     *
+     * @param pageSize the number of results per page
+     * @param lastId the last id from the previous page - can be null if this is the first page request
+     * @param toId the exclusive upper bound of the id range - can be null for no upper bound
+     * @return a list of active skus for the given page
+     */
+    List<Sku> readAllActiveSkus(Integer pageSize, Long lastId, Long toId);
+
+    /**
+     * @return the highest sku id, or null if there are no skus
+     */
+    Long readMaximumSkuId();
+
+    /**
+     * Reads the ids of the skus that belong to the given products, either as their default sku or as one of their
+     * additional skus. Used to find the sku site map entries affected by a change to their product.
+     *
+     * @param productIds the ids of the products
+     * @return the ids of the skus of those products
+     */
+    List<Long> readSkuIdsByProductIds(List<Long> productIds);
+
+    /**
+     * Reads the ids of the default skus of the products that the given additional skus belong to. Whether a default
+     * sku has a site map entry depends on its product having additional skus, so a change to one of them affects the
+     * entry of the default sku as well.
+     *
+     * @param skuIds the ids of the additional skus
+     * @return the ids of the default skus of their products
+     */
+    List<Long> readDefaultSkuIdsBySkuIds(List<Long> skuIds);
+
     /**
      * Returns the number of milliseconds that the current date/time will be cached for queries before refreshing.
      * This aids in query caching, otherwise every query that utilized current date would be different and caching
@@ -34,6 +34,8 @@ import org.hibernate.jpa.QueryHints;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import com.google.common.collect.Lists;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -60,6 +62,8 @@ public class SkuDaoImpl implements SkuDao {
 
     private static final SupportLogger logger = SupportLogManager.getLogger("Enterprise", SkuDaoImpl.class);
 
+    protected static final int SKU_IDS_BY_PRODUCT_IN_CLAUSE_MAX_SIZE = 500;
+
     @PersistenceContext(unitName = "blPU")
     protected EntityManager em;
 
@@ -230,6 +234,53 @@ public class SkuDaoImpl implements SkuDao {
         return readAllActiveSkusInternal(pageSize, currentDate, lastId);
     }
 
+    @Override
+    public List<Sku> readAllActiveSkus(Integer pageSize, Long lastId, Long toId) {
+        Date currentDate = DateUtil.getCurrentDateAfterFactoringInDateResolution(cachedDate, getCurrentDateResolution());
+        CriteriaQuery<Sku> criteria = getCriteriaForActiveSkus(currentDate, lastId, toId);
+        TypedQuery<Sku> query = em.createQuery(criteria);
+        query.setHint(QueryHints.HINT_CACHEABLE, true);
+        query.setHint(QueryHints.HINT_CACHE_REGION, "query.Catalog");
+
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    @Override
+    public Long readMaximumSkuId() {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<SkuImpl> sku = criteria.from(SkuImpl.class);
+        criteria.select(builder.max(sku.<Long>get("id")));
+
+        return em.createQuery(criteria).getSingleResult();
+    }
+
+    @Override
+    public List<Long> readSkuIdsByProductIds(List<Long> productIds) {
+        List<Long> skuIds = new ArrayList<Long>();
+        for (List<Long> ids : Lists.partition(productIds, SKU_IDS_BY_PRODUCT_IN_CLAUSE_MAX_SIZE)) {
+            TypedQuery<Long> query = em.createQuery("SELECT sku.id FROM " + SkuImpl.class.getName() + " sku"
+                    + " LEFT JOIN sku.defaultProduct defaultProduct LEFT JOIN sku.product product"
+                    + " WHERE defaultProduct.id IN :productIds OR product.id IN :productIds", Long.class);
+            query.setParameter("productIds", ids);
+            skuIds.addAll(query.getResultList());
+        }
+        return skuIds;
+    }
+
+    @Override
+    public List<Long> readDefaultSkuIdsBySkuIds(List<Long> skuIds) {
+        List<Long> defaultSkuIds = new ArrayList<Long>();
+        for (List<Long> ids : Lists.partition(skuIds, SKU_IDS_BY_PRODUCT_IN_CLAUSE_MAX_SIZE)) {
+            TypedQuery<Long> query = em.createQuery("SELECT defaultSku.id FROM " + SkuImpl.class.getName() + " sku"
+                    + " JOIN sku.product product JOIN product.defaultSku defaultSku"
+                    + " WHERE sku.id IN :skuIds", Long.class);
+            query.setParameter("skuIds", ids);
+            defaultSkuIds.addAll(query.getResultList());
+        }
+        return defaultSkuIds;
+    }
+
     @Override
     public Long getCurrentDateResolution() {
         return currentDateResolution;
@@ -290,6 +341,10 @@ public class SkuDaoImpl implements SkuDao {
     }
 
     protected CriteriaQuery<Sku> getCriteriaForActiveSkus(Date currentDate, Long lastId) {
+        return getCriteriaForActiveSkus(currentDate, lastId, null);
+    }
+
+    protected CriteriaQuery<Sku> getCriteriaForActiveSkus(Date currentDate, Long lastId, Long toId) {
         // Set up the criteria query that specifies we want to return Products
         CriteriaBuilder builder = em.getCriteriaBuilder();
         CriteriaQuery<Sku> criteria = builder.createQuery(Sku.class);
@@ -311,6 +366,9 @@ public class SkuDaoImpl implements SkuDao {
         if (lastId != null) {
             restrictions.add(builder.gt(sku.get("id").as(Long.class), lastId));
         }
+        if (toId != null) {
+            restrictions.add(builder.lt(sku.get("id").as(Long.class), toId));
+        }
 
         // Add the restrictions to the criteria query
         criteria.where(restrictions.toArray(new Predicate[restrictions.size()]));
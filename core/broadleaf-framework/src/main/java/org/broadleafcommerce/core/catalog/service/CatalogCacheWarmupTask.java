@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.catalog.service;
+
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+/**
+ * Loads the first pages of products and categories into the second level and query caches. The catalog has no notion
+ * of popularity, so "first" is the order of the underlying named queries. Applications that track popularity can
+ * replace this bean and load their own top sellers.
+ */
+@Component("blCatalogCacheWarmupTask")
+public class CatalogCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blCatalogService")
+    protected CatalogService catalogService;
+
+    @Value("${cache.warmup.products.max:500}")
+    protected int maxProducts = 500;
+
+    @Value("${cache.warmup.categories.max:200}")
+    protected int maxCategories = 200;
+
+    @Value("${cache.warmup.batch.size:50}")
+    protected int batchSize = 50;
+
+    @Override
+    public String getName() {
+        return "catalog";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        int size = Math.max(1, batchSize);
+        List<Runnable> batches = new ArrayList<>();
+        for (int offset = 0; offset < maxCategories; offset += size) {
+            int start = offset;
+            int limit = Math.min(size, maxCategories - offset);
+            batches.add(() -> catalogService.findAllCategories(limit, start));
+        }
+        for (int offset = 0; offset < maxProducts; offset += size) {
+            int start = offset;
+            int limit = Math.min(size, maxProducts - offset);
+            batches.add(() -> catalogService.findAllProducts(limit, start));
+        }
+        return batches;
+    }
+
+}
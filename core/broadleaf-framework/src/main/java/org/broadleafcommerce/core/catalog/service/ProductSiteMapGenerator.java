@@ -21,8 +21,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.broadleafcommerce.common.file.service.BroadleafFileUtils;
 import org.broadleafcommerce.common.media.domain.Media;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
+import org.broadleafcommerce.common.sitemap.service.ShardedSiteMapGenerator;
 import org.broadleafcommerce.common.sitemap.service.SiteMapBuilder;
-import org.broadleafcommerce.common.sitemap.service.SiteMapGenerator;
 import org.broadleafcommerce.common.sitemap.service.type.SiteMapGeneratorType;
 import org.broadleafcommerce.common.sitemap.wrapper.SiteMapImageWrapper;
 import org.broadleafcommerce.common.sitemap.wrapper.SiteMapURLWrapper;
@@ -43,7 +43,7 @@ import javax.annotation.Resource;
  * @author Joshua Skorton (jskorton)
  */
 @Component("blProductSiteMapGenerator")
-public class ProductSiteMapGenerator implements SiteMapGenerator {
+public class ProductSiteMapGenerator implements ShardedSiteMapGenerator {
 
     @Resource(name = "blProductDao")
     protected ProductDao productDao;
@@ -65,29 +65,57 @@ public class ProductSiteMapGenerator implements SiteMapGenerator {
         do {
             products = productDao.readAllActiveProductsForSiteMap(pageNum++, pageSize);
             for (Product product : products) {
-                if (StringUtils.isEmpty(product.getUrl())) {
-                    continue;
-                }
+                addSiteMapEntry(smgc, siteMapBuilder, product);
+            }
+        } while (products.size() == pageSize);
+    }
+
+    @Override
+    public String getTrackedEntityType() {
+        return Product.class.getName();
+    }
+
+    @Override
+    public Long readMaximumId(SiteMapGeneratorConfiguration smgc) {
+        return productDao.readMaximumProductId();
+    }
+
+    @Override
+    public void addSiteMapEntries(SiteMapGeneratorConfiguration smgc, SiteMapBuilder siteMapBuilder, Long fromId, Long toId) {
+        Long lastId = fromId - 1;
+        List<Product> products;
 
-                SiteMapURLWrapper siteMapUrl = new SiteMapURLWrapper();
+        do {
+            products = productDao.readAllActiveProductsForSiteMap(lastId, toId, pageSize);
+            for (Product product : products) {
+                addSiteMapEntry(smgc, siteMapBuilder, product);
+                lastId = product.getId();
+            }
+        } while (products.size() == pageSize);
+    }
 
-                // location
-                siteMapUrl.setLoc(generateUri(siteMapBuilder, product));
+    protected void addSiteMapEntry(SiteMapGeneratorConfiguration smgc, SiteMapBuilder siteMapBuilder, Product product) {
+        if (StringUtils.isEmpty(product.getUrl())) {
+            return;
+        }
 
-                // change frequency
-                siteMapUrl.setChangeFreqType(smgc.getSiteMapChangeFreq());
+        SiteMapURLWrapper siteMapUrl = new SiteMapURLWrapper();
 
-                // priority
-                siteMapUrl.setPriorityType(smgc.getSiteMapPriority());
+        // location
+        siteMapUrl.setLoc(generateUri(siteMapBuilder, product));
 
-                // lastModDate
-                siteMapUrl.setLastModDate(generateDate(product));
+        // change frequency
+        siteMapUrl.setChangeFreqType(smgc.getSiteMapChangeFreq());
 
-                constructImageURLs(siteMapBuilder, siteMapUrl, product);
+        // priority
+        siteMapUrl.setPriorityType(smgc.getSiteMapPriority());
 
-                siteMapBuilder.addUrl(siteMapUrl);
-            }
-        } while (products.size() == pageSize);
+        // lastModDate
+        siteMapUrl.setLastModDate(generateDate(product));
+
+        constructImageURLs(siteMapBuilder, siteMapUrl, product);
+
+        siteMapBuilder.addUrl(siteMapUrl);
     }
 
     protected void constructImageURLs(SiteMapBuilder siteMapBuilder, SiteMapURLWrapper siteMapUrl, Product product) {
@@ -21,8 +21,9 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.broadleafcommerce.common.file.service.BroadleafFileUtils;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
+import org.broadleafcommerce.common.sitemap.service.ShardedSiteMapGenerator;
 import org.broadleafcommerce.common.sitemap.service.SiteMapBuilder;
-import org.broadleafcommerce.common.sitemap.service.SiteMapGenerator;
+import org.broadleafcommerce.common.sitemap.service.SiteMapChangeService;
 import org.broadleafcommerce.common.sitemap.service.type.SiteMapGeneratorType;
 import org.broadleafcommerce.common.sitemap.wrapper.SiteMapImageWrapper;
 import org.broadleafcommerce.common.sitemap.wrapper.SiteMapURLWrapper;
@@ -35,8 +36,11 @@ import org.broadleafcommerce.core.util.service.BroadleafSitemapUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Resource;
 
@@ -46,7 +50,7 @@ import javax.annotation.Resource;
  * @author Joshua Skorton (jskorton)
  */
 @Component("blSkuSiteMapGenerator")
-public class SkuSiteMapGenerator implements SiteMapGenerator {
+public class SkuSiteMapGenerator implements ShardedSiteMapGenerator {
 
     @Resource(name = "blSkuDao")
     protected SkuDao skuDao;
@@ -68,38 +72,85 @@ public class SkuSiteMapGenerator implements SiteMapGenerator {
         do {
             skus = skuDao.readAllActiveSkus(pageNum++, pageSize);
             for (Sku sku : skus) {
-                Product defaultProduct = sku.getDefaultProduct();
-                if (defaultProduct != null && CollectionUtils.isNotEmpty(defaultProduct.getAdditionalSkus())) {
-                    continue;
-                }
-                if (defaultProduct instanceof ProductBundle) {
-                    continue;
-                }
-                if (StringUtils.isEmpty(sku.getProduct().getUrl() + sku.getUrlKey())) {
-                    continue;
-                }
-                
-                SiteMapURLWrapper siteMapUrl = new SiteMapURLWrapper();
-
-                // location
-                siteMapUrl.setLoc(generateUri(siteMapBuilder, sku));
-
-                // change frequency
-                siteMapUrl.setChangeFreqType(smgc.getSiteMapChangeFreq());
-
-                // priority
-                siteMapUrl.setPriorityType(smgc.getSiteMapPriority());
-
-                // lastModDate
-                siteMapUrl.setLastModDate(generateDate(sku));
-
-                constructImageURLs(siteMapBuilder, siteMapUrl, sku);
-
-                siteMapBuilder.addUrl(siteMapUrl);
+                addSiteMapEntry(smgc, siteMapBuilder, sku);
             }
         } while (skus.size() == pageSize);
     }
 
+    @Override
+    public String getTrackedEntityType() {
+        return Sku.class.getName();
+    }
+
+    /**
+     * A sku entry is addressed through its product URL, so the skus of the products changed since the given date are
+     * regenerated along with the skus changed directly. The default sku of a product only has an entry while the
+     * product has no additional skus, so it is regenerated whenever one of those skus changes.
+     */
+    @Override
+    public Collection<Long> findChangedEntityIds(SiteMapChangeService siteMapChangeService, Date since) {
+        List<Long> changedSkuIds = siteMapChangeService.findEntityIdsChangedSince(getTrackedEntityType(), since);
+        Set<Long> skuIds = new HashSet<Long>(changedSkuIds);
+        if (!changedSkuIds.isEmpty()) {
+            skuIds.addAll(skuDao.readDefaultSkuIdsBySkuIds(changedSkuIds));
+        }
+        List<Long> productIds = siteMapChangeService.findEntityIdsChangedSince(Product.class.getName(), since);
+        if (!productIds.isEmpty()) {
+            skuIds.addAll(skuDao.readSkuIdsByProductIds(productIds));
+        }
+        return skuIds;
+    }
+
+    @Override
+    public Long readMaximumId(SiteMapGeneratorConfiguration smgc) {
+        return skuDao.readMaximumSkuId();
+    }
+
+    @Override
+    public void addSiteMapEntries(SiteMapGeneratorConfiguration smgc, SiteMapBuilder siteMapBuilder, Long fromId, Long toId) {
+        Long lastId = fromId - 1;
+        List<Sku> skus;
+
+        do {
+            skus = skuDao.readAllActiveSkus(pageSize, lastId, toId);
+            for (Sku sku : skus) {
+                addSiteMapEntry(smgc, siteMapBuilder, sku);
+                lastId = sku.getId();
+            }
+        } while (skus.size() == pageSize);
+    }
+
+    protected void addSiteMapEntry(SiteMapGeneratorConfiguration smgc, SiteMapBuilder siteMapBuilder, Sku sku) {
+        Product defaultProduct = sku.getDefaultProduct();
+        if (defaultProduct != null && CollectionUtils.isNotEmpty(defaultProduct.getAdditionalSkus())) {
+            return;
+        }
+        if (defaultProduct instanceof ProductBundle) {
+            return;
+        }
+        if (StringUtils.isEmpty(sku.getProduct().getUrl() + sku.getUrlKey())) {
+            return;
+        }
+
+        SiteMapURLWrapper siteMapUrl = new SiteMapURLWrapper();
+
+        // location
+        siteMapUrl.setLoc(generateUri(siteMapBuilder, sku));
+
+        // change frequency
+        siteMapUrl.setChangeFreqType(smgc.getSiteMapChangeFreq());
+
+        // priority
+        siteMapUrl.setPriorityType(smgc.getSiteMapPriority());
+
+        // lastModDate
+        siteMapUrl.setLastModDate(generateDate(sku));
+
+        constructImageURLs(siteMapBuilder, siteMapUrl, sku);
+
+        siteMapBuilder.addUrl(siteMapUrl);
+    }
+
     protected void constructImageURLs(SiteMapBuilder siteMapBuilder, SiteMapURLWrapper siteMapUrl, Sku sku) {
         for (SkuMediaXref skuMediaXref : sku.getSkuMediaXref().values()) {
             SiteMapImageWrapper siteMapImage = new SiteMapImageWrapper();
@@ -26,6 +26,7 @@ import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.order.service.OrderService;
 import org.broadleafcommerce.core.order.service.exception.RequiredAttributeNotProvidedException;
 import org.broadleafcommerce.core.order.service.type.OrderStatus;
+import org.broadleafcommerce.core.pricing.service.DeferredPricingService;
 import org.broadleafcommerce.core.pricing.service.exception.PricingException;
 import org.broadleafcommerce.core.workflow.ActivityMessages;
 import org.broadleafcommerce.core.workflow.ProcessContext;
@@ -52,6 +53,9 @@ public class CheckoutServiceImpl implements CheckoutService {
     @Resource(name="blOrderService")
     protected OrderService orderService;
 
+    @Resource(name="blDeferredPricingService")
+    protected DeferredPricingService deferredPricingService;
+
     @Override
     public CheckoutResponse performCheckout(Order order) throws CheckoutException {
         // Immediately fail if this order has already been checked out previously
@@ -61,6 +65,9 @@ public class CheckoutServiceImpl implements CheckoutService {
         
         CheckoutSeed seed = null;
         try {
+            // If pricing was deferred by earlier cart operations, wait for the latest pricing before checking out
+            order = deferredPricingService.priceOrderIfPending(order);
+
             // Do a final save of the order before going through with the checkout workflow
             order = orderService.save(order, false);
             seed = new CheckoutSeed(order, new HashMap<>());
@@ -24,7 +24,9 @@ import org.broadleafcommerce.core.offer.service.workflow.RecordOfferUsageActivit
 import org.broadleafcommerce.core.offer.service.workflow.VerifyCustomerMaxOfferUsesActivity;
 import org.broadleafcommerce.core.order.domain.Order;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO for auditing what went on with offers being added to an order
@@ -102,6 +104,32 @@ public interface OfferAuditDao {
      */
     Long countUsesByAccount(Order order, Long accountId, Long offerId, Long minimumDaysPerUsage);
 
+    /**
+     * Batched form of {@link #countUsesByCustomer(Order, Long, Long, Long)}. Counts the uses of every given offer by the
+     * customer in a single grouped query.
+     *
+     * @param order
+     * @param customerId
+     * @param offerIds
+     * @param minimumDaysPerUsage
+     * @return the number of uses keyed by offer id, with an entry for every requested offer, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countUsesByCustomer(Order order, Long customerId, Collection<Long> offerIds, Long minimumDaysPerUsage);
+
+    /**
+     * Batched form of {@link #countUsesByAccount(Order, Long, Long, Long)}. Counts the uses of every given offer by the
+     * account in a single grouped query.
+     *
+     * @param order
+     * @param accountId
+     * @param offerIds
+     * @param minimumDaysPerUsage
+     * @return the number of uses keyed by offer id, with an entry for every requested offer, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countUsesByAccount(Order order, Long accountId, Collection<Long> offerIds, Long minimumDaysPerUsage);
+
     /**
      * Counts how many times the an offer has been used by a customer
      *
@@ -124,6 +152,17 @@ public interface OfferAuditDao {
      */
     Long countOfferCodeUses(Order order, Long offerCodeId);
 
+    /**
+     * Batched form of {@link #countOfferCodeUses(Order, Long)}. Counts the uses of every given offer code in a single
+     * grouped query.
+     *
+     * @param order
+     * @param offerCodeIds
+     * @return the number of uses keyed by offer code id, with an entry for every requested code, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countOfferCodeUses(Order order, Collection<Long> offerCodeIds);
+
     /**
      * Counts how many times the given offer code has been used in the system
      *
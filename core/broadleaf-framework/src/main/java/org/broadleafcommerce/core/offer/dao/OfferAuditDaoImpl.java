@@ -33,9 +33,12 @@ import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Resource;
 import javax.persistence.EntityManager;
@@ -126,11 +129,85 @@ public class OfferAuditDaoImpl implements OfferAuditDao {
         CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
         Root<OfferAuditImpl> root = criteria.from(OfferAuditImpl.class);
         Root<OrderImpl> orderRoot = criteria.from(OrderImpl.class);
+        criteria.select(builder.count(root));
+
+        List<Predicate> restrictions = buildUsesRestrictions(builder, root, orderRoot, order, customerId, accountId,
+                builder.equal(root.get("offerId"), offerId), minimumDaysPerUsage);
+        if (restrictions == null) {
+            LOG.debug("Count uses by account or customer called without an account or a customer.");
+            return 0L;
+        }
+
+        criteria.where(restrictions.toArray(new Predicate[restrictions.size()]));
+
+        try {
+            return em.createQuery(criteria).getSingleResult();
+        } catch (Exception e) {
+            LOG.error("Error counting offer uses by customer.", e);
+            return null;
+        }
+    }
+
+    @Override
+    public Map<Long, Long> countUsesByCustomer(Order order, Long customerId, Collection<Long> offerIds, Long minimumDaysPerUsage) {
+        return countUsesByAccountOrCustomer(order, customerId, NULL_ACCOUNT_ID, offerIds, minimumDaysPerUsage);
+    }
+
+    @Override
+    public Map<Long, Long> countUsesByAccount(Order order, Long accountId, Collection<Long> offerIds, Long minimumDaysPerUsage) {
+        return countUsesByAccountOrCustomer(order, NULL_CUSTOMER_ID, accountId, offerIds, minimumDaysPerUsage);
+    }
+
+    /**
+     * The same count as {@link #countUsesByAccountOrCustomer(Order, Long, Long, Long, Long)}, for several offers at once,
+     * grouped by offer id. Offers that have never been used map to zero. Returns null if the query fails.
+     */
+    protected Map<Long, Long> countUsesByAccountOrCustomer(Order order, Long customerId, Long accountId, Collection<Long> offerIds, Long minimumDaysPerUsage) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (offerIds == null || offerIds.isEmpty()) {
+            return counts;
+        }
+        for (Long offerId : offerIds) {
+            counts.put(offerId, 0L);
+        }
+
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> criteria = builder.createQuery(Object[].class);
+        Root<OfferAuditImpl> root = criteria.from(OfferAuditImpl.class);
+        Root<OrderImpl> orderRoot = criteria.from(OrderImpl.class);
+        criteria.multiselect(root.get("offerId"), builder.count(root));
+
+        List<Predicate> restrictions = buildUsesRestrictions(builder, root, orderRoot, order, customerId, accountId,
+                root.get("offerId").in(offerIds), minimumDaysPerUsage);
+        if (restrictions == null) {
+            LOG.debug("Count uses by account or customer called without an account or a customer.");
+            return counts;
+        }
+
+        criteria.where(restrictions.toArray(new Predicate[restrictions.size()]));
+        criteria.groupBy(root.get("offerId"));
+
+        try {
+            for (Object[] row : em.createQuery(criteria).getResultList()) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            return counts;
+        } catch (Exception e) {
+            LOG.error("Error counting offer uses by customer.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the restrictions shared by the offer use count queries, or null if neither a customer nor an account
+     * was given
+     */
+    protected List<Predicate> buildUsesRestrictions(CriteriaBuilder builder, Root<OfferAuditImpl> root, Root<OrderImpl> orderRoot,
+            Order order, Long customerId, Long accountId, Predicate offerPredicate, Long minimumDaysPerUsage) {
         Join<Object, Object> parentOrder = null;
         if (ModulePresentUtil.isPresent(BroadleafModuleRegistration.BroadleafModuleEnum.OMS)) {
             parentOrder = orderRoot.join("embeddedOmsOrder", JoinType.LEFT).join("parentOrder", JoinType.LEFT);
         }
-        criteria.select(builder.count(root));
 
         Predicate customerOrAccountPredicate = null;
 
@@ -139,15 +216,14 @@ public class OfferAuditDaoImpl implements OfferAuditDao {
         } else if (accountId != null) {
             customerOrAccountPredicate = builder.equal(root.get("accountId"), accountId);
         } else {
-            LOG.debug("Count uses by account or customer called without an account or a customer.");
-            return 0L;
+            return null;
         }
 
         List<Predicate> restrictions = new ArrayList<>();
         restrictions.add(
             builder.and(
                 customerOrAccountPredicate,
-                builder.equal(root.get("offerId"), offerId),
+                offerPredicate,
                 builder.or(
                     builder.isNull(root.get("orderId")),
                     builder.and(
@@ -170,15 +246,7 @@ public class OfferAuditDaoImpl implements OfferAuditDao {
 
             restrictions.add(builder.between(root.<Date>get("redeemedDate"), previousCalendar.getTime(), currentDate));
         }
-
-        criteria.where(restrictions.toArray(new Predicate[restrictions.size()]));
-
-        try {
-            return em.createQuery(criteria).getSingleResult();
-        } catch (Exception e) {
-            LOG.error("Error counting offer uses by customer.", e);
-            return null;
-        }
+        return restrictions;
     }
 
     protected Predicate getOmsOrderPredicate(CriteriaBuilder builder, Root<OrderImpl> orderRoot, Join<Object, Object> parentOrder) {
@@ -209,29 +277,64 @@ public class OfferAuditDaoImpl implements OfferAuditDao {
 
     @Override
     public Long countOfferCodeUses(Order order, Long offerCodeId) {
+        String sql = buildOfferCodeUsesQuery("count(oa.id) AS countOfferCodeUses", "oa.offerCodeId = :offerCodeId", null);
+        try {
+            return (Long) em.createQuery(sql)
+                    .setParameter("orderId", order.getId())
+                    .setParameter("offerCodeId", offerCodeId)
+                    .setParameter("orderStatus", OrderStatus.CANCELLED.getType())
+                    .getSingleResult();
+        } catch (Exception e) {
+            LOG.error("Error counting offer code uses.", e);
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> countOfferCodeUses(Order order, Collection<Long> offerCodeIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (offerCodeIds == null || offerCodeIds.isEmpty()) {
+            return counts;
+        }
+        for (Long offerCodeId : offerCodeIds) {
+            counts.put(offerCodeId, 0L);
+        }
+        String sql = buildOfferCodeUsesQuery("oa.offerCodeId, count(oa.id)", "oa.offerCodeId IN :offerCodeIds", "oa.offerCodeId");
+        try {
+            List<Object[]> rows = em.createQuery(sql)
+                    .setParameter("orderId", order.getId())
+                    .setParameter("offerCodeIds", offerCodeIds)
+                    .setParameter("orderStatus", OrderStatus.CANCELLED.getType())
+                    .getResultList();
+            for (Object[] row : rows) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            return counts;
+        } catch (Exception e) {
+            LOG.error("Error counting offer code uses.", e);
+            return null;
+        }
+    }
+
+    protected String buildOfferCodeUsesQuery(String select, String offerCodeRestriction, String groupBy) {
         StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append("SELECT count(oa.id) AS countOfferCodeUses ")
+        sqlBuilder.append("SELECT ").append(select).append(" ")
                 .append("FROM OrderImpl o ");
         if (ModulePresentUtil.isPresent(BroadleafModuleRegistration.BroadleafModuleEnum.OMS)) {
             sqlBuilder.append("LEFT JOIN OrderImpl o2 ON o.embeddedOmsOrder.parentOrder.id = o2.id ");
         }
         sqlBuilder.append("LEFT JOIN OfferAuditImpl oa ON oa.orderId = o.id ")
                 .append("WHERE (oa.orderId IS NULL OR oa.orderId <> :orderId ) ")
-                .append("AND oa.offerCodeId = :offerCodeId ")
+                .append("AND ").append(offerCodeRestriction).append(" ")
                 .append("AND (oa.orderId IS NULL OR o.status <> :orderStatus) ");
         if (ModulePresentUtil.isPresent(BroadleafModuleRegistration.BroadleafModuleEnum.OMS)) {
             sqlBuilder.append("AND (o.embeddedOmsOrder.parentOrder.id IS NULL OR o2.status <> :orderStatus) ");
         }
-        try {
-            return (Long) em.createQuery(sqlBuilder.toString())
-                    .setParameter("orderId", order.getId())
-                    .setParameter("offerCodeId", offerCodeId)
-                    .setParameter("orderStatus", OrderStatus.CANCELLED.getType())
-                    .getSingleResult();
-        } catch (Exception e) {
-            LOG.error("Error counting offer code uses.", e);
-            return null;
+        if (groupBy != null) {
+            sqlBuilder.append("GROUP BY ").append(groupBy);
         }
+        return sqlBuilder.toString();
     }
     
     @Deprecated
@@ -40,4 +40,9 @@ public interface OfferCodeDao {
 
     public List<OfferCode> readAllOfferCodesByCode(String code);
 
+    /**
+     * Reads the code of every offer code row, including archived ones and those of every site and sandbox
+     */
+    public List<String> readAllOfferCodeValues();
+
 }
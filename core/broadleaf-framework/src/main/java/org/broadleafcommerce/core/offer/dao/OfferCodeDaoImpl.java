@@ -122,6 +122,12 @@ public class OfferCodeDaoImpl implements OfferCodeDao {
         return query.getResultList();
     }
 
+    @Override
+    public List<String> readAllOfferCodeValues() {
+        TypedQuery<String> query = em.createQuery("SELECT code.offerCode FROM " + OfferCode.class.getName() + " code", String.class);
+        return query.getResultList();
+    }
+
     protected Query readOfferCodesQuery(String code) {
         Query query;
 
@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.domain;
+
+import org.broadleafcommerce.common.util.ApplicationContextHolder;
+import org.broadleafcommerce.core.offer.service.OfferCodeIndex;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Tells the {@link OfferCodeIndex} about an offer code once the transaction that saved or removed it has committed,
+ * so that a new code is never rejected by the index.
+ *
+ * @see org.broadleafcommerce.core.offer.service.OfferCodeIndexImpl
+ */
+public class OfferCodeIndexEntityListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void offerCodeChanged(final Object entity) {
+        final String code = ((OfferCode) entity).getOfferCode();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    notifyIndex(code);
+                }
+            });
+        } else {
+            notifyIndex(code);
+        }
+    }
+
+    protected void notifyIndex(String code) {
+        ApplicationContext context = ApplicationContextHolder.getApplicationContext();
+        if (context != null && context.containsBean("blOfferCodeIndex")) {
+            context.getBean("blOfferCodeIndex", OfferCodeIndex.class).offerCodeChanged(code);
+        }
+    }
+}
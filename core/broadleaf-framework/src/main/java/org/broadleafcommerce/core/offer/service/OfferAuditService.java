@@ -22,7 +22,9 @@ import org.broadleafcommerce.core.offer.domain.OfferAudit;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.profile.core.domain.Customer;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -88,6 +90,32 @@ public interface OfferAuditService {
      */
     Long countUsesByAccount(Order order, Long accountId, Long offerId, Long minimumDaysPerUsage);
 
+    /**
+     * Batched form of {@link #countUsesByCustomer(Order, Long, Long, Long)}. Counts the uses of every given offer by the
+     * customer in a single grouped query.
+     *
+     * @param order
+     * @param customerId
+     * @param offerIds
+     * @param minimumDaysPerUsage
+     * @return the number of uses keyed by offer id, with an entry for every requested offer, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countUsesByCustomer(Order order, Long customerId, Collection<Long> offerIds, Long minimumDaysPerUsage);
+
+    /**
+     * Batched form of {@link #countUsesByAccount(Order, Long, Long, Long)}. Counts the uses of every given offer by the
+     * account in a single grouped query.
+     *
+     * @param order
+     * @param accountId
+     * @param offerIds
+     * @param minimumDaysPerUsage
+     * @return the number of uses keyed by offer id, with an entry for every requested offer, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countUsesByAccount(Order order, Long accountId, Collection<Long> offerIds, Long minimumDaysPerUsage);
+
     /**
      * Counts how many times the an offer has been used by a customer
      *
@@ -110,6 +138,17 @@ public interface OfferAuditService {
      */
     Long countOfferCodeUses(Order order, Long offerCodeId);
 
+    /**
+     * Batched form of {@link #countOfferCodeUses(Order, Long)}. Counts the uses of every given offer code in a single
+     * grouped query.
+     *
+     * @param order
+     * @param offerCodeIds
+     * @return the number of uses keyed by offer code id, with an entry for every requested code, or null if the counts
+     * could not be read
+     */
+    Map<Long, Long> countOfferCodeUses(Order order, Collection<Long> offerCodeIds);
+
     /**
      * Counts how many times the given offer code has been used in the system
      *
@@ -24,7 +24,11 @@ import org.broadleafcommerce.core.order.domain.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Resource;
 
@@ -47,12 +51,14 @@ public class OfferAuditServiceImpl implements OfferAuditService {
     @Override
     @Transactional(TransactionUtils.DEFAULT_TRANSACTION_MANAGER)
     public OfferAudit save(OfferAudit offerAudit) {
+        OfferUsageCountCache.clearCurrent();
         return offerAuditDao.save(offerAudit);
     }
     
     @Override
     @Transactional(TransactionUtils.DEFAULT_TRANSACTION_MANAGER)
     public void delete(OfferAudit offerAudit) {
+        OfferUsageCountCache.clearCurrent();
         offerAuditDao.delete(offerAudit);
     }
 
@@ -68,12 +74,90 @@ public class OfferAuditServiceImpl implements OfferAuditService {
 
     @Override
     public Long countUsesByCustomer(Order order, Long customerId, Long offerId, Long minimumDaysPerUsage) {
-        return offerAuditDao.countUsesByCustomer(order, customerId, offerId, minimumDaysPerUsage);
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countUsesByCustomer(order, customerId, offerId, minimumDaysPerUsage);
+        }
+        OfferUsageCountCache.UsageKey key = OfferUsageCountCache.customerKey(order.getId(), customerId, offerId, minimumDaysPerUsage);
+        Long count = cache.get(key);
+        if (count == null) {
+            count = offerAuditDao.countUsesByCustomer(order, customerId, offerId, minimumDaysPerUsage);
+            cache.put(key, count);
+        }
+        return count;
     }
 
     @Override
     public Long countUsesByAccount(Order order, Long accountId, Long offerId, Long minimumDaysPerUsage) {
-        return offerAuditDao.countUsesByAccount(order, accountId, offerId, minimumDaysPerUsage);
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countUsesByAccount(order, accountId, offerId, minimumDaysPerUsage);
+        }
+        OfferUsageCountCache.UsageKey key = OfferUsageCountCache.accountKey(order.getId(), accountId, offerId, minimumDaysPerUsage);
+        Long count = cache.get(key);
+        if (count == null) {
+            count = offerAuditDao.countUsesByAccount(order, accountId, offerId, minimumDaysPerUsage);
+            cache.put(key, count);
+        }
+        return count;
+    }
+
+    @Override
+    public Map<Long, Long> countUsesByCustomer(Order order, Long customerId, Collection<Long> offerIds, Long minimumDaysPerUsage) {
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countUsesByCustomer(order, customerId, offerIds, minimumDaysPerUsage);
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long offerId : offerIds) {
+            Long count = cache.get(OfferUsageCountCache.customerKey(order.getId(), customerId, offerId, minimumDaysPerUsage));
+            if (count == null) {
+                missing.add(offerId);
+            } else {
+                counts.put(offerId, count);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = offerAuditDao.countUsesByCustomer(order, customerId, missing, minimumDaysPerUsage);
+            if (loaded == null) {
+                return null;
+            }
+            for (Map.Entry<Long, Long> entry : loaded.entrySet()) {
+                cache.put(OfferUsageCountCache.customerKey(order.getId(), customerId, entry.getKey(), minimumDaysPerUsage), entry.getValue());
+            }
+            counts.putAll(loaded);
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Long, Long> countUsesByAccount(Order order, Long accountId, Collection<Long> offerIds, Long minimumDaysPerUsage) {
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countUsesByAccount(order, accountId, offerIds, minimumDaysPerUsage);
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long offerId : offerIds) {
+            Long count = cache.get(OfferUsageCountCache.accountKey(order.getId(), accountId, offerId, minimumDaysPerUsage));
+            if (count == null) {
+                missing.add(offerId);
+            } else {
+                counts.put(offerId, count);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = offerAuditDao.countUsesByAccount(order, accountId, missing, minimumDaysPerUsage);
+            if (loaded == null) {
+                return null;
+            }
+            for (Map.Entry<Long, Long> entry : loaded.entrySet()) {
+                cache.put(OfferUsageCountCache.accountKey(order.getId(), accountId, entry.getKey(), minimumDaysPerUsage), entry.getValue());
+            }
+            counts.putAll(loaded);
+        }
+        return counts;
     }
 
     @Deprecated
@@ -84,7 +168,46 @@ public class OfferAuditServiceImpl implements OfferAuditService {
 
     @Override
     public Long countOfferCodeUses(Order order, Long offerCodeId) {
-        return offerAuditDao.countOfferCodeUses(order, offerCodeId);
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countOfferCodeUses(order, offerCodeId);
+        }
+        OfferUsageCountCache.UsageKey key = OfferUsageCountCache.offerCodeKey(order.getId(), offerCodeId);
+        Long count = cache.get(key);
+        if (count == null) {
+            count = offerAuditDao.countOfferCodeUses(order, offerCodeId);
+            cache.put(key, count);
+        }
+        return count;
+    }
+
+    @Override
+    public Map<Long, Long> countOfferCodeUses(Order order, Collection<Long> offerCodeIds) {
+        OfferUsageCountCache cache = OfferUsageCountCache.getInstance();
+        if (cache == null) {
+            return offerAuditDao.countOfferCodeUses(order, offerCodeIds);
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long offerCodeId : offerCodeIds) {
+            Long count = cache.get(OfferUsageCountCache.offerCodeKey(order.getId(), offerCodeId));
+            if (count == null) {
+                missing.add(offerCodeId);
+            } else {
+                counts.put(offerCodeId, count);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = offerAuditDao.countOfferCodeUses(order, missing);
+            if (loaded == null) {
+                return null;
+            }
+            for (Map.Entry<Long, Long> entry : loaded.entrySet()) {
+                cache.put(OfferUsageCountCache.offerCodeKey(order.getId(), entry.getKey()), entry.getValue());
+            }
+            counts.putAll(loaded);
+        }
+        return counts;
     }
     
     @Deprecated
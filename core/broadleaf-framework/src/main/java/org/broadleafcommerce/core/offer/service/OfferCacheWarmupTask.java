@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import org.broadleafcommerce.common.cache.CacheWarmupTask;
+import org.broadleafcommerce.core.offer.dao.OfferDao;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+/**
+ * Loads the active, automatically applied offers that every pricing pass reads through
+ * {@link OfferDao#readOffersByAutomaticDeliveryType()}.
+ */
+@Component("blOfferCacheWarmupTask")
+public class OfferCacheWarmupTask implements CacheWarmupTask {
+
+    @Resource(name = "blOfferDao")
+    protected OfferDao offerDao;
+
+    @Override
+    public String getName() {
+        return "offers";
+    }
+
+    @Override
+    public List<Runnable> getBatches() {
+        return Collections.singletonList(() -> offerDao.readOffersByAutomaticDeliveryType());
+    }
+
+}
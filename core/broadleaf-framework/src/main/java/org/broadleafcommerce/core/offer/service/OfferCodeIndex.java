@@ -0,0 +1,57 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import org.broadleafcommerce.core.offer.domain.OfferCode;
+
+import java.util.List;
+
+/**
+ * An in-memory index of offer codes that lets {@link OfferService} reject codes that do not exist without going to the
+ * database. A Bloom filter over every code answers "definitely not a code" for almost every invalid attempt, and the
+ * codes that do exist are remembered with their ids.
+ *
+ * @see OfferCodeIndexImpl
+ */
+public interface OfferCodeIndex {
+
+    boolean isEnabled();
+
+    /**
+     * @return false only if no offer code row has this code. Always true when the index is disabled.
+     */
+    boolean mightExist(String code);
+
+    /**
+     * @return the remembered entries for this code in the current site, or null if the code has to be read from the
+     * database
+     */
+    List<OfferCodeIndexEntry> getEntries(String code);
+
+    /**
+     * Remembers the result of reading this code from the database in the current site
+     */
+    void putEntries(String code, List<OfferCode> offerCodes);
+
+    /**
+     * Makes the index aware of a code that was created, changed or removed, on this node and on the other nodes
+     * reachable through the cache invalidation bus.
+     */
+    void offerCodeChanged(String code);
+
+}
@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import org.broadleafcommerce.core.offer.domain.OfferCode;
+
+/**
+ * What the {@link OfferCodeIndex} remembers about a valid offer code. The entity itself is reloaded by id, which is a
+ * second level cache hit, so that each request gets its own instance.
+ */
+public final class OfferCodeIndexEntry {
+
+    private final Long offerCodeId;
+    private final Long offerId;
+    private final int maxUses;
+
+    public OfferCodeIndexEntry(OfferCode offerCode) {
+        this.offerCodeId = offerCode.getId();
+        this.offerId = offerCode.getOffer() == null ? null : offerCode.getOffer().getId();
+        this.maxUses = offerCode.getMaxUses();
+    }
+
+    public Long getOfferCodeId() {
+        return offerCodeId;
+    }
+
+    public Long getOfferId() {
+        return offerId;
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+}
@@ -0,0 +1,336 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.cache.NearCache;
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.core.offer.dao.OfferCodeDao;
+import org.broadleafcommerce.core.offer.domain.OfferCode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+
+/**
+ * Default {@link OfferCodeIndex}, enabled with <code>offer.code.index.enabled</code>.
+ *
+ * The Bloom filter holds the lower case code of every row in BLC_OFFER_CODE, regardless of archive status, site or
+ * sandbox, so it is a superset of what any variation of the offer code query can return. It is rebuilt from the
+ * database every <code>offer.code.index.rebuildIntervalSeconds</code>, and codes saved in between are added as they
+ * are committed (see {@link org.broadleafcommerce.core.offer.domain.OfferCodeIndexEntityListener}). The rebuild runs on
+ * a background thread, so a lookup never waits for it; until the first filter is built every code is let through.
+ *
+ * Entries for valid codes are only remembered for the production sandbox, keyed by site.
+ *
+ * Codes saved on other nodes only arrive through the {@link CacheInvalidationBus}. The default in-process bus does not
+ * reach other nodes, so in a cluster without a shared bus a new code is rejected until the next rebuild.
+ */
+@Service("blOfferCodeIndex")
+@ManagedResource(objectName="org.broadleafcommerce:name=OfferCodeIndex", description="Offer Code Index", currencyTimeLimit=15)
+public class OfferCodeIndexImpl implements OfferCodeIndex, DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(OfferCodeIndexImpl.class);
+
+    public static final String OFFER_CODE_INDEX_CACHE_NAME = "blOfferCodeIndex";
+
+    @Resource(name = "blOfferCodeDao")
+    protected OfferCodeDao offerCodeDao;
+
+    @Resource(name = "blCacheInvalidationBus")
+    protected CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${offer.code.index.enabled:false}")
+    protected boolean enabled = false;
+
+    @Value("${offer.code.index.falsePositiveProbability:0.01}")
+    protected double falsePositiveProbability = 0.01;
+
+    @Value("${offer.code.index.rebuildIntervalSeconds:300}")
+    protected long rebuildIntervalSeconds = 300L;
+
+    @Value("${offer.code.index.maxEntries:5000}")
+    protected int maxEntries = 5000;
+
+    @Value("${offer.code.index.timeToLiveSeconds:300}")
+    protected long timeToLiveSeconds = 300L;
+
+    protected volatile BloomFilter<String> filter;
+    protected volatile long filterBuiltAt;
+    protected final AtomicBoolean rebuilding = new AtomicBoolean();
+    protected volatile ExecutorService rebuildExecutor;
+
+    /**
+     * Codes added since the current rebuild started, so that they are not lost when the new filter replaces the old one
+     */
+    protected final Set<String> recentlyChanged = ConcurrentHashMap.newKeySet();
+
+    protected volatile NearCache<String, List<OfferCodeIndexEntry>> entries;
+
+    protected final AtomicLong rejectedCodes = new AtomicLong();
+
+    @PostConstruct
+    public void registerCacheInvalidationListener() {
+        cacheInvalidationBus.addListener(event -> {
+            if (OFFER_CODE_INDEX_CACHE_NAME.equals(event.getCacheName())) {
+                if (event.isClear()) {
+                    rebuildIndex();
+                } else {
+                    applyChange(event.getKey());
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean mightExist(String code) {
+        if (!enabled || code == null) {
+            return true;
+        }
+        BloomFilter<String> current = getFilter();
+        if (current == null || current.mightContain(normalize(code))) {
+            return true;
+        }
+        rejectedCodes.incrementAndGet();
+        return false;
+    }
+
+    @Override
+    public List<OfferCodeIndexEntry> getEntries(String code) {
+        if (!enabled || code == null || !isProductionSandBox()) {
+            return null;
+        }
+        return getEntryCache().get(buildKey(code));
+    }
+
+    @Override
+    public void putEntries(String code, List<OfferCode> offerCodes) {
+        if (!enabled || code == null || offerCodes == null || offerCodes.isEmpty() || !isProductionSandBox()) {
+            return;
+        }
+        List<OfferCodeIndexEntry> codeEntries = new ArrayList<>(offerCodes.size());
+        for (OfferCode offerCode : offerCodes) {
+            codeEntries.add(new OfferCodeIndexEntry(offerCode));
+        }
+        getEntryCache().put(buildKey(code), Collections.unmodifiableList(codeEntries));
+    }
+
+    @Override
+    public void offerCodeChanged(String code) {
+        if (code == null) {
+            return;
+        }
+        applyChange(code);
+        cacheInvalidationBus.publishEviction(OFFER_CODE_INDEX_CACHE_NAME, code);
+    }
+
+    protected void applyChange(String code) {
+        if (code == null) {
+            return;
+        }
+        String normalized = normalize(code);
+        recentlyChanged.add(normalized);
+        BloomFilter<String> current = filter;
+        if (current != null) {
+            current.put(normalized);
+        }
+        if (entries != null) {
+            entries.removeIf(key -> normalized.equals(normalize(key.substring(key.indexOf('|') + 1))));
+        }
+    }
+
+    /**
+     * Returns the current filter, scheduling a rebuild when it is missing or stale. The caller keeps using the current
+     * filter while the rebuild runs.
+     */
+    protected BloomFilter<String> getFilter() {
+        BloomFilter<String> current = filter;
+        if (current == null || System.currentTimeMillis() - filterBuiltAt > rebuildIntervalSeconds * 1000L) {
+            scheduleRebuild();
+            current = filter;
+        }
+        return current;
+    }
+
+    protected void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getRebuildExecutor().execute(() -> {
+                try {
+                    readFilter();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    protected ExecutorService getRebuildExecutor() {
+        if (rebuildExecutor == null) {
+            synchronized (this) {
+                if (rebuildExecutor == null) {
+                    rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "offer-code-index");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return rebuildExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuildExecutor != null) {
+            rebuildExecutor.shutdownNow();
+        }
+    }
+
+    @ManagedOperation(description="Rebuilds the offer code Bloom filter from the database")
+    public void rebuildIndex() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filter on the calling thread. Returns null if another thread is already rebuilding or the read
+     * failed, in which case callers keep using the previous filter, or let every code through if there is none.
+     */
+    protected BloomFilter<String> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            return readFilter();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Reads every code and replaces the filter. Returns null if the read failed.
+     */
+    protected BloomFilter<String> readFilter() {
+        try {
+            List<String> codes = offerCodeDao.readAllOfferCodeValues();
+            // Leave room for the codes that will be added before the next rebuild
+            BloomFilter<String> rebuilt = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    Math.max(1000, codes.size() * 2), falsePositiveProbability);
+            for (String code : codes) {
+                if (code != null) {
+                    rebuilt.put(normalize(code));
+                }
+            }
+            filter = rebuilt;
+            filterBuiltAt = System.currentTimeMillis();
+            for (Iterator<String> itr = recentlyChanged.iterator(); itr.hasNext();) {
+                rebuilt.put(itr.next());
+                itr.remove();
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Rebuilt the offer code index with " + codes.size() + " codes");
+            }
+            return rebuilt;
+        } catch (RuntimeException e) {
+            LOG.error("Unable to rebuild the offer code index", e);
+            return null;
+        }
+    }
+
+    /**
+     * Folds case and trailing whitespace, so that the filter still holds a superset of the matches when the database
+     * compares codes with a case or pad insensitive collation
+     */
+    protected String normalize(String code) {
+        return StringUtils.stripEnd(code, null).toLowerCase(Locale.ROOT);
+    }
+
+    protected String buildKey(String code) {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext(false);
+        Long siteId = brc == null || brc.getNonPersistentSite() == null ? null : brc.getNonPersistentSite().getId();
+        return siteId + "|" + code;
+    }
+
+    protected boolean isProductionSandBox() {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext(false);
+        return brc == null || brc.isProductionSandBox();
+    }
+
+    protected NearCache<String, List<OfferCodeIndexEntry>> getEntryCache() {
+        if (entries == null) {
+            synchronized (this) {
+                if (entries == null) {
+                    entries = new NearCache<>(OFFER_CODE_INDEX_CACHE_NAME, maxEntries, timeToLiveSeconds);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @ManagedAttribute(description="The number of codes rejected by the Bloom filter without a database read", currencyTimeLimit=15)
+    public long getRejectedCodeCount() {
+        return rejectedCodes.get();
+    }
+
+    @ManagedAttribute(description="The number of valid code lookups answered from the index", currencyTimeLimit=15)
+    public long getEntryHitCount() {
+        return entries == null ? 0 : entries.getHitCount();
+    }
+
+    @ManagedAttribute(description="The estimated number of distinct codes in the Bloom filter", currencyTimeLimit=15)
+    public long getApproximateCodeCount() {
+        BloomFilter<String> current = filter;
+        return current == null ? 0 : current.approximateElementCount();
+    }
+}
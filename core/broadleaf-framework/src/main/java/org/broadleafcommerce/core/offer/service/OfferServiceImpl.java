@@ -19,6 +19,7 @@ package org.broadleafcommerce.core.offer.service;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.Transformer;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.broadleafcommerce.common.persistence.EntityDuplicateModifier;
@@ -89,6 +90,9 @@ public class OfferServiceImpl implements OfferService {
 
     @Resource(name="blOfferDao")
     protected OfferDao offerDao;
+
+    @Resource(name="blOfferCodeIndex")
+    protected OfferCodeIndex offerCodeIndex;
     
     @Resource(name="blOrderOfferProcessor")
     protected OrderOfferProcessor orderOfferProcessor;
@@ -164,13 +168,20 @@ public class OfferServiceImpl implements OfferService {
     
     @Override
     public OfferCode lookupOfferCodeByCode(String code){
+        if (!offerCodeIndex.mightExist(code)) {
+            return null;
+        }
+        if (offerCodeIndex.isEnabled()) {
+            List<OfferCode> offerCodes = lookupIndexedOfferCodes(code);
+            return offerCodes.isEmpty() ? null : offerCodes.get(0);
+        }
         return offerCodeDao.readOfferCodeByCode(code);
     }
 
     @Override
     public List<Offer> lookupAllOffersByCode(String code) {
         List<Offer> offers = new ArrayList<Offer>();
-        List<OfferCode> offerCodes = offerCodeDao.readAllOfferCodesByCode(code);
+        List<OfferCode> offerCodes = lookupAllOfferCodesByCode(code);
         for (OfferCode offerCode : offerCodes) {
             if (offerCode != null) {
                 offers.add(offerCode.getOffer());
@@ -181,9 +192,41 @@ public class OfferServiceImpl implements OfferService {
 
     @Override
     public List<OfferCode> lookupAllOfferCodesByCode(String code){
+        if (!offerCodeIndex.mightExist(code)) {
+            return new ArrayList<OfferCode>();
+        }
+        if (offerCodeIndex.isEnabled()) {
+            return lookupIndexedOfferCodes(code);
+        }
         return offerCodeDao.readAllOfferCodesByCode(code);
     }
 
+    /**
+     * Loads the codes remembered by the {@link OfferCodeIndex} by id, falling back to the query when the index has
+     * nothing for this code or one of the remembered codes has since been archived, removed or given another code.
+     */
+    protected List<OfferCode> lookupIndexedOfferCodes(String code) {
+        List<OfferCodeIndexEntry> entries = offerCodeIndex.getEntries(code);
+        if (entries != null) {
+            List<OfferCode> offerCodes = new ArrayList<OfferCode>(entries.size());
+            for (OfferCodeIndexEntry entry : entries) {
+                OfferCode offerCode = offerCodeDao.readOfferCodeById(entry.getOfferCodeId());
+                if (offerCode == null || Character.valueOf('Y').equals(offerCode.getArchived())
+                        || !StringUtils.equalsIgnoreCase(StringUtils.stripEnd(offerCode.getOfferCode(), null),
+                                StringUtils.stripEnd(code, null))) {
+                    break;
+                }
+                offerCodes.add(offerCode);
+            }
+            if (offerCodes.size() == entries.size()) {
+                return offerCodes;
+            }
+        }
+        List<OfferCode> offerCodes = offerCodeDao.readAllOfferCodesByCode(code);
+        offerCodeIndex.putEntries(code, offerCodes);
+        return offerCodes;
+    }
+
     /**
      * Creates a list of offers that applies to this order.  All offers that are assigned to the customer,
      * entered during checkout, or has a delivery type of automatic are added to the list.  The same offer
@@ -210,6 +253,7 @@ public class OfferServiceImpl implements OfferService {
             extensionManager.getProxy().addAdditionalOffersForCode(offers, orderOfferCode);
         }
         List<Offer> globalOffers = lookupAutomaticDeliveryOffers();
+        prefetchCustomerUsageCounts(order, globalOffers);
         for (Offer globalOffer : globalOffers) {
             if (!offers.contains(globalOffer) && verifyMaxCustomerUsageThreshold(order, globalOffer)) {
                 offers.add(globalOffer);
@@ -232,6 +276,7 @@ public class OfferServiceImpl implements OfferService {
             extensionManager.buildOfferCodeListForCustomer(customer, offerCodes);
         }
         if (!offerCodes.isEmpty()) {
+            prefetchOfferCodeUsageCounts(order, offerCodes);
             Iterator<OfferCode> itr = offerCodes.iterator();
             while (itr.hasNext()) {
                 OfferCode offerCode = itr.next();
@@ -318,6 +363,10 @@ public class OfferServiceImpl implements OfferService {
      */
     protected List<OfferCode> refreshOfferCodesIfApplicable(final Order order) {
         final List<OfferCode> orderOfferCodes = order.getAddedOfferCodes();
+        if (CollectionUtils.isEmpty(orderOfferCodes)) {
+            // Nothing to refresh, so don't pay for a transaction
+            return orderOfferCodes;
+        }
 
         transUtil.runTransactionalOperation(new StreamCapableTransactionalOperationAdapter() {
             @Override
@@ -516,6 +565,67 @@ public class OfferServiceImpl implements OfferService {
         return order;
     }
 
+    /**
+     * Loads the customer usage counts of every limited use offer in the list with one grouped query per usage strategy
+     * and minimum days per usage, so that the {@link #verifyMaxCustomerUsageThreshold(Order, Offer)} calls that follow
+     * are answered from the {@link OfferUsageCountCache} of the current request. Does nothing outside of a request.
+     *
+     * @param order
+     * @param offers
+     */
+    protected void prefetchCustomerUsageCounts(Order order, Collection<Offer> offers) {
+        if (CollectionUtils.isEmpty(offers) || OfferUsageCountCache.getInstance() == null) {
+            return;
+        }
+        Map<Long, Set<Long>> customerOfferIds = new HashMap<>();
+        Map<Long, Set<Long>> accountOfferIds = new HashMap<>();
+        for (Offer offer : offers) {
+            if (!offer.isLimitedUsePerCustomer()) {
+                continue;
+            }
+            CustomerMaxUsesStrategyType strategy = offer.getMaxUsesStrategyType();
+            boolean checkUsingCustomer = (strategy == null || strategy.equals(CustomerMaxUsesStrategyType.CUSTOMER));
+            Map<Long, Set<Long>> offerIds = checkUsingCustomer ? customerOfferIds : accountOfferIds;
+            offerIds.computeIfAbsent(offer.getMinimumDaysPerUsage(), k -> new HashSet<>()).add(offer.getId());
+        }
+        if (!customerOfferIds.isEmpty() && order.getCustomer() != null) {
+            for (Map.Entry<Long, Set<Long>> entry : customerOfferIds.entrySet()) {
+                offerAuditService.countUsesByCustomer(order, order.getCustomer().getId(), entry.getValue(), entry.getKey());
+            }
+        }
+        for (Map.Entry<Long, Set<Long>> entry : accountOfferIds.entrySet()) {
+            offerAuditService.countUsesByAccount(order, order.getBroadleafAccountId(), entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Loads the usage counts of every limited use code in the list, and of the offers behind the codes, so that the
+     * {@link #verifyMaxCustomerUsageThreshold(Order, OfferCode)} calls that follow are answered from the
+     * {@link OfferUsageCountCache} of the current request. Does nothing outside of a request.
+     *
+     * @param order
+     * @param offerCodes
+     */
+    protected void prefetchOfferCodeUsageCounts(Order order, Collection<OfferCode> offerCodes) {
+        if (CollectionUtils.isEmpty(offerCodes) || OfferUsageCountCache.getInstance() == null) {
+            return;
+        }
+        Set<Long> offerCodeIds = new HashSet<>();
+        Set<Offer> offers = new HashSet<>();
+        for (OfferCode offerCode : offerCodes) {
+            if (offerCode.isLimitedUse()) {
+                offerCodeIds.add(offerCode.getId());
+            }
+            if (offerCode.getOffer() != null) {
+                offers.add(offerCode.getOffer());
+            }
+        }
+        if (!offerCodeIds.isEmpty()) {
+            offerAuditService.countOfferCodeUses(order, offerCodeIds);
+        }
+        prefetchCustomerUsageCounts(order, offers);
+    }
+
     @Override
     public boolean verifyMaxCustomerUsageThreshold(Order order, Offer offer) {
         if (offer.isLimitedUsePerCustomer()) {
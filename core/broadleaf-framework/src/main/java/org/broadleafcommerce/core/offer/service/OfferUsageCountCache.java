@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes offer and offer code usage counts for the duration of a single web request. A pricing pass verifies the
+ * per-customer usage threshold of every candidate offer, and the same order is often priced more than once in a
+ * request. {@link OfferServiceImpl} loads the counts for all candidates with one grouped query and reads them back from
+ * here.
+ *
+ * The cache lives in {@link BroadleafRequestContext#getAdditionalProperties()}, so it goes away with the request.
+ * It is only available when the context is bound to an HTTP request; background threads get null from
+ * {@link #getInstance()} and should query directly. {@link OfferAuditServiceImpl} clears it whenever an audit is saved
+ * or deleted, which is what happens when an order is submitted or the submission is rolled back.
+ */
+public class OfferUsageCountCache {
+
+    public static final String ADDITIONAL_PROPERTY_KEY = "blOfferUsageCountCache";
+
+    protected static final int MAX_ENTRIES = 10000;
+
+    protected final Map<UsageKey, Long> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cache for the current request, or null if there is no request bound to the current thread
+     */
+    public static OfferUsageCountCache getInstance() {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext(false);
+        if (brc == null || brc.getRequest() == null) {
+            return null;
+        }
+        Map<String, Object> additionalProperties = brc.getAdditionalProperties();
+        OfferUsageCountCache cache = (OfferUsageCountCache) additionalProperties.get(ADDITIONAL_PROPERTY_KEY);
+        if (cache == null) {
+            cache = new OfferUsageCountCache();
+            additionalProperties.put(ADDITIONAL_PROPERTY_KEY, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Clears the cache of the current request, if there is one.
+     */
+    public static void clearCurrent() {
+        BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext(false);
+        if (brc == null) {
+            return;
+        }
+        OfferUsageCountCache cache = (OfferUsageCountCache) brc.getAdditionalProperties().get(ADDITIONAL_PROPERTY_KEY);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    public static UsageKey customerKey(Long orderId, Long customerId, Long offerId, Long minimumDaysPerUsage) {
+        return new UsageKey(UsageType.CUSTOMER, orderId, customerId, offerId, minimumDaysPerUsage);
+    }
+
+    public static UsageKey accountKey(Long orderId, Long accountId, Long offerId, Long minimumDaysPerUsage) {
+        return new UsageKey(UsageType.ACCOUNT, orderId, accountId, offerId, minimumDaysPerUsage);
+    }
+
+    public static UsageKey offerCodeKey(Long orderId, Long offerCodeId) {
+        return new UsageKey(UsageType.OFFER_CODE, orderId, null, offerCodeId, null);
+    }
+
+    /**
+     * @return the memoized count, or null if it has not been loaded in this request
+     */
+    public Long get(UsageKey key) {
+        return counts.get(key);
+    }
+
+    /**
+     * Null counts mean the query failed and are not remembered.
+     */
+    public void put(UsageKey key, Long count) {
+        if (count != null && counts.size() < MAX_ENTRIES) {
+            counts.put(key, count);
+        }
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    protected enum UsageType {
+        CUSTOMER, ACCOUNT, OFFER_CODE
+    }
+
+    public static final class UsageKey {
+
+        private final UsageType type;
+        private final Long orderId;
+        private final Long ownerId;
+        private final Long id;
+        private final Long minimumDaysPerUsage;
+        private final int hash;
+
+        protected UsageKey(UsageType type, Long orderId, Long ownerId, Long id, Long minimumDaysPerUsage) {
+            this.type = type;
+            this.orderId = orderId;
+            this.ownerId = ownerId;
+            this.id = id;
+            this.minimumDaysPerUsage = minimumDaysPerUsage;
+            this.hash = Objects.hash(type, orderId, ownerId, id, minimumDaysPerUsage);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UsageKey)) {
+                return false;
+            }
+            UsageKey that = (UsageKey) o;
+            return hash == that.hash
+                    && type == that.type
+                    && Objects.equals(orderId, that.orderId)
+                    && Objects.equals(ownerId, that.ownerId)
+                    && Objects.equals(id, that.id)
+                    && Objects.equals(minimumDaysPerUsage, that.minimumDaysPerUsage);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return type + "-" + orderId + "-" + ownerId + "-" + id + "-" + minimumDaysPerUsage;
+        }
+    }
+}
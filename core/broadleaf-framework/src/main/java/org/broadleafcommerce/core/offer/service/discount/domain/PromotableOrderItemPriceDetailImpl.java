@@ -18,7 +18,9 @@
 package org.broadleafcommerce.core.offer.service.discount.domain;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.broadleafcommerce.common.currency.util.BroadleafCurrencyUtils;
 import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.money.MoneyAccumulator;
 import org.broadleafcommerce.core.offer.domain.Offer;
 import org.broadleafcommerce.core.offer.domain.OfferItemCriteria;
 import org.broadleafcommerce.core.offer.service.discount.PromotionDiscount;
@@ -338,14 +340,14 @@ public class PromotableOrderItemPriceDetailImpl implements PromotableOrderItemPr
 
         PromotionQualifier pq = new PromotionQualifier();
         
-        Money pqPriceBeforeAdjustment = new Money(0);
+        MoneyAccumulator pqPriceBeforeAdjustment = new MoneyAccumulator(Money.defaultCurrency());
         for (Map.Entry<OfferItemCriteria, List<PromotableOrderItem>> qualifierMapEntry : candidatePromotion.getCandidateQualifiersMap().entrySet()) {
             for (PromotableOrderItem promotableOrderItem : qualifierMapEntry.getValue()) {
                 Money priceBeforeAdjustments = promotableOrderItem.getOrderItem().getPriceBeforeAdjustments(candidatePromotion.getOffer().getApplyDiscountToSalePrice());
-                pqPriceBeforeAdjustment = pqPriceBeforeAdjustment.add(priceBeforeAdjustments);
+                pqPriceBeforeAdjustment.add(priceBeforeAdjustments);
             }
         }
-        pq.setPrice(pqPriceBeforeAdjustment);
+        pq.setPrice(pqPriceBeforeAdjustment.toMoney());
         pq.setPromotion(promotion);
         promotionQualifiers.add(pq);
         return pq;
@@ -478,13 +480,13 @@ public class PromotableOrderItemPriceDetailImpl implements PromotableOrderItemPr
     }
 
     protected Money calculateAdjustmentsUnitValue() {
-        Money adjustmentUnitValue = new Money(promotableOrderItem.getCurrency());
+        MoneyAccumulator adjustmentUnitValue = new MoneyAccumulator(BroadleafCurrencyUtils.getCurrency(promotableOrderItem.getCurrency()));
 
         for (PromotableOrderItemPriceDetailAdjustment adjustment : promotableOrderItemPriceDetailAdjustments) {
-            adjustmentUnitValue = adjustmentUnitValue.add(adjustment.getAdjustmentValue());
+            adjustmentUnitValue.add(adjustment.getAdjustmentValue());
         }
 
-        return adjustmentUnitValue;
+        return adjustmentUnitValue.toMoney();
     }
 
     /**
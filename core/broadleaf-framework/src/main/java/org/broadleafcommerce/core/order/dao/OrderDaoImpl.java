@@ -32,6 +32,7 @@ import org.broadleafcommerce.core.order.domain.NullOrderImpl;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.order.domain.OrderImpl;
 import org.broadleafcommerce.core.order.domain.OrderLock;
+import org.broadleafcommerce.core.order.service.AbstractCartRuleProcessor;
 import org.broadleafcommerce.core.order.service.type.OrderStatus;
 import org.broadleafcommerce.core.payment.domain.OrderPayment;
 import org.broadleafcommerce.core.payment.domain.PaymentTransaction;
@@ -215,6 +216,7 @@ public class OrderDaoImpl implements OrderDao {
     public Order save(final Order order) {
         Order response = em.merge(order);
         //em.flush();
+        AbstractCartRuleProcessor.evictOrderForCustomer(response.getCustomer());
         return response;
     }
 
@@ -235,6 +237,7 @@ public class OrderDaoImpl implements OrderDao {
         }
 
         em.remove(salesOrder);
+        AbstractCartRuleProcessor.evictOrderForCustomer(salesOrder.getCustomer());
     }
 
     @Override
@@ -18,12 +18,16 @@
 package org.broadleafcommerce.core.order.service;
 
 import org.broadleafcommerce.common.rule.AbstractRuleProcessor;
+import org.broadleafcommerce.common.rule.RequestRuleCache;
 import org.broadleafcommerce.common.structure.dto.ItemCriteriaDTO;
 import org.broadleafcommerce.core.order.dao.OrderDao;
 import org.broadleafcommerce.core.order.domain.Order;
 import org.broadleafcommerce.core.order.domain.OrderItem;
 import org.broadleafcommerce.profile.core.domain.Customer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -32,17 +36,101 @@ import java.util.Map;
 
 public abstract class AbstractCartRuleProcessor<T> extends AbstractRuleProcessor<T> {
 
+    protected static final String CART_FOR_CUSTOMER = "cartForCustomer";
+    protected static final String ITEM_CRITERIA_RESULT = "itemCriteriaResult";
+
     protected OrderDao orderDao;
 
+    /**
+     * Forgets the cart that was read for the customer during the current request. {@link OrderDao} calls this whenever
+     * an order is saved or deleted, so a cart that is created or changed during the request is read again.
+     *
+     * @param c
+     */
+    public static void evictOrderForCustomer(Customer c) {
+        RequestRuleCache cache = RequestRuleCache.getInstance();
+        if (cache != null && c != null && c.getId() != null) {
+            cache.remove(buildOrderForCustomerKey(c));
+        }
+    }
+
+    protected static Object buildOrderForCustomerKey(Customer c) {
+        return Arrays.<Object>asList(CART_FOR_CUSTOMER, c.getId());
+    }
+
+    /**
+     * Reads the cart for the customer. Within a web request the cart is only read once per customer, no matter how many
+     * content items or pages have cart rules. A customer without a cart is looked up again each time, since the cart
+     * may be created later in the request.
+     *
+     * @param c
+     * @return the cart, or null if there is none
+     */
     protected Order lookupOrderForCustomer(Customer c) {
         Order o = null;
         if (c != null) {
-            o = orderDao.readCartForCustomer(c);
+            RequestRuleCache cache = RequestRuleCache.getInstance();
+            if (cache != null && c.getId() != null) {
+                Object key = buildOrderForCustomerKey(c);
+                o = (Order) cache.get(key);
+                if (o == null) {
+                    o = orderDao.readCartForCustomer(c);
+                    if (o != null) {
+                        cache.put(key, o);
+                    }
+                }
+            } else {
+                o = orderDao.readCartForCustomer(c);
+            }
         }
 
         return o;
     }
 
+    /**
+     * Checks the item criteria against the items in the order. Within a web request the result is remembered for the
+     * current version of the cart (see {@link #buildCartVersion(Order)}), so every content item or page with the same
+     * criteria reuses it.
+     *
+     * @param itemCriteria
+     * @param order
+     * @return whether enough items in the order match the criteria
+     */
+    protected boolean checkItemCriteria(ItemCriteriaDTO itemCriteria, Order order) {
+        RequestRuleCache cache = RequestRuleCache.getInstance();
+        if (cache == null) {
+            return checkItemCriteria(itemCriteria, order.getOrderItems());
+        }
+        Object key = Arrays.<Object>asList(ITEM_CRITERIA_RESULT, itemCriteria.getMatchRule(), itemCriteria.getQty(), buildCartVersion(order));
+        Boolean result = (Boolean) cache.get(key);
+        if (result == null) {
+            result = checkItemCriteria(itemCriteria, order.getOrderItems());
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Orders are not versioned, so the id, last update date and the id and quantity of each item stand in for a
+     * version. A cart whose items or quantities change gets a new version, whether or not it has been saved.
+     *
+     * @param order
+     * @return a value that changes whenever the contents of the cart change
+     */
+    protected Object buildCartVersion(Order order) {
+        Date dateUpdated = order.getAuditable() == null ? null : order.getAuditable().getDateUpdated();
+        List<Object> version = new ArrayList<>();
+        version.add(order.getId());
+        version.add(dateUpdated == null ? null : dateUpdated.getTime());
+        if (order.getOrderItems() != null) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                version.add(orderItem.getId());
+                version.add(orderItem.getQuantity());
+            }
+        }
+        return version;
+    }
+
     protected boolean checkItemCriteria(ItemCriteriaDTO itemCriteria, List<OrderItem> orderItems) {
         Map<String,Object> vars = new HashMap<String, Object>();
         int foundCount = 0;
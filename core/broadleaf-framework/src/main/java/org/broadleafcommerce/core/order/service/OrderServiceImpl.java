@@ -62,6 +62,7 @@ import org.broadleafcommerce.core.payment.dao.OrderPaymentDao;
 import org.broadleafcommerce.core.payment.domain.OrderPayment;
 import org.broadleafcommerce.core.payment.domain.secure.Referenced;
 import org.broadleafcommerce.core.payment.service.SecureOrderPaymentService;
+import org.broadleafcommerce.core.pricing.service.DeferredPricingService;
 import org.broadleafcommerce.core.pricing.service.PricingService;
 import org.broadleafcommerce.core.pricing.service.exception.PricingException;
 import org.broadleafcommerce.core.workflow.ActivityMessages;
@@ -420,6 +421,11 @@ public class OrderServiceImpl implements OrderService {
                     //incorrect results because something has not been flushed to the database yet.
                     session.setHibernateFlushMode(FlushMode.MANUAL);
                 }
+                // this pricing pass covered any pricing that was deferred by earlier cart operations. The flag is only
+                // removed along with the priced order, so a failed pass leaves the order marked for pricing.
+                if (order.getOrderAttributes() != null) {
+                    order.getOrderAttributes().remove(DeferredPricingService.PRICING_PENDING_ATTRIBUTE);
+                }
                 order = persist(order);
 
                 if (extensionManager != null) {
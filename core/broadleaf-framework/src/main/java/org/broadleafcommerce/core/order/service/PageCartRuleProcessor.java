@@ -49,7 +49,7 @@ public class PageCartRuleProcessor extends AbstractCartRuleProcessor<PageDTO> {
             }
 
             for (ItemCriteriaDTO itemCriteria : itemCriterias) {
-                if (! checkItemCriteria(itemCriteria, order.getOrderItems())) {
+                if (! checkItemCriteria(itemCriteria, order)) {
                     // Item criteria check failed.
                     return false;
                 }
@@ -49,7 +49,7 @@ public class StructuredContentCartRuleProcessor extends AbstractCartRuleProcesso
             }
 
             for (ItemCriteriaDTO itemCriteria : itemCriterias) {
-                if (! checkItemCriteria(itemCriteria, order.getOrderItems())) {
+                if (! checkItemCriteria(itemCriteria, order)) {
                     // Item criteria check failed.
                     return false;
                 }
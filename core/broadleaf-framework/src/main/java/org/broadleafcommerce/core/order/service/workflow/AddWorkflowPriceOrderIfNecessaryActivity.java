@@ -28,6 +28,7 @@ import org.broadleafcommerce.core.order.domain.OrderItem;
 import org.broadleafcommerce.core.order.service.OrderItemService;
 import org.broadleafcommerce.core.order.service.OrderMultishipOptionService;
 import org.broadleafcommerce.core.order.service.OrderService;
+import org.broadleafcommerce.core.pricing.service.DeferredPricingService;
 import org.broadleafcommerce.core.workflow.BaseActivity;
 import org.broadleafcommerce.core.workflow.ProcessContext;
 import org.springframework.stereotype.Component;
@@ -68,6 +69,9 @@ public class AddWorkflowPriceOrderIfNecessaryActivity extends BaseActivity<Proce
     @Resource(name = "blOrderMultishipOptionService")
     protected OrderMultishipOptionService orderMultishipOptionService;
 
+    @Resource(name = "blDeferredPricingService")
+    protected DeferredPricingService deferredPricingService;
+
     public AddWorkflowPriceOrderIfNecessaryActivity() {
         setOrder(ORDER);
     }
@@ -186,7 +190,13 @@ public class AddWorkflowPriceOrderIfNecessaryActivity extends BaseActivity<Proce
 
         // Now that our collection items in our Order have been saved and the state of our Order is in a place where we
         // won't get a transient save exception, we are able to go ahead and save the order with optional pricing.
-        order = orderService.save(order, request.isPriceOrder());
+        // When deferred pricing is active, the order is only marked and is priced the next time it is read or checked out.
+        if (request.isPriceOrder() && deferredPricingService.isActive()) {
+            deferredPricingService.markPricingPending(order);
+            order = orderService.save(order, false);
+        } else {
+            order = orderService.save(order, request.isPriceOrder());
+        }
         request.setOrder(order);
 
         return context;
@@ -0,0 +1,73 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.pricing.service;
+
+import org.broadleafcommerce.core.order.domain.Order;
+import org.broadleafcommerce.core.pricing.service.exception.PricingException;
+
+/**
+ * Supports an optional mode in which cart mutations do not price the order. Instead, the add, update and remove item
+ * workflows mark the order as needing pricing, and the order is priced once, the next time it is read or checked out.
+ * A burst of cart edits (quantity spinners, bulk adds) then costs a single pricing pass instead of one per edit.
+ *
+ * The pending state is stored as an order attribute, so it survives across requests and is visible to every node.
+ * Any regular {@link org.broadleafcommerce.core.order.service.OrderService#save(Order, Boolean)} with pricing clears it.
+ *
+ * This mode is off unless the <code>pricing.deferred.enabled</code> property is true.
+ */
+public interface DeferredPricingService {
+
+    /**
+     * The name of the {@link org.broadleafcommerce.core.order.domain.OrderAttribute} that marks an order as needing pricing
+     */
+    String PRICING_PENDING_ATTRIBUTE = "blPricingPending";
+
+    /**
+     * @return whether cart mutations should defer pricing
+     */
+    boolean isActive();
+
+    /**
+     * Marks the order as needing pricing. The caller is responsible for saving the order.
+     * 
+     * @param order
+     */
+    void markPricingPending(Order order);
+
+    /**
+     * @param order
+     * @return whether a cart mutation has happened since the order was last priced
+     */
+    boolean isPricingPending(Order order);
+
+    /**
+     * Prices and saves the order if it has been marked as needing pricing, otherwise returns it as is. At most one
+     * pricing pass runs at a time for a given order on this node. Callers that arrive while a pass is running wait
+     * for it and then reload the order, so the marks made before that pass started are all covered by it and do not
+     * cause another pass.
+     *
+     * Callers that can race with cart mutations should hold the order lock, see
+     * {@link org.broadleafcommerce.core.order.service.OrderLockManager}.
+     * 
+     * @param order
+     * @return the priced order, or the given order if no pricing was necessary
+     * @throws PricingException
+     */
+    Order priceOrderIfPending(Order order) throws PricingException;
+
+}
@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.pricing.service;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.core.order.domain.NullOrderImpl;
+import org.broadleafcommerce.core.order.domain.Order;
+import org.broadleafcommerce.core.order.domain.OrderAttribute;
+import org.broadleafcommerce.core.order.domain.OrderAttributeImpl;
+import org.broadleafcommerce.core.order.service.OrderService;
+import org.broadleafcommerce.core.pricing.service.exception.PricingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Resource;
+
+@Service("blDeferredPricingService")
+@ManagedResource(objectName="org.broadleafcommerce:name=DeferredPricingService", description="Deferred Pricing Service", currencyTimeLimit=15)
+public class DeferredPricingServiceImpl implements DeferredPricingService {
+
+    private static final Log LOG = LogFactory.getLog(DeferredPricingServiceImpl.class);
+
+    @Resource(name = "blOrderService")
+    protected OrderService orderService;
+
+    @Value("${pricing.deferred.enabled:false}")
+    protected boolean deferredPricingEnabled = false;
+
+    protected final Map<Long, PricingState> pricingStates = new ConcurrentHashMap<>();
+
+    protected final AtomicLong pricingPasses = new AtomicLong();
+    protected final AtomicLong coalescedRequests = new AtomicLong();
+
+    @Override
+    public boolean isActive() {
+        return deferredPricingEnabled;
+    }
+
+    @Override
+    public void markPricingPending(Order order) {
+        if (!isPersistentOrder(order)) {
+            return;
+        }
+        OrderAttribute attribute = order.getOrderAttributes().get(PRICING_PENDING_ATTRIBUTE);
+        if (attribute == null) {
+            attribute = new OrderAttributeImpl();
+            attribute.setName(PRICING_PENDING_ATTRIBUTE);
+            attribute.setOrder(order);
+            order.getOrderAttributes().put(PRICING_PENDING_ATTRIBUTE, attribute);
+        }
+        attribute.setValue(Boolean.TRUE.toString());
+    }
+
+    @Override
+    public boolean isPricingPending(Order order) {
+        if (!isPersistentOrder(order)) {
+            return false;
+        }
+        OrderAttribute attribute = order.getOrderAttributes().get(PRICING_PENDING_ATTRIBUTE);
+        return attribute != null && Boolean.parseBoolean(attribute.getValue());
+    }
+
+    @Override
+    public Order priceOrderIfPending(Order order) throws PricingException {
+        if (!isPricingPending(order)) {
+            return order;
+        }
+
+        PricingState state = pricingStates.computeIfAbsent(order.getId(), id -> new PricingState());
+        long passesSeen = state.completedPasses.get();
+        state.lock.lock();
+        try {
+            if (state.completedPasses.get() != passesSeen) {
+                // Another thread priced this order while we were waiting. Its pass covered everything that was marked
+                // before it started, so we only need to price again if a mutation has happened since.
+                order = orderService.reloadOrder(order);
+                if (!isPricingPending(order)) {
+                    coalescedRequests.incrementAndGet();
+                    return order;
+                }
+            }
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Executing deferred pricing for order[" + order.getId() + "]");
+            }
+
+            // OrderService#save(Order, Boolean) removes the pending attribute when it saves the priced order
+            order = orderService.save(order, true);
+            state.completedPasses.incrementAndGet();
+            pricingPasses.incrementAndGet();
+            return order;
+        } finally {
+            state.lock.unlock();
+            if (!state.lock.hasQueuedThreads()) {
+                // A thread that looked up this state just before removal still serializes with the threads that share
+                // it, and the order lock held by web requests keeps passes for the same order apart across the cluster.
+                pricingStates.remove(order.getId(), state);
+            }
+        }
+    }
+
+    protected boolean isPersistentOrder(Order order) {
+        return order != null && !(order instanceof NullOrderImpl) && order.getId() != null;
+    }
+
+    @ManagedAttribute(description="The number of deferred pricing passes that have been executed", currencyTimeLimit=15)
+    public long getPricingPassCount() {
+        return pricingPasses.get();
+    }
+
+    @ManagedAttribute(description="The number of deferred pricing requests that were satisfied by a pass executed for another request", currencyTimeLimit=15)
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.get();
+    }
+
+    @ManagedAttribute(description="Whether cart mutations defer pricing until the order is read or checked out", currencyTimeLimit=15)
+    public boolean isDeferredPricingEnabled() {
+        return deferredPricingEnabled;
+    }
+
+    @ManagedAttribute(description="Whether cart mutations defer pricing until the order is read or checked out", currencyTimeLimit=15)
+    public void setDeferredPricingEnabled(boolean deferredPricingEnabled) {
+        this.deferredPricingEnabled = deferredPricingEnabled;
+    }
+
+    protected static class PricingState {
+
+        protected final ReentrantLock lock = new ReentrantLock();
+        protected final AtomicLong completedPasses = new AtomicLong();
+    }
+}
@@ -19,6 +19,7 @@ package org.broadleafcommerce.core.pricing.service.workflow;
 
 import org.broadleafcommerce.common.currency.util.BroadleafCurrencyUtils;
 import org.broadleafcommerce.common.money.Money;
+import org.broadleafcommerce.common.money.MoneyAccumulator;
 import org.broadleafcommerce.core.order.domain.FulfillmentGroup;
 import org.broadleafcommerce.core.order.domain.FulfillmentGroupFee;
 import org.broadleafcommerce.core.order.domain.FulfillmentGroupItem;
@@ -29,6 +30,7 @@ import org.broadleafcommerce.core.workflow.ProcessContext;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 
 /**
  * The TotalActivity is responsible for calculating and setting totals for a given order.
@@ -53,32 +55,34 @@ public class TotalActivity extends BaseActivity<ProcessContext<Order>> {
         
         setTaxSums(order);
         
-        Money total = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
-        total = total.add(order.getSubTotal());
-        total = total.subtract(order.getOrderAdjustmentsValue());
-        total = total.add(order.getTotalShipping());
+        Currency currency = BroadleafCurrencyUtils.getCurrency(order.getCurrency());
+        MoneyAccumulator total = new MoneyAccumulator(currency);
+        total.add(order.getSubTotal());
+        total.subtract(order.getOrderAdjustmentsValue());
+        total.add(order.getTotalShipping());
         // There may not be any taxes on the order
         if (order.getTotalTax() != null) {
-            total = total.add(order.getTotalTax());
+            total.add(order.getTotalTax());
         }
 
-        Money fees = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
+        MoneyAccumulator fees = new MoneyAccumulator(currency);
+        MoneyAccumulator fgTotal = new MoneyAccumulator(currency);
         for (FulfillmentGroup fulfillmentGroup : order.getFulfillmentGroups()) {
-            Money fgTotal = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
-            fgTotal = fgTotal.add(fulfillmentGroup.getMerchandiseTotal());
-            fgTotal = fgTotal.add(fulfillmentGroup.getShippingPrice());
-            fgTotal = fgTotal.add(fulfillmentGroup.getTotalTax());
+            fgTotal.reset();
+            fgTotal.add(fulfillmentGroup.getMerchandiseTotal());
+            fgTotal.add(fulfillmentGroup.getShippingPrice());
+            fgTotal.add(fulfillmentGroup.getTotalTax());
             
             for (FulfillmentGroupFee fulfillmentGroupFee : fulfillmentGroup.getFulfillmentGroupFees()) {
-                fgTotal = fgTotal.add(fulfillmentGroupFee.getAmount());
-                fees = fees.add(fulfillmentGroupFee.getAmount());
+                fgTotal.add(fulfillmentGroupFee.getAmount());
+                fees.add(fulfillmentGroupFee.getAmount());
             }
             
-            fulfillmentGroup.setTotal(fgTotal);
+            fulfillmentGroup.setTotal(fgTotal.toMoney());
         }
 
-        total = total.add(fees);
-        order.setTotal(total);
+        total.add(fees.toMoney());
+        order.setTotal(total.toMoney());
         
         context.setSeedData(order);
         return context;
@@ -118,59 +122,69 @@ public class TotalActivity extends BaseActivity<ProcessContext<Order>> {
             return;
         }
 
-        Money orderTotalTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
+        Currency currency = BroadleafCurrencyUtils.getCurrency(order.getCurrency());
+        MoneyAccumulator orderTotalTax = new MoneyAccumulator(currency);
+        MoneyAccumulator fgTotalFgTax = new MoneyAccumulator(currency);
+        MoneyAccumulator fgTotalItemTax = new MoneyAccumulator(currency);
+        MoneyAccumulator fgTotalFeeTax = new MoneyAccumulator(currency);
+        MoneyAccumulator detailTotalTax = new MoneyAccumulator(currency);
         
         for (FulfillmentGroup fg : order.getFulfillmentGroups()) {
-            Money fgTotalFgTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
-            Money fgTotalItemTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
-            Money fgTotalFeeTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
+            fgTotalFgTax.reset();
+            fgTotalItemTax.reset();
+            fgTotalFeeTax.reset();
             
             // Add in all FG specific taxes (such as shipping tax)
             if (fg.getTaxes() != null) {
                 for (TaxDetail tax : fg.getTaxes()) {
-                    fgTotalFgTax = fgTotalFgTax.add(tax.getAmount());
+                    fgTotalFgTax.add(tax.getAmount());
                 }
             }
             
             for (FulfillmentGroupItem item : fg.getFulfillmentGroupItems()) {
-                Money itemTotalTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
+                detailTotalTax.reset();
                 
                 // Add in all taxes for this item
                 if (item.getTaxes() != null) {
                     for (TaxDetail tax : item.getTaxes()) {
-                        itemTotalTax = itemTotalTax.add(tax.getAmount());
+                        detailTotalTax.add(tax.getAmount());
                     }
                 }
                 
+                Money itemTotalTax = detailTotalTax.toMoney();
                 item.setTotalTax(itemTotalTax);
-                fgTotalItemTax = fgTotalItemTax.add(itemTotalTax);
+                fgTotalItemTax.add(itemTotalTax);
             }
             
             for (FulfillmentGroupFee fee : fg.getFulfillmentGroupFees()) {
-                Money feeTotalTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency());
+                detailTotalTax.reset();
                 
                 // Add in all taxes for this fee
                 if (fee.getTaxes() != null) {
                     for (TaxDetail tax : fee.getTaxes()) {
-                        feeTotalTax = feeTotalTax.add(tax.getAmount());
+                        detailTotalTax.add(tax.getAmount());
                     }
                 }
                 
+                Money feeTotalTax = detailTotalTax.toMoney();
                 fee.setTotalTax(feeTotalTax);
-                fgTotalFeeTax = fgTotalFeeTax.add(feeTotalTax);
+                fgTotalFeeTax.add(feeTotalTax);
             }
             
-            Money fgTotalTax = BroadleafCurrencyUtils.getMoney(BigDecimal.ZERO, order.getCurrency()).add(fgTotalFgTax).add(fgTotalItemTax).add(fgTotalFeeTax);
+            Money fgTotalFgTaxMoney = fgTotalFgTax.toMoney();
+            Money fgTotalItemTaxMoney = fgTotalItemTax.toMoney();
+            Money fgTotalFeeTaxMoney = fgTotalFeeTax.toMoney();
+            Money fgTotalTax = detailTotalTax.reset().add(fgTotalFgTaxMoney).add(fgTotalItemTaxMoney).add(fgTotalFeeTaxMoney).toMoney();
             
             // Set the fulfillment group tax sums
-            fg.setTotalFulfillmentGroupTax(fgTotalFgTax);
-            fg.setTotalItemTax(fgTotalItemTax);
-            fg.setTotalFeeTax(fgTotalFeeTax);
+            fg.setTotalFulfillmentGroupTax(fgTotalFgTaxMoney);
+            fg.setTotalItemTax(fgTotalItemTaxMoney);
+            fg.setTotalFeeTax(fgTotalFeeTaxMoney);
             fg.setTotalTax(fgTotalTax);
             
-            orderTotalTax = orderTotalTax.add(fgTotalTax);
+            orderTotalTax.add(fgTotalTax);
         }
         
-        order.setTotalTax(orderTotalTax);
+        order.setTotalTax(orderTotalTax.toMoney());
     }
 }
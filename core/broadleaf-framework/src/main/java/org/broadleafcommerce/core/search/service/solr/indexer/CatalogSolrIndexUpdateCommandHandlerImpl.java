@@ -20,6 +20,7 @@ package org.broadleafcommerce.core.search.service.solr.indexer;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
 import org.broadleafcommerce.common.exception.ServiceException;
 import org.broadleafcommerce.common.locale.domain.Locale;
 import org.broadleafcommerce.common.locale.service.LocaleService;
@@ -126,6 +127,24 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
     @Value("${solr.index.product.reindexCommitInterval:30000}")
     protected long reindexCommitInterval = 30000L;
     
+    @Value("${solr.index.product.pipelined:false}")
+    protected boolean pipelined = false;
+    
+    @Value("${solr.index.product.pipeline.loaderThreads:0}")
+    protected int pipelineLoaderThreads = 0;
+    
+    @Value("${solr.index.product.pipeline.senderThreads:2}")
+    protected int pipelineSenderThreads = 2;
+    
+    @Value("${solr.index.product.pipeline.queueCapacity:0}")
+    protected int pipelineQueueCapacity = 0;
+    
+    @Value("${solr.index.product.pipeline.sendBatchBytes:5242880}")
+    protected long pipelineSendBatchBytes = 5242880L;
+    
+    @Value("${solr.index.product.pipeline.sendFlushInterval:1000}")
+    protected long pipelineSendFlushInterval = 1000L;
+    
     private final ThreadPoolTaskExecutor backgroundOperationExecutor;
     
     public CatalogSolrIndexUpdateCommandHandlerImpl() {
@@ -265,6 +284,10 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
      * It is not recommended that you override this method.  Rather, consider overriding one of the other methods as this one generally coordinates and delegates to others.
      */
     protected void populateIndex(final ReindexStateHolder holder, final Long catalogId, final Long siteId, final SandBox sandbox) throws ServiceException {
+        if (isPipelinedReindex()) {
+            populateIndexPipelined(holder, catalogId, siteId, sandbox);
+            return;
+        }
         try {
             final Semaphore sem = new Semaphore(0);
             try {
@@ -288,6 +311,7 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
                         
                         final IdentityOperation<List<Long>, Exception> readIdsOperation = getReadIdsOperation(holder, catalogId, siteId, batchSize, lastId.get());
                         
+                        final long readStart = System.nanoTime();
                         final List<Long> batch;
                         if (catalog != null || site != null) {
                             batch = IdentityExecutionUtils.runOperationByIdentifier(readIdsOperation, site, catalog);
@@ -298,6 +322,7 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
                         if (batch == null || batch.isEmpty()) {
                             break;
                         }
+                        holder.getStageMetrics(ReindexPipeline.READ_STAGE).recordBatch(batch.size(), System.nanoTime() - readStart);
                         
                         ArrayList<Long> pageHolder = new ArrayList<>(pageSize);
                         Iterator<Long> itr = batch.iterator();
@@ -338,6 +363,285 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
             }
         } finally {
             //Don't reset the BroadleafRequestContext here because we did not create / bind it.
+            logStageMetrics(holder);
+        }
+    }
+    
+    /**
+     * Populates the index with a staged pipeline rather than with self-contained page runnables. The calling thread reads product IDs 
+     * by keyset and hands pages to a pool of loader threads, which read the products and build the documents. The built documents are handed 
+     * to a pool of sender threads, which batch them by approximate size and send them to Solr. The stages are connected by bounded queues 
+     * (see {@link ReindexPipeline}) so that DB reads, document building and Solr writes overlap without unbounded buffering.
+     * 
+     * Product loading and document building share a thread (and {@link EntityManager}) because building a document navigates the lazy 
+     * associations of the loaded product.
+     * 
+     * Enable with the property <code>solr.index.product.pipelined=true</code>.  The same hook points are invoked as for {@link #populateIndex(ReindexStateHolder, Long, Long, SandBox)}.
+     */
+    protected void populateIndexPipelined(final ReindexStateHolder holder, final Long catalogId, final Long siteId, final SandBox sandbox) throws ServiceException {
+        final int loaderThreads = getPipelineLoaderThreads();
+        final int senderThreads = getPipelineSenderThreads();
+        final ReindexPipeline pipeline = createReindexPipeline(holder, loaderThreads);
+        final ThreadPoolTaskExecutor loaderExecutor = createPipelineExecutor("load", loaderThreads);
+        final ThreadPoolTaskExecutor senderExecutor = createPipelineExecutor("send", senderThreads);
+        final Semaphore loaderSem = new Semaphore(0);
+        final Semaphore senderSem = new Semaphore(0);
+        holder.getAdditionalState().put(ReindexPipeline.STATE_KEY, pipeline);
+        try {
+            final Catalog catalog = findCatalog(catalogId);
+            final Site site = findSite(siteId);
+            BroadleafRequestContext.getBroadleafRequestContext().setSandBox(sandbox);
+            
+            for (int i = 0; i < senderThreads; i++) {
+                senderExecutor.execute(createPipelineSenderRunnable(holder, pipeline, senderSem));
+            }
+            for (int i = 0; i < loaderThreads; i++) {
+                loaderExecutor.execute(createPipelineLoaderRunnable(holder, pipeline, loaderSem, catalogId, siteId, sandbox));
+            }
+            
+            try {
+                readIdsIntoPipeline(holder, pipeline, catalog, site, catalogId, siteId);
+            } catch (Exception e) {
+                holder.failFast(e);
+                throw e;
+            } finally {
+                try {
+                    for (int i = 0; i < loaderThreads; i++) {
+                        pipeline.putIds(ReindexPipeline.END_OF_IDS);
+                    }
+                    loaderSem.acquire(loaderThreads);
+                } finally {
+                    for (int i = 0; i < senderThreads; i++) {
+                        pipeline.putDocuments(ReindexPipeline.END_OF_DOCUMENTS);
+                    }
+                    senderSem.acquire(senderThreads);
+                }
+            }
+            
+            if (holder.isFailed()) {
+                throw new ServiceException("An unexpected error occured reindexing solr for command group " + getCommandGroup() + ". Please check the logs.", holder.getFailure());
+            }
+        } catch (ServiceException e) {
+            throw e;
+        } catch (Exception e) {
+            holder.failFast(e);
+            throw new ServiceException("An unexpected error occured reindexing solr for command group " + getCommandGroup() + ". Please check the logs.", holder.getFailure());
+        } finally {
+            holder.getAdditionalState().remove(ReindexPipeline.STATE_KEY);
+            loaderExecutor.shutdown();
+            senderExecutor.shutdown();
+            logStageMetrics(holder);
+        }
+    }
+    
+    /**
+     * Reads product IDs by keyset in batches, splitting each batch into pages that are handed to the loader stage of the pipeline.
+     * 
+     * @param holder
+     * @param pipeline
+     * @param catalog
+     * @param site
+     * @param catalogId
+     * @param siteId
+     * @throws Exception
+     */
+    protected void readIdsIntoPipeline(final ReindexStateHolder holder, final ReindexPipeline pipeline, final Catalog catalog, final Site site, 
+            final Long catalogId, final Long siteId) throws Exception {
+        final int batchSize = pageSize * 10;
+        Long lastId = null;
+        while (!holder.isFailed()) {
+            final IdentityOperation<List<Long>, Exception> readIdsOperation = getReadIdsOperation(holder, catalogId, siteId, batchSize, lastId);
+            
+            final long readStart = System.nanoTime();
+            final List<Long> batch;
+            if (catalog != null || site != null) {
+                batch = IdentityExecutionUtils.runOperationByIdentifier(readIdsOperation, site, catalog);
+            } else {
+                batch = IdentityExecutionUtils.runOperationAndIgnoreIdentifier(readIdsOperation);
+            }
+            
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            holder.getStageMetrics(ReindexPipeline.READ_STAGE).recordBatch(batch.size(), System.nanoTime() - readStart);
+            
+            for (int start = 0; start < batch.size(); start += pageSize) {
+                final List<Long> page = new ArrayList<>(batch.subList(start, Math.min(start + pageSize, batch.size())));
+                if (!pipeline.putIds(page)) {
+                    return;
+                }
+            }
+            
+            if (batch.size() < batchSize) {
+                break;
+            }
+            
+            lastId = batch.get(batch.size() - 1);
+            // Safely clean up L1 cache...
+            HibernateUtils.clearDefaultEntityManager();
+        }
+    }
+    
+    protected ReindexPipeline createReindexPipeline(ReindexStateHolder holder, int loaderThreads) {
+        int capacity = pipelineQueueCapacity > 0 ? pipelineQueueCapacity : loaderThreads * 2;
+        return new ReindexPipeline(holder, capacity, capacity);
+    }
+    
+    protected ThreadPoolTaskExecutor createPipelineExecutor(String stageName, int threads) {
+        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+        exec.setThreadGroupName(getCommandGroup() + "-solr-reindex-" + stageName);
+        exec.setThreadNamePrefix(getCommandGroup() + "-solr-reindex-" + stageName + "-");
+        exec.setCorePoolSize(threads);
+        exec.setMaxPoolSize(threads);
+        exec.initialize();
+        return exec;
+    }
+    
+    /**
+     * Creates a long-running loader / builder for the pipeline. Each loader takes pages of IDs until it sees {@link ReindexPipeline#END_OF_IDS}, 
+     * reading the products and building documents in the context of its own thread-bound {@link EntityManager}.
+     * 
+     * @param holder
+     * @param pipeline
+     * @param sem
+     * @param catalogId
+     * @param siteId
+     * @param sandBox
+     * @return
+     */
+    protected EntityManagerAwareRunnable createPipelineLoaderRunnable(final ReindexStateHolder holder, final ReindexPipeline pipeline, final Semaphore sem, 
+            final Long catalogId, final Long siteId, final SandBox sandBox) {
+        return new EntityManagerAwareRunnable(sem) {
+            @Override
+            protected void executeInternal() throws Exception {
+                //The BroadleafRequestContext was created in the superclass.
+                final BroadleafRequestContext brc = BroadleafRequestContext.getBroadleafRequestContext();
+                final Catalog catalog = findCatalog(catalogId);
+                final Site site = findSite(siteId);
+                brc.setSandBox(sandBox);
+                
+                beforeBackgroundThread(holder, catalog, site, sandBox);
+                try {
+                    //Pass shared state from the ReindexStateHolder to the thread-bound BroadleafRequestContext.
+                    brc.getAdditionalProperties().putAll(holder.getAdditionalState());
+                    
+                    while (true) {
+                        final List<Long> ids = pipeline.takeIds();
+                        if (ids == null || ids == ReindexPipeline.END_OF_IDS) {
+                            break;
+                        }
+                        
+                        final IdentityOperation<Void, Exception> incrementalIndexOperation = getIncrementalIndexOperation(holder, catalog, site, ids);
+                        if (catalog != null || site != null) {
+                            IdentityExecutionUtils.runOperationByIdentifier(incrementalIndexOperation, site, catalog);
+                        } else {
+                            IdentityExecutionUtils.runOperationAndIgnoreIdentifier(incrementalIndexOperation);
+                        }
+                    }
+                } finally {
+                    afterBackgroundThread(holder, catalog, site, sandBox);
+                }
+            }
+
+            @Override
+            protected void registerError(Exception e) {
+                holder.failFast(e);
+            }
+        };
+    }
+    
+    /**
+     * Creates a long-running sender for the pipeline. Each sender accumulates built documents until their estimated size reaches 
+     * {@link #getPipelineSendBatchBytes()}, or until no documents have arrived for {@link #getPipelineSendFlushInterval()} milliseconds, 
+     * and then sends them to Solr in a single request.
+     * 
+     * @param holder
+     * @param pipeline
+     * @param sem
+     * @return
+     */
+    protected Runnable createPipelineSenderRunnable(final ReindexStateHolder holder, final ReindexPipeline pipeline, final Semaphore sem) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                List<SolrInputDocument> buffer = new ArrayList<>();
+                long bufferedBytes = 0L;
+                try {
+                    while (!holder.isFailed()) {
+                        final List<SolrInputDocument> docs = pipeline.pollDocuments(getPipelineSendFlushInterval());
+                        if (docs == ReindexPipeline.END_OF_DOCUMENTS) {
+                            break;
+                        }
+                        if (docs == null) {
+                            if (!buffer.isEmpty()) {
+                                sendPipelineBatch(holder, buffer);
+                                buffer = new ArrayList<>();
+                                bufferedBytes = 0L;
+                            }
+                            continue;
+                        }
+                        for (SolrInputDocument doc : docs) {
+                            buffer.add(doc);
+                            bufferedBytes += estimateDocumentSize(doc);
+                            if (bufferedBytes >= getPipelineSendBatchBytes()) {
+                                sendPipelineBatch(holder, buffer);
+                                buffer = new ArrayList<>();
+                                bufferedBytes = 0L;
+                            }
+                        }
+                    }
+                    if (!holder.isFailed() && !buffer.isEmpty()) {
+                        sendPipelineBatch(holder, buffer);
+                    }
+                } catch (Exception e) {
+                    holder.failFast(e);
+                    LOG.error("An error occured sending documents to Solr in a reindex pipeline sender thread.", e);
+                } finally {
+                    sem.release();
+                }
+            }
+        };
+    }
+    
+    /**
+     * Sends a batch of documents to the background collection and issues an incremental commit if one is due.
+     * 
+     * @param holder
+     * @param docs
+     * @throws Exception
+     */
+    protected void sendPipelineBatch(ReindexStateHolder holder, List<SolrInputDocument> docs) throws Exception {
+        final long start = System.nanoTime();
+        addDocuments(null, docs);
+        incrementalCommit(holder);
+        holder.getStageMetrics(ReindexPipeline.SEND_STAGE).recordBatch(docs.size(), System.nanoTime() - start);
+    }
+    
+    /**
+     * Approximates the serialized size of a document, in characters, from its field names and values.  This is only used 
+     * to size send batches, so it does not need to be exact.
+     * 
+     * @param document
+     * @return
+     */
+    protected long estimateDocumentSize(SolrInputDocument document) {
+        long size = 0L;
+        for (SolrInputField field : document) {
+            size += field.getName().length();
+            for (Object value : field) {
+                if (value != null) {
+                    size += String.valueOf(value).length();
+                }
+            }
+        }
+        return size;
+    }
+    
+    protected void logStageMetrics(ReindexStateHolder holder) {
+        if (LOG.isInfoEnabled()) {
+            for (ReindexStateHolder.StageMetrics metrics : holder.getAllStageMetrics().values()) {
+                LOG.info("Reindex of collection " + holder.getCollectionName() + " - " + metrics);
+            }
         }
     }
     
@@ -444,6 +748,63 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
         return workerThreads;
     }
     
+    /**
+     * Whether full reindexing should use the staged pipeline in {@link #populateIndexPipelined(ReindexStateHolder, Long, Long, SandBox)}.
+     * 
+     * Default is false.
+     * 
+     * @return
+     */
+    protected boolean isPipelinedReindex() {
+        return pipelined;
+    }
+    
+    /**
+     * Number of loader / builder threads in a pipelined reindex.  Document building is CPU bound, so this defaults 
+     * to the number of available processors.
+     * 
+     * @return
+     */
+    protected int getPipelineLoaderThreads() {
+        if (pipelineLoaderThreads > 0) {
+            return pipelineLoaderThreads;
+        }
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Number of threads sending documents to Solr in a pipelined reindex.
+     * 
+     * Default is 2.
+     * 
+     * @return
+     */
+    protected int getPipelineSenderThreads() {
+        return Math.max(1, pipelineSenderThreads);
+    }
+    
+    /**
+     * Approximate number of bytes of documents to accumulate before sending them to Solr in a pipelined reindex.
+     * 
+     * Default is 5MB.
+     * 
+     * @return
+     */
+    protected long getPipelineSendBatchBytes() {
+        return pipelineSendBatchBytes;
+    }
+    
+    /**
+     * Number of milliseconds a sender waits for more documents before sending a partially filled batch.
+     * 
+     * Default is 1 second.
+     * 
+     * @return
+     */
+    protected long getPipelineSendFlushInterval() {
+        return pipelineSendFlushInterval;
+    }
+    
     protected ThreadPoolTaskExecutor createBackgroundOperationExecutor() {
         ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
         exec.setThreadGroupName(getCommandGroup() + "-solr-reindex-worker");
@@ -527,11 +888,13 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
                         try {
                             beforeReadProducts(holder, ids);
                             List<Product> products = null;
+                            final long loadStart = System.nanoTime();
                             try {
                                 products = readProductsByIds(holder, ids);
                             } finally {
                                 afterReadProducts(holder, ids);
                             }
+                            holder.getStageMetrics(ReindexPipeline.LOAD_STAGE).recordBatch(ids.size(), System.nanoTime() - loadStart);
                             buildIncrementalIndex(ids, products, holder, catalog, site);
                             if (LOG.isInfoEnabled()) {
                                 String catalogName = "N/A";
@@ -651,14 +1014,24 @@ public class CatalogSolrIndexUpdateCommandHandlerImpl extends AbstractSolrIndexU
             List<IndexField> fields = getIndexFields();
             List<SolrInputDocument> docs = null;
             beforePage(productIds, products, locales, fields, holder);
+            final long buildStart = System.nanoTime();
             try {
                 docs = buildPage(productIds, products, locales, fields, holder);
             } finally {
                 afterPage(productIds, products, locales, fields, holder);
             }
+            holder.getStageMetrics(ReindexPipeline.BUILD_STAGE).recordBatch(products.size(), System.nanoTime() - buildStart);
             if (docs != null && ! docs.isEmpty()) {
-                addDocuments(null, docs);
-                incrementalCommit(holder);
+                final ReindexPipeline pipeline = ReindexPipeline.getPipeline(holder);
+                if (pipeline != null) {
+                    //Hand off to the sender stage so that this thread can move on to the next page.
+                    pipeline.putDocuments(docs);
+                } else {
+                    final long sendStart = System.nanoTime();
+                    addDocuments(null, docs);
+                    incrementalCommit(holder);
+                    holder.getStageMetrics(ReindexPipeline.SEND_STAGE).recordBatch(docs.size(), System.nanoTime() - sendStart);
+                }
             }
         }
     }
@@ -0,0 +1,137 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ *
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.search.service.solr.indexer;
+
+import org.apache.solr.common.SolrInputDocument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the bounded queues that connect the stages of a pipelined full reindex. The id reader feeds pages of product ids
+ * to the loader stage, and the loader stage feeds built documents to the sender stage. Bounded queues provide back pressure,
+ * so a slow Solr server throttles document building rather than filling the heap.
+ *
+ * Every blocking operation polls the {@link ReindexStateHolder} so that a failure in any stage drains the whole pipeline.
+ *
+ * @see CatalogSolrIndexUpdateCommandHandlerImpl#populateIndexPipelined(ReindexStateHolder, Long, Long, org.broadleafcommerce.common.sandbox.domain.SandBox)
+ */
+public class ReindexPipeline {
+
+    public static final String STATE_KEY = ReindexPipeline.class.getName();
+
+    public static final String READ_STAGE = "read";
+    public static final String LOAD_STAGE = "load";
+    public static final String BUILD_STAGE = "build";
+    public static final String SEND_STAGE = "send";
+
+    public static final List<Long> END_OF_IDS = Collections.unmodifiableList(new ArrayList<Long>());
+    public static final List<SolrInputDocument> END_OF_DOCUMENTS = Collections.unmodifiableList(new ArrayList<SolrInputDocument>());
+
+    private static final long OFFER_POLL_MILLIS = 250L;
+
+    private final ReindexStateHolder holder;
+    private final BlockingQueue<List<Long>> idQueue;
+    private final BlockingQueue<List<SolrInputDocument>> documentQueue;
+
+    public ReindexPipeline(ReindexStateHolder holder, int idQueueCapacity, int documentQueueCapacity) {
+        this.holder = holder;
+        this.idQueue = new ArrayBlockingQueue<>(Math.max(1, idQueueCapacity));
+        this.documentQueue = new ArrayBlockingQueue<>(Math.max(1, documentQueueCapacity));
+    }
+
+    /**
+     * Returns the pipeline registered with the holder, or null if the reindex is not running in pipelined mode.
+     *
+     * @param holder
+     * @return
+     */
+    public static ReindexPipeline getPipeline(ReindexStateHolder holder) {
+        if (holder == null) {
+            return null;
+        }
+        return (ReindexPipeline) holder.getAdditionalState().get(STATE_KEY);
+    }
+
+    /**
+     * Blocks until the page is accepted by the loader stage. Returns false if the reindex failed while waiting.
+     */
+    public boolean putIds(List<Long> ids) throws InterruptedException {
+        boolean accepted = offer(idQueue, ids);
+        holder.getStageMetrics(LOAD_STAGE).recordQueueDepth(idQueue.size());
+        return accepted;
+    }
+
+    /**
+     * Returns the next page of ids, {@link #END_OF_IDS} when the reader is finished, or null if the reindex failed.
+     */
+    public List<Long> takeIds() throws InterruptedException {
+        List<Long> ids = poll(idQueue);
+        holder.getStageMetrics(LOAD_STAGE).recordQueueDepth(idQueue.size());
+        return ids;
+    }
+
+    /**
+     * Blocks until the documents are accepted by the sender stage. Returns false if the reindex failed while waiting.
+     */
+    public boolean putDocuments(List<SolrInputDocument> documents) throws InterruptedException {
+        boolean accepted = offer(documentQueue, documents);
+        holder.getStageMetrics(SEND_STAGE).recordQueueDepth(documentQueue.size());
+        return accepted;
+    }
+
+    /**
+     * Returns the next list of built documents, {@link #END_OF_DOCUMENTS} when the loaders are finished, or null if
+     * nothing arrived within the timeout or the reindex failed.
+     */
+    public List<SolrInputDocument> pollDocuments(long timeoutMillis) throws InterruptedException {
+        if (holder.isFailed()) {
+            return null;
+        }
+        List<SolrInputDocument> documents = documentQueue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        holder.getStageMetrics(SEND_STAGE).recordQueueDepth(documentQueue.size());
+        return documents;
+    }
+
+    protected <T> boolean offer(BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!holder.isFailed()) {
+            if (queue.offer(item, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected <T> T poll(BlockingQueue<T> queue) throws InterruptedException {
+        while (!holder.isFailed()) {
+            T item = queue.poll(OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    public ReindexStateHolder getHolder() {
+        return holder;
+    }
+}
@@ -20,6 +20,7 @@ package org.broadleafcommerce.core.search.service.solr.indexer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -41,6 +42,7 @@ public class ReindexStateHolder {
     private final AtomicLong lastComitted = new AtomicLong(-1L);
     private final AtomicBoolean failed = new AtomicBoolean(false);
     private final AtomicReference<Exception> throwable = new AtomicReference<>();
+    private final Map<String, StageMetrics> stageMetrics = new ConcurrentHashMap<>();
     
     private ReindexStateHolder(String collectionName, boolean incrementalCommits) {
         this.collectionName = collectionName;
@@ -153,4 +155,113 @@ public class ReindexStateHolder {
     public void setLastCommitted(long lastCommitted) {
         this.lastComitted.set(lastCommitted);
     }
+    
+    /**
+     * Returns the metrics for the named reindex stage (e.g. "read", "load", "build", "send"), creating them if this is the 
+     * first time the stage has reported.
+     * 
+     * @param stageName
+     * @return
+     */
+    public StageMetrics getStageMetrics(String stageName) {
+        StageMetrics metrics = stageMetrics.get(stageName);
+        if (metrics == null) {
+            StageMetrics created = new StageMetrics(stageName);
+            metrics = stageMetrics.putIfAbsent(stageName, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+    
+    public Map<String, StageMetrics> getAllStageMetrics() {
+        return Collections.unmodifiableMap(stageMetrics);
+    }
+    
+    /**
+     * Lock-free throughput and queue-depth counters for a single stage of the reindex process.
+     */
+    public static class StageMetrics {
+        
+        private final String stageName;
+        private final AtomicLong itemCount = new AtomicLong();
+        private final AtomicLong batchCount = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong currentQueueDepth = new AtomicLong();
+        private final AtomicLong maxQueueDepth = new AtomicLong();
+        
+        public StageMetrics(String stageName) {
+            this.stageName = stageName;
+        }
+        
+        /**
+         * Records that a batch of the given number of items was processed by this stage in the given amount of time.
+         * 
+         * @param items
+         * @param nanos
+         */
+        public void recordBatch(long items, long nanos) {
+            itemCount.addAndGet(items);
+            batchCount.incrementAndGet();
+            busyNanos.addAndGet(nanos);
+        }
+        
+        /**
+         * Records the depth of the queue feeding this stage.
+         * 
+         * @param depth
+         */
+        public void recordQueueDepth(long depth) {
+            currentQueueDepth.set(depth);
+            long max = maxQueueDepth.get();
+            while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+                max = maxQueueDepth.get();
+            }
+        }
+        
+        public String getStageName() {
+            return stageName;
+        }
+        
+        public long getItemCount() {
+            return itemCount.get();
+        }
+        
+        public long getBatchCount() {
+            return batchCount.get();
+        }
+        
+        public long getBusyMillis() {
+            return busyNanos.get() / 1000000L;
+        }
+        
+        public long getCurrentQueueDepth() {
+            return currentQueueDepth.get();
+        }
+        
+        public long getMaxQueueDepth() {
+            return maxQueueDepth.get();
+        }
+        
+        /**
+         * Items processed per second of busy time, summed across all threads working this stage.
+         * 
+         * @return
+         */
+        public double getThroughput() {
+            long nanos = busyNanos.get();
+            if (nanos <= 0L) {
+                return 0D;
+            }
+            return itemCount.get() / (nanos / 1000000000D);
+        }
+        
+        @Override
+        public String toString() {
+            return "Stage '" + stageName + "': items=" + getItemCount() + ", batches=" + getBatchCount() + ", busyMillis=" + getBusyMillis()
+                    + ", throughput=" + String.format("%.1f", getThroughput()) + "/s, queueDepth=" + getCurrentQueueDepth()
+                    + ", maxQueueDepth=" + getMaxQueueDepth();
+        }
+    }
 }
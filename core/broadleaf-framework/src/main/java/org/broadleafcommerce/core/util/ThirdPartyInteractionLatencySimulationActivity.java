@@ -23,6 +23,8 @@ import org.broadleafcommerce.core.workflow.ProcessContext;
 /**
  * Simple workflow activity to simulate an amount of latency introduced by communicating
  * with a third party provider (e.g. credit card processing). Useful for load testing.
+ * With workflow.statistics.enabled, the simulated latency is reported by the WorkflowStatistics MBean like that of any
+ * other activity.
  *
  * @author Jeff Fischer
  */
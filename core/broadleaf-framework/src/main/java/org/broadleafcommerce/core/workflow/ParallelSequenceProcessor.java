@@ -0,0 +1,347 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.core.workflow.state.RollbackStateLocal;
+import org.broadleafcommerce.core.workflow.statistics.WorkflowTrace;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link SequenceProcessor} that runs adjacent {@link ParallelizableActivity activities} at the same time when their
+ * declared dependencies do not overlap. The activities are still taken in their configured order: the processor walks
+ * the list and groups each run of independent parallelizable activities into a stage. Every other activity is a stage
+ * of its own, so a workflow whose activities declare nothing behaves exactly like a {@link SequenceProcessor}.
+ * 
+ * Rollback behaves as it does in a sequence. The rollback handlers of the activities in a stage are registered in
+ * configured order once the stage is over. If an activity in the stage failed, the handlers of the activities that
+ * succeeded alongside it are registered first, so that the rollback undoes them too, and the failure is then handled
+ * like any other activity failure.
+ * 
+ * No framework workflow uses this processor and no framework activity implements {@link ParallelizableActivity}. Every
+ * checkout activity reads or writes the order through the caller's Hibernate session, so none of them can safely run
+ * on a worker thread, and swapping the class of <code>blCheckoutWorkflow</code> alone changes nothing. This is an
+ * extension point for workflows with custom activities that do independent work without touching the session, such
+ * as calls to external services with values copied out of the seed data:
+ * 
+ * <pre>
+ * &lt;bean id="myFulfillmentWorkflow" class="org.broadleafcommerce.core.workflow.ParallelSequenceProcessor"&gt;
+ * </pre>
+ *
+ * @see ParallelizableActivity
+ */
+public class ParallelSequenceProcessor<U, T> extends SequenceProcessor<U, T> implements DisposableBean {
+
+    private static final Log LOG = LogFactory.getLog(ParallelSequenceProcessor.class);
+
+    @Value("${workflow.parallel.threads:8}")
+    protected int threads = 8;
+
+    @Value("${workflow.parallel.activity.timeout.seconds:60}")
+    protected long activityTimeoutSeconds = 60;
+
+    protected volatile ExecutorService executor;
+
+    @Override
+    protected ProcessContext<U> executeActivities(List<Activity<ProcessContext<U>>> activities, ProcessContext<U> context,
+            RollbackStateLocal rollbackStateLocal) throws WorkflowException {
+        for (List<Activity<ProcessContext<U>>> stage : buildStages(activities)) {
+            if (stage.size() == 1) {
+                Activity<ProcessContext<U>> activity = stage.get(0);
+                if (activity.shouldExecute(context)) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("running activity:" + activity.getBeanName() + " using arguments:" + context);
+                    }
+                    try {
+                        context = executeActivity(activity, context);
+                    } catch (Throwable activityException) {
+                        if (handleActivityError(context, activity, activityException, rollbackStateLocal)) {
+                            return context;
+                        }
+                    }
+                    if (processShouldStop(context, activity)) {
+                        return context;
+                    }
+                    registerRollbackHandler(activity, context);
+                } else {
+                    LOG.debug("Not executing activity: " + activity.getBeanName() + " based on the context: " + context);
+                }
+            } else {
+                StageResult<U> result = executeStage(stage, context, rollbackStateLocal);
+                context = result.context;
+                if (result.stop) {
+                    return context;
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Runs the activities of a stage concurrently and waits for all of them before registering rollback handlers and
+     * handling failures in configured order.
+     */
+    protected StageResult<U> executeStage(List<Activity<ProcessContext<U>>> stage, ProcessContext<U> context,
+            RollbackStateLocal rollbackStateLocal) throws WorkflowException {
+        List<Activity<ProcessContext<U>>> running = new ArrayList<>();
+        for (Activity<ProcessContext<U>> activity : stage) {
+            if (activity.shouldExecute(context)) {
+                running.add(activity);
+            } else {
+                LOG.debug("Not executing activity: " + activity.getBeanName() + " based on the context: " + context);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("running activities in parallel:" + getBeanNames(running) + " using arguments:" + context);
+        }
+
+        BroadleafRequestContext callerContext = BroadleafRequestContext.getBroadleafRequestContext(false);
+        WorkflowTrace trace = WorkflowTrace.getCurrent();
+        List<Future<ProcessContext<U>>> futures = new ArrayList<>();
+        for (Activity<ProcessContext<U>> activity : running) {
+            final ProcessContext<U> stageContext = context;
+            final BroadleafRequestContext brc = callerContext == null ? null : callerContext.createLightWeightClone();
+            futures.add(getExecutor().submit(() -> executeOnWorker(activity, stageContext, brc, rollbackStateLocal, trace)));
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(activityTimeoutSeconds);
+        List<ProcessContext<U>> results = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            Future<ProcessContext<U>> future = futures.get(i);
+            try {
+                results.add(future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+                failures.add(null);
+            } catch (ExecutionException e) {
+                results.add(null);
+                failures.add(e.getCause());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                results.add(null);
+                failures.add(new WorkflowException("Activity " + running.get(i).getBeanName() + " did not complete within "
+                        + activityTimeoutSeconds + " seconds"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                }
+                throw new WorkflowException(e);
+            }
+        }
+
+        Activity<ProcessContext<U>> lastActivity = null;
+        for (int i = 0; i < running.size(); i++) {
+            if (failures.get(i) == null) {
+                lastActivity = running.get(i);
+                if (results.get(i) != null) {
+                    context = results.get(i);
+                }
+                registerRollbackHandler(lastActivity, context);
+            }
+        }
+
+        StageResult<U> stageResult = new StageResult<>();
+        for (int i = 0; i < running.size(); i++) {
+            if (failures.get(i) != null) {
+                lastActivity = running.get(i);
+                if (handleActivityError(context, lastActivity, failures.get(i), rollbackStateLocal)) {
+                    stageResult.stop = true;
+                    break;
+                }
+            }
+        }
+        stageResult.context = context;
+        if (!stageResult.stop && lastActivity != null) {
+            stageResult.stop = processShouldStop(context, lastActivity);
+        }
+        return stageResult;
+    }
+
+    /**
+     * Runs an activity on a worker thread with a lightweight clone of the caller's request context and the rollback
+     * state and workflow trace of the calling thread bound, so that activities can register rollback state explicitly
+     * through the ActivityStateManager. Each worker gets its own clone, so the additional properties of the caller's
+     * context are never shared between threads.
+     */
+    protected ProcessContext<U> executeOnWorker(Activity<ProcessContext<U>> activity, ProcessContext<U> context,
+            BroadleafRequestContext brc, RollbackStateLocal rollbackStateLocal, WorkflowTrace trace) throws Exception {
+        BroadleafRequestContext previous = BroadleafRequestContext.getBroadleafRequestContext(false);
+        WorkflowTrace previousTrace = WorkflowTrace.getCurrent();
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+        RollbackStateLocal.setRollbackStateLocal(rollbackStateLocal);
+        WorkflowTrace.setCurrent(trace);
+        try {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("running activity:" + activity.getBeanName() + " on " + Thread.currentThread().getName());
+            }
+            return executeActivity(activity, context);
+        } finally {
+            WorkflowTrace.setCurrent(previousTrace);
+            RollbackStateLocal.clearRollbackStateLocal();
+            BroadleafRequestContext.setBroadleafRequestContext(previous);
+        }
+    }
+
+    /**
+     * Splits the activities into stages, in configured order. A stage holds either a single activity or a run of
+     * adjacent {@link ParallelizableActivity parallelizable} activities that do not depend on each other.
+     */
+    protected List<List<Activity<ProcessContext<U>>>> buildStages(List<Activity<ProcessContext<U>>> activities) {
+        List<List<Activity<ProcessContext<U>>>> stages = new ArrayList<>();
+        List<Activity<ProcessContext<U>>> current = new ArrayList<>();
+        for (Activity<ProcessContext<U>> activity : activities) {
+            if (!isParallelizable(activity)) {
+                if (!current.isEmpty()) {
+                    stages.add(current);
+                    current = new ArrayList<>();
+                }
+                stages.add(Collections.singletonList(activity));
+                continue;
+            }
+            boolean independent = true;
+            for (Activity<ProcessContext<U>> member : current) {
+                if (conflicts((ParallelizableActivity) member, (ParallelizableActivity) activity)) {
+                    independent = false;
+                    break;
+                }
+            }
+            if (!independent) {
+                stages.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(activity);
+        }
+        if (!current.isEmpty()) {
+            stages.add(current);
+        }
+        return stages;
+    }
+
+    protected boolean isParallelizable(Activity<ProcessContext<U>> activity) {
+        if (!(activity instanceof ParallelizableActivity)) {
+            return false;
+        }
+        ParallelizableActivity parallelizable = (ParallelizableActivity) activity;
+        return parallelizable.getReadDependencies() != null && parallelizable.getWriteDependencies() != null;
+    }
+
+    /**
+     * Two activities conflict when either one writes something that the other one reads or writes
+     */
+    protected boolean conflicts(ParallelizableActivity first, ParallelizableActivity second) {
+        return writesAny(first, second.getReadDependencies()) || writesAny(first, second.getWriteDependencies())
+                || writesAny(second, first.getReadDependencies());
+    }
+
+    protected boolean writesAny(ParallelizableActivity activity, Set<String> dependencies) {
+        for (String dependency : dependencies) {
+            if (activity.getWriteDependencies().contains(dependency)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected List<String> getBeanNames(List<Activity<ProcessContext<U>>> activities) {
+        List<String> names = new ArrayList<>();
+        for (Activity<ProcessContext<U>> activity : activities) {
+            names.add(activity.getBeanName());
+        }
+        return names;
+    }
+
+    /**
+     * The executor is bounded. When its queue is full the calling thread runs the activity itself rather than waiting.
+     */
+    protected ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    int poolSize = Math.max(1, threads);
+                    executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(poolSize * 4), new WorkflowThreadFactory(getBeanName()),
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getActivityTimeoutSeconds() {
+        return activityTimeoutSeconds;
+    }
+
+    public void setActivityTimeoutSeconds(long activityTimeoutSeconds) {
+        this.activityTimeoutSeconds = activityTimeoutSeconds;
+    }
+
+    protected static class StageResult<U> {
+
+        protected ProcessContext<U> context;
+        protected boolean stop;
+    }
+
+    protected static class WorkflowThreadFactory implements ThreadFactory {
+
+        protected final String prefix;
+        protected final AtomicInteger count = new AtomicInteger();
+
+        public WorkflowThreadFactory(String beanName) {
+            this.prefix = beanName + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow;
+
+import java.util.Set;
+
+/**
+ * Implemented by an {@link Activity} that may run at the same time as its neighbors in a
+ * {@link ParallelSequenceProcessor}. The activity names the parts of the seed data that it reads and writes, such as
+ * "order" or "payments". Two adjacent activities run concurrently only when neither writes something the other one
+ * reads or writes. Activities that do not implement this interface always run alone.
+ * 
+ * An activity that declares itself parallelizable runs on a worker thread. The rollback state of the workflow and a
+ * lightweight clone of the {@link org.broadleafcommerce.common.web.BroadleafRequestContext} are carried over, but the
+ * transaction and the persistence context of the calling thread are not. Entities in the seed data are still attached
+ * to the caller's session, which is not thread-safe, so an activity must only implement this interface when it does
+ * not lazily load associations of those entities. Activities that walk the order, its items or their products, such
+ * as the checkout validation activities, therefore stay sequential.
+ *
+ * @see ParallelSequenceProcessor
+ */
+public interface ParallelizableActivity {
+
+    String ORDER_DEPENDENCY = "order";
+    String MESSAGES_DEPENDENCY = "messages";
+
+    /**
+     * @return the names of the parts of the seed data this activity reads
+     */
+    Set<String> getReadDependencies();
+
+    /**
+     * @return the names of the parts of the seed data this activity writes
+     */
+    Set<String> getWriteDependencies();
+
+}
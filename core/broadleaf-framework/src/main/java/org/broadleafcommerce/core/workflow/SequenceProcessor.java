@@ -23,15 +23,22 @@ import org.broadleafcommerce.core.workflow.state.ActivityStateManager;
 import org.broadleafcommerce.core.workflow.state.ActivityStateManagerImpl;
 import org.broadleafcommerce.core.workflow.state.RollbackFailureException;
 import org.broadleafcommerce.core.workflow.state.RollbackStateLocal;
+import org.broadleafcommerce.core.workflow.statistics.WorkflowStatisticsService;
+import org.broadleafcommerce.core.workflow.statistics.WorkflowTrace;
 
 import java.util.List;
 
+import javax.annotation.Resource;
+
 public class SequenceProcessor<U, T> extends BaseProcessor<U, T> {
 
     private static final Log LOG = LogFactory.getLog(SequenceProcessor.class);
 
     private ProcessContextFactory<U, T> processContextFactory;
 
+    @Resource(name = "blWorkflowStatisticsService")
+    protected WorkflowStatisticsService workflowStatisticsService;
+
     @Override
     public boolean supports(Activity<? extends ProcessContext<U>> activity) {
         return true;
@@ -57,6 +64,15 @@ public class SequenceProcessor<U, T> extends BaseProcessor<U, T> {
         rollbackStateLocal.setThreadId(String.valueOf(Thread.currentThread().getId()));
         rollbackStateLocal.setWorkflowId(getBeanName());
         RollbackStateLocal.setRollbackStateLocal(rollbackStateLocal);
+
+        boolean recordStatistics = workflowStatisticsService != null && workflowStatisticsService.isEnabled();
+        long startNanos = recordStatistics ? System.nanoTime() : 0L;
+        WorkflowTrace previousTrace = WorkflowTrace.getCurrent();
+        WorkflowTrace trace = null;
+        if (recordStatistics && workflowStatisticsService.isTraceEnabled()) {
+            trace = new WorkflowTrace(getBeanName());
+            WorkflowTrace.setCurrent(trace);
+        }
         
         try {
             //retrieve injected by Spring
@@ -65,69 +81,138 @@ public class SequenceProcessor<U, T> extends BaseProcessor<U, T> {
             //retrieve a new instance of the Workflow ProcessContext
             context = createContext(seedData);
 
-            for (Activity<ProcessContext<U>> activity : activities) {
-                if (activity.shouldExecute(context)) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("running activity:" + activity.getBeanName() + " using arguments:" + context);
-                    }
-    
-                    try {
-                        context = activity.execute(context);
-                    } catch (Throwable activityException) {
-                        RollbackFailureException rollbackFailure = null;
-                        if (getAutoRollbackOnError()) {
-                            LOG.info(String.format("Exception ocurred in %s, executing rollback handlers", rollbackStateLocal.getWorkflowId()));
-                            
-                            try {
-                                ActivityStateManagerImpl.getStateManager().rollbackAllState();
-                            } catch (Throwable rollbackException) {
-                                LOG.fatal(String.format("There was an exception rolling back %s", rollbackStateLocal.getWorkflowId()), rollbackException);
-                                
-                                if (rollbackException instanceof RollbackFailureException) {
-                                    rollbackFailure = (RollbackFailureException) rollbackException;
-                                } else {
-                                    rollbackFailure = new RollbackFailureException(rollbackException);
-                                }
-                                
-                                LOG.error(String.format("The original cause of the rollback for %s was", rollbackStateLocal.getWorkflowId()), activityException);
-                                rollbackFailure.setOriginalWorkflowException(activityException);
-                                throw rollbackFailure;
-                            }
-                        }
-                        
-                        ErrorHandler errorHandler = activity.getErrorHandler();
-                        if (errorHandler == null) {
-                            getDefaultErrorHandler().handleError(context, activityException);
-                            break;
-                        } else {
-                            errorHandler.handleError(context, activityException);
-                        }
-                    }
-    
-                    //ensure its ok to continue the process
-                    if (processShouldStop(context, activity)) {
-                        break;
-                    }
-    
-                    //register the RollbackHandler
-                    if (activity.getRollbackHandler() != null && activity.getAutomaticallyRegisterRollbackHandler()) {
-                        ActivityStateManagerImpl.getStateManager().registerState(activity, context, activity.getRollbackRegion(), activity.getRollbackHandler(), activity.getStateConfiguration());
-                    }
-                } else {
-                    LOG.debug("Not executing activity: " + activity.getBeanName() + " based on the context: " + context);
-                }
-            }
+            context = executeActivities(activities, context, rollbackStateLocal);
         } finally {
             rollbackStateLocal = RollbackStateLocal.getRollbackStateLocal();
             if (rollbackStateLocal != null && rollbackStateLocal.getWorkflowId().equals(getBeanName())) {
                 activityStateManager.clearAllState();
             }
+            if (recordStatistics) {
+                workflowStatisticsService.recordWorkflow(getBeanName(), System.nanoTime() - startNanos, trace);
+                if (trace != null) {
+                    WorkflowTrace.setCurrent(previousTrace);
+                }
+            }
         }
         LOG.debug(getBeanName() + " processor is done.");
 
         return (P) context;
     }
 
+    /**
+     * Runs the activities in order against the context, stopping when an activity fails without an error handler of
+     * its own or when the context is stopped.
+     *
+     * @return the context returned by the last activity that ran
+     */
+    protected ProcessContext<U> executeActivities(List<Activity<ProcessContext<U>>> activities, ProcessContext<U> context,
+            RollbackStateLocal rollbackStateLocal) throws WorkflowException {
+        for (Activity<ProcessContext<U>> activity : activities) {
+            if (activity.shouldExecute(context)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("running activity:" + activity.getBeanName() + " using arguments:" + context);
+                }
+
+                try {
+                    context = executeActivity(activity, context);
+                } catch (Throwable activityException) {
+                    if (handleActivityError(context, activity, activityException, rollbackStateLocal)) {
+                        break;
+                    }
+                }
+
+                //ensure its ok to continue the process
+                if (processShouldStop(context, activity)) {
+                    break;
+                }
+
+                registerRollbackHandler(activity, context);
+            } else {
+                LOG.debug("Not executing activity: " + activity.getBeanName() + " based on the context: " + context);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Executes a single activity, recording its latency with the {@link WorkflowStatisticsService} and adding a span to
+     * the {@link WorkflowTrace} bound to the current thread, if there is one.
+     */
+    protected ProcessContext<U> executeActivity(Activity<ProcessContext<U>> activity, ProcessContext<U> context) throws Exception {
+        if (workflowStatisticsService == null || !workflowStatisticsService.isEnabled()) {
+            return activity.execute(context);
+        }
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            ProcessContext<U> result = activity.execute(context);
+            failed = false;
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            workflowStatisticsService.recordActivity(getBeanName(), activity.getBeanName(), elapsedNanos, failed);
+            WorkflowTrace trace = WorkflowTrace.getCurrent();
+            if (trace != null) {
+                trace.addSpan(activity.getBeanName(), startNanos, elapsedNanos, failed);
+            }
+        }
+    }
+
+    /**
+     * Rolls back the registered state if auto rollback is on, then hands the exception to the error handler of the
+     * activity, or to the default error handler if the activity does not have one.
+     *
+     * @return true if the default error handler was used and the process should not continue
+     */
+    protected boolean handleActivityError(ProcessContext<U> context, Activity<ProcessContext<U>> activity, Throwable activityException,
+            RollbackStateLocal rollbackStateLocal) throws WorkflowException {
+        RollbackFailureException rollbackFailure = null;
+        if (getAutoRollbackOnError()) {
+            LOG.info(String.format("Exception ocurred in %s, executing rollback handlers", rollbackStateLocal.getWorkflowId()));
+            
+            try {
+                ActivityStateManagerImpl.getStateManager().rollbackAllState();
+                recordRollback(false);
+            } catch (Throwable rollbackException) {
+                recordRollback(true);
+                LOG.fatal(String.format("There was an exception rolling back %s", rollbackStateLocal.getWorkflowId()), rollbackException);
+                
+                if (rollbackException instanceof RollbackFailureException) {
+                    rollbackFailure = (RollbackFailureException) rollbackException;
+                } else {
+                    rollbackFailure = new RollbackFailureException(rollbackException);
+                }
+                
+                LOG.error(String.format("The original cause of the rollback for %s was", rollbackStateLocal.getWorkflowId()), activityException);
+                rollbackFailure.setOriginalWorkflowException(activityException);
+                throw rollbackFailure;
+            }
+        }
+        
+        ErrorHandler errorHandler = activity.getErrorHandler();
+        if (errorHandler == null) {
+            getDefaultErrorHandler().handleError(context, activityException);
+            return true;
+        }
+        errorHandler.handleError(context, activityException);
+        return false;
+    }
+
+    protected void recordRollback(boolean failed) {
+        if (workflowStatisticsService != null) {
+            workflowStatisticsService.recordRollback(getBeanName(), failed);
+        }
+    }
+
+    /**
+     * Registers the RollbackHandler of an activity that completed, if it has one and asks for it to be registered
+     */
+    protected void registerRollbackHandler(Activity<ProcessContext<U>> activity, ProcessContext<U> context) {
+        if (activity.getRollbackHandler() != null && activity.getAutomaticallyRegisterRollbackHandler()) {
+            ActivityStateManagerImpl.getStateManager().registerState(activity, context, activity.getRollbackRegion(), activity.getRollbackHandler(), activity.getStateConfiguration());
+        }
+    }
+
     /**
      * Determine if the process should stop
      *
@@ -148,6 +233,14 @@ public class SequenceProcessor<U, T> extends BaseProcessor<U, T> {
         return processContextFactory.createContext(seedData);
     }
 
+    public WorkflowStatisticsService getWorkflowStatisticsService() {
+        return workflowStatisticsService;
+    }
+
+    public void setWorkflowStatisticsService(WorkflowStatisticsService workflowStatisticsService) {
+        this.workflowStatisticsService = workflowStatisticsService;
+    }
+
     @Override
     public void setProcessContextFactory(ProcessContextFactory<U, T> processContextFactory) {
         this.processContextFactory = processContextFactory;
@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters for a workflow or one of its activities: the number of executions, failures and rollbacks, the
+ * total and maximum latency, and a latency histogram with fixed millisecond buckets. Percentiles are estimated from
+ * the histogram, so they are reported as the upper bound of the bucket they fall in.
+ */
+public class ActivityStatistics {
+
+    /**
+     * Upper bounds, in milliseconds, of every bucket but the last one, which has no upper bound
+     */
+    public static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    protected final String name;
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder errorCount = new LongAdder();
+    protected final LongAdder rollbackCount = new LongAdder();
+    protected final LongAdder rollbackFailureCount = new LongAdder();
+    protected final LongAdder totalNanos = new LongAdder();
+    protected final AtomicLong maxNanos = new AtomicLong();
+    protected final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+    public ActivityStatistics(String name) {
+        this.name = name;
+    }
+
+    public void record(long elapsedNanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        buckets.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+    }
+
+    public void recordRollback(boolean failed) {
+        rollbackCount.increment();
+        if (failed) {
+            rollbackFailureCount.increment();
+        }
+    }
+
+    protected int bucketIndex(long elapsedMillis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (elapsedMillis < BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getRollbackCount() {
+        return rollbackCount.sum();
+    }
+
+    public long getRollbackFailureCount() {
+        return rollbackFailureCount.sum();
+    }
+
+    public double getAverageMillis() {
+        long executions = getCount();
+        return executions == 0 ? 0 : totalNanos.sum() / (double) executions / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the number of executions in each bucket of {@link #BUCKET_BOUNDS_MILLIS}, plus one for the executions
+     * slower than the last bound
+     */
+    public long[] getHistogram() {
+        long[] histogram = new long[buckets.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = buckets.get(i);
+        }
+        return histogram;
+    }
+
+    /**
+     * @param percentile a value between 0 and 100
+     * @return the upper bound in milliseconds of the bucket holding the percentile, or -1 if it falls in the last bucket
+     */
+    public long getPercentileMillis(double percentile) {
+        long[] histogram = getHistogram();
+        long total = 0;
+        for (long bucket : histogram) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100D);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += histogram[i];
+            if (seen >= threshold) {
+                return BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d errors=%d rollbacks=%d rollbackFailures=%d avgMs=%.2f maxMs=%.2f p50Ms=%s p99Ms=%s",
+                name, getCount(), getErrorCount(), getRollbackCount(), getRollbackFailureCount(), getAverageMillis(),
+                getMaxMillis(), formatBound(getPercentileMillis(50)), formatBound(getPercentileMillis(99)));
+    }
+
+    protected String formatBound(long bound) {
+        if (bound == 0) {
+            return "0";
+        }
+        return bound < 0 ? ">" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] : "<" + bound;
+    }
+}
@@ -0,0 +1,78 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow.statistics;
+
+import java.util.Map;
+
+/**
+ * Collects timing, error and rollback counts for workflow processors and their activities. The processors call the
+ * record methods on every run, so implementations must be cheap and must not lock.
+ *
+ * @see org.broadleafcommerce.core.workflow.SequenceProcessor
+ */
+public interface WorkflowStatisticsService {
+
+    /**
+     * @return whether statistics are being collected
+     */
+    boolean isEnabled();
+
+    /**
+     * @return whether the processors should collect a {@link WorkflowTrace} for each run
+     */
+    boolean isTraceEnabled();
+
+    /**
+     * Records one execution of an activity.
+     *
+     * @param workflowName the bean name of the processor
+     * @param activityName the bean name of the activity
+     * @param elapsedNanos how long the activity took
+     * @param failed whether the activity threw an exception
+     */
+    void recordActivity(String workflowName, String activityName, long elapsedNanos, boolean failed);
+
+    /**
+     * Records one run of a workflow. If a trace was collected and the run was slower than the configured threshold,
+     * the trace is logged.
+     *
+     * @param workflowName the bean name of the processor
+     * @param elapsedNanos how long the whole run took
+     * @param trace the trace of the run, or null
+     */
+    void recordWorkflow(String workflowName, long elapsedNanos, WorkflowTrace trace);
+
+    /**
+     * Records that the rollback handlers of a workflow were run after an activity failed.
+     *
+     * @param workflowName the bean name of the processor
+     * @param failed whether a rollback handler threw an exception
+     */
+    void recordRollback(String workflowName, boolean failed);
+
+    /**
+     * @return the statistics of every workflow and activity seen so far, keyed by "workflow" or "workflow.activity"
+     */
+    Map<String, ActivityStatistics> getStatistics();
+
+    /**
+     * Discards every counter.
+     */
+    void reset();
+
+}
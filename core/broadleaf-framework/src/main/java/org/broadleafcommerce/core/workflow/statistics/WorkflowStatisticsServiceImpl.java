@@ -0,0 +1,145 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow.statistics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an {@link ActivityStatistics} per workflow and per workflow activity and exposes them through JMX. When
+ * {@code workflow.trace.slow.threshold.millis} is greater than zero, processors also collect a {@link WorkflowTrace}
+ * for each run, and runs that take at least that long are logged with the timing of each activity.
+ */
+@Service("blWorkflowStatisticsService")
+@ManagedResource(objectName="org.broadleafcommerce:name=WorkflowStatistics", description="Workflow Statistics", currencyTimeLimit=15)
+public class WorkflowStatisticsServiceImpl implements WorkflowStatisticsService {
+
+    private static final Log LOG = LogFactory.getLog(WorkflowStatisticsServiceImpl.class);
+
+    @Value("${workflow.statistics.enabled:false}")
+    protected boolean enabled = false;
+
+    @Value("${workflow.trace.slow.threshold.millis:0}")
+    protected long slowThresholdMillis = 0;
+
+    protected final ConcurrentMap<String, ActivityStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isTraceEnabled() {
+        return enabled && slowThresholdMillis > 0;
+    }
+
+    @Override
+    public void recordActivity(String workflowName, String activityName, long elapsedNanos, boolean failed) {
+        if (enabled) {
+            getOrCreate(workflowName + "." + activityName).record(elapsedNanos, failed);
+        }
+    }
+
+    @Override
+    public void recordWorkflow(String workflowName, long elapsedNanos, WorkflowTrace trace) {
+        if (!enabled) {
+            return;
+        }
+        getOrCreate(workflowName).record(elapsedNanos, false);
+        if (trace != null && slowThresholdMillis > 0 && elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis)) {
+            LOG.warn(trace.format(elapsedNanos));
+        }
+    }
+
+    @Override
+    public void recordRollback(String workflowName, boolean failed) {
+        if (enabled) {
+            getOrCreate(workflowName).recordRollback(failed);
+        }
+    }
+
+    protected ActivityStatistics getOrCreate(String name) {
+        ActivityStatistics stats = statistics.get(name);
+        if (stats == null) {
+            stats = statistics.computeIfAbsent(name, ActivityStatistics::new);
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, ActivityStatistics> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(statistics));
+    }
+
+    @Override
+    @ManagedOperation(description="Discard all workflow statistics")
+    public void reset() {
+        statistics.clear();
+    }
+
+    @ManagedAttribute(description="One line per workflow and workflow activity with counts and latencies", currencyTimeLimit=15)
+    public List<String> getSummary() {
+        List<String> summary = new ArrayList<>();
+        for (ActivityStatistics stats : getStatistics().values()) {
+            summary.add(stats.toString());
+        }
+        return summary;
+    }
+
+    @ManagedOperation(description="The statistics of a single workflow and its activities")
+    public List<String> getWorkflowSummary(String workflowName) {
+        List<String> summary = new ArrayList<>();
+        for (ActivityStatistics stats : getStatistics().values()) {
+            if (stats.getName().equals(workflowName) || stats.getName().startsWith(workflowName + ".")) {
+                summary.add(stats.toString());
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    @ManagedAttribute(description="Whether workflow statistics are collected", currencyTimeLimit=15)
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @ManagedAttribute(description="Whether workflow statistics are collected", currencyTimeLimit=15)
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @ManagedAttribute(description="Workflow runs that take at least this many milliseconds are logged with a trace of their activities. Zero disables tracing", currencyTimeLimit=15)
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    @ManagedAttribute(description="Workflow runs that take at least this many milliseconds are logged with a trace of their activities. Zero disables tracing", currencyTimeLimit=15)
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+}
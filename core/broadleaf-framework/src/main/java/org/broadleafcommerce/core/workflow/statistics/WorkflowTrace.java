@@ -0,0 +1,136 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow.statistics;
+
+import org.broadleafcommerce.common.classloader.release.ThreadLocalManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The activity spans of a single workflow run. A processor binds a trace to the current thread for the duration of
+ * the run when {@link WorkflowStatisticsService#isTraceEnabled()} is true, and the statistics service logs it if the
+ * run turns out to be slow. Spans may be added from worker threads, so adding is synchronized.
+ */
+public class WorkflowTrace {
+
+    private static final ThreadLocal<WorkflowTrace> CURRENT = ThreadLocalManager.createThreadLocal(WorkflowTrace.class, false);
+
+    protected final String workflowName;
+    protected final long startNanos;
+    protected final List<Span> spans = Collections.synchronizedList(new ArrayList<Span>());
+
+    public WorkflowTrace(String workflowName) {
+        this.workflowName = workflowName;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the trace bound to the current thread, or null
+     */
+    public static WorkflowTrace getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a trace to the current thread, or unbinds the current one if the trace is null
+     */
+    public static void setCurrent(WorkflowTrace trace) {
+        if (trace == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(trace);
+        }
+    }
+
+    public void addSpan(String activityName, long spanStartNanos, long elapsedNanos, boolean failed) {
+        spans.add(new Span(activityName, Thread.currentThread().getName(), spanStartNanos - startNanos, elapsedNanos, failed));
+    }
+
+    public String getWorkflowName() {
+        return workflowName;
+    }
+
+    public List<Span> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * @param elapsedNanos how long the whole run took
+     * @return one line for the run followed by one line per span, in the order the spans finished
+     */
+    public String format(long elapsedNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Workflow ").append(workflowName).append(" took ").append(toMillis(elapsedNanos)).append("ms");
+        for (Span span : getSpans()) {
+            sb.append("\n  +").append(toMillis(span.offsetNanos)).append("ms ")
+                    .append(span.activityName).append(' ')
+                    .append(toMillis(span.elapsedNanos)).append("ms")
+                    .append(" [").append(span.threadName).append(']');
+            if (span.failed) {
+                sb.append(" FAILED");
+            }
+        }
+        return sb.toString();
+    }
+
+    protected static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public static class Span {
+
+        protected final String activityName;
+        protected final String threadName;
+        protected final long offsetNanos;
+        protected final long elapsedNanos;
+        protected final boolean failed;
+
+        public Span(String activityName, String threadName, long offsetNanos, long elapsedNanos, boolean failed) {
+            this.activityName = activityName;
+            this.threadName = threadName;
+            this.offsetNanos = offsetNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.failed = failed;
+        }
+
+        public String getActivityName() {
+            return activityName;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+}
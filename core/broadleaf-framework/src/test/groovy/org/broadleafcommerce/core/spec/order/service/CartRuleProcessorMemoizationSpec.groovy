@@ -0,0 +1,145 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.spec.order.service
+
+import org.broadleafcommerce.common.structure.dto.ItemCriteriaDTO
+import org.broadleafcommerce.common.structure.dto.StructuredContentDTO
+import org.broadleafcommerce.common.web.BroadleafRequestContext
+import org.broadleafcommerce.core.order.dao.OrderDao
+import org.broadleafcommerce.core.order.domain.DiscreteOrderItemImpl
+import org.broadleafcommerce.core.order.domain.Order
+import org.broadleafcommerce.core.order.domain.OrderImpl
+import org.broadleafcommerce.core.order.domain.OrderItem
+import org.broadleafcommerce.core.order.service.AbstractCartRuleProcessor
+import org.broadleafcommerce.core.order.service.StructuredContentCartRuleProcessor
+import org.broadleafcommerce.profile.core.domain.Customer
+import org.broadleafcommerce.profile.core.domain.CustomerImpl
+import org.springframework.mock.web.MockHttpServletRequest
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import spock.lang.Specification
+
+class CartRuleProcessorMemoizationSpec extends Specification {
+
+    OrderDao orderDao = Mock()
+    Customer customer = new CustomerImpl(id: 1L)
+    AtomicInteger evaluations
+    StructuredContentCartRuleProcessor processor
+
+    def setup() {
+        def brc = new BroadleafRequestContext()
+        brc.request = new MockHttpServletRequest()
+        BroadleafRequestContext.setBroadleafRequestContext(brc)
+        def counter = new AtomicInteger()
+        evaluations = counter
+        processor = new StructuredContentCartRuleProcessor() {
+            @Override
+            protected boolean checkItemCriteria(ItemCriteriaDTO itemCriteria, List<OrderItem> orderItems) {
+                counter.incrementAndGet()
+                return true
+            }
+        }
+        processor.orderDao = orderDao
+    }
+
+    def cleanup() {
+        BroadleafRequestContext.setBroadleafRequestContext(null)
+    }
+
+    def cart(Map<Long, Integer> quantities) {
+        Order order = new OrderImpl(id: 10L, customer: customer)
+        order.orderItems = quantities.collect { id, qty -> new DiscreteOrderItemImpl(id: id, quantity: qty) as OrderItem }
+        return order
+    }
+
+    def content() {
+        new StructuredContentDTO(itemCriteriaDTOList: [new ItemCriteriaDTO(matchRule: "orderItem.sku.id == 1", qty: 1)])
+    }
+
+    def "the cart is read once per customer per request"() {
+        when:
+        processor.checkForMatch(content(), [customer: customer])
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        1 * orderDao.readCartForCustomer(customer) >> cart([1L: 1])
+    }
+
+    def "a customer without a cart is looked up again"() {
+        when:
+        def first = processor.checkForMatch(content(), [customer: customer])
+        def second = processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        2 * orderDao.readCartForCustomer(customer) >>> [null, cart([1L: 1])]
+        !first
+        second
+    }
+
+    def "saving an order makes the next rule read the cart again"() {
+        when:
+        processor.checkForMatch(content(), [customer: customer])
+        AbstractCartRuleProcessor.evictOrderForCustomer(customer)
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        2 * orderDao.readCartForCustomer(customer) >> cart([1L: 1])
+    }
+
+    def "item criteria results are reused until the items or their quantities change"() {
+        setup:
+        def order = cart([1L: 1, 2L: 1])
+        orderDao.readCartForCustomer(customer) >> order
+
+        when:
+        processor.checkForMatch(content(), [customer: customer])
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        evaluations.get() == 1
+
+        when:
+        order.orderItems[1].quantity = 3
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        evaluations.get() == 2
+
+        when:
+        order.orderItems.remove(1)
+        order.orderItems.add(new DiscreteOrderItemImpl(id: 3L, quantity: 3))
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        evaluations.get() == 3
+    }
+
+    def "nothing is memoized outside of a web request"() {
+        setup:
+        BroadleafRequestContext.setBroadleafRequestContext(null)
+
+        when:
+        processor.checkForMatch(content(), [customer: customer])
+        processor.checkForMatch(content(), [customer: customer])
+
+        then:
+        2 * orderDao.readCartForCustomer(customer) >> cart([1L: 1])
+        evaluations.get() == 2
+    }
+}
@@ -35,6 +35,7 @@ import org.broadleafcommerce.core.order.service.OrderMultishipOptionService
 import org.broadleafcommerce.core.order.service.OrderService
 import org.broadleafcommerce.core.order.service.workflow.CartOperationRequest
 import org.broadleafcommerce.core.order.service.workflow.AddWorkflowPriceOrderIfNecessaryActivity
+import org.broadleafcommerce.core.pricing.service.DeferredPricingService
 
 
 
@@ -78,6 +79,7 @@ import org.broadleafcommerce.core.order.service.workflow.AddWorkflowPriceOrderIf
  *          * add request's OrderItem to oi's childOrderItems
  *          
  *  8) orderService saves the order with optional pricing
+ *      * if deferred pricing is active, the order is marked as needing pricing and saved without pricing
  *   
  *  
  */
@@ -87,6 +89,7 @@ class PriceOrderIfNecessaryActivitySpec extends BaseOrderWorkflowSpec {
     OrderItemService mockOrderItemService = Mock()
     FulfillmentGroupItemDao mockFgItemDao = Mock()
     OrderMultishipOptionService mockOrderMultishipOptionService = Mock()
+    DeferredPricingService mockDeferredPricingService = Mock()
     
     def setup(){
         activity = Spy(AddWorkflowPriceOrderIfNecessaryActivity).with {
@@ -94,6 +97,7 @@ class PriceOrderIfNecessaryActivitySpec extends BaseOrderWorkflowSpec {
             orderItemService = mockOrderItemService
             fgItemDao = mockFgItemDao
             orderMultishipOptionService = mockOrderMultishipOptionService
+            deferredPricingService = mockDeferredPricingService
             it
         }
     } 
@@ -212,5 +216,19 @@ class PriceOrderIfNecessaryActivitySpec extends BaseOrderWorkflowSpec {
         
     }
     
+    def "If deferred pricing is active, the order is marked and saved without pricing"(){
+        setup: "enable deferred pricing"
+        Order testOrder = new OrderImpl()
+        context.seedData.setOrder(testOrder)
+        mockDeferredPricingService.isActive() >> true
+        
+        when: "the activity is executed"
+        context = activity.execute(context)
+        
+        then: "the order is marked as needing pricing and is not priced"
+        1 * mockDeferredPricingService.markPricingPending(testOrder)
+        1 * mockOrderService.save(testOrder, false) >> testOrder
+        0 * mockOrderService.save(_, true)
+    }
     
 }
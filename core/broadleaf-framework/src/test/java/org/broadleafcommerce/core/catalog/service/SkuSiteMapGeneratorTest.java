@@ -20,6 +20,7 @@ package org.broadleafcommerce.core.catalog.service;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfiguration;
 import org.broadleafcommerce.common.sitemap.domain.SiteMapGeneratorConfigurationImpl;
 import org.broadleafcommerce.common.sitemap.exception.SiteMapException;
+import org.broadleafcommerce.common.sitemap.service.SiteMapChangeService;
 import org.broadleafcommerce.common.sitemap.service.SiteMapGeneratorTest;
 import org.broadleafcommerce.common.sitemap.service.type.SiteMapChangeFreqType;
 import org.broadleafcommerce.common.sitemap.service.type.SiteMapGeneratorType;
@@ -30,11 +31,16 @@ import org.broadleafcommerce.core.catalog.domain.ProductImpl;
 import org.broadleafcommerce.core.catalog.domain.Sku;
 import org.broadleafcommerce.core.catalog.domain.SkuImpl;
 import org.easymock.EasyMock;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -96,4 +102,39 @@ public class SkuSiteMapGeneratorTest extends SiteMapGeneratorTest {
 
     }
 
+    @Test
+    public void testChangedSkuRegeneratesTheDefaultSkuOfItsProduct() {
+        Date since = new Date();
+        SiteMapChangeService changeService = EasyMock.createMock(SiteMapChangeService.class);
+        EasyMock.expect(changeService.findEntityIdsChangedSince(Sku.class.getName(), since)).andReturn(Arrays.asList(3L));
+        EasyMock.expect(changeService.findEntityIdsChangedSince(Product.class.getName(), since)).andReturn(Arrays.asList(20L));
+        SkuDao skuDao = EasyMock.createMock(SkuDao.class);
+        EasyMock.expect(skuDao.readDefaultSkuIdsBySkuIds(Arrays.asList(3L))).andReturn(Arrays.asList(1L));
+        EasyMock.expect(skuDao.readSkuIdsByProductIds(Arrays.asList(20L))).andReturn(Arrays.asList(21L, 22L));
+        EasyMock.replay(changeService, skuDao);
+
+        SkuSiteMapGenerator ssmg = new SkuSiteMapGenerator();
+        ssmg.setSkuDao(skuDao);
+
+        Assert.assertEquals(new HashSet<Long>(Arrays.asList(1L, 3L, 21L, 22L)),
+                new HashSet<Long>(ssmg.findChangedEntityIds(changeService, since)));
+        EasyMock.verify(changeService, skuDao);
+    }
+
+    @Test
+    public void testNoChangesReadNoSkus() {
+        Date since = new Date();
+        SiteMapChangeService changeService = EasyMock.createMock(SiteMapChangeService.class);
+        EasyMock.expect(changeService.findEntityIdsChangedSince(EasyMock.isA(String.class), EasyMock.eq(since)))
+                .andReturn(Collections.<Long>emptyList()).times(2);
+        SkuDao skuDao = EasyMock.createMock(SkuDao.class);
+        EasyMock.replay(changeService, skuDao);
+
+        SkuSiteMapGenerator ssmg = new SkuSiteMapGenerator();
+        ssmg.setSkuDao(skuDao);
+
+        Assert.assertTrue(ssmg.findChangedEntityIds(changeService, since).isEmpty());
+        EasyMock.verify(changeService, skuDao);
+    }
+
 }
@@ -0,0 +1,119 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.broadleafcommerce.common.web.BroadleafRequestContext;
+import org.broadleafcommerce.core.offer.dao.OfferAuditDao;
+import org.broadleafcommerce.core.offer.domain.OfferAudit;
+import org.broadleafcommerce.core.offer.domain.OfferAuditImpl;
+import org.broadleafcommerce.core.order.domain.Order;
+import org.broadleafcommerce.core.order.domain.OrderImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class OfferAuditServiceImplTest extends TestCase {
+
+    private OfferAuditDao offerAuditDao;
+    private OfferAuditServiceImpl service;
+    private Order order;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        offerAuditDao = createMock(OfferAuditDao.class);
+        service = new OfferAuditServiceImpl();
+        service.offerAuditDao = offerAuditDao;
+        order = new OrderImpl();
+        order.setId(100L);
+
+        BroadleafRequestContext brc = new BroadleafRequestContext();
+        brc.setRequest(new MockHttpServletRequest());
+        BroadleafRequestContext.setBroadleafRequestContext(brc);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        super.tearDown();
+    }
+
+    public void testBatchedCountsAnswerSingleLookups() {
+        Map<Long, Long> counts = new HashMap<>();
+        counts.put(1L, 2L);
+        counts.put(2L, 0L);
+        expect(offerAuditDao.countUsesByCustomer(eq(order), eq(5L), eq(Arrays.asList(1L, 2L)), eq((Long) null))).andReturn(counts).once();
+        replay(offerAuditDao);
+
+        service.countUsesByCustomer(order, 5L, Arrays.asList(1L, 2L), null);
+
+        assertEquals(Long.valueOf(2L), service.countUsesByCustomer(order, 5L, 1L, null));
+        assertEquals(Long.valueOf(0L), service.countUsesByCustomer(order, 5L, 2L, null));
+        verify(offerAuditDao);
+    }
+
+    public void testOnlyMissingOffersAreQueried() {
+        expect(offerAuditDao.countUsesByAccount(order, 7L, 1L, 3L)).andReturn(1L).once();
+        expect(offerAuditDao.countUsesByAccount(eq(order), eq(7L), eq(Collections.singletonList(2L)), eq(3L)))
+                .andReturn(Collections.singletonMap(2L, 4L)).once();
+        replay(offerAuditDao);
+
+        service.countUsesByAccount(order, 7L, 1L, 3L);
+        Map<Long, Long> counts = service.countUsesByAccount(order, 7L, Arrays.asList(1L, 2L), 3L);
+
+        assertEquals(Long.valueOf(1L), counts.get(1L));
+        assertEquals(Long.valueOf(4L), counts.get(2L));
+        verify(offerAuditDao);
+    }
+
+    public void testSavingAnAuditClearsTheCounts() {
+        OfferAudit audit = new OfferAuditImpl();
+        expect(offerAuditDao.countOfferCodeUses(order, 9L)).andReturn(0L).times(2);
+        expect(offerAuditDao.save(audit)).andReturn(audit).once();
+        replay(offerAuditDao);
+
+        service.countOfferCodeUses(order, 9L);
+        service.countOfferCodeUses(order, 9L);
+        service.save(audit);
+        service.countOfferCodeUses(order, 9L);
+
+        verify(offerAuditDao);
+    }
+
+    public void testCountsAreNotMemoizedOutsideOfARequest() {
+        BroadleafRequestContext.setBroadleafRequestContext(null);
+        expect(offerAuditDao.countOfferCodeUses(order, 9L)).andReturn(0L).times(2);
+        replay(offerAuditDao);
+
+        service.countOfferCodeUses(order, 9L);
+        service.countOfferCodeUses(order, 9L);
+
+        verify(offerAuditDao);
+    }
+}
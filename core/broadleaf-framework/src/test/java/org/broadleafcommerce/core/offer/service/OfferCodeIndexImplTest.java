@@ -0,0 +1,183 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.offer.service;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.broadleafcommerce.common.extensibility.cache.CacheInvalidationBus;
+import org.broadleafcommerce.core.offer.dao.OfferCodeDao;
+import org.broadleafcommerce.core.offer.domain.OfferCode;
+import org.broadleafcommerce.core.offer.domain.OfferCodeImpl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class OfferCodeIndexImplTest extends TestCase {
+
+    private OfferCodeDao offerCodeDao;
+    private CacheInvalidationBus bus;
+    private OfferCodeIndexImpl index;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        offerCodeDao = createMock(OfferCodeDao.class);
+        bus = createMock(CacheInvalidationBus.class);
+        index = new OfferCodeIndexImpl();
+        index.offerCodeDao = offerCodeDao;
+        index.cacheInvalidationBus = bus;
+        index.enabled = true;
+        // Run rebuilds on the calling thread so that each test sees the filter it triggered
+        index.rebuildExecutor = MoreExecutors.newDirectExecutorService();
+    }
+
+    public void testLookupDoesNotWaitForTheRebuild() {
+        final List<Runnable> scheduled = new ArrayList<Runnable>();
+        index.rebuildExecutor = new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                scheduled.add(command);
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return true;
+            }
+        };
+        expect(offerCodeDao.readAllOfferCodeValues()).andReturn(Collections.singletonList("SUMMER20")).once();
+        replay(offerCodeDao, bus);
+
+        assertTrue(index.mightExist("GUESS"));
+        assertTrue(index.mightExist("GUESS"));
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+
+        assertFalse(index.mightExist("GUESS"));
+        verify(offerCodeDao);
+    }
+
+    public void testUnknownCodesAreRejected() {
+        expect(offerCodeDao.readAllOfferCodeValues()).andReturn(Arrays.asList("SUMMER20", "influencer-jane")).once();
+        replay(offerCodeDao, bus);
+
+        assertTrue(index.mightExist("SUMMER20"));
+        assertTrue(index.mightExist("influencer-jane"));
+        int rejected = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (!index.mightExist("GUESS" + i)) {
+                rejected++;
+            }
+        }
+
+        assertTrue(rejected > 950);
+        assertEquals(rejected, index.getRejectedCodeCount());
+        verify(offerCodeDao);
+    }
+
+    public void testMatchingIgnoresCaseAndTrailingWhitespace() {
+        expect(offerCodeDao.readAllOfferCodeValues()).andReturn(Collections.singletonList("Summer20 ")).once();
+        replay(offerCodeDao, bus);
+
+        assertTrue(index.mightExist("SUMMER20"));
+        assertTrue(index.mightExist("summer20"));
+    }
+
+    public void testChangedCodeIsAcceptedAndPublished() {
+        expect(offerCodeDao.readAllOfferCodeValues()).andReturn(Collections.<String>emptyList()).once();
+        bus.publishEviction(OfferCodeIndexImpl.OFFER_CODE_INDEX_CACHE_NAME, "NEWCODE");
+        expectLastCall().once();
+        replay(offerCodeDao, bus);
+
+        assertFalse(index.mightExist("NEWCODE"));
+        index.offerCodeChanged("NEWCODE");
+
+        assertTrue(index.mightExist("NEWCODE"));
+        verify(offerCodeDao, bus);
+    }
+
+    public void testCodesChangedBeforeARebuildSurviveIt() {
+        expect(offerCodeDao.readAllOfferCodeValues()).andReturn(Collections.<String>emptyList()).times(2);
+        bus.publishEviction(OfferCodeIndexImpl.OFFER_CODE_INDEX_CACHE_NAME, "NEWCODE");
+        replay(offerCodeDao, bus);
+
+        index.mightExist("ANY");
+        index.offerCodeChanged("NEWCODE");
+        index.rebuildIndex();
+
+        assertTrue(index.mightExist("NEWCODE"));
+        verify(offerCodeDao);
+    }
+
+    public void testChangedCodeDropsRememberedEntries() {
+        bus.publishEviction(OfferCodeIndexImpl.OFFER_CODE_INDEX_CACHE_NAME, "summer20");
+        replay(offerCodeDao, bus);
+
+        OfferCode offerCode = new OfferCodeImpl();
+        offerCode.setId(1L);
+        offerCode.setOfferCode("SUMMER20");
+        index.putEntries("SUMMER20", Collections.singletonList(offerCode));
+        List<OfferCodeIndexEntry> entries = index.getEntries("SUMMER20");
+        assertEquals(1, entries.size());
+        assertEquals(Long.valueOf(1L), entries.get(0).getOfferCodeId());
+
+        index.offerCodeChanged("summer20");
+
+        assertNull(index.getEntries("SUMMER20"));
+    }
+
+    public void testDisabledIndexLetsEverythingThrough() {
+        index.enabled = false;
+        replay(offerCodeDao, bus);
+
+        assertTrue(index.mightExist("ANYTHING"));
+        assertNull(index.getEntries("ANYTHING"));
+        verify(offerCodeDao);
+    }
+}
@@ -0,0 +1,168 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow;
+
+import org.broadleafcommerce.core.workflow.state.RollbackStateLocal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.TestCase;
+
+public class ParallelSequenceProcessorTest extends TestCase {
+
+    private ParallelSequenceProcessor<Object, Object> processor;
+    private RollbackStateLocal rollbackStateLocal;
+    private List<Throwable> handledErrors;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        processor = new ParallelSequenceProcessor<>();
+        processor.setBeanName("testWorkflow");
+        processor.setAutoRollbackOnError(false);
+        handledErrors = Collections.synchronizedList(new ArrayList<Throwable>());
+        processor.setDefaultErrorHandler(new ErrorHandler() {
+            @Override
+            public void handleError(ProcessContext context, Throwable th) {
+                handledErrors.add(th);
+            }
+
+            @Override
+            public void setBeanName(String name) {
+            }
+        });
+        rollbackStateLocal = new RollbackStateLocal();
+        rollbackStateLocal.setThreadId(String.valueOf(Thread.currentThread().getId()));
+        rollbackStateLocal.setWorkflowId("testWorkflow");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processor.destroy();
+        super.tearDown();
+    }
+
+    public void testIndependentActivitiesShareAStage() {
+        TestActivity first = new TestActivity("first", set("order"), set());
+        TestActivity second = new TestActivity("second", set("order"), set("messages"));
+        TestActivity sequential = new TestActivity("sequential", null, null);
+        TestActivity writer = new TestActivity("writer", set(), set("order"));
+        TestActivity reader = new TestActivity("reader", set("order"), set());
+
+        List<List<Activity<ProcessContext<Object>>>> stages = processor.buildStages(activities(first, second, sequential, writer, reader));
+
+        assertEquals(4, stages.size());
+        assertEquals(Arrays.asList(first, second), stages.get(0));
+        assertEquals(Collections.singletonList(sequential), stages.get(1));
+        assertEquals(Collections.singletonList(writer), stages.get(2));
+        assertEquals(Collections.singletonList(reader), stages.get(3));
+    }
+
+    public void testStageRunsConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicBoolean overlapped = new AtomicBoolean(true);
+        Runnable body = () -> {
+            latch.countDown();
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    overlapped.set(false);
+                }
+            } catch (InterruptedException e) {
+                overlapped.set(false);
+            }
+        };
+        TestActivity first = new TestActivity("first", set("order"), set(), body);
+        TestActivity second = new TestActivity("second", set("order"), set(), body);
+
+        processor.executeActivities(activities(first, second), new DefaultProcessContextImpl<>(), rollbackStateLocal);
+
+        assertTrue(overlapped.get());
+        assertTrue(first.executed);
+        assertTrue(second.executed);
+        assertTrue(handledErrors.isEmpty());
+    }
+
+    public void testFailureInStageStopsTheWorkflow() throws Exception {
+        TestActivity failing = new TestActivity("failing", set("order"), set(), () -> {
+            throw new IllegalStateException("boom");
+        });
+        TestActivity sibling = new TestActivity("sibling", set("order"), set());
+        TestActivity later = new TestActivity("later", null, null);
+
+        processor.executeActivities(activities(failing, sibling, later), new DefaultProcessContextImpl<>(), rollbackStateLocal);
+
+        assertTrue(sibling.executed);
+        assertFalse(later.executed);
+        assertEquals(1, handledErrors.size());
+        assertEquals("boom", handledErrors.get(0).getMessage());
+    }
+
+    private List<Activity<ProcessContext<Object>>> activities(TestActivity... activities) {
+        return new ArrayList<Activity<ProcessContext<Object>>>(Arrays.asList(activities));
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    private static class TestActivity extends BaseActivity<ProcessContext<Object>> implements ParallelizableActivity {
+
+        private final Set<String> reads;
+        private final Set<String> writes;
+        private final Runnable body;
+        private volatile boolean executed;
+
+        TestActivity(String name, Set<String> reads, Set<String> writes) {
+            this(name, reads, writes, null);
+        }
+
+        TestActivity(String name, Set<String> reads, Set<String> writes, Runnable body) {
+            setBeanName(name);
+            this.reads = reads;
+            this.writes = writes;
+            this.body = body;
+        }
+
+        @Override
+        public ProcessContext<Object> execute(ProcessContext<Object> context) {
+            executed = true;
+            if (body != null) {
+                body.run();
+            }
+            return context;
+        }
+
+        @Override
+        public Set<String> getReadDependencies() {
+            return reads;
+        }
+
+        @Override
+        public Set<String> getWriteDependencies() {
+            return writes;
+        }
+    }
+}
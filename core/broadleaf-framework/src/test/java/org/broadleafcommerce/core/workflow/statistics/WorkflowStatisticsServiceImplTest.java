@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * BroadleafCommerce Framework
+ * %%
+ * Copyright (C) 2009 - 2025 Broadleaf Commerce
+ * %%
+ * Licensed under the Broadleaf Fair Use License Agreement, Version 1.0
+ * (the "Fair Use License" located  at http://license.broadleafcommerce.org/fair_use_license-1.0.txt)
+ * unless the restrictions on use therein are violated and require payment to Broadleaf in which case
+ * the Broadleaf End User License Agreement (EULA), Version 1.1
+ * (the "Commercial License" located at http://license.broadleafcommerce.org/commercial_license-1.1.txt)
+ * shall apply.
+ * 
+ * Alternatively, the Commercial License may be replaced with a mutually agreed upon license (the "Custom License")
+ * between you and Broadleaf Commerce. You may not use this file except in compliance with the applicable license.
+ * #L%
+ */
+package org.broadleafcommerce.core.workflow.statistics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class WorkflowStatisticsServiceImplTest extends TestCase {
+
+    private WorkflowStatisticsServiceImpl service;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        service = new WorkflowStatisticsServiceImpl();
+        service.setEnabled(true);
+    }
+
+    public void testActivitiesAreCountedPerWorkflow() {
+        service.recordActivity("blCheckoutWorkflow", "blCommitTaxActivity", TimeUnit.MILLISECONDS.toNanos(3), false);
+        service.recordActivity("blCheckoutWorkflow", "blCommitTaxActivity", TimeUnit.MILLISECONDS.toNanos(30), true);
+        service.recordActivity("blPricingWorkflow", "blCommitTaxActivity", TimeUnit.MILLISECONDS.toNanos(1), false);
+        service.recordRollback("blCheckoutWorkflow", false);
+
+        Map<String, ActivityStatistics> statistics = service.getStatistics();
+        ActivityStatistics tax = statistics.get("blCheckoutWorkflow.blCommitTaxActivity");
+        assertEquals(2, tax.getCount());
+        assertEquals(1, tax.getErrorCount());
+        assertEquals(30D, tax.getMaxMillis(), 0.001D);
+        assertEquals(1, statistics.get("blPricingWorkflow.blCommitTaxActivity").getCount());
+        assertEquals(1, statistics.get("blCheckoutWorkflow").getRollbackCount());
+        assertEquals(2, service.getWorkflowSummary("blCheckoutWorkflow").size());
+    }
+
+    public void testPercentilesComeFromTheHistogram() {
+        ActivityStatistics stats = new ActivityStatistics("test");
+        for (int i = 0; i < 98; i++) {
+            stats.record(TimeUnit.MICROSECONDS.toNanos(500), false);
+        }
+        stats.record(TimeUnit.MILLISECONDS.toNanos(200), false);
+        stats.record(TimeUnit.SECONDS.toNanos(20), false);
+
+        assertEquals(1, stats.getPercentileMillis(50));
+        assertEquals(250, stats.getPercentileMillis(99));
+        assertEquals(-1, stats.getPercentileMillis(100));
+        assertEquals(100, stats.getCount());
+    }
+
+    public void testNothingIsRecordedWhenDisabled() {
+        service.setEnabled(false);
+        service.recordActivity("blCheckoutWorkflow", "blCommitTaxActivity", 1L, false);
+        service.recordWorkflow("blCheckoutWorkflow", 1L, null);
+
+        assertTrue(service.getStatistics().isEmpty());
+        assertFalse(service.isTraceEnabled());
+    }
+
+    public void testTraceListsSpans() {
+        WorkflowTrace trace = new WorkflowTrace("blCheckoutWorkflow");
+        trace.addSpan("blValidateCheckoutActivity", System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(12), false);
+        trace.addSpan("blCommitTaxActivity", System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(40), true);
+
+        String formatted = trace.format(TimeUnit.MILLISECONDS.toNanos(52));
+
+        assertTrue(formatted.startsWith("Workflow blCheckoutWorkflow took 52ms"));
+        assertTrue(formatted.contains("blValidateCheckoutActivity 12ms"));
+        assertTrue(formatted.contains("blCommitTaxActivity 40ms"));
+        assertTrue(formatted.contains("FAILED"));
+    }
+}